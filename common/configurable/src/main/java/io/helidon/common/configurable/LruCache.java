@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,12 +15,12 @@
  */
 package io.helidon.common.configurable;
 
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Optional;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import io.helidon.config.Config;
@@ -31,6 +31,11 @@ import io.helidon.config.metadata.ConfiguredOption;
  * Least recently used cache.
  * This cache has a capacity. When the capacity is reached, the oldest record is removed from the cache when a new one
  * is added.
+ * <p>
+ * Reads do not lock: the records are held in a concurrent map and each hit is recorded in a buffer of the stripe
+ * of the calling thread. The recency order is updated from the buffers by the next write, or by a reader that finds
+ * its buffer half full and the order not locked. If a buffer is full under heavy contention, the hit is not recorded
+ * and the record ages as if it was not read. Writes are serialized.
  *
  * @param <K> type of the keys of the map
  * @param <V> type of the values of the map
@@ -41,15 +46,32 @@ public final class LruCache<K, V> {
      */
     public static final int DEFAULT_CAPACITY = 10000;
 
-    private final LinkedHashMap<K, V> backingMap = new LinkedHashMap<>();
-    private final ReadWriteLock rwLock = new ReentrantReadWriteLock(true);
-    private final Lock readLock = rwLock.readLock();
-    private final Lock writeLock = rwLock.writeLock();
+    private static final int STRIPES = ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+    private static final int BUFFER_SIZE = 64;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+    private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> backingMap = new ConcurrentHashMap<>();
+    private final ReadBuffer<K, V>[] readBuffers;
+    // guards the recency order, the read buffers and the modifications of the map
+    private final ReentrantLock orderLock = new ReentrantLock();
+    // sentinel of the recency order, the first record is the least recently used
+    private final Node<K, V> order = new Node<>(null, null);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     private final int capacity;
 
+    @SuppressWarnings("unchecked")
     private LruCache(Builder<K, V> builder) {
         this.capacity = builder.capacity;
+        this.readBuffers = new ReadBuffer[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        order.previous = order;
+        order.next = order;
     }
 
     /**
@@ -83,37 +105,14 @@ public final class LruCache<K, V> {
      * @return value if present or empty
      */
     public Optional<V> get(K key) {
-        readLock.lock();
-
-        V value;
-        try {
-            value = backingMap.get(key);
-        } finally {
-            readLock.unlock();
-        }
-
-        if (null == value) {
+        Node<K, V> node = backingMap.get(key);
+        if (node == null) {
+            misses.increment();
             return Optional.empty();
         }
-
-        writeLock.lock();
-        try {
-            // make sure the value is the last in the map (I do ignore a race here, as it is not significant)
-            // if some other thread moved another record to the front, we just move ours before it
-
-            // TODO this hurts - we just need to move the key to the last position
-            // maybe this should be replaced with a list and a map?
-            value = backingMap.get(key);
-            if (null == value) {
-                return Optional.empty();
-            }
-            backingMap.remove(key);
-            backingMap.put(key, value);
-
-            return Optional.of(value);
-        } finally {
-            writeLock.unlock();
-        }
+        hits.increment();
+        recordRead(node);
+        return Optional.ofNullable(node.value);
     }
 
     /**
@@ -123,12 +122,17 @@ public final class LruCache<K, V> {
      * @return the value that was mapped to the key, or empty if none was
      */
     public Optional<V> remove(K key) {
-
-        writeLock.lock();
+        orderLock.lock();
         try {
-            return Optional.ofNullable(backingMap.remove(key));
+            drainReadBuffers();
+            Node<K, V> node = backingMap.remove(key);
+            if (node == null) {
+                return Optional.empty();
+            }
+            unlink(node);
+            return Optional.ofNullable(node.value);
         } finally {
-            writeLock.unlock();
+            orderLock.unlock();
         }
     }
 
@@ -140,22 +144,24 @@ public final class LruCache<K, V> {
      * @return value that was already mapped or empty if the value was not mapped
      */
     public Optional<V> put(K key, V value) {
-        writeLock.lock();
+        Node<K, V> node = new Node<>(key, value);
+        orderLock.lock();
         try {
-            V currentValue = backingMap.remove(key);
-            if (null == currentValue) {
-                // need to free space - we did not make the map smaller
-                if (backingMap.size() >= capacity) {
-                    Iterator<V> iterator = backingMap.values().iterator();
-                    iterator.next();
-                    iterator.remove();
-                }
+            drainReadBuffers();
+            Node<K, V> current = backingMap.put(key, node);
+            if (current != null) {
+                unlink(current);
             }
-
-            backingMap.put(key, value);
-            return Optional.ofNullable(currentValue);
+            link(node);
+            while (backingMap.size() > capacity) {
+                Node<K, V> eldest = order.next;
+                backingMap.remove(eldest.key);
+                unlink(eldest);
+                evictions.increment();
+            }
+            return current == null ? Optional.empty() : Optional.ofNullable(current.value);
         } finally {
-            writeLock.unlock();
+            orderLock.unlock();
         }
     }
 
@@ -190,12 +196,7 @@ public final class LruCache<K, V> {
      * @return number of records currently cached
      */
     public int size() {
-        readLock.lock();
-        try {
-            return backingMap.size();
-        } finally {
-            readLock.unlock();
-        }
+        return backingMap.size();
     }
 
     /**
@@ -207,9 +208,136 @@ public final class LruCache<K, V> {
         return capacity;
     }
 
+    /**
+     * Number of {@link #get(Object)} calls that found a value, including the calls by
+     * {@link #computeValue(Object, Supplier)}.
+     *
+     * @return number of cache hits
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of {@link #get(Object)} calls that did not find a value, including the calls by
+     * {@link #computeValue(Object, Supplier)}.
+     *
+     * @return number of cache misses
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of records removed from the cache to keep it within its capacity.
+     *
+     * @return number of evictions
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
     // for unit testing
     V directGet(K key) {
-        return backingMap.get(key);
+        Node<K, V> node = backingMap.get(key);
+        return node == null ? null : node.value;
+    }
+
+    private void recordRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = readBuffers[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+        long pending = buffer.offer(node);
+        if (pending >= DRAIN_THRESHOLD && orderLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                orderLock.unlock();
+            }
+        }
+    }
+
+    // called with the order lock held
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drain(this);
+        }
+    }
+
+    // called with the order lock held
+    private void moveToEnd(Node<K, V> node) {
+        // the record may have been removed or replaced since it was read
+        if (node.next != null) {
+            unlink(node);
+            link(node);
+        }
+    }
+
+    private void link(Node<K, V> node) {
+        Node<K, V> last = order.previous;
+        node.previous = last;
+        node.next = order;
+        last.next = node;
+        order.previous = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return Integer.highestOneBit(Math.max(1, value - 1) << 1);
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        // recency order, guarded by the order lock, null when not cached
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bounded buffer of reads of a stripe. Reads are offered without locking, the buffer is drained
+     * with the order lock held.
+     */
+    private static final class ReadBuffer<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> nodes = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writeCount = new AtomicLong();
+        private volatile long readCount;
+
+        // returns the number of reads pending in the buffer, including a rejected one
+        private long offer(Node<K, V> node) {
+            long read = readCount;
+            long write = writeCount.get();
+            long pending = write - read;
+            if (pending < BUFFER_SIZE && writeCount.compareAndSet(write, write + 1)) {
+                nodes.lazySet((int) (write & BUFFER_MASK), node);
+            }
+            return pending + 1;
+        }
+
+        private void drain(LruCache<K, V> cache) {
+            long read = readCount;
+            long write = writeCount.get();
+            for (; read < write; read++) {
+                int index = (int) (read & BUFFER_MASK);
+                Node<K, V> node = nodes.get(index);
+                if (node == null) {
+                    // offered, but not yet stored
+                    break;
+                }
+                nodes.lazySet(index, null);
+                cache.moveToEnd(node);
+            }
+            readCount = read;
+        }
     }
 
     /**
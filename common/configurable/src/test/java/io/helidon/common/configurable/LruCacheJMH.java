@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.configurable;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures {@link LruCache} under contention, with threads reading keys of which a given percentage is cached
+ * and caching the value of each missing key.
+ */
+@State(Scope.Benchmark)
+public class LruCacheJMH {
+
+    private static final int CAPACITY = 1000;
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(LruCacheJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * Percentage of reads of cached keys.
+     */
+    @Param({"100", "90"})
+    int hitRatio;
+
+    LruCache<Integer, Integer> cache;
+    int keys;
+
+    @Setup
+    public void setup() {
+        cache = LruCache.<Integer, Integer>builder().capacity(CAPACITY).build();
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.put(i, i);
+        }
+        keys = CAPACITY * 100 / hitRatio;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Integer> singleThread() {
+        return computeValue();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Integer> eightThreads() {
+        return computeValue();
+    }
+
+    private Optional<Integer> computeValue() {
+        Integer key = ThreadLocalRandom.current().nextInt(keys);
+        return cache.computeValue(key, () -> Optional.of(key));
+    }
+}
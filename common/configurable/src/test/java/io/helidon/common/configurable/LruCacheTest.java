@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,19 @@
 
 package io.helidon.common.configurable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 /**
  * Unit test for {@link LruCache}.
@@ -109,4 +116,50 @@ class LruCacheTest {
         assertThat(value, is(Optional.empty()));
 
     }
+
+    @Test
+    void testStatistics() {
+        LruCache<Integer, Integer> theCache = LruCache.<Integer, Integer>builder().capacity(2).build();
+        theCache.put(1, 1);
+        theCache.put(2, 2);
+        theCache.get(1);
+        theCache.get(3);
+        theCache.computeValue(3, () -> Optional.of(3));
+
+        assertThat(theCache.hitCount(), is(1L));
+        assertThat(theCache.missCount(), is(2L));
+        assertThat(theCache.evictionCount(), is(1L));
+        assertThat(theCache.directGet(2), is((Integer) null));
+        assertThat(theCache.directGet(1), is(1));
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        LruCache<Integer, Integer> theCache = LruCache.<Integer, Integer>builder().capacity(100).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < 100_000; j++) {
+                        int key = random.nextInt(200);
+                        Integer value = theCache.computeValue(key, () -> Optional.of(key)).orElseThrow();
+                        assertThat(value, is(key));
+                        if (j % 1000 == 0) {
+                            theCache.remove(random.nextInt(200));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(theCache.size(), is(lessThanOrEqualTo(100)));
+        assertThat(theCache.hitCount() + theCache.missCount(), is(800_000L));
+    }
 }
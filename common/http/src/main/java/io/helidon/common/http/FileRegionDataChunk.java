@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of {@link DataChunk} representing a region of a file.
+ * <p>
+ * Transports that support it may write the region directly from the file (e.g. using {@code sendfile}) without
+ * ever copying the bytes to user space. The bytes are read from the file only when {@link #data()} is called,
+ * for example by a filter that needs to process the content.
+ */
+public final class FileRegionDataChunk implements DataChunk {
+
+    /**
+     * Maximal size of a single file region created by the writers of files. Bounds the memory used
+     * if a region is read into memory.
+     */
+    public static final int MAX_REGION_SIZE = 4 * 1024 * 1024;
+
+    // regions are read in buffers of this size, so reading a region never allocates a single large array
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final long position;
+    private final int count;
+    private ByteBuffer[] byteBuffers;
+    private boolean isReleased = false;
+    private CompletableFuture<DataChunk> writeFuture;
+
+    private FileRegionDataChunk(Path path, long position, int count) {
+        this.path = Objects.requireNonNull(path, "path is null");
+        this.position = position;
+        this.count = count;
+    }
+
+    /**
+     * Create a new data chunk for a region of a file.
+     *
+     * @param path     file
+     * @param position position of the first byte of the region in the file
+     * @param count    number of bytes of the region
+     * @return a data chunk
+     * @throws IllegalArgumentException if position or count are negative
+     */
+    public static FileRegionDataChunk create(Path path, long position, int count) {
+        if (position < 0) {
+            throw new IllegalArgumentException("position must not be negative: " + position);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        return new FileRegionDataChunk(path, position, count);
+    }
+
+    /**
+     * The file this region belongs to.
+     *
+     * @return file path
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Position of the first byte of this region in the file.
+     *
+     * @return position in the file
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Number of bytes of this region.
+     *
+     * @return number of bytes
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Whether the bytes of this region were already read from the file. Once the bytes are read, they may have been
+     * consumed and the chunk must be written using {@link #data()}.
+     *
+     * @return {@code true} if the bytes were read
+     */
+    public boolean isMaterialized() {
+        return byteBuffers != null;
+    }
+
+    /**
+     * Reads the region from the file on first invocation, in buffers of at most 64 KiB.
+     *
+     * @return the bytes of the region
+     * @throws java.io.UncheckedIOException in case the file cannot be read
+     */
+    @Override
+    public ByteBuffer[] data() {
+        if (byteBuffers == null) {
+            byteBuffers = read();
+        }
+        return byteBuffers;
+    }
+
+    @Override
+    public int remaining() {
+        if (byteBuffers == null) {
+            return count;
+        }
+        return DataChunk.super.remaining();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        // file content is never reused by us
+        return true;
+    }
+
+    @Override
+    public DataChunk duplicate() {
+        if (byteBuffers == null) {
+            return new FileRegionDataChunk(path, position, count);
+        }
+        return DataChunk.super.duplicate();
+    }
+
+    @Override
+    public boolean isReleased() {
+        return isReleased;
+    }
+
+    @Override
+    public void release() {
+        byteBuffers = null;
+        isReleased = true;
+    }
+
+    @Override
+    public void writeFuture(CompletableFuture<DataChunk> writeFuture) {
+        this.writeFuture = writeFuture;
+    }
+
+    @Override
+    public Optional<CompletableFuture<DataChunk>> writeFuture() {
+        return Optional.ofNullable(writeFuture);
+    }
+
+    private ByteBuffer[] read() {
+        ByteBuffer[] buffers = new ByteBuffer[Math.max(1, (count + READ_BUFFER_SIZE - 1) / READ_BUFFER_SIZE)];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long filePosition = position;
+            int remaining = count;
+            for (int i = 0; i < buffers.length; i++) {
+                ByteBuffer buffer = ByteBuffer.allocate(Math.min(remaining, READ_BUFFER_SIZE));
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, filePosition);
+                    if (read < 0) {
+                        throw new EOFException("File " + path + " is shorter than expected, missing "
+                                                       + (remaining - buffer.position()) + " bytes");
+                    }
+                    filePosition += read;
+                }
+                remaining -= buffer.limit();
+                buffers[i] = buffer.flip();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffers;
+    }
+
+    @Override
+    public String toString() {
+        return "FileRegionDataChunk{"
+                + "path=" + path
+                + ", position=" + position
+                + ", count=" + count
+                + '}';
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.config.mp;
+
+/**
+ * A config source that reports each change of its values.
+ * Values found in such sources are cached by {@link io.helidon.config.mp.MpConfigImpl} until a change is reported,
+ * values of other sources are read again on each lookup of a cached value.
+ */
+interface MpChangeReportingSource {
+    /**
+     * Register a listener notified once values of this source changed. Immutable sources never notify the listener.
+     *
+     * @param listener change listener
+     */
+    void onChange(Runnable listener);
+}
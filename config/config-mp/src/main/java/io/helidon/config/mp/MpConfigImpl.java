@@ -25,14 +25,18 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -47,6 +51,11 @@ import org.eclipse.microprofile.config.spi.Converter;
 
 /**
  * Implementation of the basic MicroProfile {@link org.eclipse.microprofile.config.Config} API.
+ * <p>
+ * Converted values are cached per name and type. Values of sources that report their changes
+ * ({@link io.helidon.config.mp.MpChangeReportingSource}) are cached until a change is reported, values of other sources
+ * read by the lookup of a cached value are read again on each lookup, and the cached value is used only
+ * if they did not change. Caching can be disabled with {@code helidon.config.caching.enabled=false}.
  */
 class MpConfigImpl implements Config {
     private static final Logger LOGGER = Logger.getLogger(MpConfigImpl.class.getName());
@@ -60,6 +69,8 @@ class MpConfigImpl implements Config {
     private static final Pattern PATTERN_BACKSLASH = Pattern.compile(REGEX_BACKSLASH);
     // I only care about unresolved key happening within the same thread
     private static final ThreadLocal<Set<String>> UNRESOLVED_KEYS = ThreadLocal.withInitial(HashSet::new);
+    // reads of sources that do not report changes, done by the lookup of a value being cached on this thread
+    private static final ThreadLocal<List<SourceRead>> SOURCE_READS = new ThreadLocal<>();
 
     private static final Pattern SPLIT_PATTERN = Pattern.compile("(?<!\\\\),");
     private static final Pattern ESCAPED_COMMA_PATTERN = Pattern.compile("\\,", Pattern.LITERAL);
@@ -82,6 +93,10 @@ class MpConfigImpl implements Config {
     private final boolean valueResolving;
     private final List<MpConfigFilter> filters = new ArrayList<>();
     private final String configProfile;
+    private final Set<ConfigSource> changeReportingSources = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Class<?>, Map<String, CachedValue>> cache = new ConcurrentHashMap<>();
+    private final AtomicLong cacheVersion = new AtomicLong();
+    private final boolean caching;
 
     MpConfigImpl(List<ConfigSource> sources,
                  HashMap<Class<?>, Converter<?>> converters,
@@ -104,6 +119,16 @@ class MpConfigImpl implements Config {
             // do not do this first, as we would end up in using an uninitialized filter
             this.filters.add(it);
         });
+
+        // values are cached only once all filters are in place
+        for (ConfigSource source : this.sources) {
+            if (source instanceof MpChangeReportingSource reportingSource) {
+                changeReportingSources.add(source);
+                reportingSource.onChange(this::clearCache);
+            }
+        }
+        this.caching = getOptionalValue("helidon.config.caching.enabled", Boolean.class)
+                .orElse(true);
     }
 
     @Override
@@ -124,9 +149,60 @@ class MpConfigImpl implements Config {
                                                                       + "configuration"));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T> Optional<T> getOptionalValue(String propertyName, Class<T> propertyType) {
+        // arrays are mutable, they are not cached
+        if (caching && !propertyType.isArray()) {
+            return cachedValue(propertyName, propertyType);
+        }
+        return lookupValue(propertyName, propertyType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> cachedValue(String propertyName, Class<T> propertyType) {
+        Map<String, CachedValue> typeCache = cache.get(propertyType);
+        if (typeCache == null) {
+            typeCache = cache.computeIfAbsent(propertyType, it -> new ConcurrentHashMap<>());
+        }
+
+        List<SourceRead> outerReads = SOURCE_READS.get();
+        CachedValue cached = typeCache.get(propertyName);
+        if (cached != null && cached.unchanged()) {
+            if (outerReads != null) {
+                // the value is used to resolve a reference of a value being cached
+                outerReads.addAll(cached.reads);
+            }
+            return (Optional<T>) cached.value;
+        }
+
+        long version = cacheVersion.get();
+        List<SourceRead> reads = new ArrayList<>();
+        Optional<T> value;
+        SOURCE_READS.set(reads);
+        try {
+            value = lookupValue(propertyName, propertyType);
+        } finally {
+            SOURCE_READS.set(outerReads);
+        }
+        if (outerReads != null) {
+            outerReads.addAll(reads);
+        }
+
+        CachedValue computed = new CachedValue(value, reads);
+        typeCache.put(propertyName, computed);
+        if (cacheVersion.get() != version) {
+            // a source changed while looking up the value, it may be outdated
+            typeCache.remove(propertyName, computed);
+        }
+        return value;
+    }
+
+    private void clearCache() {
+        cacheVersion.incrementAndGet();
+        cache.clear();
+    }
+
+    private <T> Optional<T> lookupValue(String propertyName, Class<T> propertyType) {
         if (configProfile == null) {
             return optionalValue(propertyName, propertyType);
         }
@@ -315,9 +391,14 @@ class MpConfigImpl implements Config {
     }
 
     private Optional<ConfigValue> findConfigValue(String propertyName) {
+        List<SourceRead> reads = SOURCE_READS.get();
         for (ConfigSource source : sources) {
             String value = source.getValue(propertyName);
 
+            if (reads != null && !changeReportingSources.contains(source)) {
+                reads.add(new SourceRead(source, propertyName, value));
+            }
+
             if (null == value) {
                 // not in this one
                 continue;
@@ -534,6 +615,47 @@ class MpConfigImpl implements Config {
         return result.toArray(new String[0]);
     }
 
+    /**
+     * A value read from a source that does not report changes.
+     */
+    private static final class SourceRead {
+        private final ConfigSource source;
+        private final String key;
+        private final String value;
+
+        private SourceRead(ConfigSource source, String key, String value) {
+            this.source = source;
+            this.key = key;
+            this.value = value;
+        }
+
+        private boolean unchanged() {
+            return Objects.equals(source.getValue(key), value);
+        }
+    }
+
+    /**
+     * A converted value, with the reads of sources that do not report changes done to look it up.
+     */
+    private static final class CachedValue {
+        private final Optional<?> value;
+        private final List<SourceRead> reads;
+
+        private CachedValue(Optional<?> value, List<SourceRead> reads) {
+            this.value = value;
+            this.reads = reads;
+        }
+
+        private boolean unchanged() {
+            for (int i = 0; i < reads.size(); i++) {
+                if (!reads.get(i).unchanged()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     private static class FailingConverter<T> implements Converter<T> {
         private final Class<T> type;
 
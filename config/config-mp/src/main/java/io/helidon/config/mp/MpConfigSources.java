@@ -119,7 +119,7 @@ public final class MpConfigSources {
                 Properties properties = new Properties();
                 properties.load(inputStream);
 
-                return create(name, properties);
+                return immutable(name, properties);
             }
         } catch (Exception e) {
             throw new ConfigException("Failed to load ", e);
@@ -355,6 +355,18 @@ public final class MpConfigSources {
         return new MpHelidonConfigSource(config);
     }
 
+    /**
+     * In memory config source based on a map that is not modified afterwards.
+     *
+     * @param name name of the source
+     * @param map configuration data, must not be modified
+     * @return a new config source
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static ConfigSource immutable(String name, Map map) {
+        return new MpMapSource.Immutable(name, map);
+    }
+
     /**
      * Create a composite config source that uses the main first, and if it does not find
      * a property in main, uses fallback. This is useful to set up a config source with a profile,
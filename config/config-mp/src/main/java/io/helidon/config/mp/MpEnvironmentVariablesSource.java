@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,7 +25,7 @@ import jakarta.annotation.Priority;
 import org.eclipse.microprofile.config.spi.ConfigSource;
 
 @Priority(300)
-class MpEnvironmentVariablesSource implements ConfigSource {
+class MpEnvironmentVariablesSource implements ConfigSource, MpChangeReportingSource {
     private static final Pattern DISALLOWED_CHARS = Pattern.compile("[^a-zA-Z0-9_]");
     private static final String UNDERSCORE = "_";
 
@@ -36,6 +36,11 @@ class MpEnvironmentVariablesSource implements ConfigSource {
         this.env = Map.copyOf(System.getenv());
     }
 
+    @Override
+    public void onChange(Runnable listener) {
+        // immutable
+    }
+
     @Override
     public Set<String> getPropertyNames() {
         return env.keySet();
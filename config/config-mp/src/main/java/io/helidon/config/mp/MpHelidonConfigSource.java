@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,13 +23,18 @@ import io.helidon.config.Config;
 
 import org.eclipse.microprofile.config.spi.ConfigSource;
 
-final class MpHelidonConfigSource implements ConfigSource {
+final class MpHelidonConfigSource implements ConfigSource, MpChangeReportingSource {
     private final io.helidon.config.Config helidonConfig;
 
     MpHelidonConfigSource(io.helidon.config.Config helidonConfig) {
         this.helidonConfig = helidonConfig;
     }
 
+    @Override
+    public void onChange(Runnable listener) {
+        helidonConfig.onChange(it -> listener.run());
+    }
+
     @Override
     public Set<String> getPropertyNames() {
         return getProperties().keySet();
@@ -52,10 +52,10 @@ final class MpHelidonSource {
         if (source instanceof NodeConfigSource) {
             Optional<ConfigContent.NodeContent> load = ((NodeConfigSource) source).load();
             // load the data, create a map from it
-            return MpConfigSources.create(source.description(),
-                                          load.map(ConfigContent.NodeContent::data)
-                                                  .map(ConfigHelper::flattenNodes)
-                                                  .orElseGet(Map::of));
+            return MpConfigSources.immutable(source.description(),
+                                             load.map(ConfigContent.NodeContent::data)
+                                                     .map(ConfigHelper::flattenNodes)
+                                                     .orElseGet(Map::of));
         }
 
         if (source instanceof ParsableSource) {
@@ -75,7 +75,7 @@ final class MpHelidonSource {
         public static ConfigSource create(ParsableSource source) {
             Optional<ConfigParser.Content> load = source.load();
             if (load.isEmpty()) {
-                return MpConfigSources.create(source.description(), Map.of());
+                return MpConfigSources.immutable(source.description(), Map.of());
             }
             ConfigParser.Content content = load.get();
 
@@ -89,8 +89,8 @@ final class MpHelidonSource {
                                                                    + mediaType + "\""));
 
             // create a map from parsed node
-            return MpConfigSources.create(source.description(),
-                                          ConfigHelper.flattenNodes(parser.parse(content, source.relativeResolver())));
+            return MpConfigSources.immutable(source.description(),
+                                             ConfigHelper.flattenNodes(parser.parse(content, source.relativeResolver())));
 
         }
 
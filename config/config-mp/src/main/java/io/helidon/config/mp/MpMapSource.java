@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,4 +58,18 @@ class MpMapSource implements ConfigSource {
     public String toString() {
         return getName() + " (" + getOrdinal() + ")";
     }
+
+    /**
+     * Map source on a map that is not modified after the source is created, such as a map read from a file.
+     */
+    static final class Immutable extends MpMapSource implements MpChangeReportingSource {
+        Immutable(String name, Map<String, String> map) {
+            super(name, map);
+        }
+
+        @Override
+        public void onChange(Runnable listener) {
+            // immutable
+        }
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.config.mp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures lookups of converted values of {@link MpConfigImpl}, with and without caching,
+ * against a plain {@link java.util.HashMap} lookup.
+ */
+@State(Scope.Benchmark)
+public class MpConfigLookupJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(MpConfigLookupJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"true", "false"})
+    boolean caching;
+
+    Config config;
+    Map<String, Integer> map;
+
+    @Setup
+    public void setup() {
+        config = ConfigProviderResolver.instance()
+                .getBuilder()
+                .withSources(MpConfigSources.create(Map.of("server.port", "8080",
+                                                           "server.host", "localhost",
+                                                           "app.timeout", "${server.port}",
+                                                           "helidon.config.caching.enabled", String.valueOf(caching))))
+                .build();
+        map = new HashMap<>(Map.of("server.port", 8080));
+    }
+
+    @Benchmark
+    public Integer configValue() {
+        return config.getValue("server.port", Integer.class);
+    }
+
+    @Benchmark
+    public Integer resolvedConfigValue() {
+        return config.getValue("app.timeout", Integer.class);
+    }
+
+    @Benchmark
+    public Integer mapValue() {
+        return map.get("server.port");
+    }
+}
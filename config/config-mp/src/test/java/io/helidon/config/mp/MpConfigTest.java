@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,13 +23,18 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import io.helidon.common.GenericType;
 import io.helidon.config.ConfigSources;
+import io.helidon.config.spi.ConfigContent;
 import io.helidon.config.spi.ConfigMapper;
 import io.helidon.config.spi.ConfigMapperProvider;
+import io.helidon.config.spi.ConfigNode;
+import io.helidon.config.spi.EventConfigSource;
+import io.helidon.config.spi.NodeConfigSource;
 
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
@@ -132,6 +137,102 @@ public class MpConfigTest {
         assertThat(value, is(updated));
     }
 
+    @Test
+    void testCachedValues() {
+        AtomicInteger conversions = new AtomicInteger();
+        var mutable = new MutableConfigSource();
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+                .withSources(mutable,
+                             MpConfigSources.create(Map.of("immutable", "immutable-value")))
+                .withConverter(Pizza.class, 10, value -> {
+                    conversions.incrementAndGet();
+                    return new Pizza(value, "large");
+                })
+                .build();
+
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("initial", "large")));
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("initial", "large")));
+        assertThat(config.getValue("immutable", Pizza.class), is(new Pizza("immutable-value", "large")));
+        assertThat(config.getValue("immutable", Pizza.class), is(new Pizza("immutable-value", "large")));
+        assertThat(conversions.get(), is(2));
+
+        // the mutable source does not report changes, its values are checked on each lookup
+        mutable.set("updated");
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("updated", "large")));
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("updated", "large")));
+        assertThat(conversions.get(), is(3));
+
+        // a value found in a source of a lower ordinal is also checked against the sources before it
+        assertThat(config.getValue("immutable", Pizza.class), is(new Pizza("immutable-value", "large")));
+        assertThat(conversions.get(), is(3));
+    }
+
+    @Test
+    void testCachingDisabled() {
+        AtomicInteger conversions = new AtomicInteger();
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+                .withSources(MpConfigSources.create(Map.of("key", "value",
+                                                           "helidon.config.caching.enabled", "false")))
+                .withConverter(Pizza.class, 10, value -> {
+                    conversions.incrementAndGet();
+                    return new Pizza(value, "large");
+                })
+                .build();
+
+        config.getValue("key", Pizza.class);
+        config.getValue("key", Pizza.class);
+        assertThat(conversions.get(), is(2));
+    }
+
+    @Test
+    void testCachedReference() {
+        var mutable = new MutableConfigSource();
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+                .withSources(mutable,
+                             MpConfigSources.create(Map.of("reference", "${key}-reference")))
+                .build();
+
+        assertThat(config.getValue("reference", String.class), is("initial-reference"));
+        // the referenced value is cached as well
+        assertThat(config.getValue("key", String.class), is("initial"));
+
+        mutable.set("updated");
+        assertThat(config.getValue("reference", String.class), is("updated-reference"));
+    }
+
+    @Test
+    void testCachedValueHelidonChange() {
+        AtomicInteger conversions = new AtomicInteger();
+        var mutable = new MutableHelidonSource();
+        io.helidon.config.Config helidonConfig = io.helidon.config.Config.builder()
+                .addSource(mutable)
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .changesExecutor(Runnable::run)
+                .build();
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+                .withSources(MpConfigSources.create(helidonConfig))
+                .withConverter(Pizza.class, 10, value -> {
+                    conversions.incrementAndGet();
+                    return new Pizza(value, "large");
+                })
+                .build();
+
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("initial", "large")));
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("initial", "large")));
+        assertThat(conversions.get(), is(1));
+
+        // the Helidon config source reports the change, which clears the cached value
+        mutable.set("updated");
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("updated", "large")));
+        assertThat(config.getValue("key", Pizza.class), is(new Pizza("updated", "large")));
+        assertThat(conversions.get(), is(2));
+    }
+
     @Test
     void arrayTest() {
         MutableConfigSource cs = new MutableConfigSource();
@@ -227,6 +328,33 @@ public class MpConfigTest {
         }
     }
 
+    private static class MutableHelidonSource implements NodeConfigSource, EventConfigSource {
+        private final AtomicReference<String> value = new AtomicReference<>("initial");
+        private final AtomicReference<BiConsumer<String, ConfigNode>> listener = new AtomicReference<>();
+
+        @Override
+        public Optional<ConfigContent.NodeContent> load() {
+            return Optional.of(ConfigContent.NodeContent.builder()
+                                       .node(node())
+                                       .build());
+        }
+
+        @Override
+        public void onChange(BiConsumer<String, ConfigNode> changedNode) {
+            listener.set(changedNode);
+        }
+
+        private void set(String value) {
+            this.value.set(value);
+            // empty key replaces the whole tree
+            listener.get().accept("", node());
+        }
+
+        private ConfigNode.ObjectNode node() {
+            return ConfigNode.ObjectNode.simple("key", value.get());
+        }
+    }
+
     public static class Pizza {
         private final String flavor;
         private final String size;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -232,6 +232,14 @@ public abstract class AbstractStatement<S extends DbStatement<S, R>, R> implemen
         dbContext.statementType(statementType());
     }
 
+    /**
+     * Remove all parameters of this statement, so another set of parameters can be configured.
+     */
+    protected void clearParameters() {
+        this.paramType = ParamType.UNKNOWN;
+        this.parameters = null;
+    }
+
     /**
      * Returns this builder cast to the correct type.
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package io.helidon.dbclient;
 
 import java.util.Optional;
+import java.util.concurrent.Flow;
 
 import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
@@ -355,6 +356,74 @@ public interface DbExecute {
         return createDmlStatement(statement).params(parameters).execute();
     }
 
+    /*
+     * BATCH
+     */
+
+    /**
+     * Create a batch statement using a named statement passed as an argument.
+     * <p>
+     * Batch statements are not supported by all database clients, the default implementation
+     * throws {@link UnsupportedOperationException}. The JDBC client supports them.
+     *
+     * @param statementName the name of the statement
+     * @param statement the statement text
+     * @return database statement that can modify data in batches
+     * @throws UnsupportedOperationException if the database client does not support batch statements
+     */
+    default DbStatementBatch createNamedBatch(String statementName, String statement) {
+        throw new UnsupportedOperationException("Batch statements are not supported by this database client, statement: "
+                                                        + statementName);
+    }
+
+    /**
+     * Create a batch statement using a statement defined in the configuration file.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param statementName the name of the configuration node with statement
+     * @return database statement that can modify data in batches
+     * @throws UnsupportedOperationException if the database client does not support batch statements
+     */
+    default DbStatementBatch createNamedBatch(String statementName) {
+        throw new UnsupportedOperationException("Batch statements are not supported by this database client, statement: "
+                                                        + statementName);
+    }
+
+    /**
+     * Create a batch statement using a statement passed as an argument.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param statement the data modification statement to be executed
+     * @return database statement that can modify data in batches
+     * @throws UnsupportedOperationException if the database client does not support batch statements
+     */
+    default DbStatementBatch createBatch(String statement) {
+        throw new UnsupportedOperationException("Batch statements are not supported by this database client, statement: "
+                                                        + statement);
+    }
+
+    /**
+     * Create and execute a batch statement using a statement defined in the configuration file.
+     *
+     * @param statementName the name of the configuration node with statement
+     * @param parameters    publisher of parameter sets, see {@link DbStatementBatch#execute(java.util.concurrent.Flow.Publisher)}
+     * @return number of rows modified by each batch
+     */
+    default Multi<Long> namedBatch(String statementName, Flow.Publisher<?> parameters) {
+        return createNamedBatch(statementName).execute(parameters);
+    }
+
+    /**
+     * Create and execute a batch statement using a statement passed as an argument.
+     *
+     * @param statement  the data modification statement to be executed
+     * @param parameters publisher of parameter sets, see {@link DbStatementBatch#execute(java.util.concurrent.Flow.Publisher)}
+     * @return number of rows modified by each batch
+     */
+    default Multi<Long> batch(String statement, Flow.Publisher<?> parameters) {
+        return createBatch(statement).execute(parameters);
+    }
+
     /*
      * Unwrap support
      */
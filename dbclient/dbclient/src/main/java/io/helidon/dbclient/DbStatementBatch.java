@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient;
+
+import java.util.concurrent.Flow;
+
+import io.helidon.common.reactive.Multi;
+
+/**
+ * Batch DML Database statement.
+ * A batch statement executes the same DML statement for many sets of parameters, sending the parameter sets
+ * to the database in batches of {@link #batchSize(int) configured size}.
+ * Parameter sets are added either one by one using {@code params} and {@code addParam} methods
+ * followed by {@link #addBatch()}, or from a publisher using {@link #execute(java.util.concurrent.Flow.Publisher)}.
+ * <p>
+ * {@link io.helidon.dbclient.DbClientService client services} are invoked once for the whole batch,
+ * the result future of their context completes with the total number of modified records.
+ */
+public interface DbStatementBatch extends DbStatement<DbStatementBatch, Multi<Long>> {
+    /**
+     * Maximal number of parameter sets sent to the database in a single batch.
+     * Defaults to {@code 100}.
+     *
+     * @param batchSize number of parameter sets in a batch
+     * @return updated db statement
+     */
+    DbStatementBatch batchSize(int batchSize);
+
+    /**
+     * Add the parameters configured since the last call of this method as a new parameter set.
+     *
+     * @return updated db statement
+     */
+    DbStatementBatch addBatch();
+
+    /**
+     * Execute this statement for each parameter set added by {@link #addBatch()}.
+     * Parameters configured after the last call of {@link #addBatch()} are added as the last parameter set.
+     *
+     * @return number of records modified by each batch, never blocking
+     */
+    @Override
+    Multi<Long> execute();
+
+    /**
+     * Execute this statement for each parameter set added by {@link #addBatch()} followed by each item
+     * of the provided publisher.
+     * An item is a parameter set: a {@link java.util.List} of indexed parameters, a {@link java.util.Map}
+     * of named parameters, or an {@link Object} mapped to named parameters with a registered mapper.
+     * Items are requested as the batches are executed.
+     *
+     * @param parameters publisher of parameter sets
+     * @return number of records modified by each batch, never blocking
+     */
+    Multi<Long> execute(Flow.Publisher<?> parameters);
+}
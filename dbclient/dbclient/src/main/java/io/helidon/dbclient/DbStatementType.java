@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,6 +43,10 @@ public enum DbStatementType {
      * Generic DML statement.
      */
     DML("dml"),
+    /**
+     * DML statement executed in batches for many sets of parameters.
+     */
+    BATCH("b"),
     /**
      * Database command not related to a specific collection.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import io.helidon.common.configurable.LruCache;
 import io.helidon.common.mapper.MapperManager;
 import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
@@ -34,6 +35,7 @@ import io.helidon.dbclient.DbClientException;
 import io.helidon.dbclient.DbClientService;
 import io.helidon.dbclient.DbExecute;
 import io.helidon.dbclient.DbMapperManager;
+import io.helidon.dbclient.DbStatementBatch;
 import io.helidon.dbclient.DbStatementDml;
 import io.helidon.dbclient.DbStatementGet;
 import io.helidon.dbclient.DbStatementQuery;
@@ -57,6 +59,8 @@ class JdbcDbClient implements DbClient {
     private final DbMapperManager dbMapperManager;
     private final MapperManager mapperManager;
     private final List<DbClientService> clientServices;
+    private final LruCache<String, JdbcStatement.NamedStatement> namedStatements;
+    private final int fetchSize;
 
     JdbcDbClient(JdbcDbClientProviderBuilder builder) {
         this.executorService = builder.executorService();
@@ -65,19 +69,17 @@ class JdbcDbClient implements DbClient {
         this.dbMapperManager = builder.dbMapperManager();
         this.mapperManager = builder.mapperManager();
         this.clientServices = builder.clientServices();
+        this.namedStatements = LruCache.<String, JdbcStatement.NamedStatement>builder()
+                .capacity(builder.namedStatementsCacheCapacity())
+                .build();
+        this.fetchSize = builder.fetchSize();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <U, T extends Subscribable<U>> T inTransaction(Function<DbTransaction, T> executor) {
 
-        JdbcTxExecute execute = new JdbcTxExecute(
-                statements,
-                executorService,
-                clientServices,
-                connectionPool,
-                dbMapperManager,
-                mapperManager);
+        JdbcTxExecute execute = new JdbcTxExecute(this);
 
         T result = executor.apply(execute);
 
@@ -162,12 +164,7 @@ class JdbcDbClient implements DbClient {
     public <U, T extends Subscribable<U>> T execute(Function<DbExecute, T> executor) {
 
         JdbcExecute execute = new JdbcExecute(statements,
-                                              JdbcExecute.createContext(statements,
-                                                                        executorService,
-                                                                        clientServices,
-                                                                        connectionPool,
-                                                                        dbMapperManager,
-                                                                        mapperManager));
+                                              JdbcExecute.createContext(this));
 
         Subscribable<U> result;
 
@@ -223,20 +220,17 @@ class JdbcDbClient implements DbClient {
 
         private volatile boolean setRollbackOnly = false;
 
-        private JdbcTxExecute(DbStatements statements,
-                              ExecutorService executorService,
-                              List<DbClientService> clientServices,
-                              ConnectionPool connectionPool,
-                              DbMapperManager dbMapperManager,
-                              MapperManager mapperManager) {
-            super(statements, JdbcExecuteContext.jdbcBuilder()
-                    .statements(statements)
-                    .clientServices(clientServices)
-                    .dbType(connectionPool.dbType())
-                    .connection(createConnection(executorService, connectionPool))
-                    .dbMapperManager(dbMapperManager)
-                    .mapperManager(mapperManager)
-                    .executorService(executorService)
+        private JdbcTxExecute(JdbcDbClient dbClient) {
+            super(dbClient.statements, JdbcExecuteContext.jdbcBuilder()
+                    .statements(dbClient.statements)
+                    .clientServices(dbClient.clientServices)
+                    .dbType(dbClient.connectionPool.dbType())
+                    .connection(createConnection(dbClient.executorService, dbClient.connectionPool))
+                    .dbMapperManager(dbClient.dbMapperManager)
+                    .mapperManager(dbClient.mapperManager)
+                    .executorService(dbClient.executorService)
+                    .namedStatements(dbClient.namedStatements)
+                    .fetchSize(dbClient.fetchSize)
                     .build());
         }
 
@@ -299,12 +293,9 @@ class JdbcDbClient implements DbClient {
             this.context = context;
         }
 
-        private static JdbcExecuteContext createContext(DbStatements statements,
-                                                        ExecutorService executorService,
-                                                        List<DbClientService> clientServices,
-                                                        ConnectionPool connectionPool,
-                                                        DbMapperManager dbMapperManager,
-                                                        MapperManager mapperManager) {
+        private static JdbcExecuteContext createContext(JdbcDbClient dbClient) {
+            ConnectionPool connectionPool = dbClient.connectionPool;
+            ExecutorService executorService = dbClient.executorService;
             CompletionStage<Connection> connection = CompletableFuture.supplyAsync(connectionPool::connection, executorService)
                     .thenApply(conn -> {
                         try {
@@ -316,13 +307,15 @@ class JdbcDbClient implements DbClient {
                     });
 
             return JdbcExecuteContext.jdbcBuilder()
-                    .statements(statements)
+                    .statements(dbClient.statements)
                     .executorService(executorService)
                     .connection(connection)
-                    .clientServices(clientServices)
-                    .dbMapperManager(dbMapperManager)
-                    .mapperManager(mapperManager)
+                    .clientServices(dbClient.clientServices)
+                    .dbMapperManager(dbClient.dbMapperManager)
+                    .mapperManager(dbClient.mapperManager)
                     .dbType(connectionPool.dbType())
+                    .namedStatements(dbClient.namedStatements)
+                    .fetchSize(dbClient.fetchSize)
                     .build();
         }
 
@@ -363,6 +356,12 @@ class JdbcDbClient implements DbClient {
                                         DbStatementContext.create(context, DbStatementType.DELETE, statementName, statement));
         }
 
+        @Override
+        public DbStatementBatch createNamedBatch(String statementName, String statement) {
+            return new JdbcStatementBatch(context,
+                                          DbStatementContext.create(context, DbStatementType.BATCH, statementName, statement));
+        }
+
         JdbcExecuteContext context() {
             return context;
         }
@@ -39,6 +39,11 @@ import io.helidon.dbclient.spi.DbMapperProvider;
  * the {@link io.helidon.dbclient.spi.DbClientProviderBuilder} from Helidon DB API.
  */
 public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilder<JdbcDbClientProviderBuilder> {
+    /**
+     * Default capacity of the cache of statements with named parameters.
+     */
+    public static final int DEFAULT_NAMED_STATEMENTS_CACHE_CAPACITY = 1000;
+
     private final DbMapperManager.Builder dbMapperBuilder = DbMapperManager.builder();
 
     private final List<DbClientService> clientServices = new LinkedList<>();
@@ -51,6 +56,8 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
     private DbMapperManager dbMapperManager;
     private Supplier<ExecutorService> executorService;
     private ConnectionPool connectionPool;
+    private int namedStatementsCacheCapacity = DEFAULT_NAMED_STATEMENTS_CACHE_CAPACITY;
+    private int fetchSize;
 
     JdbcDbClientProviderBuilder() {
     }
@@ -100,6 +107,8 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
         config.get("executor-service")
                 .as(c -> ThreadPoolSupplier.create(c, "jdbc-dbclient-thread-pool"))
                 .ifPresent(this::executorService);
+        config.get("named-statements-cache-capacity").asInt().ifPresent(this::namedStatementsCacheCapacity);
+        config.get("fetch-size").asInt().ifPresent(this::fetchSize);
         return this;
     }
 
@@ -197,6 +206,38 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
         return this;
     }
 
+    /**
+     * Maximal number of statements with named parameters cached in their converted JDBC form.
+     * Statements are cached by their text, so each statement is parsed only once.
+     * Defaults to {@value #DEFAULT_NAMED_STATEMENTS_CACHE_CAPACITY}.
+     *
+     * @param capacity capacity of the cache
+     * @return updated builder instance
+     */
+    public JdbcDbClientProviderBuilder namedStatementsCacheCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Named statements cache capacity must be positive, but is " + capacity);
+        }
+        this.namedStatementsCacheCapacity = capacity;
+        return this;
+    }
+
+    /**
+     * Number of rows fetched from the database in a single round trip when query results are read.
+     * When not configured, the driver default is used and raised to match the number of rows
+     * requested by the subscriber of the query result.
+     *
+     * @param fetchSize number of rows to fetch at once, {@code 0} to use the driver default
+     * @return updated builder instance
+     */
+    public JdbcDbClientProviderBuilder fetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size must not be negative, but is " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
     @Override
     public JdbcDbClientProviderBuilder addService(DbClientService clientService) {
         this.clientServices.add(clientService);
@@ -227,4 +268,12 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
         return connectionPool;
     }
 
+    int namedStatementsCacheCapacity() {
+        return namedStatementsCacheCapacity;
+    }
+
+    int fetchSize() {
+        return fetchSize;
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
+import io.helidon.common.configurable.LruCache;
 import io.helidon.dbclient.common.DbClientContext;
 
 /**
@@ -32,12 +33,16 @@ final class JdbcExecuteContext extends DbClientContext {
     private final ExecutorService executorService;
     private final String dbType;
     private final CompletionStage<Connection> connection;
+    private final LruCache<String, JdbcStatement.NamedStatement> namedStatements;
+    private final int fetchSize;
 
     private JdbcExecuteContext(Builder builder) {
         super(builder);
         this.executorService = builder.executorService;
         this.dbType = builder.dbType;
         this.connection = builder.connection;
+        this.namedStatements = builder.namedStatements;
+        this.fetchSize = builder.fetchSize;
     }
 
     /**
@@ -60,6 +65,14 @@ final class JdbcExecuteContext extends DbClientContext {
         return connection;
     }
 
+    LruCache<String, JdbcStatement.NamedStatement> namedStatements() {
+        return namedStatements;
+    }
+
+    int fetchSize() {
+        return fetchSize;
+    }
+
     void addFuture(CompletableFuture<Long> queryFuture) {
         this.futures.add(queryFuture);
     }
@@ -79,9 +92,14 @@ final class JdbcExecuteContext extends DbClientContext {
         private ExecutorService executorService;
         private String dbType;
         private CompletionStage<Connection> connection;
+        private LruCache<String, JdbcStatement.NamedStatement> namedStatements;
+        private int fetchSize;
 
         @Override
         public JdbcExecuteContext build() {
+            if (namedStatements == null) {
+                namedStatements = LruCache.create();
+            }
             return new JdbcExecuteContext(this);
         }
 
@@ -99,5 +117,15 @@ final class JdbcExecuteContext extends DbClientContext {
             this.connection = connection;
             return this;
         }
+
+        Builder namedStatements(LruCache<String, JdbcStatement.NamedStatement> namedStatements) {
+            this.namedStatements = namedStatements;
+            return this;
+        }
+
+        Builder fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
@@ -95,6 +96,18 @@ abstract class JdbcStatement<S extends DbStatement<S, R>, R> extends AbstractSta
         return executeContext;
     }
 
+    /**
+     * JDBC form of a statement with named parameters, parsed once per statement text.
+     *
+     * @param statement statement with named parameters
+     * @return converted statement
+     */
+    NamedStatement namedStatement(String statement) {
+        return executeContext.namedStatements()
+                .computeValue(statement, () -> Optional.of(NamedStatement.parse(statement)))
+                .get();
+    }
+
     private PreparedStatement prepareStatement(Connection conn, String statementName, String statement) {
         try {
             return conn.prepareStatement(statement);
@@ -111,11 +124,11 @@ abstract class JdbcStatement<S extends DbStatement<S, R>, R> extends AbstractSta
         PreparedStatement preparedStatement = null;
         try {
             // Parameters names must be replaced with ? and names occurence order must be stored.
-            Parser parser = new Parser(statement);
-            String jdbcStatement = parser.convert();
+            NamedStatement namedStatement = namedStatement(statement);
+            String jdbcStatement = namedStatement.jdbcStatement();
             LOGGER.finest(() -> String.format("Converted statement: %s", jdbcStatement));
             preparedStatement = connection.prepareStatement(jdbcStatement);
-            List<String> namesOrder = parser.namesOrder();
+            List<String> namesOrder = namedStatement.namesOrder();
             // Set parameters into prepared statement
             int i = 1;
             for (String name : namesOrder) {
@@ -157,7 +170,7 @@ abstract class JdbcStatement<S extends DbStatement<S, R>, R> extends AbstractSta
         }
     }
 
-    private void closePreparedStatement(final PreparedStatement preparedStatement) {
+    void closePreparedStatement(final PreparedStatement preparedStatement) {
         if (preparedStatement != null) {
             try {
                 preparedStatement.close();
@@ -167,7 +180,7 @@ abstract class JdbcStatement<S extends DbStatement<S, R>, R> extends AbstractSta
         }
     }
 
-    private static String namedStatementErrorMessage(final List<String> namesOrder, final Map<String, Object> parameters) {
+    static String namedStatementErrorMessage(final List<String> namesOrder, final Map<String, ?> parameters) {
         // Parameters in query missing in parameters Map
         List<String> notInParams = new ArrayList<>(namesOrder.size());
         for (String name : namesOrder) {
@@ -189,6 +202,33 @@ abstract class JdbcStatement<S extends DbStatement<S, R>, R> extends AbstractSta
         return sb.toString();
     }
 
+    /**
+     * Statement with named parameters converted to a JDBC statement, with the order of the parameter names.
+     */
+    static final class NamedStatement {
+        private final String jdbcStatement;
+        private final List<String> namesOrder;
+
+        private NamedStatement(String jdbcStatement, List<String> namesOrder) {
+            this.jdbcStatement = jdbcStatement;
+            this.namesOrder = namesOrder;
+        }
+
+        static NamedStatement parse(String statement) {
+            Parser parser = new Parser(statement);
+            String jdbcStatement = parser.convert();
+            return new NamedStatement(jdbcStatement, List.copyOf(parser.namesOrder()));
+        }
+
+        String jdbcStatement() {
+            return jdbcStatement;
+        }
+
+        List<String> namesOrder() {
+            return namesOrder;
+        }
+    }
+
     /**
      * Mapping parser state machine.
      *
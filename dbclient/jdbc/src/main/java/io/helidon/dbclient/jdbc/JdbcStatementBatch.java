@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.logging.Logger;
+
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.dbclient.DbClientException;
+import io.helidon.dbclient.DbClientServiceContext;
+import io.helidon.dbclient.DbStatementBatch;
+import io.helidon.dbclient.common.DbStatementContext;
+import io.helidon.dbclient.common.ParamType;
+
+/**
+ * Batch DML statement.
+ * All parameter sets are sent to the database using JDBC batches of a single prepared statement.
+ */
+class JdbcStatementBatch extends JdbcStatement<DbStatementBatch, Multi<Long>> implements DbStatementBatch {
+
+    /** Local logger instance. */
+    private static final Logger LOGGER = Logger.getLogger(JdbcStatementBatch.class.getName());
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final List<Object> parameterSets = new ArrayList<>();
+    private Flow.Publisher<?> parametersPublisher;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    JdbcStatementBatch(JdbcExecuteContext executeContext,
+                       DbStatementContext statementContext) {
+        super(executeContext, statementContext);
+    }
+
+    @Override
+    public DbStatementBatch batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but is " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    public DbStatementBatch addBatch() {
+        if (paramType() == ParamType.NAMED) {
+            parameterSets.add(namedParams());
+        } else {
+            parameterSets.add(indexedParams());
+        }
+        clearParameters();
+        return this;
+    }
+
+    @Override
+    public Multi<Long> execute() {
+        if (paramType() != ParamType.UNKNOWN) {
+            addBatch();
+        }
+        return super.execute();
+    }
+
+    @Override
+    public Multi<Long> execute(Flow.Publisher<?> parameters) {
+        this.parametersPublisher = Objects.requireNonNull(parameters, "Parameters publisher cannot be null");
+        return execute();
+    }
+
+    @Override
+    protected Multi<Long> doExecute(Single<DbClientServiceContext> dbContextFuture,
+                                    CompletableFuture<Void> statementFuture,
+                                    CompletableFuture<Long> queryFuture) {
+
+        executeContext().addFuture(queryFuture);
+
+        // query and statement future must always complete either OK, or exceptionally
+        dbContextFuture.exceptionally(throwable -> {
+            statementFuture.completeExceptionally(throwable);
+            queryFuture.completeExceptionally(throwable);
+            return null;
+        });
+
+        return dbContextFuture
+                .flatMap(dbContext -> Single.create(connection())
+                        .flatMap(connection -> doExecute(dbContext, connection, statementFuture, queryFuture)));
+    }
+
+    private Multi<Long> doExecute(DbClientServiceContext dbContext,
+                                  Connection connection,
+                                  CompletableFuture<Void> statementFuture,
+                                  CompletableFuture<Long> queryFuture) {
+
+        Batches batches = new Batches(dbContext, connection);
+
+        Multi<Object> parameters = Multi.create(parameterSets);
+        if (parametersPublisher != null) {
+            parameters = Multi.concat(parameters, Multi.create(parametersPublisher).map(Object.class::cast));
+        }
+
+        // a single batch is executed at a time, next parameter sets are requested once it completes
+        return parameters.flatMap(batches::add, 1, false, 1)
+                .onCompleteResumeWith(Multi.defer(batches::flush))
+                .onComplete(() -> {
+                    batches.close();
+                    statementFuture.complete(null);
+                    queryFuture.complete(batches.total);
+                })
+                .onError(throwable -> {
+                    batches.close();
+                    statementFuture.completeExceptionally(throwable);
+                    queryFuture.completeExceptionally(throwable);
+                })
+                .onCancel(() -> {
+                    batches.close();
+                    statementFuture.complete(null);
+                    queryFuture.complete(batches.total);
+                });
+    }
+
+    /**
+     * Parameter sets of the batch being collected and the prepared statement shared by all batches.
+     * Batches are executed one after another in the executor service, the statement is closed
+     * once the running batch completes.
+     */
+    private final class Batches {
+        private final DbClientServiceContext dbContext;
+        private final Connection connection;
+        private List<Object> batch = new ArrayList<>();
+        private PreparedStatement statement;
+        private List<String> namesOrder;
+        private volatile long total;
+        // the batch executed last, a new batch is only submitted once the previous one completed
+        private volatile CompletableFuture<Long> running = CompletableFuture.completedFuture(0L);
+
+        private Batches(DbClientServiceContext dbContext, Connection connection) {
+            this.dbContext = dbContext;
+            this.connection = connection;
+        }
+
+        private Flow.Publisher<Long> add(Object parameterSet) {
+            batch.add(parameterSet);
+            if (batch.size() < batchSize) {
+                return Multi.empty();
+            }
+            return executeBatch();
+        }
+
+        private Flow.Publisher<Long> flush() {
+            if (batch.isEmpty()) {
+                return Multi.empty();
+            }
+            return executeBatch();
+        }
+
+        private Single<Long> executeBatch() {
+            List<Object> parameterSets = batch;
+            batch = new ArrayList<>();
+
+            CompletableFuture<Long> result = new CompletableFuture<>();
+            running = result;
+            executorService().submit(() -> {
+                try {
+                    result.complete(executeBatch(parameterSets));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            return Single.create(result);
+        }
+
+        private long executeBatch(List<Object> parameterSets) throws SQLException {
+            for (Object parameterSet : parameterSets) {
+                bind(parameterSet);
+                statement.addBatch();
+            }
+            long count = 0;
+            for (int updated : statement.executeBatch()) {
+                // drivers may not report the number of records modified by each parameter set
+                if (updated > 0) {
+                    count += updated;
+                }
+            }
+            total += count;
+            long batchCount = count;
+            LOGGER.finest(() -> String.format("Batch of %d parameter sets of statement %s modified %d records",
+                                              parameterSets.size(),
+                                              dbContext.statementName(),
+                                              batchCount));
+            return count;
+        }
+
+        private void bind(Object parameterSet) throws SQLException {
+            if (parameterSet instanceof List) {
+                prepare(false);
+                List<?> parameters = (List<?>) parameterSet;
+                // JDBC set position parameter starts from 1.
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+            } else {
+                prepare(true);
+                Map<String, ?> parameters = namedParameters(parameterSet);
+                int i = 1;
+                for (String name : namesOrder) {
+                    if (!parameters.containsKey(name)) {
+                        throw new DbClientException(namedStatementErrorMessage(namesOrder, parameters));
+                    }
+                    statement.setObject(i, parameters.get(name));
+                    i++;
+                }
+            }
+        }
+
+        private void prepare(boolean named) throws SQLException {
+            if (statement == null) {
+                String jdbcStatement = dbContext.statement();
+                if (named) {
+                    // Parameters names must be replaced with ? and names occurrence order must be stored.
+                    NamedStatement namedStatement = namedStatement(jdbcStatement);
+                    jdbcStatement = namedStatement.jdbcStatement();
+                    namesOrder = namedStatement.namesOrder();
+                }
+                statement = connection.prepareStatement(jdbcStatement);
+            } else if (named != (namesOrder != null)) {
+                throw new DbClientException(String.format("Batch statement %s cannot mix indexed and named parameters",
+                                                          dbContext.statementName()));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, ?> namedParameters(Object parameterSet) {
+            if (parameterSet instanceof Map) {
+                return (Map<String, ?>) parameterSet;
+            }
+            Class<Object> theClass = (Class<Object>) parameterSet.getClass();
+            return dbMapperManager().toNamedParameters(parameterSet, theClass);
+        }
+
+        private void close() {
+            // the statement must not be closed while executeBatch may be running when the execution is cancelled
+            running.whenComplete((count, throwable) -> {
+                if (statement != null) {
+                    closePreparedStatement(statement);
+                }
+            });
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,10 +27,10 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Flow;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -41,6 +41,7 @@ import io.helidon.common.mapper.MapperException;
 import io.helidon.common.mapper.MapperManager;
 import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
+import io.helidon.common.reactive.SubscriptionHelper;
 import io.helidon.dbclient.DbClientServiceContext;
 import io.helidon.dbclient.DbColumn;
 import io.helidon.dbclient.DbMapperManager;
@@ -56,6 +57,9 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
     /** Local logger instance. */
     private static final Logger LOGGER = Logger.getLogger(JdbcStatementQuery.class.getName());
 
+    /** Upper bound of the fetch size derived from the demand of the subscriber. */
+    private static final int MAX_DEMAND_FETCH_SIZE = 1000;
+
     JdbcStatementQuery(JdbcExecuteContext executeContext,
                        DbStatementContext statementContext) {
         super(executeContext, statementContext);
@@ -93,6 +97,9 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
             try {
                 // first try block is to create a statement
                 statement = super.build(connection, dbContext);
+                if (executeContext().fetchSize() > 0) {
+                    statement.setFetchSize(executeContext().fetchSize());
+                }
             } catch (Exception e) {
                 result.completeExceptionally(e);
                 statementFuture.completeExceptionally(e);
@@ -108,7 +115,8 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
                                                  dbMapperManager(),
                                                  mapperManager(),
                                                  queryFuture,
-                                                 rs));
+                                                 rs,
+                                                 executeContext().fetchSize() > 0));
             } catch (Throwable e) {
                 LOGGER.log(Level.FINEST,
                            String.format("Failed to execute query %s: %s", statement.toString(), e.getMessage()),
@@ -127,55 +135,33 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
             DbMapperManager dbMapperManager,
             MapperManager mapperManager,
             CompletableFuture<Long> queryFuture,
-            ResultSet resultSet) {
+            ResultSet resultSet,
+            boolean fixedFetchSize) {
 
         return Multi.create(new JdbcDbRows(resultSet,
                                          executorService,
                                          dbMapperManager,
                                          mapperManager,
-                                         queryFuture)
+                                         queryFuture,
+                                         fixedFetchSize)
                                   .publisher());
     }
 
-    static Map<Long, DbColumn> createMetadata(ResultSet rs) throws SQLException {
+    static Metadata createMetadata(ResultSet rs) throws SQLException {
         ResultSetMetaData metaData = rs.getMetaData();
         int columnCount = metaData.getColumnCount();
 
-        Map<Long, DbColumn> byNumbers = new HashMap<>();
-
-        for (int i = 1; i <= columnCount; i++) {
-            String name = metaData.getColumnLabel(i);
-            String sqlType = metaData.getColumnTypeName(i);
-            Class<?> javaClass = classByName(metaData.getColumnClassName(i));
-            DbColumn column = new DbColumn() {
-                @Override
-                public <T> T as(Class<T> type) {
-                    return null;
-                }
-
-                @Override
-                public <T> T as(GenericType<T> type) {
-                    return null;
-                }
-
-                @Override
-                public Class<?> javaType() {
-                    return javaClass;
-                }
-
-                @Override
-                public String dbType() {
-                    return sqlType;
-                }
+        String[] names = new String[columnCount];
+        String[] dbTypes = new String[columnCount];
+        String[] javaTypes = new String[columnCount];
 
-                @Override
-                public String name() {
-                    return name;
-                }
-            };
-            byNumbers.put((long) i, column);
+        for (int i = 0; i < columnCount; i++) {
+            // JDBC column index starts from 1.
+            names[i] = metaData.getColumnLabel(i + 1);
+            dbTypes[i] = metaData.getColumnTypeName(i + 1);
+            javaTypes[i] = metaData.getColumnClassName(i + 1);
         }
-        return byNumbers;
+        return new Metadata(names, dbTypes, javaTypes);
     }
 
     private static Class<?> classByName(String columnClassName) {
@@ -189,6 +175,60 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
         }
     }
 
+    /**
+     * Column metadata of a query result, shared by all its rows.
+     * Columns are stored in arrays indexed by column index, starting from {@code 0}.
+     */
+    static final class Metadata {
+        private final String[] names;
+        private final String[] dbTypes;
+        private final String[] javaTypeNames;
+        private final Class<?>[] javaTypes;
+        private final boolean[] javaTypesResolved;
+        private final Map<String, Integer> indexes;
+
+        private Metadata(String[] names, String[] dbTypes, String[] javaTypeNames) {
+            this.names = names;
+            this.dbTypes = dbTypes;
+            this.javaTypeNames = javaTypeNames;
+            this.javaTypes = new Class<?>[names.length];
+            this.javaTypesResolved = new boolean[names.length];
+            this.indexes = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                // the last column with the same name wins
+                indexes.put(names[i], i);
+            }
+        }
+
+        int size() {
+            return names.length;
+        }
+
+        int index(String name) {
+            Integer index = indexes.get(name);
+            return (index == null) ? -1 : index;
+        }
+
+        String name(int index) {
+            return names[index];
+        }
+
+        String dbType(int index) {
+            return dbTypes[index];
+        }
+
+        Class<?> javaType(int index) {
+            // class lookup is only done when the type is requested, results are shared by all rows
+            synchronized (javaTypes) {
+                if (!javaTypesResolved[index]) {
+                    javaTypes[index] = classByName(javaTypeNames[index]);
+                    javaTypesResolved[index] = true;
+                }
+                return javaTypes[index];
+            }
+        }
+    }
+
     private static final class JdbcDbRows {
         private final AtomicBoolean resultRequested = new AtomicBoolean();
         private final ExecutorService executorService;
@@ -196,18 +236,21 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
         private final MapperManager mapperManager;
         private final CompletableFuture<Long> queryFuture;
         private final ResultSet resultSet;
+        private final boolean fixedFetchSize;
 
         private JdbcDbRows(ResultSet resultSet,
                            ExecutorService executorService,
                            DbMapperManager dbMapperManager,
                            MapperManager mapperManager,
-                           CompletableFuture<Long> queryFuture) {
+                           CompletableFuture<Long> queryFuture,
+                           boolean fixedFetchSize) {
 
             this.executorService = executorService;
             this.dbMapperManager = dbMapperManager;
             this.mapperManager = mapperManager;
             this.queryFuture = queryFuture;
             this.resultSet = resultSet;
+            this.fixedFetchSize = fixedFetchSize;
         }
 
         Flow.Publisher<DbRow> publisher() {
@@ -215,13 +258,13 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
             return toPublisher();
         }
 
-        @SuppressWarnings("unchecked")
         private Flow.Publisher<DbRow> toPublisher() {
             return new RowPublisher(executorService,
                                     resultSet,
                                     queryFuture,
                                     dbMapperManager,
-                                    mapperManager);
+                                    mapperManager,
+                                    fixedFetchSize);
         }
 
         private void checkResult() {
@@ -238,226 +281,346 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
         private final CompletableFuture<Long> queryFuture;
         private final DbMapperManager dbMapperManager;
         private final MapperManager mapperManager;
+        private final boolean fixedFetchSize;
 
         private RowPublisher(ExecutorService executorService,
                              ResultSet rs,
                              CompletableFuture<Long> queryFuture,
                              DbMapperManager dbMapperManager,
-                             MapperManager mapperManager) {
+                             MapperManager mapperManager,
+                             boolean fixedFetchSize) {
 
             this.executorService = executorService;
             this.rs = rs;
             this.queryFuture = queryFuture;
             this.dbMapperManager = dbMapperManager;
             this.mapperManager = mapperManager;
+            this.fixedFetchSize = fixedFetchSize;
         }
 
         @Override
         public void subscribe(Flow.Subscriber<? super DbRow> subscriber) {
-            LinkedBlockingQueue<Long> requestQueue = new LinkedBlockingQueue<>();
-            AtomicBoolean cancelled = new AtomicBoolean();
-
             // we have executed the statement, we can correctly subscribe
-            subscriber.onSubscribe(new Flow.Subscription() {
-                @Override
-                public void request(long n) {
-                    // add the requested number to the queue
-                    requestQueue.add(n);
-                }
+            subscriber.onSubscribe(new RowSubscription(subscriber));
+        }
+
+        /**
+         * Reads rows from the result set only when requested by the subscriber.
+         * Requests and cancellation schedule a single drain task in the executor service, so no thread
+         * is blocked while waiting for demand and the result set is never accessed concurrently.
+         */
+        private final class RowSubscription implements Flow.Subscription {
+            private final AtomicLong requested = new AtomicLong();
+            private final AtomicInteger wip = new AtomicInteger();
+            private final Flow.Subscriber<? super DbRow> subscriber;
+            private volatile boolean cancelled;
+            private volatile Throwable badRequest;
+            // fields below are only accessed from the drain loop
+            private Metadata metadata;
+            private int fetchSize;
+            private long count;
+            private boolean done;
+
+            private RowSubscription(Flow.Subscriber<? super DbRow> subscriber) {
+                this.subscriber = subscriber;
+            }
 
-                @Override
-                public void cancel() {
-                    cancelled.set(true);
-                    requestQueue.clear();
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    badRequest = new IllegalArgumentException("Request must be positive, but was " + n);
+                } else {
+                    SubscriptionHelper.addRequest(requested, n);
                 }
-            });
-
-            // TODO
-            // we should only use a thread to read data that was actually requested
-            // I would prefer to use the same thread to process a single query (to make sure we honor thread locals
-            // that may be used by the database)
-
-            // and now we can process the data from the database
-            executorService.submit(() -> {
-                //now we have a subscriber, we can handle the processing of result set
-                try (ResultSet rs = this.rs) {
-                    Map<Long, DbColumn> metadata = createMetadata(rs);
-                    long count = 0;
-
-                    // now we only want to process next record if it was requested
-                    while (!cancelled.get()) {
-                        Long nextElement;
-                        try {
-                            nextElement = requestQueue.poll(10, TimeUnit.MINUTES);
-                        } catch (InterruptedException e) {
-                            LOGGER.finest("Interrupted while polling for requests, terminating DB read");
-                            subscriber.onError(e);
-                            break;
-                        }
-                        if (nextElement == null) {
-                            LOGGER.finest("No data requested for 10 minutes, terminating DB read");
-                            subscriber.onError(new TimeoutException("No data requested in 10 minutes"));
-                            break;
-                        }
-                        for (long i = 0; i < nextElement; i++) {
-                            if (rs.next()) {
-                                DbRow dbRow = createDbRow(rs, metadata, dbMapperManager, mapperManager);
-                                subscriber.onNext(dbRow);
-                                count++;
-                            } else {
-                                queryFuture.complete(count);
-                                subscriber.onComplete();
-                                return;
-                            }
-                        }
-                    }
+                schedule();
+            }
 
-                    if (cancelled.get()) {
-                        queryFuture
-                                .completeExceptionally(new CancellationException("Processing cancelled by subscriber"));
+            @Override
+            public void cancel() {
+                cancelled = true;
+                schedule();
+            }
+
+            private void schedule() {
+                if (wip.getAndIncrement() == 0) {
+                    try {
+                        executorService.submit(this::drain);
+                    } catch (RejectedExecutionException e) {
+                        done = true;
+                        close();
+                        queryFuture.completeExceptionally(e);
+                        subscriber.onError(e);
                     }
-                } catch (SQLException e) {
-                    queryFuture.completeExceptionally(e);
-                    subscriber.onError(e);
                 }
-            });
-        }
-
-        private DbRow createDbRow(ResultSet rs,
-                                  Map<Long, DbColumn> metadata,
-                                  DbMapperManager dbMapperManager,
-                                  MapperManager mapperManager) throws SQLException {
-            // read whole row
-            // for each column
-            Map<String, DbColumn> byStringsWithValues = new HashMap<>();
-            Map<Integer, DbColumn> byNumbersWithValues = new HashMap<>();
-
-            for (int i = 1; i <= metadata.size(); i++) {
-                DbColumn meta = metadata.get((long) i);
-                Object value = rs.getObject(i);
-                DbColumn withValue = new DbColumn() {
-                    @Override
-                    public <T> T as(Class<T> type) {
-                        if (null == value) {
-                            return null;
-                        }
-                        if (type.isAssignableFrom(value.getClass())) {
-                            return type.cast(value);
-                        }
-                        return map(value, type);
-                    }
-
-                    @SuppressWarnings("unchecked")
-                    <SRC, T> T map(SRC value, Class<T> type) {
-                        Class<SRC> theClass = (Class<SRC>) value.getClass();
+            }
 
+            private void drain() {
+                int missed = 1;
+                do {
+                    if (!done) {
                         try {
-                            return mapperManager.map(value, theClass, type);
-                        } catch (MapperException e) {
-                            if (type.equals(String.class)) {
-                                return (T) String.valueOf(value);
-                            }
-                            throw e;
+                            emit();
+                        } catch (Throwable e) {
+                            fail(e);
                         }
                     }
+                    missed = wip.addAndGet(-missed);
+                } while (missed != 0);
+            }
 
-                    @SuppressWarnings("unchecked")
-                    <SRC, T> T map(SRC value, GenericType<T> type) {
-                        Class<SRC> theClass = (Class<SRC>) value.getClass();
-                        return mapperManager.map(value, GenericType.create(theClass), type);
-                    }
+            private void emit() throws SQLException {
+                if (metadata == null) {
+                    metadata = createMetadata(rs);
+                    fetchSize = rs.getFetchSize();
+                }
+                long demand = requested.get();
+                adjustFetchSize(demand);
 
-                    @Override
-                    public <T> T as(GenericType<T> type) {
-                        if (null == value) {
-                            return null;
-                        }
-                        if (type.isClass()) {
-                            Class<?> theClass = type.rawType();
-                            if (theClass.isAssignableFrom(value.getClass())) {
-                                return type.cast(value);
-                            }
-                        }
-                        return map(value, type);
+                long emitted = 0;
+                while (emitted != demand) {
+                    if (terminated()) {
+                        return;
                     }
-
-                    @Override
-                    public Class<?> javaType() {
-                        if (null == meta.javaType()) {
-                            if (null == value) {
-                                return null;
-                            }
-                            return value.getClass();
-                        } else {
-                            return meta.javaType();
-                        }
+                    if (!rs.next()) {
+                        done = true;
+                        close();
+                        queryFuture.complete(count);
+                        subscriber.onComplete();
+                        return;
                     }
+                    subscriber.onNext(createDbRow(rs, metadata));
+                    emitted++;
+                    count++;
+                }
+                if (terminated()) {
+                    return;
+                }
+                if (emitted > 0) {
+                    SubscriptionHelper.produced(requested, emitted);
+                }
+            }
 
-                    @Override
-                    public String dbType() {
-                        return meta.dbType();
-                    }
+            private boolean terminated() {
+                if (cancelled) {
+                    done = true;
+                    close();
+                    queryFuture.completeExceptionally(new CancellationException("Processing cancelled by subscriber"));
+                    return true;
+                }
+                Throwable error = badRequest;
+                if (error != null) {
+                    fail(error);
+                    return true;
+                }
+                return false;
+            }
 
-                    @Override
-                    public String name() {
-                        return meta.name();
+            // unless configured, fetch size follows the demand, so larger requests need fewer round trips
+            private void adjustFetchSize(long demand) {
+                if (fixedFetchSize || demand <= fetchSize) {
+                    return;
+                }
+                int size = (int) Math.min(demand, MAX_DEMAND_FETCH_SIZE);
+                if (size > fetchSize) {
+                    fetchSize = size;
+                    try {
+                        rs.setFetchSize(size);
+                    } catch (SQLException e) {
+                        // fetch size is just a hint, the driver may not support it
+                        LOGGER.log(Level.FINEST, "Failed to set fetch size of a result set", e);
                     }
-                };
-                byStringsWithValues.put(meta.name(), withValue);
-                byNumbersWithValues.put(i, withValue);
+                }
             }
 
-            return new DbRow() {
-                @Override
-                public DbColumn column(String name) {
-                    return byStringsWithValues.get(name);
-                }
+            private void fail(Throwable throwable) {
+                done = true;
+                close();
+                queryFuture.completeExceptionally(throwable);
+                subscriber.onError(throwable);
+            }
 
-                @Override
-                public DbColumn column(int index) {
-                    return byNumbersWithValues.get(index);
+            private void close() {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINEST, "Failed to close a result set", e);
                 }
+            }
+        }
 
-                @Override
-                public void forEach(Consumer<? super DbColumn> columnAction) {
-                    byStringsWithValues.values()
-                            .forEach(columnAction);
-                }
+        private DbRow createDbRow(ResultSet rs, Metadata metadata) throws SQLException {
+            // read values of the whole row, columns are only created when accessed
+            Object[] values = new Object[metadata.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rs.getObject(i + 1);
+            }
+            return new JdbcDbRow(metadata, values, dbMapperManager, mapperManager);
+        }
+    }
+
+    /**
+     * Single row of a query result.
+     * Values are stored in an array indexed the same way as the shared query {@link Metadata}.
+     */
+    private static final class JdbcDbRow implements DbRow {
+        private final Metadata metadata;
+        private final Object[] values;
+        private final DbMapperManager dbMapperManager;
+        private final MapperManager mapperManager;
+        private DbColumn[] columns;
+
+        private JdbcDbRow(Metadata metadata, Object[] values, DbMapperManager dbMapperManager, MapperManager mapperManager) {
+            this.metadata = metadata;
+            this.values = values;
+            this.dbMapperManager = dbMapperManager;
+            this.mapperManager = mapperManager;
+        }
+
+        @Override
+        public DbColumn column(String name) {
+            int index = metadata.index(name);
+            return (index < 0) ? null : columnAt(index);
+        }
+
+        @Override
+        public DbColumn column(int index) {
+            // column index starts from 1 as in JDBC
+            if (index < 1 || index > values.length) {
+                return null;
+            }
+            return columnAt(index - 1);
+        }
+
+        @Override
+        public void forEach(Consumer<? super DbColumn> columnAction) {
+            for (int i = 0; i < values.length; i++) {
+                columnAction.accept(columnAt(i));
+            }
+        }
+
+        @Override
+        public <T> T as(Class<T> type) {
+            return dbMapperManager.read(this, type);
+        }
+
+        @Override
+        public <T> T as(GenericType<T> type) {
+            return dbMapperManager.read(this, type);
+        }
 
-                @Override
-                public <T> T as(Class<T> type) {
-                    return dbMapperManager.read(this, type);
+        @Override
+        public <T> T as(Function<DbRow, T> mapper) {
+            return mapper.apply(this);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
                 }
+                sb.append(metadata.name(i));
+                sb.append(':');
+                sb.append(values[i]);
+            }
+            sb.append('}');
+            return sb.toString();
+        }
 
-                @Override
-                public <T> T as(GenericType<T> type) {
-                    return dbMapperManager.read(this, type);
+        private DbColumn columnAt(int index) {
+            if (columns == null) {
+                columns = new DbColumn[values.length];
+            }
+            DbColumn column = columns[index];
+            if (column == null) {
+                column = new JdbcDbColumn(metadata, index, values[index], mapperManager);
+                columns[index] = column;
+            }
+            return column;
+        }
+    }
+
+    private static final class JdbcDbColumn implements DbColumn {
+        private final Metadata metadata;
+        private final int index;
+        private final Object value;
+        private final MapperManager mapperManager;
+
+        private JdbcDbColumn(Metadata metadata, int index, Object value, MapperManager mapperManager) {
+            this.metadata = metadata;
+            this.index = index;
+            this.value = value;
+            this.mapperManager = mapperManager;
+        }
+
+        @Override
+        public <T> T as(Class<T> type) {
+            if (null == value) {
+                return null;
+            }
+            if (type.isAssignableFrom(value.getClass())) {
+                return type.cast(value);
+            }
+            return map(value, type);
+        }
+
+        @Override
+        public <T> T as(GenericType<T> type) {
+            if (null == value) {
+                return null;
+            }
+            if (type.isClass()) {
+                Class<?> theClass = type.rawType();
+                if (theClass.isAssignableFrom(value.getClass())) {
+                    return type.cast(value);
                 }
+            }
+            return map(value, type);
+        }
 
-                @Override
-                public <T> T as(Function<DbRow, T> mapper) {
-                    return mapper.apply(this);
+        @Override
+        public Class<?> javaType() {
+            Class<?> javaType = metadata.javaType(index);
+            if (null == javaType) {
+                if (null == value) {
+                    return null;
                 }
+                return value.getClass();
+            } else {
+                return javaType;
+            }
+        }
 
-                @Override
-                public String toString() {
-                    StringBuilder sb = new StringBuilder();
-                    boolean first = true;
-                    sb.append('{');
-                    for (DbColumn col : byStringsWithValues.values()) {
-                        if (first) {
-                            first = false;
-                        } else {
-                            sb.append(',');
-                        }
-                        sb.append(col.name());
-                        sb.append(':');
-                        sb.append(col.value().toString());
-                    }
-                    sb.append('}');
-                    return sb.toString();
+        @Override
+        public String dbType() {
+            return metadata.dbType(index);
+        }
+
+        @Override
+        public String name() {
+            return metadata.name(index);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <SRC, T> T map(SRC value, Class<T> type) {
+            Class<SRC> theClass = (Class<SRC>) value.getClass();
+
+            try {
+                return mapperManager.map(value, theClass, type);
+            } catch (MapperException e) {
+                if (type.equals(String.class)) {
+                    return (T) String.valueOf(value);
                 }
-            };
+                throw e;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <SRC, T> T map(SRC value, GenericType<T> type) {
+            Class<SRC> theClass = (Class<SRC>) value.getClass();
+            return mapperManager.map(value, GenericType.create(theClass), type);
         }
     }
 
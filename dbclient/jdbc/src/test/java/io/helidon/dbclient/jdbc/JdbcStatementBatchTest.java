@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.dbclient.DbClient;
+import io.helidon.dbclient.DbClientException;
+import io.helidon.dbclient.DbStatementType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link JdbcStatementBatch}.
+ */
+class JdbcStatementBatchTest {
+
+    private static final String STATEMENT = "INSERT INTO pokemons (name, type) VALUES (?, ?)";
+    private static final String NAMED_STATEMENT = "INSERT INTO pokemons (name, type) VALUES (:name, :type)";
+
+    private final AtomicInteger parameterSets = new AtomicInteger();
+    private final AtomicInteger serviceCalls = new AtomicInteger();
+    private Connection connection;
+    private PreparedStatement statement;
+    private DbClient dbClient;
+
+    @BeforeEach
+    void beforeEach() throws SQLException {
+        ConnectionPool pool = Mockito.mock(ConnectionPool.class);
+        connection = Mockito.mock(Connection.class);
+        statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(pool.connection()).thenReturn(connection);
+        Mockito.when(connection.prepareStatement(STATEMENT)).thenReturn(statement);
+        Mockito.doAnswer(invocation -> parameterSets.incrementAndGet()).when(statement).addBatch();
+        Mockito.when(statement.executeBatch()).thenAnswer(invocation -> {
+            int[] counts = new int[parameterSets.getAndSet(0)];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+
+        dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(pool)
+                .addService(context -> {
+                    assertThat(context.statementType(), is(DbStatementType.BATCH));
+                    serviceCalls.incrementAndGet();
+                    return Single.just(context);
+                })
+                .build();
+    }
+
+    @Test
+    void testIndexedBatches() throws SQLException {
+        List<Long> counts = dbClient.execute(exec -> exec.createBatch(STATEMENT)
+                        .batchSize(2)
+                        .params("Pikachu", "electric").addBatch()
+                        .params("Charmander", "fire").addBatch()
+                        .params("Squirtle", "water").addBatch()
+                        .addParam("Bulbasaur").addParam("grass").addBatch()
+                        // added by execute
+                        .params("Eevee", "normal")
+                        .execute())
+                .collectList()
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(counts, contains(2L, 2L, 1L));
+        assertThat(serviceCalls.get(), is(1));
+        // one statement is reused by all batches
+        Mockito.verify(connection, Mockito.times(1)).prepareStatement(STATEMENT);
+        Mockito.verify(statement, Mockito.times(3)).executeBatch();
+        Mockito.verify(statement).setObject(1, "Eevee");
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    void testNamedPublisher() throws SQLException {
+        List<Long> counts = dbClient.execute(exec -> exec.createBatch(NAMED_STATEMENT)
+                        .batchSize(3)
+                        .execute(Multi.range(0, 7)
+                                         .map(i -> Map.of("type", "type-" + i, "name", "name-" + i))))
+                .collectList()
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(counts, contains(3L, 3L, 1L));
+        assertThat(serviceCalls.get(), is(1));
+        Mockito.verify(connection, Mockito.times(1)).prepareStatement(STATEMENT);
+        Mockito.verify(statement).setObject(1, "name-6");
+        Mockito.verify(statement).setObject(2, "type-6");
+    }
+
+    @Test
+    void testMixedParameters() {
+        CompletionException e = assertThrows(CompletionException.class,
+                                             () -> dbClient.execute(exec -> exec.createBatch(NAMED_STATEMENT)
+                                                             .addParam("name", "Pikachu")
+                                                             .addParam("type", "electric")
+                                                             .addBatch()
+                                                             .execute(Multi.singleton(List.of("Eevee", "normal"))))
+                                                     .collectList()
+                                                     .await(10, TimeUnit.SECONDS));
+
+        assertThat(e.getCause(), instanceOf(DbClientException.class));
+    }
+
+    @Test
+    void testCancelWaitsForRunningBatch() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(statement.executeBatch()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new int[] {1};
+        });
+
+        CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        dbClient.execute(exec -> exec.createBatch(STATEMENT)
+                        .params("Pikachu", "electric")
+                        .execute())
+                .subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription s) {
+                        subscription.complete(s);
+                        s.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(Long item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        subscription.get(10, TimeUnit.SECONDS).cancel();
+        // executeBatch is still running, the statement must stay open
+        Mockito.verify(statement, Mockito.never()).close();
+
+        release.countDown();
+        Mockito.verify(statement, Mockito.timeout(10_000)).close();
+    }
+}
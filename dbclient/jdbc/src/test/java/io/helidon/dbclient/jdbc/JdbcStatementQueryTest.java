@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.dbclient.DbClient;
+import io.helidon.dbclient.DbColumn;
+import io.helidon.dbclient.DbRow;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit test for {@link JdbcStatementQuery}.
+ */
+class JdbcStatementQueryTest {
+
+    private static final String STATEMENT = "SELECT id, name FROM pokemons";
+    private static final int ROWS = 25;
+
+    private final AtomicInteger row = new AtomicInteger();
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void beforeEach() throws SQLException {
+        pool = Mockito.mock(ConnectionPool.class);
+        Connection connection = Mockito.mock(Connection.class);
+        statement = Mockito.mock(PreparedStatement.class);
+        resultSet = Mockito.mock(ResultSet.class);
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+
+        Mockito.when(pool.connection()).thenReturn(connection);
+        Mockito.when(connection.prepareStatement(STATEMENT)).thenReturn(statement);
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+        Mockito.when(metaData.getColumnCount()).thenReturn(2);
+        Mockito.when(metaData.getColumnLabel(1)).thenReturn("id");
+        Mockito.when(metaData.getColumnLabel(2)).thenReturn("name");
+        Mockito.when(metaData.getColumnClassName(1)).thenReturn(Integer.class.getName());
+        Mockito.when(metaData.getColumnClassName(2)).thenReturn(String.class.getName());
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() <= ROWS);
+        Mockito.when(resultSet.getObject(1)).thenAnswer(invocation -> row.get());
+        Mockito.when(resultSet.getObject(2)).thenAnswer(invocation -> "name-" + row.get());
+    }
+
+    @Test
+    void testRowsInOrder() throws SQLException {
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(pool)
+                .build();
+
+        List<DbRow> rows = dbClient.execute(exec -> exec.query(STATEMENT))
+                .collectList()
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(rows.size(), is(ROWS));
+        DbRow last = rows.get(ROWS - 1);
+        assertThat(last.column("id").as(Integer.class), is(ROWS));
+        assertThat(last.column(2).as(String.class), is("name-" + ROWS));
+        assertThat(last.column(2).javaType(), is((Object) String.class));
+        assertThat(last.column("unknown"), nullValue());
+        assertThat(last.column(3), nullValue());
+        List<String> names = new ArrayList<>();
+        last.forEach(column -> names.add(column.name()));
+        assertThat(names, contains("id", "name"));
+        Mockito.verify(statement, Mockito.never()).setFetchSize(Mockito.anyInt());
+        Mockito.verify(resultSet).close();
+    }
+
+    @Test
+    void testDemand() throws Exception {
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(pool)
+                .build();
+
+        List<Integer> ids = new CopyOnWriteArrayList<>();
+        CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+        CountDownLatch received = new CountDownLatch(10);
+        dbClient.execute(exec -> exec.query(STATEMENT))
+                .subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscribed.complete(subscription);
+                    }
+
+                    @Override
+                    public void onNext(DbRow item) {
+                        ids.add(item.column(1).as(Integer.class));
+                        received.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        Flow.Subscription subscription = subscribed.get(10, TimeUnit.SECONDS);
+        subscription.request(4);
+        subscription.request(6);
+        assertThat(received.await(10, TimeUnit.SECONDS), is(true));
+        subscription.cancel();
+
+        assertThat(ids, contains(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        // only requested rows are read from the result set
+        Mockito.verify(resultSet, Mockito.timeout(10000)).close();
+        assertThat(row.get(), is(10));
+        // fetch size is raised to match the demand
+        Mockito.verify(resultSet, Mockito.atLeastOnce()).setFetchSize(Mockito.intThat(size -> size >= 4 && size <= 10));
+        Mockito.verify(resultSet, Mockito.never()).setFetchSize(Mockito.intThat(size -> size > 10));
+    }
+
+    @Test
+    void testFetchSize() throws SQLException {
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(pool)
+                .fetchSize(50)
+                .build();
+
+        long count = dbClient.execute(exec -> exec.query(STATEMENT))
+                .limit(10)
+                .collectList()
+                .await(10, TimeUnit.SECONDS)
+                .size();
+
+        assertThat(count, is(10L));
+        Mockito.verify(statement).setFetchSize(50);
+        Mockito.verify(resultSet, Mockito.never()).setFetchSize(Mockito.anyInt());
+    }
+}
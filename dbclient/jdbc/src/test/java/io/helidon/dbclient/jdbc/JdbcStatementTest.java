@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 
 /**
  * JDBC statement tests
@@ -110,4 +111,27 @@ public class JdbcStatementTest {
         assertThat(info6.cls(), equalTo(Integer.class));
     }
 
+    /**
+     * Statements with named parameters are parsed once and cached by their text.
+     */
+    @Test
+    void testNamedStatementCache() {
+        String statement = "UPDATE TestTable SET name=:name WHERE id=:id";
+        JdbcExecuteContext execCtx = JdbcExecuteContext.jdbcBuilder()
+                .dbType("Test")
+                .connection(CompletableFuture.completedFuture(new SqlConnectionMock()))
+                .build();
+        DbStatementContext stmtCtx = DbStatementContext.builder()
+                .statementName("test")
+                .statementType(DbStatementType.UPDATE)
+                .statementText(statement)
+                .build();
+        JdbcStatementDml dml = new JdbcStatementDml(execCtx, stmtCtx);
+
+        JdbcStatement.NamedStatement namedStatement = dml.namedStatement(statement);
+        assertThat(namedStatement.jdbcStatement(), equalTo("UPDATE TestTable SET name=? WHERE id=?"));
+        assertThat(namedStatement.namesOrder(), equalTo(List.of("name", "id")));
+        assertThat(new JdbcStatementDml(execCtx, stmtCtx).namedStatement(statement), sameInstance(namedStatement));
+    }
+
 }
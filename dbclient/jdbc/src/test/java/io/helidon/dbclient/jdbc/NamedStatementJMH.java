@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.helidon.dbclient.DbClientServiceContext;
+import io.helidon.dbclient.DbStatementType;
+import io.helidon.dbclient.common.DbStatementContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures preparation of a statement with named parameters, parsing the statement on each execution
+ * and using the statement cached by the client.
+ */
+@State(Scope.Benchmark)
+public class NamedStatementJMH {
+
+    private static final String STATEMENT = "UPDATE Pokemons SET name = :name, type = :type, level = :level"
+            + " WHERE id = :id AND trainer = :trainer -- only the trainer's pokemon";
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(NamedStatementJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    Connection connection;
+    JdbcStatementDml dml;
+    DbClientServiceContext dbContext;
+
+    @Setup
+    public void setup() {
+        connection = new SqlConnectionMock();
+        JdbcExecuteContext execCtx = JdbcExecuteContext.jdbcBuilder()
+                .dbType("Test")
+                .connection(CompletableFuture.completedFuture(connection))
+                .build();
+        DbStatementContext stmtCtx = DbStatementContext.builder()
+                .statementName("update-pokemon")
+                .statementType(DbStatementType.UPDATE)
+                .statementText(STATEMENT)
+                .build();
+        dml = new JdbcStatementDml(execCtx, stmtCtx);
+        dbContext = DbClientServiceContext.create("Test")
+                .statement(STATEMENT, Map.of("name", "Pikachu",
+                                             "type", "electric",
+                                             "level", 12,
+                                             "id", 25,
+                                             "trainer", "Ash"));
+    }
+
+    @Benchmark
+    public JdbcStatement.NamedStatement parse() {
+        return JdbcStatement.NamedStatement.parse(STATEMENT);
+    }
+
+    @Benchmark
+    public JdbcStatement.NamedStatement cached() {
+        return dml.namedStatement(STATEMENT);
+    }
+
+    @Benchmark
+    public PreparedStatement prepare() {
+        return dml.build(connection, dbContext);
+    }
+}
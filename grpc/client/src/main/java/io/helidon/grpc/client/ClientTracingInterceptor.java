@@ -24,12 +24,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import io.helidon.common.context.Contexts;
 import io.helidon.grpc.core.ContextKeys;
 import io.helidon.grpc.core.GrpcTracingContext;
 import io.helidon.grpc.core.GrpcTracingName;
 import io.helidon.grpc.core.InterceptorPriorities;
 import io.helidon.tracing.HeaderConsumer;
 import io.helidon.tracing.HeaderProvider;
+import io.helidon.tracing.SamplingDecision;
 import io.helidon.tracing.Span;
 import io.helidon.tracing.Tracer;
 
@@ -109,6 +111,15 @@ public class ClientTracingInterceptor
                                                                CallOptions callOptions,
                                                                Channel next) {
 
+        // the server request we are handling may not be sampled
+        boolean sampled = Contexts.context()
+                .flatMap(ctx -> ctx.get(SamplingDecision.class))
+                .map(SamplingDecision::sampled)
+                .orElse(true);
+        if (!sampled) {
+            return next.newCall(method, callOptions);
+        }
+
         String operationName = operationNameConstructor.name(method);
         Span span = createSpanFromParent(operationName);
 
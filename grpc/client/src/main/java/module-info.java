@@ -22,6 +22,7 @@ module io.helidon.grpc.client {
 
     requires transitive io.helidon.grpc.core;
 
+    requires io.helidon.common.context;
     requires io.helidon.tracing;
 
     requires static io.helidon.config.metadata;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,9 +23,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -66,6 +68,11 @@ class Lra {
 
     private final Lock lock = new ReentrantLock();
 
+    // changed since last persisted
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // notified when this Lra becomes dirty, set by the persistent registry
+    private volatile Consumer<Lra> dirtyListener;
+
     private boolean isChild;
     private long whenReadyToDelete = 0;
 
@@ -103,6 +110,7 @@ class Lra {
 
     void setChild(boolean child) {
         isChild = child;
+        markDirty();
     }
 
     long getTimeout() {
@@ -111,6 +119,7 @@ class Lra {
 
     void setStatus(LRAStatus status) {
         this.status.set(status);
+        markDirty();
     }
 
     long getWhenReadyToDelete() {
@@ -119,10 +128,12 @@ class Lra {
 
     void setWhenReadyToDelete(long whenReadyToDelete) {
         this.whenReadyToDelete = whenReadyToDelete;
+        markDirty();
     }
 
     void setTimeout(long timeout) {
         this.timeout = timeout;
+        markDirty();
     }
 
     List<Participant> getParticipants() {
@@ -135,6 +146,7 @@ class Lra {
         } else {
             this.timeout = 0;
         }
+        markDirty();
     }
 
     boolean checkTimeout() {
@@ -146,6 +158,7 @@ class Lra {
             Participant participant = new Participant(config);
             participant.parseCompensatorLinks(compensatorLink);
             participants.add(participant);
+            markDirty();
         }
     }
 
@@ -154,11 +167,46 @@ class Lra {
                 .filter(p -> p.equalCompensatorUris(compensatorUrl))
                 .collect(Collectors.toSet());
         forRemove.forEach(participants::remove);
+        if (!forRemove.isEmpty()) {
+            markDirty();
+        }
     }
 
     void addChild(Lra lra) {
         children.add(lra);
         lra.isChild = true;
+        lra.markDirty();
+    }
+
+    /**
+     * Mark this Lra as changed since it was last persisted.
+     * The dirty listener is notified only when this Lra was clean.
+     */
+    void markDirty() {
+        if (!dirty.getAndSet(true)) {
+            Consumer<Lra> listener = dirtyListener;
+            if (listener != null) {
+                listener.accept(this);
+            }
+        }
+    }
+
+    /**
+     * Set the listener notified when this Lra changes after it was persisted.
+     *
+     * @param listener dirty listener
+     */
+    void onDirty(Consumer<Lra> listener) {
+        this.dirtyListener = listener;
+    }
+
+    /**
+     * Clear the changed flag before this Lra is persisted.
+     *
+     * @return {@code true} if this Lra changed since it was last persisted
+     */
+    boolean clearDirty() {
+        return dirty.getAndSet(false);
     }
 
     Function<WebClientRequestHeaders, Headers> headers() {
@@ -195,6 +243,7 @@ class Lra {
                 lock.unlock();
             }
         }
+        markDirty();
     }
 
     void cancel() {
@@ -218,6 +267,7 @@ class Lra {
                 lock.unlock();
             }
         }
+        markDirty();
     }
 
     void timeout() {
@@ -336,5 +386,6 @@ class Lra {
     void markForDeletion() {
         // delete after 10 minutes
         whenReadyToDelete = (10 * 60 * 1000) + System.currentTimeMillis();
+        markDirty();
     }
 }
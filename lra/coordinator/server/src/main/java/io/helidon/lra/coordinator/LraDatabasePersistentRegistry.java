@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,14 @@
 package io.helidon.lra.coordinator;
 
 import java.net.URI;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,12 +36,25 @@ import io.helidon.dbclient.DbTransaction;
 
 import org.eclipse.microprofile.lra.annotation.LRAStatus;
 
+/**
+ * Registry persisting the Lras to a database.
+ * <p>
+ * Only Lras changed since the last save are written, Lras mark themselves dirty when their state
+ * or the state of their participants changes, and notify the registry which collects their ids until the next save.
+ * Changed Lras are rewritten with their participants and removed Lras are deleted, all in a single transaction.
+ */
 class LraDatabasePersistentRegistry implements LraPersistentRegistry {
 
-    private final Map<String, Lra> lraMap = Collections.synchronizedMap(new HashMap<>());
+    private static final Logger LOGGER = Logger.getLogger(LraDatabasePersistentRegistry.class.getName());
+    private static final Pattern LRA_ID_PATTERN = Pattern.compile(".*/([^/?]+).*");
+
+    private final Map<String, Lra> lraMap = new ConcurrentHashMap<>();
+    // ids of the Lras changed since the last save
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    // ids of the Lras removed since the last save
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
     private final Config config;
     private final DbClient dbClient;
-    private static final Pattern LRA_ID_PATTERN = Pattern.compile(".*/([^/?]+).*");
 
     LraDatabasePersistentRegistry(Config config) {
         this.config = config;
@@ -51,6 +67,13 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
                                 tx.namedDml("create-participant-table"))
                         .ignoreElements())
                 .await();
+
+        // the statement is idempotent, a failure means the index could not be created
+        try {
+            dbClient.execute(exec -> exec.namedDml("create-participant-index")).await();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Participant index could not be created", e);
+        }
     }
 
     @Override
@@ -61,11 +84,18 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
     @Override
     public void put(String key, Lra lra) {
         lraMap.put(key, lra);
+        removed.remove(key);
+        lra.onDirty(this::markDirty);
+        lra.markDirty();
+        dirty.add(key);
     }
 
     @Override
     public void remove(String key) {
-        lraMap.remove(key);
+        if (lraMap.remove(key) != null) {
+            dirty.remove(key);
+            removed.add(key);
+        }
     }
 
     @Override
@@ -141,65 +171,102 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
                             }
                         })
                 );
+
+        // loaded Lras are in sync with the database
+        lraMap.values().forEach(lra -> {
+            lra.onDirty(this::markDirty);
+            lra.clearDirty();
+        });
     }
 
     @Override
-    public void save() {
-        dbClient.inTransaction(tx ->
-                Multi.concat(
-                        cleanUp(tx),
-                        saveAll(tx)
-                ).reduce(Long::sum)
-        ).await();
+    public synchronized void save() {
+        List<String> removedIds = new ArrayList<>(removed);
+        removed.removeAll(removedIds);
+        List<String> dirtyIds = new ArrayList<>(dirty);
+        dirty.removeAll(dirtyIds);
+        List<Lra> changedLras = new ArrayList<>();
+        List<LraState> changed = new ArrayList<>();
+        for (String lraId : dirtyIds) {
+            Lra lra = lraMap.get(lraId);
+            // cleared before the state is read, a concurrent change marks the Lra dirty again
+            if (lra != null && lra.clearDirty()) {
+                changedLras.add(lra);
+                changed.add(LraState.create(lra));
+            }
+        }
+        if (changed.isEmpty() && removedIds.isEmpty()) {
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Saving " + changed.size() + " changed and deleting " + removedIds.size() + " removed Lras");
+        }
+
+        try {
+            dbClient.inTransaction(tx ->
+                    Multi.concat(
+                            Multi.create(removedIds)
+                                    .flatMap(lraId -> deleteLra(tx, lraId)),
+                            Multi.create(changed)
+                                    .flatMap(lra -> Multi.concat(deleteLra(tx, lra.lraId()),
+                                                                 insertLra(tx, lra)))
+                    ).reduce(Long::sum)
+            ).await();
+        } catch (RuntimeException e) {
+            // retry with the next save
+            removedIds.stream()
+                    .filter(lraId -> !lraMap.containsKey(lraId))
+                    .forEach(removed::add);
+            changedLras.forEach(Lra::markDirty);
+            throw e;
+        }
     }
 
-    private Single<Long> saveAll(DbTransaction tx) {
-        return Multi.create(lraMap.values())
-                .flatMap(lra -> insertLra(tx, lra))
+    private void markDirty(Lra lra) {
+        dirty.add(lra.lraId());
+    }
+
+    private Single<Long> deleteLra(DbTransaction tx, String lraId) {
+        return Multi.concat(
+                        tx.namedDelete("delete-participants", lraId),
+                        tx.namedDelete("delete-lra", lraId)
+                )
                 .reduce(Long::sum);
     }
 
-    private Single<Long> insertLra(DbTransaction tx, Lra lra) {
+    private Single<Long> insertLra(DbTransaction tx, LraState lra) {
         return Multi.concat(tx.namedInsert("insert-lra",
                                 lra.lraId(),
                                 lra.parentId(),
-                                lra.getTimeout(),
-                                lra.status().get().name(),
+                                lra.timeout(),
+                                lra.status(),
                                 lra.isChild(),
-                                lra.getWhenReadyToDelete()),
+                                lra.whenReadyToDelete()),
                         // save all participants of the lra
-                        Multi.create(lra.getParticipants())
+                        Multi.create(lra.participants())
                                 .flatMap(participant -> insertParticipant(tx, lra, participant))
                                 .reduce(Long::sum))
                 .reduce(Long::sum);
     }
 
-    private Single<Long> insertParticipant(DbTransaction tx, Lra lra, Participant p) {
+    private Single<Long> insertParticipant(DbTransaction tx, LraState lra, ParticipantState p) {
         return tx.namedInsert("insert-participant",
                 lra.lraId(),
-                p.state().name(),
-                p.getCompensateStatus().name(),
-                p.getForgetStatus().name(),
-                p.getAfterLraStatus().name(),
-                p.getSendingStatus().name(),
-                p.getRemainingCloseAttempts(),
-                p.getRemainingAfterAttempts(),
-                p.getCompleteURI().map(URI::toASCIIString).orElse(null),
-                p.getCompensateURI().map(URI::toASCIIString).orElse(null),
-                p.getAfterURI().map(URI::toASCIIString).orElse(null),
-                p.getForgetURI().map(URI::toASCIIString).orElse(null),
-                p.getStatusURI().map(URI::toASCIIString).orElse(null)
+                p.status(),
+                p.compensateStatus(),
+                p.forgetStatus(),
+                p.afterLraStatus(),
+                p.sendingStatus(),
+                p.remainingCloseAttempts(),
+                p.remainingAfterAttempts(),
+                p.completeLink(),
+                p.compensateLink(),
+                p.afterLink(),
+                p.forgetLink(),
+                p.statusLink()
         );
     }
 
-    private Single<Long> cleanUp(DbTransaction tx) {
-        return Multi.concat(
-                        tx.namedDelete("delete-all-lra"),
-                        tx.namedDelete("delete-all-participants")
-                )
-                .reduce(Long::sum);
-    }
-
     static String parseLRAId(String lraUri) {
         Matcher m = LRA_ID_PATTERN.matcher(lraUri);
         if (!m.matches()) {
@@ -209,4 +276,61 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
         return m.group(1);
     }
 
+    /**
+     * Persisted columns of a Lra and its participants.
+     */
+    private record LraState(String lraId,
+                            String parentId,
+                            long timeout,
+                            String status,
+                            boolean isChild,
+                            long whenReadyToDelete,
+                            List<ParticipantState> participants) {
+
+        static LraState create(Lra lra) {
+            List<ParticipantState> participants = new ArrayList<>();
+            for (Participant participant : lra.getParticipants()) {
+                participants.add(ParticipantState.create(participant));
+            }
+            return new LraState(lra.lraId(),
+                                lra.parentId(),
+                                lra.getTimeout(),
+                                lra.status().get().name(),
+                                lra.isChild(),
+                                lra.getWhenReadyToDelete(),
+                                participants);
+        }
+    }
+
+    /**
+     * Persisted columns of a participant.
+     */
+    private record ParticipantState(String status,
+                                    String compensateStatus,
+                                    String forgetStatus,
+                                    String afterLraStatus,
+                                    String sendingStatus,
+                                    int remainingCloseAttempts,
+                                    int remainingAfterAttempts,
+                                    String completeLink,
+                                    String compensateLink,
+                                    String afterLink,
+                                    String forgetLink,
+                                    String statusLink) {
+
+        static ParticipantState create(Participant p) {
+            return new ParticipantState(p.state().name(),
+                                        p.getCompensateStatus().name(),
+                                        p.getForgetStatus().name(),
+                                        p.getAfterLraStatus().name(),
+                                        p.getSendingStatus().name(),
+                                        p.getRemainingCloseAttempts(),
+                                        p.getRemainingAfterAttempts(),
+                                        p.getCompleteURI().map(URI::toASCIIString).orElse(null),
+                                        p.getCompensateURI().map(URI::toASCIIString).orElse(null),
+                                        p.getAfterURI().map(URI::toASCIIString).orElse(null),
+                                        p.getForgetURI().map(URI::toASCIIString).orElse(null),
+                                        p.getStatusURI().map(URI::toASCIIString).orElse(null));
+        }
+    }
 }
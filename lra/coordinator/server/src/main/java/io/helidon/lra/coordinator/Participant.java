@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -366,6 +366,7 @@ class Participant {
                 Optional.ofNullable(response).ifPresent(WebClientResponse::close);
                 sendingStatus.set(SendingStatus.NOT_SENDING);
                 compensateCalled.compareAndSet(CompensateStatus.SENDING, CompensateStatus.NOT_SENT);
+                lra.markDirty();
             }
         }
         return false;
@@ -453,6 +454,7 @@ class Participant {
             } finally {
                 Optional.ofNullable(response).ifPresent(WebClientResponse::close);
                 sendingStatus.set(SendingStatus.NOT_SENDING);
+                lra.markDirty();
             }
         }
         return false;
@@ -480,6 +482,7 @@ class Participant {
                     } else if (remainingAfterLraAttempts.decrementAndGet() <= 0) {
                         afterLRACalled.set(AfterLraStatus.SENT);
                     }
+                    lra.markDirty();
                 }
             } catch (Exception e) {
                 LOGGER.log(Level.WARNING, "Error when sending after lra", e);
@@ -488,6 +491,7 @@ class Participant {
                 } else {
                     afterLRACalled.set(AfterLraStatus.NOT_SENT);
                 }
+                lra.markDirty();
             } finally {
                 Optional.ofNullable(response).ifPresent(WebClientResponse::close);
             }
@@ -571,6 +575,8 @@ class Participant {
             LOGGER.log(Level.WARNING, "Unable to send forget of lra {0} to {1}",
                     new Object[] {lra.lraId(), getForgetURI().get()});
             forgetCalled.set(ForgetStatus.NOT_SENT);
+        } finally {
+            lra.markDirty();
         }
         return forgetCalled.get() == ForgetStatus.SENT;
     }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.lra.coordinator;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.dbclient.DbClient;
+
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LraDatabasePersistentRegistryTest {
+
+    private static final String PARTICIPANT_LINKS = "<http://localhost:8080/participant/complete>; rel=\"complete\","
+            + "<http://localhost:8080/participant/compensate>; rel=\"compensate\"";
+
+    private static CoordinatorService coordinatorService;
+
+    private Config config;
+    private DbClient dbClient;
+    private LraDatabasePersistentRegistry registry;
+
+    @BeforeAll
+    static void beforeAll() {
+        coordinatorService = CoordinatorService.builder()
+                .url(() -> URI.create("http://localhost:8070/lra-coordinator"))
+                .config(config("jdbc:h2:mem:lra-registry-coordinator;DB_CLOSE_DELAY=-1"))
+                .build();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        coordinatorService.shutdown();
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        config = config("jdbc:h2:mem:lra-registry-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        registry = new LraDatabasePersistentRegistry(config);
+        dbClient = DbClient.builder()
+                .config(config.get("db"))
+                .build();
+    }
+
+    @Test
+    void saveOnlyChanged() {
+        Lra first = lra("first");
+        Lra second = lra("second");
+        registry.save();
+        Assertions.assertEquals(0L, timeout("first"));
+        Assertions.assertEquals(0L, timeout("second"));
+
+        // rows of Lras that did not change are not rewritten
+        setTimeouts(-1L);
+        second.setTimeout(100L);
+        registry.save();
+        Assertions.assertEquals(-1L, timeout("first"));
+        Assertions.assertEquals(100L, timeout("second"));
+
+        // nothing is written when nothing changed
+        setTimeouts(-1L);
+        registry.save();
+        Assertions.assertEquals(-1L, timeout("first"));
+        Assertions.assertEquals(-1L, timeout("second"));
+
+        // participant changes are persisted
+        first.addParticipant(PARTICIPANT_LINKS);
+        registry.save();
+        Assertions.assertEquals(0L, timeout("first"));
+        Assertions.assertEquals(1L, count("SELECT COUNT(*) AS CNT FROM PARTICIPANT WHERE LRA_ID = ?", "first"));
+    }
+
+    @Test
+    void deleteRemoved() {
+        Lra removed = lra("removed");
+        removed.addParticipant(PARTICIPANT_LINKS);
+        lra("kept");
+        registry.save();
+        Assertions.assertEquals(2L, count("SELECT COUNT(*) AS CNT FROM LRA"));
+        Assertions.assertEquals(1L, count("SELECT COUNT(*) AS CNT FROM PARTICIPANT WHERE LRA_ID = ?", "removed"));
+
+        registry.remove("removed");
+        registry.save();
+        Assertions.assertEquals(0L, count("SELECT COUNT(*) AS CNT FROM LRA WHERE ID = ?", "removed"));
+        Assertions.assertEquals(0L, count("SELECT COUNT(*) AS CNT FROM PARTICIPANT WHERE LRA_ID = ?", "removed"));
+        Assertions.assertEquals(1L, count("SELECT COUNT(*) AS CNT FROM LRA WHERE ID = ?", "kept"));
+
+        // changes of a removed Lra are not written
+        removed.setTimeout(100L);
+        registry.save();
+        Assertions.assertEquals(0L, count("SELECT COUNT(*) AS CNT FROM LRA WHERE ID = ?", "removed"));
+    }
+
+    @Test
+    void reload() {
+        Lra lra = lra("reloaded");
+        lra.addParticipant(PARTICIPANT_LINKS);
+        lra.setStatus(LRAStatus.Closing);
+        lra.setTimeout(42L);
+        registry.save();
+
+        LraDatabasePersistentRegistry reloaded = new LraDatabasePersistentRegistry(config);
+        reloaded.load(coordinatorService);
+        Lra loaded = reloaded.get("reloaded");
+        Assertions.assertNotNull(loaded);
+        Assertions.assertEquals(LRAStatus.Closing, loaded.status().get());
+        Assertions.assertEquals(42L, loaded.getTimeout());
+        Assertions.assertEquals(1, loaded.getParticipants().size());
+        Assertions.assertEquals(URI.create("http://localhost:8080/participant/complete"),
+                                loaded.getParticipants().get(0).getCompleteURI().orElseThrow());
+
+        // loaded Lras are not written again
+        setTimeouts(-1L);
+        reloaded.save();
+        Assertions.assertEquals(-1L, timeout("reloaded"));
+    }
+
+    private Lra lra(String lraId) {
+        Lra lra = new Lra(coordinatorService, lraId, config);
+        registry.put(lraId, lra);
+        return lra;
+    }
+
+    private void setTimeouts(long timeout) {
+        dbClient.execute(exec -> exec.dml("UPDATE LRA SET TIMEOUT = ?", timeout)).await();
+    }
+
+    private long timeout(String lraId) {
+        return dbClient.execute(exec -> exec.get("SELECT TIMEOUT FROM LRA WHERE ID = ?", lraId))
+                .await()
+                .orElseThrow()
+                .column("TIMEOUT")
+                .as(Long.class);
+    }
+
+    private long count(String statement, Object... parameters) {
+        return dbClient.execute(exec -> exec.get(statement, parameters))
+                .await()
+                .orElseThrow()
+                .column("CNT")
+                .as(Long.class);
+    }
+
+    private static Config config(String url) {
+        return Config.builder(
+                        () -> ConfigSources.create(Map.of("helidon.lra.coordinator.db.connection.url", url)).build(),
+                        () -> ConfigSources.classpath("application.yaml").build())
+                .build()
+                .get(CoordinatorService.CONFIG_PREFIX);
+    }
+}
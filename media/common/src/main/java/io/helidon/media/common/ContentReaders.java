@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ import java.io.InputStream;
 import java.net.URLDecoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Flow.Publisher;
 
@@ -57,6 +59,23 @@ public final class ContentReaders {
         return Multi.create(chunks).collect(new BytesCollector());
     }
 
+    /**
+     * Collect the {@link DataChunk} of the given publisher into an {@link InputStream} reading the chunks
+     * without copying them into a single byte array. The stream never blocks as all chunks are received
+     * before the returned {@link Single} completes; each chunk is released once read, closing the stream
+     * releases the unread chunks.
+     *
+     * @param chunks source publisher
+     * @return Single
+     */
+    public static Single<InputStream> readInputStream(Publisher<DataChunk> chunks) {
+        ChunksCollector collector = new ChunksCollector();
+        return Multi.create(chunks)
+                .onError(throwable -> collector.release())
+                .onCancel(collector::release)
+                .collect(collector);
+    }
+
     /**
      * Convert the given publisher of {@link DataChunk} into a {@link String}.
      * @param chunks source publisher
@@ -170,6 +189,111 @@ public final class ContentReaders {
             return URLDecoder.decode(s, charset);
         }
     }
+
+    /**
+     * Implementation of {@link Collector} that collects chunks into an {@link InputStream}.
+     */
+    private static final class ChunksCollector implements Collector<DataChunk, InputStream> {
+
+        private final Queue<DataChunk> chunks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void collect(DataChunk chunk) {
+            chunks.add(chunk);
+        }
+
+        @Override
+        public synchronized InputStream value() {
+            return new ChunksInputStream(chunks);
+        }
+
+        synchronized void release() {
+            DataChunk chunk;
+            while ((chunk = chunks.poll()) != null) {
+                chunk.release();
+            }
+        }
+    }
+
+    /**
+     * Input stream reading the buffers of received chunks.
+     */
+    private static final class ChunksInputStream extends InputStream {
+
+        private final Queue<DataChunk> chunks;
+        private DataChunk chunk;
+        private ByteBuffer[] buffers;
+        private int index;
+
+        ChunksInputStream(Queue<DataChunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer buffer = buffer();
+            return buffer == null ? -1 : buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = buffer();
+            if (buffer == null) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer buffer = buffer();
+            return buffer == null ? 0 : buffer.remaining();
+        }
+
+        @Override
+        public void close() {
+            releaseChunk();
+            DataChunk next;
+            while ((next = chunks.poll()) != null) {
+                next.release();
+            }
+        }
+
+        // current buffer with remaining bytes, null at the end of the stream
+        private ByteBuffer buffer() {
+            while (true) {
+                if (buffers != null) {
+                    while (index < buffers.length) {
+                        if (buffers[index].hasRemaining()) {
+                            return buffers[index];
+                        }
+                        index++;
+                    }
+                    releaseChunk();
+                }
+                chunk = chunks.poll();
+                if (chunk == null) {
+                    return null;
+                }
+                buffers = chunk.data();
+                index = 0;
+            }
+        }
+
+        private void releaseChunk() {
+            if (chunk != null) {
+                chunk.release();
+                chunk = null;
+                buffers = null;
+            }
+        }
+    }
+
     /**
      * Implementation of {@link Collector} that collects chunks into a single
      * {@code byte[]}.
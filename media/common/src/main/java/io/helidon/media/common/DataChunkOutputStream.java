@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.common;
+
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.http.DataChunk;
+
+/**
+ * An output stream that writes into cached {@code byte[]} arrays of a bounded size and hands them off
+ * as a single read-only {@link DataChunk}, without copying. The arrays are returned to the cache once the chunk
+ * is released. Small content is copied to an array of its size instead, and the cached array is returned at once.
+ * <p>
+ * If the content is not handed off, for example when the serialization fails, {@link #release()} must be called
+ * to return the arrays to the cache. The cache holds a bounded number of arrays.
+ * <p>
+ * Serializers writing bytes directly to this stream avoid the intermediate {@code char[]} and the encoding
+ * copy of a {@link CharBuffer}.
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe.
+ */
+public final class DataChunkOutputStream extends OutputStream {
+    private static final int ARRAY_SIZE = 16384;
+    // content up to this size is copied, so the chunk does not hold a whole cached array
+    private static final int SMALL_CONTENT_SIZE = 1024;
+    private static final int MAX_POOLED_ARRAYS = 64;
+    static final Pool POOL = new Pool(ARRAY_SIZE, MAX_POOLED_ARRAYS);
+
+    private final List<byte[]> arrays = new ArrayList<>(1);
+    private byte[] current;
+    private int count;
+
+    /**
+     * Constructor.
+     */
+    public DataChunkOutputStream() {
+    }
+
+    @Override
+    public void write(int b) {
+        if (current == null || count == current.length) {
+            nextArray();
+        }
+        current[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if ((off < 0) || (off > b.length) || (len < 0) || ((off + len) - b.length > 0)) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            if (current == null || count == current.length) {
+                nextArray();
+            }
+            int length = Math.min(len, current.length - count);
+            System.arraycopy(b, off, current, count, length);
+            count += length;
+            off += length;
+            len -= length;
+        }
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return The count.
+     */
+    int size() {
+        return arrays.isEmpty() ? 0 : (arrays.size() - 1) * ARRAY_SIZE + count;
+    }
+
+    /**
+     * Returns the written content as a chunk backed by a buffer per cached array. The arrays are returned
+     * to the cache when the chunk is released, this stream must not be used afterwards.
+     *
+     * @param flush a signal that the chunk should be written and flushed from any cache if possible
+     * @return The chunk.
+     */
+    public DataChunk toChunk(boolean flush) {
+        if (arrays.size() == 1 && count <= SMALL_CONTENT_SIZE) {
+            byte[] content = Arrays.copyOf(current, count);
+            release();
+            return DataChunk.create(flush, true, ByteBuffer.wrap(content));
+        }
+        List<byte[]> written = List.copyOf(arrays);
+        ByteBuffer[] buffers = new ByteBuffer[written.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(written.get(i), 0, i == buffers.length - 1 ? count : ARRAY_SIZE);
+        }
+        arrays.clear();
+        current = null;
+        count = 0;
+        // the arrays are not reused before the chunk is released
+        return DataChunk.create(flush, true, () -> written.forEach(POOL::release), buffers);
+    }
+
+    /**
+     * Returns the arrays of the content not handed off by {@link #toChunk(boolean)} to the cache,
+     * discarding the content. Does nothing once the content was handed off.
+     */
+    public void release() {
+        arrays.forEach(POOL::release);
+        arrays.clear();
+        current = null;
+        count = 0;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Does not release the arrays, as writers close the stream before the content is handed off.
+     */
+    @Override
+    public void close() {
+    }
+
+    private void nextArray() {
+        current = POOL.acquire();
+        arrays.add(current);
+        count = 0;
+    }
+
+    static final class Pool {
+        private final AtomicInteger size = new AtomicInteger();
+        private volatile SoftReference<ConcurrentLinkedQueue<byte[]>> reference;
+        private final int arraySize;
+        private final int maxSize;
+
+        /**
+         * Constructor.
+         *
+         * @param arraySize The size array to allocate when required.
+         * @param maxSize The maximal number of arrays kept in the pool.
+         */
+        Pool(int arraySize, int maxSize) {
+            this.arraySize = arraySize;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Acquires an array from the pool if available or creates a new one.
+         *
+         * @return The array.
+         */
+        byte[] acquire() {
+            byte[] array = getQueue().poll();
+            if (array == null) {
+                return new byte[arraySize];
+            }
+            size.decrementAndGet();
+            return array;
+        }
+
+        /**
+         * Returns an array back to the pool, unless the pool is full.
+         *
+         * @param array The array to return.
+         */
+        void release(byte[] array) {
+            if (size.incrementAndGet() > maxSize) {
+                size.decrementAndGet();
+                return;
+            }
+            getQueue().offer(array);
+        }
+
+        /**
+         * Returns the number of arrays in the pool.
+         *
+         * @return The number of arrays.
+         */
+        int size() {
+            return size.get();
+        }
+
+        private ConcurrentLinkedQueue<byte[]> getQueue() {
+            SoftReference<ConcurrentLinkedQueue<byte[]>> reference = this.reference;
+            if (reference != null) {
+                ConcurrentLinkedQueue<byte[]> queue = reference.get();
+                if (queue != null) {
+                    return queue;
+                }
+            }
+            // the arrays of a collected queue are gone
+            ConcurrentLinkedQueue<byte[]> queue = new ConcurrentLinkedQueue<>();
+            size.set(0);
+            this.reference = new SoftReference<>(queue);
+            return queue;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -223,6 +223,15 @@ public abstract class MessageBodyContext implements MessageBodyFilters {
         return this;
     }
 
+    /**
+     * Check whether any filter is registered in this context or any of its parents.
+     *
+     * @return {@code true} if there is at least one filter
+     */
+    public boolean hasFilters() {
+        return !filters.isEmpty();
+    }
+
     /**
      * Apply the filters on the given input publisher to form a publisher chain.
      *
@@ -260,18 +269,14 @@ public abstract class MessageBodyContext implements MessageBodyFilters {
         if (publisher == null) {
             publisher = Single.<DataChunk>empty();
         }
-        try {
-            Publisher<DataChunk> last = publisher;
-            for (MessageBodyFilter filter : filters) {
-                Publisher<DataChunk> p = filter.apply(last);
-                if (p != null) {
-                    last = p;
-                }
+        Publisher<DataChunk> last = publisher;
+        for (MessageBodyFilter filter : filters) {
+            Publisher<DataChunk> p = filter.apply(last);
+            if (p != null) {
+                last = p;
             }
-            return new EventingPublisher(last, listener);
-        } finally {
-            filters.close();
         }
+        return new EventingPublisher(last, listener);
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,9 @@ public interface MessageBodyOperator<T extends MessageBodyContext> {
 
     /**
      * Test if the operator can convert the given type.
+     * <p>
+     * The result is cached for the same type, {@code Content-Type} and accepted media types of the context,
+     * so it must only depend on these and must not modify the context.
      *
      * @param type the requested type
      * @param context the context providing the headers abstraction
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,26 +16,33 @@
 package io.helidon.media.common;
 
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import io.helidon.common.GenericType;
+import io.helidon.common.configurable.LruCache;
+import io.helidon.common.http.MediaType;
 
 /**
  * Thread-safe hierarchical registry of message body operators.
+ * <p>
+ * The operator selected by each registry of the hierarchy is cached by the entity type and the media types
+ * of the context, so that only the first selection for the same entity type and media types calls
+ * {@link MessageBodyOperator#accept}. The cache of a registry is discarded when an operator is registered.
+ * As the media types come from request headers, the cache keeps the most recently used selections only.
+ *
  * @param <T> operator type
  */
-final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements Iterable<T>, AutoCloseable {
+final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements Iterable<T> {
+
+    // bounds the number of cached selections, as the media types come from request headers
+    static final int MAX_CACHED_SELECTIONS = 256;
 
-    private final LinkedList<T> operators;
-    private final ReadWriteLock lock;
-    private final AtomicBoolean readLocked;
-    private MessageBodyOperators<T> parent;
+    private final List<T> operators;
+    private final MessageBodyOperators<T> parent;
+    private volatile LruCache<SelectionKey, Selection<T>> selections;
 
     /**
      * Create a new parented registry.
@@ -43,9 +50,8 @@ final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements It
      */
     MessageBodyOperators(MessageBodyOperators<T> parent) {
         this.parent = parent;
-        this.operators = new LinkedList<>();
-        this.lock = new ReentrantReadWriteLock();
-        this.readLocked = new AtomicBoolean(false);
+        this.operators = new CopyOnWriteArrayList<>();
+        this.selections = newCache();
     }
 
     /**
@@ -79,114 +85,153 @@ final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements It
      */
     private void register(T operator, boolean addFirst) {
         Objects.requireNonNull(operator, "operator is null!");
-        try {
-            lock.writeLock().lock();
-            if (addFirst) {
-                operators.addFirst(operator);
-            } else {
-                operators.addLast(operator);
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (addFirst) {
+            operators.add(0, operator);
+        } else {
+            operators.add(operator);
         }
+        // selections computed concurrently with the registration are stored in the discarded cache
+        selections = newCache();
     }
 
     /**
      * Select an operator using {@link MessageBodyOperator#accept}.
+     * <p>
+     * The first operator of the hierarchy that supports the type is selected, or the first compatible
+     * operator if there is none.
+     *
      * @param type the type representation
      * @param context the message body context
      * @return operator, or {@code null} or no operator was found
      */
-    @SuppressWarnings("unchecked")
     <U extends MessageBodyOperator<V>, V extends MessageBodyContext> T select(GenericType<?> type, V context) {
         Objects.requireNonNull(type, "type is null!");
         Objects.requireNonNull(context, "context is null!");
+        SelectionKey key = null;
         T assignableOperator = null;
         MessageBodyOperators<T> current = this;
 
         while (current != null) {
-            try {
-                current.lock.readLock().lock();
-                for (T operator : current.operators) {
-                    MessageBodyOperator.PredicateResult accept = ((U) operator).accept(type, context);
-                    if (accept == MessageBodyOperator.PredicateResult.COMPATIBLE && assignableOperator == null) {
-                        assignableOperator = operator;
-                    } else if (accept == MessageBodyOperator.PredicateResult.SUPPORTED) {
-                        return operator;
-                    }
+            if (!current.operators.isEmpty()) {
+                if (key == null) {
+                    key = SelectionKey.create(type, context);
+                }
+                Selection<T> selection = current.<U, V>selection(key, type, context);
+                if (selection.supported) {
+                    return selection.operator;
+                } else if (assignableOperator == null) {
+                    assignableOperator = selection.operator;
                 }
-            } finally {
-                current.lock.readLock().unlock();
             }
             current = current.parent;
         }
         return assignableOperator;
     }
 
+    private <U extends MessageBodyOperator<V>, V extends MessageBodyContext> Selection<T> selection(SelectionKey key,
+                                                                                                   GenericType<?> type,
+                                                                                                   V context) {
+        LruCache<SelectionKey, Selection<T>> cache = selections;
+        Selection<T> selection = cache.get(key).orElse(null);
+        if (selection == null) {
+            selection = this.<U, V>doSelect(type, context);
+            cache.put(key, selection);
+        }
+        return selection;
+    }
+
+    private static <T> LruCache<SelectionKey, Selection<T>> newCache() {
+        return LruCache.<SelectionKey, Selection<T>>builder()
+                .capacity(MAX_CACHED_SELECTIONS)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U extends MessageBodyOperator<V>, V extends MessageBodyContext> Selection<T> doSelect(GenericType<?> type,
+                                                                                                  V context) {
+        T assignableOperator = null;
+        for (T operator : operators) {
+            MessageBodyOperator.PredicateResult accept = ((U) operator).accept(type, context);
+            if (accept == MessageBodyOperator.PredicateResult.COMPATIBLE && assignableOperator == null) {
+                assignableOperator = operator;
+            } else if (accept == MessageBodyOperator.PredicateResult.SUPPORTED) {
+                return new Selection<>(operator, true);
+            }
+        }
+        return new Selection<>(assignableOperator, false);
+    }
+
+    /**
+     * Check whether there is no operator registered in this registry or any of its parents.
+     * @return {@code true} if there are no operators
+     */
+    boolean isEmpty() {
+        MessageBodyOperators<T> current = this;
+        while (current != null) {
+            if (!current.operators.isEmpty()) {
+                return false;
+            }
+            current = current.parent;
+        }
+        return true;
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new ParentedIterator<>(this);
     }
 
-    @Override
-    public void close() {
-        if (readLocked.compareAndSet(true, false)) {
-            lock.readLock().unlock();
+    /**
+     * Operator selected by a single registry of the hierarchy.
+     */
+    private record Selection<T>(T operator, boolean supported) {
+    }
+
+    /**
+     * Entity type and media types of the context used to select an operator.
+     */
+    private record SelectionKey(GenericType<?> type, MediaType contentType, List<MediaType> acceptedTypes) {
+
+        static SelectionKey create(GenericType<?> type, MessageBodyContext context) {
+            if (context instanceof MessageBodyWriterContext writerContext) {
+                return new SelectionKey(type, writerContext.contentType().orElse(null), writerContext.acceptedTypes());
+            } else if (context instanceof MessageBodyReaderContext readerContext) {
+                return new SelectionKey(type, readerContext.contentType().orElse(null), List.of());
+            }
+            return new SelectionKey(type, null, List.of());
         }
     }
 
     /**
-     * A thread-safe iterator implementation to iterate over a registry
-     * hierarchy.
+     * An iterator over a snapshot of each registry of the hierarchy.
      * @param <T> Operator type
      */
     private static final class ParentedIterator<T extends MessageBodyOperator<?>> implements Iterator<T> {
 
-        private final Iterator<T> iterator;
-        private final Lock readLock;
-        private final Iterator<T> parent;
-        private final AtomicBoolean locked;
-        private final AtomicBoolean hasNext;
+        private Iterator<T> iterator;
+        private MessageBodyOperators<T> parent;
 
         ParentedIterator(MessageBodyOperators<T> registry) {
             iterator = registry.operators.iterator();
-            readLock = registry.lock.readLock();
-            if (registry.parent != null) {
-                parent = registry.parent.iterator();
-            } else {
-                parent = null;
-            }
-            locked = registry.readLocked;
-            hasNext = new AtomicBoolean(true);
+            parent = registry.parent;
         }
 
         @Override
         public boolean hasNext() {
-            if (!hasNext.get()) {
-                if (parent != null) {
-                    return parent.hasNext();
+            while (!iterator.hasNext()) {
+                if (parent == null) {
+                    return false;
                 }
-                return false;
-            }
-            if (locked.compareAndSet(false, true)) {
-                readLock.lock();
-            }
-            if (iterator.hasNext()) {
-                return true;
-            }
-            if (locked.compareAndSet(true, false)) {
-                readLock.unlock();
+                iterator = parent.operators.iterator();
+                parent = parent.parent;
             }
-            hasNext.set(false);
-            return false;
+            return true;
         }
 
         @Override
         public T next() {
-            if (hasNext.get()) {
+            if (hasNext()) {
                 return iterator.next();
-            } else if (parent != null) {
-                return parent.next();
             }
             throw new NoSuchElementException();
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -572,7 +572,6 @@ public final class MessageBodyWriterContext extends MessageBodyContext implement
             }
             MediaType ct = context.contentType().orElse(null);
             if (!(contentType != null && ct != null && !ct.test(contentType))) {
-                context.contentType(contentType);
                 return PredicateResult.SUPPORTED;
             }
             return PredicateResult.NOT_SUPPORTED;
@@ -582,6 +581,8 @@ public final class MessageBodyWriterContext extends MessageBodyContext implement
         public Publisher<DataChunk> write(Single<? extends T> single,
                                           GenericType<? extends T> type,
                                           MessageBodyWriterContext context) {
+            // accept must not have side effects, as the selected writer is cached
+            context.contentType(contentType);
             return single.flatMap(function);
         }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,12 +24,19 @@ import java.util.concurrent.Flow.Publisher;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileRegionDataChunk;
 import io.helidon.common.http.MediaType;
 import io.helidon.common.mapper.Mapper;
+import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 
+import static io.helidon.common.http.FileRegionDataChunk.MAX_REGION_SIZE;
+
 /**
  * Message body writer for {@link Path}.
+ * <p>
+ * If there are no filters registered, the file is published as {@link FileRegionDataChunk file regions}, so
+ * transports that support it can write the file without copying it to user space.
  */
 final class PathBodyWriter implements MessageBodyWriter<Path> {
 
@@ -65,7 +72,7 @@ final class PathBodyWriter implements MessageBodyWriter<Path> {
      * Implementation of {@link Mapper} that converts a {@link Path} to a
      * publisher of {@link DataChunk}.
      */
-    private static final class PathToChunks implements Mapper<Path, Publisher<DataChunk>> {
+    static final class PathToChunks implements Mapper<Path, Publisher<DataChunk>> {
 
         private final MessageBodyWriterContext context;
 
@@ -77,12 +84,29 @@ final class PathBodyWriter implements MessageBodyWriter<Path> {
         public Publisher<DataChunk> map(Path path) {
             try {
                 context.contentType(MediaType.APPLICATION_OCTET_STREAM);
-                context.contentLength(Files.size(path));
-                FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
-                return ContentWriters.byteChannelWriter().apply(fc);
+                long size = Files.size(path);
+                context.contentLength(size);
+                if (context.hasFilters()) {
+                    // filters need the bytes
+                    FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+                    return ContentWriters.byteChannelWriter().apply(fc);
+                }
+                return regions(path, size);
             } catch (IOException ex) {
                 return Single.<DataChunk>error(ex);
             }
         }
+
+        private static Publisher<DataChunk> regions(Path path, long size) {
+            if (size <= MAX_REGION_SIZE) {
+                return Single.<DataChunk>just(FileRegionDataChunk.create(path, 0, (int) size));
+            }
+            long regions = (size + MAX_REGION_SIZE - 1) / MAX_REGION_SIZE;
+            return Multi.rangeLong(0, regions)
+                    .<DataChunk>map(index -> {
+                        long position = index * MAX_REGION_SIZE;
+                        return FileRegionDataChunk.create(path, position, (int) Math.min(MAX_REGION_SIZE, size - position));
+                    });
+        }
     }
 }
@@ -24,6 +24,7 @@ import io.helidon.media.common.spi.MediaSupportProvider;
  */
 module io.helidon.media.common {
     requires java.logging;
+    requires io.helidon.common.configurable;
     requires io.helidon.common.mapper;
     requires io.helidon.common.reactive;
     requires io.helidon.common.http;
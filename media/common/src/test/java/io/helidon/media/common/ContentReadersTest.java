@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,12 @@ package io.helidon.media.common;
 
 import java.io.InputStream;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.common.http.DataChunk;
 import io.helidon.common.reactive.Multi;
@@ -76,6 +78,28 @@ class ContentReadersTest {
         assertThat(actualBytes, is(bytes));
     }
 
+    @Test
+    void testReadInputStream() throws Exception {
+        AtomicInteger released = new AtomicInteger();
+        Multi<DataChunk> chunks = Multi.just(
+                DataChunk.create(false, released::incrementAndGet,
+                                 ByteBuffer.wrap("Popo".getBytes(StandardCharsets.UTF_8)),
+                                 ByteBuffer.allocate(0)),
+                DataChunk.create(false, released::incrementAndGet,
+                                 ByteBuffer.wrap("katepetl".getBytes(StandardCharsets.UTF_8))),
+                DataChunk.create(false, released::incrementAndGet,
+                                 ByteBuffer.wrap("!".getBytes(StandardCharsets.UTF_8))));
+
+        InputStream inputStream = ContentReaders.readInputStream(chunks).get(10, TimeUnit.SECONDS);
+        assertThat(released.get(), is(0));
+        assertThat(inputStream.read(), is((int) 'P'));
+        assertThat(new String(inputStream.readNBytes(11), StandardCharsets.UTF_8), is("opokatepetl"));
+        // chunks are released once read
+        assertThat(released.get(), is(1));
+        inputStream.close();
+        assertThat(released.get(), is(3));
+    }
+
     @Test
     void testURLDecodingReader() throws Exception {
         String original = "myParam=\"Now@is'the/time";
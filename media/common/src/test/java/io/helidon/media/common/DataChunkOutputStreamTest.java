@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.common;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import io.helidon.common.http.DataChunk;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class DataChunkOutputStreamTest {
+
+    @Test
+    void testBoundedBuffers() {
+        byte[] bytes = new byte[40_000];
+        Arrays.fill(bytes, (byte) 'a');
+        DataChunkOutputStream out = new DataChunkOutputStream();
+        out.write('[');
+        out.write(bytes, 0, bytes.length);
+        out.write(']');
+        assertThat(out.size(), is(40_002));
+
+        DataChunk chunk = out.toChunk(true);
+        assertThat(chunk.flush(), is(true));
+        ByteBuffer[] buffers = chunk.data();
+        assertThat(buffers.length, is(3));
+        assertThat(buffers[0].remaining(), is(16384));
+        assertThat(buffers[2].remaining(), is(40_002 - 2 * 16384));
+
+        byte[] content = chunk.bytes();
+        assertThat(content.length, is(40_002));
+        assertThat(content[0], is((byte) '['));
+        assertThat(content[40_000], is((byte) 'a'));
+        assertThat(content[40_001], is((byte) ']'));
+        chunk.release();
+        assertThat(chunk.isReleased(), is(true));
+    }
+
+    @Test
+    void testArraysReturnedOnRelease() {
+        DataChunkOutputStream out = new DataChunkOutputStream();
+        out.write(new byte[40_000], 0, 40_000);
+        int pooled = DataChunkOutputStream.POOL.size();
+        DataChunk chunk = out.toChunk(false);
+        // the arrays are not reused before the chunk is released, so the chunk is not copied
+        assertThat(chunk.isReadOnly(), is(true));
+        assertThat(DataChunkOutputStream.POOL.size(), is(pooled));
+        chunk.release();
+        assertThat(DataChunkOutputStream.POOL.size(), is(pooled + 3));
+    }
+
+    @Test
+    void testArraysReturnedWithoutChunk() {
+        DataChunkOutputStream out = new DataChunkOutputStream();
+        out.write(new byte[20_000], 0, 20_000);
+        int pooled = DataChunkOutputStream.POOL.size();
+        // serialization failed, the content is not handed off
+        out.release();
+        assertThat(DataChunkOutputStream.POOL.size(), is(pooled + 2));
+        assertThat(out.size(), is(0));
+    }
+
+    @Test
+    void testSmallContentCopied() {
+        DataChunkOutputStream out = new DataChunkOutputStream();
+        out.write(new byte[] {'{', '}'}, 0, 2);
+        int pooled = DataChunkOutputStream.POOL.size();
+        DataChunk chunk = out.toChunk(false);
+        // the array is returned at once, the chunk is backed by an array of the content size
+        assertThat(DataChunkOutputStream.POOL.size(), is(pooled + 1));
+        assertThat(chunk.data()[0].capacity(), is(2));
+        assertThat(chunk.bytes(), is(new byte[] {'{', '}'}));
+        chunk.release();
+    }
+
+    @Test
+    void testPoolIsBounded() {
+        DataChunkOutputStream.Pool pool = new DataChunkOutputStream.Pool(16, 2);
+        for (int i = 0; i < 4; i++) {
+            pool.release(new byte[16]);
+        }
+        assertThat(pool.size(), is(2));
+        pool.acquire();
+        assertThat(pool.size(), is(1));
+    }
+
+    @Test
+    void testEmpty() {
+        DataChunk chunk = new DataChunkOutputStream().toChunk(false);
+        assertThat(chunk.bytes().length, is(0));
+        chunk.release();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.common;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class MessageBodyOperatorsTest {
+
+    private static final GenericType<String> STRING = GenericType.create(String.class);
+
+    @Test
+    void testSelectionIsCached() {
+        MessageBodyOperators<MessageBodyWriter<?>> parent = new MessageBodyOperators<>();
+        TestWriter compatible = new TestWriter(MessageBodyOperator.PredicateResult.COMPATIBLE);
+        parent.registerLast(compatible);
+        MessageBodyOperators<MessageBodyWriter<?>> operators = new MessageBodyOperators<>(parent);
+        MessageBodyWriterContext context = MessageBodyWriterContext.create();
+
+        assertThat(operators.select(STRING, context), is(compatible));
+        assertThat(operators.select(STRING, context), is(compatible));
+        assertThat(compatible.calls.get(), is(1));
+
+        // a different content type is a different selection
+        HashParameters headers = HashParameters.create();
+        headers.add(Http.Header.CONTENT_TYPE, MediaType.APPLICATION_JSON.toString());
+        assertThat(operators.select(STRING, MessageBodyWriterContext.create(headers)), is(compatible));
+        assertThat(compatible.calls.get(), is(2));
+    }
+
+    @Test
+    void testCacheKeepsRecentSelections() {
+        MessageBodyOperators<MessageBodyWriter<?>> operators = new MessageBodyOperators<>();
+        TestWriter compatible = new TestWriter(MessageBodyOperator.PredicateResult.COMPATIBLE);
+        operators.registerLast(compatible);
+
+        // more distinct content types than the cache holds
+        int selections = 2 * MessageBodyOperators.MAX_CACHED_SELECTIONS;
+        for (int i = 0; i < selections; i++) {
+            operators.select(STRING, context(MediaType.create("application", "x-" + i)));
+        }
+        assertThat(compatible.calls.get(), is(selections));
+
+        // new selections are still cached once the cache is full
+        MessageBodyWriterContext context = context(MediaType.create("application", "x-new"));
+        assertThat(operators.select(STRING, context), is(compatible));
+        assertThat(operators.select(STRING, context), is(compatible));
+        assertThat(compatible.calls.get(), is(selections + 1));
+    }
+
+    @Test
+    void testRegistrationInvalidatesCache() {
+        MessageBodyOperators<MessageBodyWriter<?>> parent = new MessageBodyOperators<>();
+        MessageBodyOperators<MessageBodyWriter<?>> operators = new MessageBodyOperators<>(parent);
+        MessageBodyWriterContext context = MessageBodyWriterContext.create();
+        TestWriter compatible = new TestWriter(MessageBodyOperator.PredicateResult.COMPATIBLE);
+        operators.registerLast(compatible);
+        TestWriter unsupported = new TestWriter(MessageBodyOperator.PredicateResult.NOT_SUPPORTED);
+        operators.registerLast(unsupported);
+        assertThat(operators.select(STRING, context), is(compatible));
+
+        // supported operator of the parent wins over compatible operator of the child
+        TestWriter supported = new TestWriter(MessageBodyOperator.PredicateResult.SUPPORTED);
+        parent.registerFirst(supported);
+        assertThat(operators.select(STRING, context), is(supported));
+
+        MessageBodyOperators<MessageBodyWriter<?>> empty = new MessageBodyOperators<>();
+        assertThat(empty.select(STRING, context), is(nullValue()));
+    }
+
+    private static MessageBodyWriterContext context(MediaType contentType) {
+        HashParameters headers = HashParameters.create();
+        headers.add(Http.Header.CONTENT_TYPE, contentType.toString());
+        return MessageBodyWriterContext.create(headers);
+    }
+
+    private static final class TestWriter implements MessageBodyWriter<String> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final PredicateResult result;
+
+        private TestWriter(PredicateResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public PredicateResult accept(GenericType<?> type, MessageBodyWriterContext context) {
+            calls.incrementAndGet();
+            return result;
+        }
+
+        @Override
+        public Flow.Publisher<DataChunk> write(Single<? extends String> single,
+                                               GenericType<? extends String> type,
+                                               MessageBodyWriterContext context) {
+            return Single.empty();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package io.helidon.media.jackson;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.Flow.Publisher;
 
@@ -32,9 +33,12 @@ import io.helidon.media.common.MessageBodyReaderContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 /**
  * Message body reader supporting object binding with Jackson.
+ * <p>
+ * UTF-8 content is parsed as it arrives using the non-blocking parser, any other content is collected first.
  */
 final class JacksonBodyReader implements MessageBodyReader<Object> {
 
@@ -58,6 +62,11 @@ final class JacksonBodyReader implements MessageBodyReader<Object> {
     public <U extends Object> Single<U> read(Publisher<DataChunk> publisher,
             GenericType<U> type, MessageBodyReaderContext context) {
 
+        if (StandardCharsets.UTF_8.equals(context.charset()) && JacksonTokenizer.canTokenize(objectMapper)) {
+            return JacksonTokenizer.tokenize(publisher, objectMapper, false)
+                    .map(new TokensToObject<U>(objectMapper.getTypeFactory().constructType(type.type()), objectMapper))
+                    .reduce((first, ignored) -> first);
+        }
         return ContentReaders.readBytes(publisher).map(new BytesToObject<>(type, objectMapper));
     }
 
@@ -70,6 +79,26 @@ final class JacksonBodyReader implements MessageBodyReader<Object> {
         return new JacksonBodyReader(objectMapper);
     }
 
+    static final class TokensToObject<T> implements Mapper<TokenBuffer, T> {
+
+        private final JavaType type;
+        private final ObjectMapper objectMapper;
+
+        TokensToObject(JavaType type, ObjectMapper objectMapper) {
+            this.type = type;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public T map(TokenBuffer tokens) {
+            try {
+                return objectMapper.readValue(tokens.asParser(objectMapper), type);
+            } catch (final IOException wrapMe) {
+                throw new JacksonRuntimeException(wrapMe.getMessage(), wrapMe);
+            }
+        }
+    }
+
     private static final class BytesToObject<T> implements Mapper<byte[], T> {
 
         private final GenericType<? super T> type;
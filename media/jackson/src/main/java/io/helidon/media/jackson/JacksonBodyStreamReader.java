@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jackson;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow.Publisher;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.media.common.ContentReaders;
+import io.helidon.media.common.MessageBodyReaderContext;
+import io.helidon.media.common.MessageBodyStreamReader;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Message body stream reader supporting object binding with Jackson, reading each element of a top-level JSON
+ * array as it arrives. A top-level value that is not an array is read as a single element.
+ */
+class JacksonBodyStreamReader implements MessageBodyStreamReader<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    private JacksonBodyStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+    }
+
+    static JacksonBodyStreamReader create(ObjectMapper objectMapper) {
+        return new JacksonBodyStreamReader(objectMapper);
+    }
+
+    @Override
+    public PredicateResult accept(GenericType<?> type, MessageBodyReaderContext context) {
+        Class<?> clazz = type.rawType();
+        return !CharSequence.class.isAssignableFrom(clazz)
+                && objectMapper.canDeserialize(objectMapper.constructType(clazz))
+                ? PredicateResult.COMPATIBLE
+                : PredicateResult.NOT_SUPPORTED;
+    }
+
+    @Override
+    public <U> Multi<U> read(Publisher<DataChunk> publisher, GenericType<U> type, MessageBodyReaderContext context) {
+        JavaType javaType = objectMapper.getTypeFactory().constructType(type.type());
+        if (StandardCharsets.UTF_8.equals(context.charset()) && JacksonTokenizer.canTokenize(objectMapper)) {
+            return JacksonTokenizer.tokenize(publisher, objectMapper, true)
+                    .map(new JacksonBodyReader.TokensToObject<>(javaType, objectMapper));
+        }
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, javaType);
+        return ContentReaders.readBytes(publisher)
+                .flatMapIterable(bytes -> {
+                    try {
+                        // a single value is read as a list with one element
+                        return objectMapper.readerFor(listType)
+                                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                                .<List<U>>readValue(bytes);
+                    } catch (IOException e) {
+                        throw new JacksonRuntimeException(e.getMessage(), e);
+                    }
+                });
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,10 @@
 package io.helidon.media.jackson;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.Flow.Publisher;
 
@@ -25,8 +28,7 @@ import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.MediaType;
 import io.helidon.common.mapper.Mapper;
 import io.helidon.common.reactive.Single;
-import io.helidon.media.common.CharBuffer;
-import io.helidon.media.common.ContentWriters;
+import io.helidon.media.common.DataChunkOutputStream;
 import io.helidon.media.common.MessageBodyWriter;
 import io.helidon.media.common.MessageBodyWriterContext;
 
@@ -82,12 +84,21 @@ final class JacksonBodyWriter implements MessageBodyWriter<Object> {
 
         @Override
         public Publisher<DataChunk> map(Object content) {
+            DataChunkOutputStream out = new DataChunkOutputStream();
             try {
-                CharBuffer buffer = new CharBuffer();
-                objectMapper.writeValue(buffer, content);
-                return ContentWriters.writeCharBuffer(buffer, charset);
+                if (StandardCharsets.UTF_8.equals(charset)) {
+                    objectMapper.writeValue(out, content);
+                } else {
+                    try (Writer writer = new OutputStreamWriter(out, charset)) {
+                        objectMapper.writeValue(writer, content);
+                    }
+                }
+                return Single.just(out.toChunk(false));
             } catch (IOException wrapMe) {
                 throw new JacksonRuntimeException(wrapMe.getMessage(), wrapMe);
+            } finally {
+                // returns the arrays if the serialization failed
+                out.release();
             }
         }
     }
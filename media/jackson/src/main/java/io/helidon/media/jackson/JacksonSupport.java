@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.Objects;
 import io.helidon.common.LazyValue;
 import io.helidon.media.common.MediaSupport;
 import io.helidon.media.common.MessageBodyReader;
+import io.helidon.media.common.MessageBodyStreamReader;
 import io.helidon.media.common.MessageBodyStreamWriter;
 import io.helidon.media.common.MessageBodyWriter;
 
@@ -44,6 +45,7 @@ public final class JacksonSupport implements MediaSupport {
     private static final LazyValue<JacksonSupport> DEFAULT = LazyValue.create(() -> new JacksonSupport(MAPPER));
 
     private final JacksonBodyReader reader;
+    private final JacksonBodyStreamReader streamReader;
     private final JacksonBodyWriter writer;
     private final JacksonBodyStreamWriter streamWriter;
     private final JacksonEsBodyStreamWriter esStreamWriter;
@@ -51,6 +53,7 @@ public final class JacksonSupport implements MediaSupport {
 
     private JacksonSupport(final ObjectMapper objectMapper) {
         this.reader = JacksonBodyReader.create(objectMapper);
+        this.streamReader = JacksonBodyStreamReader.create(objectMapper);
         this.writer = JacksonBodyWriter.create(objectMapper);
         this.streamWriter = JacksonBodyStreamWriter.create(objectMapper);
         this.esStreamWriter = JacksonEsBodyStreamWriter.create(objectMapper);
@@ -97,6 +100,29 @@ public final class JacksonSupport implements MediaSupport {
         return JacksonBodyReader.create(objectMapper);
     }
 
+    /**
+     * Return a default Jackson entity stream reader, reading each element of a top-level JSON array as it arrives.
+     * The stream reader is not registered by this support, register it with the reader context to read
+     * the content as a stream.
+     *
+     * @return default Jackson body stream reader instance
+     */
+    public static MessageBodyStreamReader<Object> streamReader() {
+        return DEFAULT.get().streamReader;
+    }
+
+    /**
+     * Create a new Jackson entity stream reader based on {@link ObjectMapper} instance, reading each element
+     * of a top-level JSON array as it arrives.
+     *
+     * @param objectMapper object mapper instance
+     * @return new Jackson body stream reader instance
+     */
+    public static MessageBodyStreamReader<Object> streamReader(ObjectMapper objectMapper) {
+        Objects.requireNonNull(objectMapper);
+        return JacksonBodyStreamReader.create(objectMapper);
+    }
+
     /**
      * Return a default Jackson entity writer.
      *
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jackson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Splits chunks of UTF-8 encoded JSON into the tokens of each value as they are received, using the non-blocking
+ * parser of Jackson. The chunks are fed to the parser as they arrive and released right away, the content is never
+ * collected into a single array.
+ * <p>
+ * Reads either the first top-level value, or each element of a top-level array. A top-level value that is not
+ * an array is read as a single element.
+ * <p>
+ * Not thread safe, chunks are expected to be delivered serially, as mandated by reactive streams.
+ */
+final class JacksonTokenizer {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final boolean arrayElements;
+
+    private TokenBuffer tokens;
+    private int depth;
+    private int valueDepth;
+    private boolean started;
+    private boolean done;
+    private boolean emitted;
+    private byte[] copyBuffer;
+
+    private JacksonTokenizer(ObjectMapper objectMapper, boolean arrayElements) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.arrayElements = arrayElements;
+        this.tokens = newTokenBuffer();
+    }
+
+    /**
+     * Whether the content can be parsed as it arrives by this tokenizer.
+     *
+     * @param objectMapper object mapper
+     * @return {@code true} if the mapper supports non-blocking parsing
+     */
+    static boolean canTokenize(ObjectMapper objectMapper) {
+        return objectMapper.getFactory().canParseAsync();
+    }
+
+    /**
+     * Tokens of each value of the content.
+     *
+     * @param publisher     chunks of UTF-8 encoded JSON
+     * @param objectMapper  object mapper
+     * @param arrayElements whether to emit each element of a top-level array, rather than the first value
+     * @return tokens of each value, an empty buffer if there is no content and array elements are not requested
+     */
+    static Multi<TokenBuffer> tokenize(Publisher<DataChunk> publisher, ObjectMapper objectMapper, boolean arrayElements) {
+        return Multi.defer(() -> {
+            JacksonTokenizer tokenizer;
+            try {
+                tokenizer = new JacksonTokenizer(objectMapper, arrayElements);
+            } catch (IOException e) {
+                return Multi.error(new JacksonRuntimeException(e.getMessage(), e));
+            }
+            return Multi.create(publisher)
+                    .flatMapIterable(tokenizer::feed)
+                    .onCompleteResumeWith(Multi.defer(() -> Multi.create(tokenizer.endOfInput())));
+        });
+    }
+
+    private List<TokenBuffer> feed(DataChunk chunk) {
+        try {
+            List<TokenBuffer> result = new ArrayList<>(1);
+            for (ByteBuffer buffer : chunk.data()) {
+                int length = buffer.remaining();
+                if (length == 0) {
+                    continue;
+                }
+                if (buffer.hasArray()) {
+                    int offset = buffer.arrayOffset() + buffer.position();
+                    feeder.feedInput(buffer.array(), offset, offset + length);
+                } else {
+                    if (copyBuffer == null || copyBuffer.length < length) {
+                        copyBuffer = new byte[length];
+                    }
+                    buffer.duplicate().get(copyBuffer, 0, length);
+                    feeder.feedInput(copyBuffer, 0, length);
+                }
+                // the parser keeps the unfinished token to itself, so the input can be released once consumed
+                parseAvailable(result);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new JacksonRuntimeException(e.getMessage(), e);
+        } finally {
+            chunk.release();
+        }
+    }
+
+    private List<TokenBuffer> endOfInput() {
+        try {
+            feeder.endOfInput();
+            List<TokenBuffer> result = new ArrayList<>(1);
+            parseAvailable(result);
+            if (!arrayElements && !emitted) {
+                // no content, let the mapper report it
+                result.add(tokens);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new JacksonRuntimeException(e.getMessage(), e);
+        } finally {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing to release
+            }
+        }
+    }
+
+    private void parseAvailable(List<TokenBuffer> result) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (!started) {
+                started = true;
+                if (arrayElements && token == JsonToken.START_ARRAY) {
+                    // elements of the top-level array are the values
+                    depth = 1;
+                    valueDepth = 1;
+                    continue;
+                }
+            }
+            if (done) {
+                // only the first top-level value is read, the rest is validated by the parser
+                continue;
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+                if (depth < valueDepth) {
+                    // end of the top-level array
+                    done = true;
+                    continue;
+                }
+            }
+            tokens.copyCurrentEvent(parser);
+            if (depth == valueDepth) {
+                result.add(tokens);
+                emitted = true;
+                tokens = newTokenBuffer();
+                done = valueDepth == 0;
+            }
+        }
+    }
+
+    private TokenBuffer newTokenBuffer() {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.forceUseOfBigDecimal(objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+        return buffer;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,11 +15,15 @@
  */
 package io.helidon.media.jackson;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 import io.helidon.media.common.MessageBodyReaderContext;
 
@@ -28,7 +32,10 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class JacksonBodyReaderTest {
 
@@ -44,6 +51,73 @@ public class JacksonBodyReaderTest {
         assertThat(books.get(0), notNullValue());
     }
 
+    @Test
+    void testDeserializeChunked() throws Exception {
+        AtomicInteger released = new AtomicInteger();
+        JacksonBodyReader reader = JacksonBodyReader.create(new ObjectMapper());
+        Book book = reader.read(chunks(released, "{\"title\":\"Der ", "Zauberberg \u00e9\"}"),
+                                GenericType.create(Book.class),
+                                MessageBodyReaderContext.create())
+                .get();
+
+        assertThat(book.getTitle(), is("Der Zauberberg \u00e9"));
+        assertThat(released.get(), is(splitCount("{\"title\":\"Der ", "Zauberberg \u00e9\"}")));
+    }
+
+    @Test
+    void testDeserializeInvalid() {
+        JacksonBodyReader reader = JacksonBodyReader.create(new ObjectMapper());
+        ExecutionException e = assertThrows(ExecutionException.class,
+                                            () -> reader.read(chunks(new AtomicInteger(), "{\"title\":"),
+                                                              GenericType.create(Book.class),
+                                                              MessageBodyReaderContext.create())
+                                                    .get());
+        assertThat(e.getCause(), instanceOf(JacksonRuntimeException.class));
+
+        e = assertThrows(ExecutionException.class,
+                         () -> reader.read(Multi.empty(), GenericType.create(Book.class), MessageBodyReaderContext.create())
+                                 .get());
+        assertThat(e.getCause(), instanceOf(JacksonRuntimeException.class));
+    }
+
+    @Test
+    void testStreamArrayElements() {
+        JacksonBodyStreamReader reader = JacksonBodyStreamReader.create(new ObjectMapper());
+        List<String> titles = reader.read(chunks(new AtomicInteger(), "[{\"title\":\"A\"}, {\"ti", "tle\":\"B\"}", ",{}]"),
+                                          GenericType.create(Book.class),
+                                          MessageBodyReaderContext.create())
+                .map(book -> String.valueOf(book.getTitle()))
+                .collectList()
+                .await();
+
+        assertThat(titles, contains("A", "B", "null"));
+
+        List<Integer> numbers = JacksonBodyStreamReader.create(new ObjectMapper())
+                .read(chunks(new AtomicInteger(), "4", "2"), GenericType.create(Integer.class), MessageBodyReaderContext.create())
+                .collectList()
+                .await();
+
+        assertThat(numbers, contains(42));
+    }
+
+    // each part split into two chunks of a single byte buffer each
+    private static Multi<DataChunk> chunks(AtomicInteger released, String... parts) {
+        return Multi.just(parts)
+                .flatMapIterable(part -> {
+                    byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                    int half = bytes.length / 2;
+                    return List.of(DataChunk.create(false, released::incrementAndGet, ByteBuffer.wrap(bytes, 0, half)),
+                                   DataChunk.create(false, released::incrementAndGet,
+                                                    ByteBuffer.allocateDirect(bytes.length - half)
+                                                            .put(bytes, half, bytes.length - half)
+                                                            .flip()));
+                });
+    }
+
+    private static int splitCount(String... parts) {
+        return parts.length * 2;
+    }
+
     public static class Book {
         private String title;
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jackson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.media.common.CharBuffer;
+import io.helidon.media.common.MessageBodyWriter;
+import io.helidon.media.common.MessageBodyWriterContext;
+import io.helidon.media.jsonb.JsonbSupport;
+import io.helidon.media.jsonp.JsonpSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonStructure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures serialization of a response entity by the JSON writers, releasing the produced chunks as the web server
+ * does once they are written. The {@code chars} stack serializes with Jackson to a {@link CharBuffer} encoded
+ * afterwards, as a baseline for the writers serializing to bytes. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+public class JsonWriterJMH {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(JsonWriterJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler("gc")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"chars", "jackson", "jsonb", "jsonp"})
+    String stack;
+
+    /**
+     * Number of books in the response, about 100 bytes each.
+     */
+    @Param({"10", "100", "5000"})
+    int books;
+
+    MessageBodyWriter<Object> writer;
+    Object entity;
+    GenericType<Object> type;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        List<Book> list = new ArrayList<>();
+        JsonArrayBuilder array = Json.createArrayBuilder();
+        for (int i = 0; i < books; i++) {
+            Book book = new Book("Title " + i, "Author of book number " + i, 1900 + i % 100, "Publisher, Fiction");
+            list.add(book);
+            array.add(Json.createObjectBuilder()
+                              .add("title", book.getTitle())
+                              .add("author", book.getAuthor())
+                              .add("year", book.getYear())
+                              .add("publisher", book.getPublisher()));
+        }
+        switch (stack) {
+        case "jsonp":
+            MessageBodyWriter<?> jsonpWriter = JsonpSupport.writer();
+            writer = (MessageBodyWriter<Object>) jsonpWriter;
+            entity = array.build();
+            type = (GenericType<Object>) (GenericType<?>) GenericType.create(JsonStructure.class);
+            break;
+        case "jsonb":
+            writer = JsonbSupport.writer();
+            entity = list;
+            type = (GenericType<Object>) (GenericType<?>) GenericType.create(List.class);
+            break;
+        default:
+            writer = JacksonSupport.writer();
+            entity = list;
+            type = (GenericType<Object>) (GenericType<?>) GenericType.create(List.class);
+        }
+    }
+
+    @Benchmark
+    public void write(Blackhole blackhole) throws Exception {
+        if ("chars".equals(stack)) {
+            CharBuffer buffer = new CharBuffer();
+            MAPPER.writeValue(buffer, entity);
+            blackhole.consume(buffer.encode(StandardCharsets.UTF_8));
+            return;
+        }
+        Multi.create(writer.write(Single.just(entity), type, MessageBodyWriterContext.create(HashParameters.create())))
+                .forEach(chunk -> {
+                    blackhole.consume(chunk.remaining());
+                    chunk.release();
+                })
+                .await();
+    }
+
+    /**
+     * Entity bound by JSON-B and Jackson.
+     */
+    public static class Book {
+        private String title;
+        private String author;
+        private int year;
+        private String publisher;
+
+        public Book() {
+        }
+
+        Book(String title, String author, int year, String publisher) {
+            this.title = title;
+            this.author = author;
+            this.year = year;
+            this.publisher = publisher;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public void setYear(int year) {
+            this.year = year;
+        }
+
+        public String getPublisher() {
+            return publisher;
+        }
+
+        public void setPublisher(String publisher) {
+            this.publisher = publisher;
+        }
+    }
+}
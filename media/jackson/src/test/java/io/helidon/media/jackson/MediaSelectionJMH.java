@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jackson;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.http.ReadOnlyParameters;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.media.common.MediaContext;
+import io.helidon.media.common.MediaSupport;
+import io.helidon.media.common.MessageBodyReaderContext;
+import io.helidon.media.common.MessageBodyWriterContext;
+import io.helidon.media.jsonb.JsonbSupport;
+import io.helidon.media.jsonp.JsonpSupport;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures selection of the reader and writer of a request and response entity, using a new context per request
+ * parented by the media context, as the web server does. The content is not subscribed to, so the result is
+ * dominated by the operator selection.
+ */
+@State(Scope.Benchmark)
+public class MediaSelectionJMH {
+
+    private static final List<MediaType> ACCEPTED_TYPES = List.of(MediaType.APPLICATION_JSON);
+    private static final List<String> CONTENT_TYPE = List.of(MediaType.APPLICATION_JSON.toString());
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(MediaSelectionJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"jsonp", "jsonb", "jackson"})
+    String stack;
+
+    MediaContext mediaContext;
+    Object entity;
+    GenericType<Object> type;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        MediaSupport support;
+        switch (stack) {
+        case "jsonp":
+            support = JsonpSupport.create();
+            entity = Json.createObjectBuilder().add("name", "helidon").build();
+            type = (GenericType<Object>) (GenericType<?>) GenericType.create(JsonObject.class);
+            break;
+        case "jsonb":
+            support = JsonbSupport.create();
+            entity = new Pojo();
+            type = (GenericType<Object>) (GenericType<?>) GenericType.create(Pojo.class);
+            break;
+        default:
+            support = JacksonSupport.create();
+            entity = new Pojo();
+            type = (GenericType<Object>) (GenericType<?>) GenericType.create(Pojo.class);
+        }
+        mediaContext = MediaContext.builder()
+                .addMediaSupport(support)
+                .build();
+    }
+
+    @Benchmark
+    public Object selectWriter() {
+        HashParameters headers = HashParameters.create();
+        return MessageBodyWriterContext.create(mediaContext.writerContext(), null, headers, ACCEPTED_TYPES)
+                .marshall(Single.just(entity), type);
+    }
+
+    @Benchmark
+    public Object selectReader() {
+        ReadOnlyParameters headers = new ReadOnlyParameters(Map.of("Content-Type", CONTENT_TYPE));
+        return MessageBodyReaderContext.create(mediaContext.readerContext(), null, headers,
+                                               Optional.of(MediaType.APPLICATION_JSON))
+                .unmarshall(Multi.<DataChunk>empty(), type);
+    }
+
+    /**
+     * Entity bound by JSON-B and Jackson.
+     */
+    public static class Pojo {
+        private String name = "helidon";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,9 @@
  */
 package io.helidon.media.jsonb;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Objects;
 import java.util.concurrent.Flow.Publisher;
@@ -24,8 +27,7 @@ import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.MediaType;
 import io.helidon.common.mapper.Mapper;
 import io.helidon.common.reactive.Single;
-import io.helidon.media.common.CharBuffer;
-import io.helidon.media.common.ContentWriters;
+import io.helidon.media.common.DataChunkOutputStream;
 import io.helidon.media.common.MessageBodyWriter;
 import io.helidon.media.common.MessageBodyWriterContext;
 
@@ -86,12 +88,20 @@ class JsonbBodyWriter implements MessageBodyWriter<Object> {
 
         @Override
         public Publisher<DataChunk> map(Object item) {
-            CharBuffer buffer = new CharBuffer();
+            DataChunkOutputStream out = new DataChunkOutputStream();
+            // encoded as written, the configured encoding of JSON-B may differ from the charset of the response
             try {
-                jsonb.toJson(item, buffer);
-                return ContentWriters.writeCharBuffer(buffer, charset);
+                try (Writer writer = new OutputStreamWriter(out, charset)) {
+                    jsonb.toJson(item, writer);
+                }
+                return Single.just(out.toChunk(false));
             } catch (IllegalStateException | JsonbException ex) {
                 return Single.<DataChunk>error(ex);
+            } catch (IOException ex) {
+                return Single.<DataChunk>error(new JsonbException(ex.getMessage(), ex));
+            } finally {
+                // returns the arrays if the serialization failed
+                out.release();
             }
         }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,7 +23,7 @@ import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.MediaType;
 import io.helidon.common.mapper.Mapper;
 import io.helidon.common.reactive.Single;
-import io.helidon.media.common.CharBuffer;
+import io.helidon.media.common.DataChunkOutputStream;
 import io.helidon.media.common.MessageBodyWriter;
 import io.helidon.media.common.MessageBodyWriterContext;
 
@@ -75,10 +75,15 @@ class JsonpBodyWriter implements MessageBodyWriter<JsonStructure> {
 
         @Override
         public DataChunk map(JsonStructure item) {
-            CharBuffer buffer = new CharBuffer();
-            try (JsonWriter writer = factory.createWriter(buffer)) {
-                writer.write(item);
-                return DataChunk.create(flush, buffer.encode(charset));
+            DataChunkOutputStream out = new DataChunkOutputStream();
+            try {
+                try (JsonWriter writer = factory.createWriter(out, charset)) {
+                    writer.write(item);
+                }
+                return out.toChunk(flush);
+            } finally {
+                // returns the arrays if the serialization failed
+                out.release();
             }
         }
     }
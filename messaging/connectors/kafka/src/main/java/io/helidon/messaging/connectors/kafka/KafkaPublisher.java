@@ -17,7 +17,10 @@
 package io.helidon.messaging.connectors.kafka;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -26,6 +29,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
@@ -71,10 +75,21 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
     private static final String ENABLE_AUTOCOMMIT = "enable.auto.commit";
     private static final String ACK_TIMEOUT = "ack.timeout.millis";
     private static final String LIMIT_NO_ACK = "limit.no.ack";
+    private static final String COMMIT_ASYNC = "commit.async";
+    private static final String COMMIT_BATCH_SIZE = "commit.batch.size";
+    private static final String COMMIT_INTERVAL = "commit.interval.millis";
+    private static final String CONCURRENT_PARTITIONS = "concurrent.partitions";
 
     private final Lock taskLock = new ReentrantLock();
     private final Queue<ConsumerRecord<K, V>> backPressureBuffer = new LinkedList<>();
-    private final Map<TopicPartition, List<KafkaConsumerMessage<K, V>>> pendingCommits = new HashMap<>();
+    private final Map<TopicPartition, PartitionOffsets<K, V>> pendingCommits = new HashMap<>();
+    // acknowledged messages waiting for the commit batch to be complete
+    private final Map<TopicPartition, OffsetAndMetadata> uncommittedOffsets = new LinkedHashMap<>();
+    private final List<KafkaConsumerMessage<K, V>> uncommittedMessages = new ArrayList<>();
+    // asynchronous commits not confirmed by Kafka yet
+    private final Set<List<KafkaConsumerMessage<K, V>>> inFlightCommits = Collections.newSetFromMap(new IdentityHashMap<>());
+    // last emitted message of each partition, the next one is emitted once it is acknowledged
+    private final Map<TopicPartition, KafkaConsumerMessage<K, V>> inProcess = new HashMap<>();
     private final PartitionsAssignedLatch partitionsAssignedLatch = new PartitionsAssignedLatch();
     private final ScheduledExecutorService scheduler;
     private final AtomicLong requests = new AtomicLong();
@@ -86,25 +101,32 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
     private final boolean autoCommit;
     private final long ackTimeout;
     private final int limitNoAck;
+    private final boolean commitAsync;
+    private final int commitBatchSize;
+    private final long commitIntervalNanos;
+    private final boolean concurrentPartitions;
     private final Supplier<Consumer<K, V>> consumerSupplier;
     private final Config config;
 
     private Consumer<K, V> kafkaConsumer;
+    private long lastCommit = System.nanoTime();
     private volatile boolean stopped;
 
-    private KafkaPublisher(ScheduledExecutorService scheduler, Supplier<Consumer<K, V>> consumerSupplier,
-                           List<String> topics, Pattern topicPattern, long pollTimeout, long periodExecutions, boolean autoCommit,
-                           long ackTimeout, int limitNoAck, Config config) {
-        this.scheduler = scheduler;
-        this.topics = topics;
-        this.topicPattern = topicPattern;
-        this.periodExecutions = periodExecutions;
-        this.pollTimeout = pollTimeout;
-        this.autoCommit = autoCommit;
-        this.ackTimeout = ackTimeout;
-        this.limitNoAck = limitNoAck;
-        this.consumerSupplier = consumerSupplier;
-        this.config = config;
+    private KafkaPublisher(Builder<K, V> builder) {
+        this.scheduler = builder.scheduler;
+        this.topics = builder.topics;
+        this.topicPattern = builder.topicPattern;
+        this.periodExecutions = builder.periodExecutions;
+        this.pollTimeout = builder.pollTimeout;
+        this.autoCommit = builder.autoCommit;
+        this.ackTimeout = builder.ackTimeout;
+        this.limitNoAck = builder.limitNoAck;
+        this.commitAsync = builder.commitAsync;
+        this.commitBatchSize = builder.commitBatchSize;
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(builder.commitInterval);
+        this.concurrentPartitions = builder.concurrentPartitions;
+        this.consumerSupplier = builder.consumerSupplier;
+        this.config = builder.config;
         this.emitter.onRequest((n, demand) -> requests.updateAndGet(r -> Long.MAX_VALUE - r > n ? n + r : Long.MAX_VALUE));
     }
 
@@ -145,26 +167,22 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
                                 }
                             } else {
                                 long totalToEmit = requests.get();
-                                // Avoid index out bound exceptions
-                                long eventsToEmit = Math.min(totalToEmit, backPressureBuffer.size());
-                                if (eventsToEmit > 0) {
-                                    LOGGER.fine(() -> String.format("%s %s messages to emit. %s in buffer and %s requested",
-                                            topics, eventsToEmit, backPressureBuffer.size(), totalToEmit));
+                                if (totalToEmit == 0) {
+                                    // nothing is polled meanwhile, make sure asynchronous commits are confirmed
+                                    flushAsyncCommits();
                                 }
-                                for (long i = 0; i < eventsToEmit; i++) {
-                                    ConsumerRecord<K, V> cr = backPressureBuffer.poll();
-                                    CompletableFuture<Void> ack = new CompletableFuture<>();
-
-                                    KafkaConsumerMessage<K, V> kafkaMessage =
-                                            new KafkaConsumerMessage<>(cr, ack, nack, ackTimeout);
-                                    if (!autoCommit) {
-                                        TopicPartition key = new TopicPartition(cr.topic(), cr.partition());
-                                        pendingCommits.computeIfAbsent(key, k -> new LinkedList<>()).add(kafkaMessage);
-                                    } else {
-                                        ack.complete(null);
+                                if (concurrentPartitions) {
+                                    emitPerPartition(totalToEmit, nack);
+                                } else {
+                                    // Avoid index out bound exceptions
+                                    long eventsToEmit = Math.min(totalToEmit, backPressureBuffer.size());
+                                    if (eventsToEmit > 0) {
+                                        LOGGER.fine(() -> String.format("%s %s messages to emit. %s in buffer and %s requested",
+                                                topics, eventsToEmit, backPressureBuffer.size(), totalToEmit));
+                                    }
+                                    for (long i = 0; i < eventsToEmit; i++) {
+                                        emit(backPressureBuffer.poll(), nack);
                                     }
-                                    requests.decrementAndGet();
-                                    runInNewContext(() ->  emitter.emit(kafkaMessage));
                                 }
                             }
                         } else {
@@ -192,55 +210,148 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
         }
     }
 
+    /**
+     * Emits the first buffered message of each partition whose previously emitted message was acknowledged.
+     * Messages of different partitions are processed concurrently, messages of a single partition
+     * one after another in the order of their offsets.
+     */
+    private void emitPerPartition(long totalToEmit, NackHandler<K, V> nack) {
+        long emitted = 0;
+        Iterator<ConsumerRecord<K, V>> iterator = backPressureBuffer.iterator();
+        while (emitted < totalToEmit && iterator.hasNext()) {
+            ConsumerRecord<K, V> cr = iterator.next();
+            KafkaConsumerMessage<K, V> previous = inProcess.get(new TopicPartition(cr.topic(), cr.partition()));
+            if (previous == null || previous.isAck()) {
+                iterator.remove();
+                emit(cr, nack);
+                emitted++;
+            }
+        }
+        if (emitted > 0) {
+            long count = emitted;
+            LOGGER.fine(() -> String.format("%s %s messages emitted. %s in buffer and %s requested",
+                    topics, count, backPressureBuffer.size(), totalToEmit));
+        }
+    }
+
+    private void emit(ConsumerRecord<K, V> cr, NackHandler<K, V> nack) {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+
+        KafkaConsumerMessage<K, V> kafkaMessage =
+                new KafkaConsumerMessage<>(cr, ack, nack, ackTimeout);
+        if (!autoCommit || concurrentPartitions) {
+            TopicPartition key = new TopicPartition(cr.topic(), cr.partition());
+            if (!autoCommit) {
+                pendingCommits.computeIfAbsent(key, k -> new PartitionOffsets<>()).add(kafkaMessage);
+            }
+            if (concurrentPartitions) {
+                inProcess.put(key, kafkaMessage);
+            }
+        }
+        if (autoCommit) {
+            ack.complete(null);
+        }
+        requests.decrementAndGet();
+        runInNewContext(() ->  emitter.emit(kafkaMessage));
+    }
+
     private int currentNoAck() {
-        return pendingCommits.values().stream()
-                .map(List::size)
-                .reduce(Integer::sum)
-                .orElse(0);
+        int currentNoAck = uncommittedMessages.size();
+        for (PartitionOffsets<K, V> partition : pendingCommits.values()) {
+            currentNoAck += partition.size();
+        }
+        // acknowledged, but Kafka did not confirm the commit yet
+        for (List<KafkaConsumerMessage<K, V>> commit : inFlightCommits) {
+            currentNoAck += commit.size();
+        }
+        return currentNoAck;
     }
 
     /**
      * Process the ACKs.
      * This will search ACK events and it will commit them to Kafka.
      * Those events that are committed will complete KafkaMessage#ack().
+     * Commits are batched, they are sent once there are enough acknowledged messages,
+     * or once the commit interval elapses.
      */
     private void processACK() {
-        Map<TopicPartition, OffsetAndMetadata> offsets = new LinkedHashMap<>();
-        List<KafkaConsumerMessage<K, V>> messagesToCommit = new LinkedList<>();
-        // Commit highest offset + 1 of each partition that was ACK, and remove from pending
-        for (Entry<TopicPartition, List<KafkaConsumerMessage<K, V>>> entry : pendingCommits.entrySet()) {
-            // No need to sort it, offsets are consumed in order
-            List<KafkaConsumerMessage<K, V>> byPartition = entry.getValue();
-            Iterator<KafkaConsumerMessage<K, V>> iterator = byPartition.iterator();
-            KafkaMessage<K, V> highest = null;
-            while (iterator.hasNext()) {
-                KafkaConsumerMessage<K, V> element = iterator.next();
-                if (element.isAck()) {
-                    messagesToCommit.add(element);
-                    highest = element;
-                    iterator.remove();
-                } else {
-                    break;
-                }
-            }
-            if (highest != null) {
-                OffsetAndMetadata offset = new OffsetAndMetadata(highest.getOffset().get() + 1);
-                LOGGER.fine(() -> String.format("%s Will commit %s %s", topics, entry.getKey(), offset));
-                offsets.put(entry.getKey(), offset);
+        // Commit the highest contiguous ACK offset + 1 of each partition, and remove from pending
+        for (Entry<TopicPartition, PartitionOffsets<K, V>> entry : pendingCommits.entrySet()) {
+            long offset = entry.getValue().drainAcked(uncommittedMessages);
+            if (offset != PartitionOffsets.NO_OFFSET) {
+                OffsetAndMetadata offsetAndMetadata = new OffsetAndMetadata(offset);
+                LOGGER.fine(() -> String.format("%s Will commit %s %s", topics, entry.getKey(), offsetAndMetadata));
+                uncommittedOffsets.put(entry.getKey(), offsetAndMetadata);
             }
         }
-        if (!messagesToCommit.isEmpty()) {
-            LOGGER.fine(() -> String.format("%s Offsets %s", topics, offsets));
+        if (uncommittedMessages.isEmpty()) {
+            return;
+        }
+        if (uncommittedMessages.size() >= commitBatchSize || System.nanoTime() - lastCommit >= commitIntervalNanos) {
+            commit(commitAsync);
+        }
+    }
+
+    private void commit(boolean async) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new LinkedHashMap<>(uncommittedOffsets);
+        List<KafkaConsumerMessage<K, V>> messagesToCommit = new ArrayList<>(uncommittedMessages);
+        uncommittedOffsets.clear();
+        uncommittedMessages.clear();
+        lastCommit = System.nanoTime();
+        LOGGER.fine(() -> String.format("%s Offsets %s", topics, offsets));
+        if (async) {
+            inFlightCommits.add(messagesToCommit);
+            try {
+                // the callback is invoked from a later poll or commit
+                kafkaConsumer.commitAsync(offsets, (committed, exception) -> {
+                    inFlightCommits.remove(messagesToCommit);
+                    completeCommit(offsets, messagesToCommit, exception);
+                });
+            } catch (RuntimeException e) {
+                inFlightCommits.remove(messagesToCommit);
+                completeCommit(offsets, messagesToCommit, e);
+            }
+        } else {
             try {
-                kafkaConsumer.commitSync(offsets);
-                messagesToCommit.forEach(message -> message.kafkaCommit().complete(null));
+                commitSync(offsets);
+                completeCommit(offsets, messagesToCommit, null);
             } catch (RuntimeException e) {
-                LOGGER.log(Level.SEVERE, "Unable to commit in Kafka " + offsets, e);
-                messagesToCommit.forEach(message -> message.kafkaCommit().completeExceptionally(e));
+                completeCommit(offsets, messagesToCommit, e);
+            }
+        }
+    }
+
+    private void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        try {
+            kafkaConsumer.commitSync(offsets);
+        } catch (WakeupException e) {
+            // consumer was woken up to stop polling, commit must still be done
+            kafkaConsumer.commitSync(offsets);
+        }
+    }
+
+    private void flushAsyncCommits() {
+        if (!inFlightCommits.isEmpty()) {
+            try {
+                // callbacks of asynchronous commits are invoked before synchronous commit completes
+                kafkaConsumer.commitSync(Map.of());
+            } catch (WakeupException e) {
+                LOGGER.fine(() -> String.format("%s It was requested to stop waiting for commits", topics));
             }
         }
     }
 
+    private void completeCommit(Map<TopicPartition, OffsetAndMetadata> offsets,
+                                List<KafkaConsumerMessage<K, V>> messages,
+                                Exception exception) {
+        if (exception == null) {
+            messages.forEach(message -> message.kafkaCommit().complete(null));
+        } else {
+            LOGGER.log(Level.SEVERE, "Unable to commit in Kafka " + offsets, exception);
+            messages.forEach(message -> message.kafkaCommit().completeExceptionally(exception));
+        }
+    }
+
     /**
      * Closes the opened resources to Kafka and completes exceptionally the pending {@link KafkaMessage#ack()}.
      *
@@ -275,12 +386,23 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
     private void cleanResourcesIfTerminated(boolean isTerminated) {
         if (!stopped && isTerminated) {
             stopped = true;
-            LOGGER.fine(() -> String.format("%s Pending ACKs: %s", topics, pendingCommits.size()));
+            // Commit what was already acknowledged
+            if (!uncommittedMessages.isEmpty()) {
+                commit(false);
+            }
+            List<KafkaConsumerMessage<K, V>> notCommitted = new ArrayList<>();
+            pendingCommits.values().forEach(partition -> partition.drainAll(notCommitted));
+            LOGGER.fine(() -> String.format("%s Pending ACKs: %s", topics, notCommitted.size()));
             // Terminate waiting ACKs
-            pendingCommits.values().stream().flatMap(List::stream)
-            .forEach(message -> message.kafkaCommit()
+            notCommitted.forEach(message -> message.kafkaCommit()
                     .completeExceptionally(new TimeoutException(topics + " Aborted because KafkaPublisher is terminated")));
             kafkaConsumer.close();
+            // Terminate commits that were not confirmed before the consumer was closed
+            inFlightCommits.stream().flatMap(List::stream)
+            .forEach(message -> message.kafkaCommit()
+                    .completeExceptionally(new TimeoutException(topics + " Aborted because KafkaPublisher is terminated")));
+            inFlightCommits.clear();
+            inProcess.clear();
         }
     }
 
@@ -352,6 +474,10 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
         private Boolean autoCommit;
         private long ackTimeout = Long.MAX_VALUE;
         private int limitNoAck = Integer.MAX_VALUE;
+        private boolean commitAsync;
+        private int commitBatchSize = 1;
+        private long commitInterval = 1000L;
+        private boolean concurrentPartitions;
         private List<String> topics;
         private Pattern topicPattern;
         private ScheduledExecutorService scheduler;
@@ -378,6 +504,10 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
             config.get(ENABLE_AUTOCOMMIT).asBoolean().ifPresent(this::autoCommit);
             config.get(ACK_TIMEOUT).asLong().ifPresent(this::ackTimeout);
             config.get(LIMIT_NO_ACK).asInt().ifPresent(this::limitNoAck);
+            config.get(COMMIT_ASYNC).asBoolean().ifPresent(this::commitAsync);
+            config.get(COMMIT_BATCH_SIZE).asInt().ifPresent(this::commitBatchSize);
+            config.get(COMMIT_INTERVAL).asLong().ifPresent(this::commitInterval);
+            config.get(CONCURRENT_PARTITIONS).asBoolean().ifPresent(this::concurrentPartitions);
             return this;
         }
 
@@ -495,7 +625,8 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
 
         /**
          * This value applies only when autoCommit is set to false.
-         * It specifies the limit of messages waiting to be committed in Kafka.
+         * It specifies the limit of messages waiting to be committed in Kafka,
+         * including the acknowledged messages whose commit was not confirmed by Kafka yet.
          * If this value is overflown, the KafkaPublisher will notify a failure.
          *
          * The intention of this value is to fail gracefully when there are many pending commits,
@@ -509,6 +640,75 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
             return this;
         }
 
+        /**
+         * This value applies only when autoCommit is set to false.
+         * When true, offsets are committed in Kafka without blocking the polling of next messages,
+         * and {@link KafkaMessage#ack()} completes once Kafka confirms the commit.
+         *
+         * The default value is false
+         *
+         * @param commitAsync whether to commit asynchronously
+         * @return updated builder instance
+         */
+        public Builder<K, V> commitAsync(boolean commitAsync) {
+            this.commitAsync = commitAsync;
+            return this;
+        }
+
+        /**
+         * This value applies only when autoCommit is set to false.
+         * It specifies the number of acknowledged messages that are committed in Kafka together.
+         * Acknowledged messages are committed sooner if the commit interval elapses.
+         *
+         * The default value is 1, every acknowledged message is committed as soon as possible.
+         *
+         * @param commitBatchSize number of messages committed together
+         * @return updated builder instance
+         * @see #commitInterval(long)
+         */
+        public Builder<K, V> commitBatchSize(int commitBatchSize) {
+            if (commitBatchSize < 1) {
+                throw new IllegalArgumentException("The commitBatchSize must be positive, but is " + commitBatchSize);
+            }
+            this.commitBatchSize = commitBatchSize;
+            return this;
+        }
+
+        /**
+         * This value applies only when autoCommit is set to false.
+         * It defines the maximum time in milliseconds that acknowledged messages are waiting for
+         * the commit batch to be complete.
+         *
+         * The default value is 1000 milliseconds.
+         *
+         * @param commitInterval time in milliseconds
+         * @return updated builder instance
+         * @see #commitBatchSize(int)
+         */
+        public Builder<K, V> commitInterval(long commitInterval) {
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        /**
+         * When true, a message of a partition is emitted only once the previous message of the same partition
+         * is acknowledged. Messages of different partitions are processed concurrently, while messages
+         * of a single partition are processed one after another in the order of their offsets.
+         * This is intended for subscribers that process messages asynchronously and acknowledge them
+         * once they are processed.
+         *
+         * It requires autoCommit to be false, as acknowledgements have no effect with autoCommit.
+         *
+         * The default value is false, messages are emitted as requested regardless of their partitions.
+         *
+         * @param concurrentPartitions whether to process partitions concurrently, keeping the order within partitions
+         * @return updated builder instance
+         */
+        public Builder<K, V> concurrentPartitions(boolean concurrentPartitions) {
+            this.concurrentPartitions = concurrentPartitions;
+            return this;
+        }
+
         @Override
         public KafkaPublisher<K, V> build() {
             if (Objects.isNull(topicPattern) && (Objects.isNull(topics) || topics.isEmpty())) {
@@ -519,6 +719,10 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
                     String.format("The autoCommit is a required value and be equals to KafkaProperty %s", ENABLE_AUTOCOMMIT);
                 throw new IllegalArgumentException(message);
             }
+            if (autoCommit && concurrentPartitions) {
+                throw new IllegalArgumentException(String.format("The %s requires KafkaProperty %s to be false",
+                                                                 CONCURRENT_PARTITIONS, ENABLE_AUTOCOMMIT));
+            }
             if (Objects.isNull(scheduler)) {
                 throw new IllegalArgumentException("The scheduler is a required value");
             }
@@ -528,18 +732,7 @@ public class KafkaPublisher<K, V> implements Publisher<KafkaMessage<K, V>> {
             if (Objects.isNull(config)) {
                 config = Config.empty();
             }
-            KafkaPublisher<K, V> publisher = new KafkaPublisher<>(
-                    scheduler,
-                    consumerSupplier,
-                    topics,
-                    topicPattern,
-                    pollTimeout,
-                    periodExecutions,
-                    autoCommit,
-                    ackTimeout,
-                    limitNoAck,
-                    config
-            );
+            KafkaPublisher<K, V> publisher = new KafkaPublisher<>(this);
             return publisher;
         }
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.messaging.connectors.kafka;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+
+/**
+ * Messages of a single partition waiting to be committed, in the order of their offsets.
+ * Messages may be acknowledged in any order, but only the contiguous acknowledged messages
+ * from the lowest pending offset can be committed.
+ *
+ * Not thread safe, it must be accessed only from the thread polling Kafka.
+ *
+ * @param <K> kafka record key type
+ * @param <V> kafka record value type
+ */
+final class PartitionOffsets<K, V> {
+
+    /** There is nothing to commit. */
+    static final long NO_OFFSET = -1;
+
+    private final Deque<KafkaConsumerMessage<K, V>> pending = new ArrayDeque<>();
+
+    /**
+     * Adds the message that was sent downstream. Messages must be added in the order of their offsets.
+     *
+     * @param message message waiting for the acknowledgement
+     */
+    void add(KafkaConsumerMessage<K, V> message) {
+        pending.addLast(message);
+    }
+
+    /**
+     * Removes the acknowledged messages preceding the first message that was not acknowledged yet.
+     *
+     * @param acked collection to add the removed messages to
+     * @return the offset to commit, that is the offset of the last removed message + 1,
+     *         or {@link #NO_OFFSET} if no message was removed
+     */
+    long drainAcked(Collection<KafkaConsumerMessage<K, V>> acked) {
+        long offset = NO_OFFSET;
+        while (!pending.isEmpty() && pending.peekFirst().isAck()) {
+            KafkaConsumerMessage<K, V> message = pending.pollFirst();
+            acked.add(message);
+            offset = message.getConsumerRecord().get().offset() + 1;
+        }
+        return offset;
+    }
+
+    /**
+     * Removes all pending messages.
+     *
+     * @param removed collection to add the removed messages to
+     */
+    void drainAll(Collection<KafkaConsumerMessage<K, V>> removed) {
+        removed.addAll(pending);
+        pending.clear();
+    }
+
+    /**
+     * Number of messages waiting to be committed.
+     *
+     * @return number of pending messages
+     */
+    int size() {
+        return pending.size();
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionOffsets [pending=" + pending.size() + "]";
+    }
+}
@@ -15,6 +15,8 @@
  */
 package io.helidon.metrics.api;
 
+import java.util.Locale;
+
 import io.helidon.config.Config;
 import io.helidon.config.metadata.Configured;
 import io.helidon.config.metadata.ConfiguredOption;
@@ -76,6 +78,45 @@ public interface RegistrySettings {
      */
     boolean isMetricEnabled(String dottedName);
 
+    /**
+     * Returns the type of reservoir used by histograms and timers of the registry.
+     *
+     * @return reservoir type
+     */
+    ReservoirType reservoirType();
+
+    /**
+     * Reservoir of samples used by histograms and timers to compute the percentiles of their snapshots.
+     */
+    enum ReservoirType {
+
+        /**
+         * Random sample of 1028 values, biased towards the last 5 minutes of measurements. Each update takes
+         * a lock shared with rescaling, which is done once an hour.
+         */
+        EXPONENTIALLY_DECAYING,
+
+        /**
+         * Counts of all values of the last one to two minutes in log-linear buckets, with 32 linear buckets
+         * for each power of two. Updates are wait-free and do not allocate, a histogram takes about 45 KB.
+         * Values are reported as the midpoint of their bucket, so a percentile differs from the exact value
+         * by less than 1.6 %; values below 32 are exact.
+         */
+        LOG_LINEAR;
+
+        /**
+         * Creates a reservoir type from its name, case insensitive, using either {@code -} or {@code _} as
+         * the separator, such as {@code log-linear}.
+         *
+         * @param name name of the reservoir type
+         * @return reservoir type
+         * @throws IllegalArgumentException if there is no such reservoir type
+         */
+        public static ReservoirType parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
     /**
      * Builder for {@code RegistrySettings}.
      */
@@ -97,6 +138,11 @@ public interface RegistrySettings {
          */
         String TYPE_CONFIG_KEY = "type";
 
+        /**
+         * Config key within the registry's config section specifying the reservoir type of histograms and timers.
+         */
+        String RESERVOIR_CONFIG_KEY = "reservoir";
+
         /**
          * Sets whether the metric type should be enabled.
          *
@@ -120,6 +166,17 @@ public interface RegistrySettings {
                 description = "Name filtering, featuring optional exclude and include settings")
         Builder filterSettings(RegistryFilterSettings.Builder registryFilterSettingsBuilder);
 
+        /**
+         * Sets the type of reservoir used by histograms and timers created in the registry.
+         *
+         * @param reservoirType reservoir type
+         * @return updated builder
+         */
+        @ConfiguredOption(
+                key = RESERVOIR_CONFIG_KEY,
+                value = "EXPONENTIALLY_DECAYING")
+        Builder reservoirType(ReservoirType reservoirType);
+
         /**
          * Sets values in the builder based on the provided {@code Config} node.
          *
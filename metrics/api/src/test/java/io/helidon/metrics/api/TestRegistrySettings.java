@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -61,6 +61,18 @@ class TestRegistrySettings {
         assertThat("Metric type overall is enabled", mts.isEnabled(), is(true));
     }
 
+    @Test
+    void testReservoirConfig() {
+        assertThat("Default reservoir",
+                   RegistrySettings.create().reservoirType(),
+                   is(RegistrySettings.ReservoirType.EXPONENTIALLY_DECAYING));
+
+        Config config = Config.just(ConfigSources.create(Map.of("reservoir", "log-linear")));
+        assertThat("Configured reservoir",
+                   RegistrySettings.create(config).reservoirType(),
+                   is(RegistrySettings.ReservoirType.LOG_LINEAR));
+    }
+
     @Test
     void testSingleValidConfig() {
         Map<String, String> configMap = Map.of("filter.include", "mine\\..*");
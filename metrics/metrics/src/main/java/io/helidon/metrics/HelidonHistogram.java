@@ -19,6 +19,8 @@ package io.helidon.metrics;
 import java.util.Objects;
 import java.util.concurrent.atomic.LongAdder;
 
+import io.helidon.metrics.api.RegistrySettings;
+
 import jakarta.json.JsonObjectBuilder;
 import org.eclipse.microprofile.metrics.Histogram;
 import org.eclipse.microprofile.metrics.Metadata;
@@ -41,7 +43,14 @@ final class HelidonHistogram extends MetricImpl implements Histogram {
     }
 
     static HelidonHistogram create(String type, Metadata metadata, Clock clock) {
-        return new HelidonHistogram(type, metadata, new HistogramImpl(clock));
+        return create(type, metadata, clock, RegistrySettings.ReservoirType.EXPONENTIALLY_DECAYING);
+    }
+
+    static HelidonHistogram create(String type,
+                                   Metadata metadata,
+                                   Clock clock,
+                                   RegistrySettings.ReservoirType reservoirType) {
+        return new HelidonHistogram(type, metadata, new HistogramImpl(clock, reservoirType));
     }
 
     static HelidonHistogram create(String type, Metadata metadata, Histogram delegate) {
@@ -123,10 +132,10 @@ final class HelidonHistogram extends MetricImpl implements Histogram {
     static final class HistogramImpl implements Histogram {
         private final LongAdder counter = new LongAdder();
         private final LongAdder sum = new LongAdder();
-        private final ExponentiallyDecayingReservoir reservoir;
+        private final Reservoir reservoir;
 
-        private HistogramImpl(Clock clock) {
-            this.reservoir = new ExponentiallyDecayingReservoir(clock);
+        private HistogramImpl(Clock clock, RegistrySettings.ReservoirType reservoirType) {
+            this.reservoir = Reservoir.create(reservoirType, clock);
         }
 
         public void update(int value) {
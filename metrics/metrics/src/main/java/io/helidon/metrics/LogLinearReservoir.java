@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A reservoir counting values in log-linear buckets, in the style of HDR histograms.
+ * <p>
+ * Values below {@value #SUB_BUCKETS} have a bucket each, larger values are split into {@value #SUB_BUCKETS} linear
+ * buckets for each power of two. A value is reported as the midpoint of its bucket, so the relative error of any
+ * percentile is below {@code 1 / (2 * }{@value #SUB_BUCKETS}{@code )}, about 1.6 %. Negative values are counted as
+ * {@code 0}.
+ * <p>
+ * Counts are kept in two windows of {@value #WINDOW_SECONDS} seconds each. An update increments a single counter
+ * of the current window, it is wait-free and does not allocate. The first update of a new window clears the window
+ * used two windows ago, so a snapshot covers the last one to two windows. Updates racing with the clearing of the
+ * window may be lost.
+ * <p>
+ * The label of the last value of each bucket is kept as its exemplar.
+ */
+final class LogLinearReservoir implements Reservoir {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+    // a group of values below SUB_BUCKETS, then a group for each power of two up to 2^62
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final long WINDOW_SECONDS = 60;
+
+    private final Clock clock;
+    private final Window[] windows = {new Window(), new Window()};
+
+    LogLinearReservoir(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void update(long value, String label) {
+        update(value, TimeUnit.MILLISECONDS.toSeconds(clock.milliTime()), label);
+    }
+
+    @Override
+    public void update(long value, long timestamp, String label) {
+        long epoch = Math.floorDiv(timestamp, WINDOW_SECONDS);
+        Window window = windows[(int) (epoch & 1)];
+        long windowEpoch = window.epoch.get();
+        if (windowEpoch != epoch) {
+            if (windowEpoch > epoch) {
+                // older than the windows kept
+                return;
+            }
+            if (window.epoch.compareAndSet(windowEpoch, epoch)) {
+                window.clear();
+            }
+        }
+        int bucket = bucket(value);
+        window.counts.getAndIncrement(bucket);
+        window.labels.lazySet(bucket, label);
+    }
+
+    @Override
+    public WeightedSnapshot getSnapshot() {
+        long epoch = Math.floorDiv(TimeUnit.MILLISECONDS.toSeconds(clock.milliTime()), WINDOW_SECONDS);
+        Window current = windows[(int) (epoch & 1)];
+        Window previous = windows[(int) ((epoch - 1) & 1)];
+        boolean useCurrent = current.epoch.get() == epoch;
+        boolean usePrevious = previous.epoch.get() == epoch - 1;
+
+        List<WeightedSnapshot.WeightedSample> samples = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = 0;
+            String label = null;
+            if (useCurrent) {
+                count = current.counts.get(i);
+                label = current.labels.get(i);
+            }
+            if (usePrevious) {
+                long previousCount = previous.counts.get(i);
+                count += previousCount;
+                if (label == null && previousCount > 0) {
+                    label = previous.labels.get(i);
+                }
+            }
+            if (count > 0) {
+                samples.add(new WeightedSnapshot.WeightedSample(value(i), count, label == null ? "" : label));
+            }
+        }
+        return new WeightedSnapshot(samples);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int group = exponent - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+        return (group << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long value(int bucket) {
+        int group = bucket >>> SUB_BUCKET_BITS;
+        long subBucket = bucket & SUB_BUCKET_MASK;
+        if (group == 0) {
+            return subBucket;
+        }
+        int shift = group - 1;
+        long lowest = (SUB_BUCKETS + subBucket) << shift;
+        long width = 1L << shift;
+        return lowest + (width - 1) / 2;
+    }
+
+    private static final class Window {
+        private final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicReferenceArray<String> labels = new AtomicReferenceArray<>(BUCKETS);
+
+        private void clear() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+                labels.set(i, null);
+            }
+        }
+    }
+}
@@ -126,10 +126,13 @@ public class Registry extends AbstractRegistry<HelidonMetric> {
     protected Map<MetricType, BiFunction<String, Metadata, HelidonMetric>> prepareMetricFactories() {
         // Omit gauge because creating a gauge requires an existing delegate instance.
         // These factory methods do not use delegates.
+        // The factories are prepared by the super constructor, so the settings are read when a metric is created.
         return Map.of(MetricType.COUNTER, HelidonCounter::create,
-                MetricType.HISTOGRAM, HelidonHistogram::create,
+                MetricType.HISTOGRAM, (type, metadata) ->
+                        HelidonHistogram.create(type, metadata, Clock.system(), reservoirType()),
                 MetricType.METERED, HelidonMeter::create,
-                MetricType.TIMER, HelidonTimer::create,
+                MetricType.TIMER, (type, metadata) ->
+                        HelidonTimer.create(type, metadata, Clock.system(), reservoirType()),
                 MetricType.SIMPLE_TIMER, HelidonSimpleTimer::create,
                 MetricType.CONCURRENT_GAUGE, HelidonConcurrentGauge::create);
     }
@@ -166,4 +169,8 @@ public class Registry extends AbstractRegistry<HelidonMetric> {
     protected List<Map.Entry<MetricID, HelidonMetric>> getMetricsByName(String metricName) {
         return super.getMetricsByName(metricName);
     }
+
+    private RegistrySettings.ReservoirType reservoirType() {
+        return registrySettings.get().reservoirType();
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import io.helidon.metrics.api.RegistrySettings;
+
+/**
+ * Reservoir of samples of a histogram, used to compute the snapshot.
+ */
+interface Reservoir {
+
+    /**
+     * Creates a reservoir of the given type.
+     *
+     * @param type  reservoir type
+     * @param clock clock
+     * @return new reservoir
+     */
+    static Reservoir create(RegistrySettings.ReservoirType type, Clock clock) {
+        switch (type) {
+        case LOG_LINEAR:
+            return new LogLinearReservoir(clock);
+        case EXPONENTIALLY_DECAYING:
+        default:
+            return new ExponentiallyDecayingReservoir(clock);
+        }
+    }
+
+    /**
+     * Adds a new value.
+     *
+     * @param value the value to be added
+     * @param label the optional label associated with the sample
+     */
+    void update(long value, String label);
+
+    /**
+     * Adds a value with a fixed timestamp.
+     *
+     * @param value     the value to be added
+     * @param timestamp the epoch timestamp of {@code value} in seconds
+     * @param label     the optional label associated with the sample
+     */
+    void update(long value, long timestamp, String label);
+
+    /**
+     * Snapshot of the values in the reservoir.
+     *
+     * @return snapshot
+     */
+    WeightedSnapshot getSnapshot();
+}
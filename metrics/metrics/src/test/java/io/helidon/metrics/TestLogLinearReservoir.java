@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+class TestLogLinearReservoir {
+
+    @Test
+    void testBuckets() {
+        for (long value = 0; value < 32; value++) {
+            assertThat(LogLinearReservoir.value(LogLinearReservoir.bucket(value)), is(value));
+        }
+        for (long value : new long[] {32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE}) {
+            long represented = LogLinearReservoir.value(LogLinearReservoir.bucket(value));
+            assertThat("Value " + value, (double) represented, closeTo(value, value / 64.0));
+        }
+        assertThat(LogLinearReservoir.bucket(-5), is(0));
+    }
+
+    @Test
+    void testPercentiles() {
+        LogLinearReservoir reservoir = new LogLinearReservoir(TestClock.create());
+        for (long value = 1; value <= 100_000; value++) {
+            reservoir.update(value, "");
+        }
+        WeightedSnapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.getValue(0.5), closeTo(50_000, 50_000 * 0.016));
+        assertThat(snapshot.getValue(0.99), closeTo(99_000, 99_000 * 0.016));
+        assertThat((double) snapshot.getMax(), closeTo(100_000, 100_000 * 0.016));
+        assertThat(snapshot.getMin(), is(1L));
+    }
+
+    @Test
+    void testWindows() {
+        TestClock clock = TestClock.create();
+        LogLinearReservoir reservoir = new LogLinearReservoir(clock);
+        reservoir.update(10, "first");
+        clock.add(1, TimeUnit.MINUTES);
+        reservoir.update(20, "second");
+        WeightedSnapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size(), is(2));
+        assertThat(snapshot.max().label(), is("second"));
+
+        clock.add(1, TimeUnit.MINUTES);
+        snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size(), is(1));
+        assertThat(snapshot.getMax(), is(20L));
+
+        clock.add(1, TimeUnit.MINUTES);
+        assertThat(reservoir.getSnapshot().size(), is(0));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,7 +19,9 @@ package io.helidon.security.jwt;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Signature;
 import java.time.Instant;
@@ -233,6 +235,36 @@ public final class JwtUtil {
         }
     }
 
+    /**
+     * Hash of a token, to be used as a key of a cache of validated tokens, so the cache
+     * does not keep the tokens as keys.
+     *
+     * @param token token content
+     * @return base64 encoded SHA-256 hash of the token
+     * @throws JwtException in case SHA-256 is not supported by this JVM
+     */
+    public static String tokenHash(String token) throws JwtException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new JwtException("Failed to get MessageDigest instance for algorithm \"SHA-256\"", e);
+        }
+    }
+
+    /**
+     * Whether the token is expired, to evict it from a cache of validated tokens.
+     *
+     * @param signedJwt token to check
+     * @return {@code true} if the token has an expiration time in the past
+     */
+    public static boolean isExpired(SignedJwt signedJwt) {
+        return signedJwt.getJwt()
+                .expirationTime()
+                .map(exp -> exp.isBefore(Instant.now()))
+                .orElse(false);
+    }
+
     /**
      * Transform a map of strings to objects to a map of string to JSON values.
      * Each object is checked for type and if supported, transformed to appropriate
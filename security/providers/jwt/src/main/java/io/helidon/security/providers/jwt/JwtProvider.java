@@ -47,6 +47,7 @@ import io.helidon.security.jwt.JwtUtil;
 import io.helidon.security.jwt.SignedJwt;
 import io.helidon.security.jwt.jwk.Jwk;
 import io.helidon.security.jwt.jwk.JwkKeys;
+import io.helidon.security.providers.common.EvictableCache;
 import io.helidon.security.providers.common.OutboundConfig;
 import io.helidon.security.providers.common.OutboundTarget;
 import io.helidon.security.providers.common.TokenCredential;
@@ -88,6 +89,8 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
     private final Map<OutboundTarget, JwtOutboundTarget> targetToJwtConfig = new IdentityHashMap<>();
     private final Jwk defaultJwk;
     private final boolean useJwtGroups;
+    // null when tokens are not cached, so tokens are not hashed
+    private final EvictableCache<String, SignedJwt> tokenCache;
 
     private JwtProvider(Builder builder) {
         this.optional = builder.optional;
@@ -103,6 +106,7 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         this.expectedAudience = builder.expectedAudience;
         this.verifySignature = builder.verifySignature;
         this.useJwtGroups = builder.useJwtGroups;
+        this.tokenCache = builder.tokenCache;
 
         if (null == atnTokenHandler) {
             defaultTokenHandler = TokenHandler.builder()
@@ -161,29 +165,51 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
     }
 
     private AuthenticationResponse authenticateToken(String token) {
-        SignedJwt signedJwt;
-        try {
-            signedJwt = SignedJwt.parseToken(token);
-        } catch (Exception e) {
-            //invalid token
-            return failOrAbstain("Invalid token" + e);
+        if (!verifySignature) {
+            SignedJwt signedJwt;
+            try {
+                signedJwt = SignedJwt.parseToken(token);
+            } catch (Exception e) {
+                //invalid token
+                return failOrAbstain("Invalid token" + e);
+            }
+            return AuthenticationResponse.success(buildSubject(signedJwt.getJwt(), signedJwt));
         }
-        if (verifySignature) {
+
+        // a token with a verified signature is cached, claims are validated on each request, as the token may expire
+        String cacheKey = null;
+        SignedJwt cached = null;
+        if (tokenCache != null) {
+            cacheKey = JwtUtil.tokenHash(token);
+            cached = tokenCache.get(cacheKey)
+                    .filter(it -> it.tokenContent().equals(token))
+                    .orElse(null);
+        }
+        SignedJwt signedJwt;
+        if (cached == null) {
+            try {
+                signedJwt = SignedJwt.parseToken(token);
+            } catch (Exception e) {
+                //invalid token
+                return failOrAbstain("Invalid token" + e);
+            }
             Errors errors = signedJwt.verifySignature(verifyKeys, defaultJwk);
-            if (errors.isValid()) {
-                Jwt jwt = signedJwt.getJwt();
-                // perform all validations, including expected audience verification
-                Errors validate = jwt.validate(null, expectedAudience);
-                if (validate.isValid()) {
-                    return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
-                } else {
-                    return failOrAbstain(validate.toString());
-                }
-            } else {
+            if (!errors.isValid()) {
                 return failOrAbstain(errors.toString());
             }
         } else {
-            return AuthenticationResponse.success(buildSubject(signedJwt.getJwt(), signedJwt));
+            signedJwt = cached;
+        }
+        Jwt jwt = signedJwt.getJwt();
+        // perform all validations, including expected audience verification
+        Errors validate = jwt.validate(null, expectedAudience);
+        if (validate.isValid()) {
+            if (cacheKey != null && cached == null) {
+                tokenCache.computeValue(cacheKey, () -> Optional.of(signedJwt));
+            }
+            return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
+        } else {
+            return failOrAbstain(validate.toString());
         }
     }
 
@@ -616,6 +642,7 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         private String issuer;
         private String expectedAudience;
         private boolean useJwtGroups = true;
+        private EvictableCache<String, SignedJwt> tokenCache;
 
         private Builder() {
         }
@@ -814,6 +841,10 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
             config.get("atn-token").ifExists(this::verifyKeys);
             config.get("atn-token.jwt-audience").asString().ifPresent(this::expectedAudience);
             config.get("atn-token.verify-signature").asBoolean().ifPresent(this::verifySignature);
+            config.get("atn-token.cache").ifExists(cache -> tokenCache(EvictableCache.<String, SignedJwt>builder()
+                                                                                  .evictor((key, jwt) -> JwtUtil.isExpired(jwt))
+                                                                                  .config(cache)
+                                                                                  .build()));
             config.get("sign-token").ifExists(outbound -> outboundConfig(OutboundConfig.create(outbound)));
             config.get("sign-token").ifExists(this::outbound);
             config.get("allow-unsigned").asBoolean().ifPresent(this::allowUnsigned);
@@ -845,6 +876,23 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
             return this;
         }
 
+        /**
+         * Cache of inbound tokens with a verified signature, so repeated requests with the same token
+         * skip parsing and signature verification. Claims (such as expiration) are still validated on each request.
+         * Tokens are cached by their hash, a cache configured through {@code atn-token.cache} evicts expired tokens.
+         * <p>
+         * Caching is disabled by default, a disabled cache (with {@code cache-enabled} set to {@code false})
+         * is ignored, so tokens are not even hashed.
+         *
+         * @param tokenCache cache to use
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "atn-token.cache", type = EvictableCache.class)
+        public Builder tokenCache(EvictableCache<String, SignedJwt> tokenCache) {
+            this.tokenCache = (tokenCache == EvictableCache.<String, SignedJwt>noCache()) ? null : tokenCache;
+            return this;
+        }
+
         private void verifyKeys(Config config) {
             config.get("jwk.resource").as(Resource::create).ifPresent(this::verifyJwk);
         }
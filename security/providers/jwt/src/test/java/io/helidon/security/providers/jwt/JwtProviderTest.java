@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import io.helidon.security.jwt.jwk.JwkEC;
 import io.helidon.security.jwt.jwk.JwkKeys;
 import io.helidon.security.jwt.jwk.JwkOctet;
 import io.helidon.security.jwt.jwk.JwkRSA;
+import io.helidon.security.providers.common.EvictableCache;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -489,4 +490,50 @@ public class JwtProviderTest {
                     assertThat(atnPrincipal.abacAttribute("locale"), is(Optional.of(locale)));
                 }, () -> fail("User must be present in response"));
     }
+
+    @Test
+    public void testTokenCache() {
+        Subject subject = Subject.create(Principal.create("user1"));
+        EvictableCache<String, SignedJwt> cache = EvictableCache.create();
+        JwtProvider provider = JwtProvider.builder()
+                .config(providersConfig.get("jwt"))
+                .tokenCache(cache)
+                .build();
+
+        SecurityContext context = Mockito.mock(SecurityContext.class);
+        when(context.user()).thenReturn(Optional.of(subject));
+        ProviderRequest request = mock(ProviderRequest.class);
+        when(request.securityContext()).thenReturn(context);
+        SecurityEnvironment outboundEnv = SecurityEnvironment.builder()
+                .path("/rsa")
+                .transport("http")
+                .targetUri(URI.create("http://localhost:8080/rsa"))
+                .build();
+
+        OutboundSecurityResponse response = provider.syncOutbound(request, outboundEnv, EndpointConfig.create());
+        String signedToken = response.requestHeaders().get("Authorization").get(0);
+
+        ProviderRequest atnRequest = mock(ProviderRequest.class);
+        when(atnRequest.env()).thenReturn(SecurityEnvironment.builder()
+                                                  .header("Authorization", signedToken)
+                                                  .build());
+
+        AuthenticationResponse first = provider.syncAuthenticate(atnRequest);
+        assertThat(first.status(), is(SecurityResponse.SecurityStatus.SUCCESS));
+        assertThat(cache.size(), is(1));
+
+        AuthenticationResponse second = provider.syncAuthenticate(atnRequest);
+        assertThat(second.status(), is(SecurityResponse.SecurityStatus.SUCCESS));
+        assertThat(second.user().map(Subject::principal).map(Principal::getName), is(Optional.of("user1")));
+        assertThat(cache.size(), is(1));
+
+        ProviderRequest wrongRequest = mock(ProviderRequest.class);
+        when(wrongRequest.env()).thenReturn(SecurityEnvironment.builder()
+                                                    .header("Authorization", "bearer " + WRONG_TOKEN)
+                                                    .build());
+
+        assertThat(provider.syncAuthenticate(wrongRequest).status(), is(SecurityResponse.SecurityStatus.FAILURE));
+        assertThat(cache.size(), is(1));
+        cache.close();
+    }
 }
@@ -16,13 +16,20 @@
 
 package io.helidon.security.providers.oidc.common;
 
+import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.helidon.common.Errors;
@@ -230,6 +237,12 @@ import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
  *     See {@link Resource#create(io.helidon.config.Config)}</td>
  * </tr>
  * <tr>
+ *     <td>sign-jwk.refresh-period-millis</td>
+ *     <td>&nbsp;</td>
+ *     <td>When the JWK is loaded from the identity server (e.g. "jwks-uri" in OIDC metadata), reload it in background
+ *     with this period, so rotated signing keys are used without blocking requests</td>
+ * </tr>
+ * <tr>
  *     <td>introspect-endpoint-uri</td>
  *     <td>"introspection_endpoint" in OIDC metadata, or identity-uri/oauth2/v1/introspect</td>
  *     <td>When validate-with-jwk is set to "false", this is the endpoint used</td>
@@ -358,7 +371,7 @@ public final class OidcConfig {
     private final TokenHandler headerHandler;
     private final String authorizationEndpointUri;
     private final String clientId;
-    private final JwkKeys signJwk;
+    private volatile JwkKeys signJwk;
     private final String baseScopes;
     private final boolean validateJwtWithJwk;
     private final WebTarget introspectEndpoint;
@@ -429,6 +442,10 @@ public final class OidcConfig {
             this.signJwk = builder.signJwk;
         }
 
+        if (builder.signJwkLoader != null && builder.signJwkRefreshPeriod != null) {
+            JwkRefresh.schedule(this, builder.signJwkLoader, builder.signJwkRefreshPeriod);
+        }
+
         if (validateJwtWithJwk) {
             this.introspectEndpoint = null;
             this.introspectUri = null;
@@ -535,6 +552,15 @@ public final class OidcConfig {
         return signJwk;
     }
 
+    private void refreshSignJwk(Supplier<JwkKeys> loader) {
+        try {
+            this.signJwk = loader.get();
+        } catch (Exception e) {
+            // keep using the current keys until the next attempt
+            LOGGER.log(Level.WARNING, "Failed to refresh JWK used to validate tokens", e);
+        }
+    }
+
     /**
      * Redirection URI.
      *
@@ -1088,6 +1114,8 @@ public final class OidcConfig {
         private URI authorizationEndpointUri;
         private URI logoutEndpointUri;
         private JwkKeys signJwk;
+        private Supplier<JwkKeys> signJwkLoader;
+        private Duration signJwkRefreshPeriod;
         private boolean oidcMetadataWellKnown = true;
         private boolean validateJwtWithJwk = DEFAULT_JWT_VALIDATE_JWK;
         private URI introspectUri;
@@ -1221,15 +1249,20 @@ public final class OidcConfig {
                                                               null);
                     if (jwkUri != null) {
                         if ("idcs".equals(serverType)) {
-                            this.signJwk = IdcsSupport.signJwk(appWebClient, webClient, tokenEndpointUri, jwkUri, clientTimeout);
+                            this.signJwkLoader = () -> IdcsSupport.signJwk(appWebClient,
+                                                                           webClient,
+                                                                           tokenEndpointUri,
+                                                                           jwkUri,
+                                                                           clientTimeout);
                         } else {
-                            this.signJwk = JwkKeys.builder()
+                            this.signJwkLoader = () -> JwkKeys.builder()
                                     .json(webClient.get()
                                                   .uri(jwkUri)
                                                   .request(JsonObject.class)
-                                                  .await())
+                                                  .await(clientTimeout.toMillis(), TimeUnit.MILLISECONDS))
                                     .build();
                         }
+                        this.signJwk = signJwkLoader.get();
                     }
                 }
             } else {
@@ -1290,6 +1323,7 @@ public final class OidcConfig {
             config.get("oidc-metadata.resource").as(Resource::create).ifPresent(this::oidcMetadata);
             config.get("oidc-metadata-well-known").asBoolean().ifPresent(this::oidcMetadataWellKnown);
             config.get("sign-jwk.resource").as(Resource::create).ifPresent(this::signJwk);
+            config.get("sign-jwk.refresh-period-millis").asLong().ifPresent(this::signJwkRefreshPeriodMillis);
             config.get("token-endpoint-uri").as(URI.class).ifPresent(this::tokenEndpointUri);
             config.get("token-endpoint-auth").asString()
                     .map(String::toUpperCase)
@@ -1536,6 +1570,25 @@ public final class OidcConfig {
             return this;
         }
 
+        /**
+         * Period of reloading the JWK used to validate JWT in background.
+         * Only used when the JWK is loaded from the identity server, as its {@code jwks_uri}, to pick up rotated
+         * signing keys. Requests always use the last loaded keys, the JWK is never loaded on the request path.
+         * Keys are not reloaded by default.
+         *
+         * @param period period between the end of a reload and the start of the next one
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "sign-jwk.refresh-period-millis", type = Long.class)
+        public Builder signJwkRefreshPeriod(Duration period) {
+            this.signJwkRefreshPeriod = period;
+            return this;
+        }
+
+        private void signJwkRefreshPeriodMillis(long millis) {
+            signJwkRefreshPeriod(Duration.ofMillis(millis));
+        }
+
         /**
          * Resource configuration for OIDC Metadata
          * containing endpoints to various identity services, as well as information about the identity server.
@@ -2052,4 +2105,45 @@ public final class OidcConfig {
             this.clientTimeout(Duration.ofMillis(millis));
         }
     }
+
+    /**
+     * Refresh of the JWK of a configuration. The task only weakly references the configuration,
+     * and is cancelled once the configuration is no longer used.
+     */
+    private static final class JwkRefresh implements Runnable {
+        // single daemon thread shared by all configurations, loading keys is rare and short
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oidc-jwk-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final WeakReference<OidcConfig> config;
+        private final Supplier<JwkKeys> loader;
+        private volatile ScheduledFuture<?> future;
+
+        private JwkRefresh(OidcConfig config, Supplier<JwkKeys> loader) {
+            this.config = new WeakReference<>(config);
+            this.loader = loader;
+        }
+
+        static void schedule(OidcConfig config, Supplier<JwkKeys> loader, Duration period) {
+            JwkRefresh refresh = new JwkRefresh(config, loader);
+            long millis = period.toMillis();
+            refresh.future = EXECUTOR.scheduleWithFixedDelay(refresh, millis, millis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            OidcConfig oidcConfig = config.get();
+            if (oidcConfig == null) {
+                ScheduledFuture<?> scheduled = future;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                return;
+            }
+            oidcConfig.refreshSignJwk(loader);
+        }
+    }
 }
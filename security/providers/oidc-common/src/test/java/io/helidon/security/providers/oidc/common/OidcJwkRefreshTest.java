@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.oidc.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.json.Json;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit test for the periodic refresh of the sign JWK of {@link OidcConfig}.
+ */
+class OidcJwkRefreshTest {
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            byte[] response = jwks("key-" + requests.incrementAndGet());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testSignJwkRefresh() throws InterruptedException {
+        String base = "http://localhost:" + server.getAddress().getPort();
+        OidcConfig oidcConfig = OidcConfig.builder()
+                .identityUri(URI.create(base + "/identity"))
+                .clientId("client-id-value")
+                .clientSecret("client-secret-value")
+                .oidcMetadataWellKnown(false)
+                .oidcMetadata(Json.createObjectBuilder()
+                                      .add("jwks_uri", base + "/jwks")
+                                      .add("token_endpoint", base + "/tokens")
+                                      .add("authorization_endpoint", base + "/authorization")
+                                      .build())
+                .signJwkRefreshPeriod(Duration.ofMillis(50))
+                .build();
+
+        // loaded when the configuration is built
+        assertThat(oidcConfig.signJwk().forKeyId("key-1").isPresent(), is(true));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (oidcConfig.signJwk().forKeyId("key-1").isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(oidcConfig.signJwk().forKeyId("key-1").isPresent(), is(false));
+        assertThat(requests.get() > 1, is(true));
+    }
+
+    private static byte[] jwks(String keyId) {
+        String key = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(("secret-of-" + keyId).getBytes(StandardCharsets.UTF_8));
+
+        return Json.createObjectBuilder()
+                .add("keys", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                     .add("kty", "oct")
+                                     .add("kid", keyId)
+                                     .add("alg", "HS256")
+                                     .add("k", key)))
+                .build()
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -66,6 +66,7 @@ import io.helidon.security.jwt.JwtException;
 import io.helidon.security.jwt.JwtUtil;
 import io.helidon.security.jwt.SignedJwt;
 import io.helidon.security.jwt.jwk.JwkKeys;
+import io.helidon.security.providers.common.EvictableCache;
 import io.helidon.security.providers.common.OutboundConfig;
 import io.helidon.security.providers.common.OutboundTarget;
 import io.helidon.security.providers.common.TokenCredential;
@@ -106,6 +107,8 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
     private final boolean useJwtGroups;
     private final BiConsumer<StringBuilder, String> scopeAppender;
     private final OidcCookieHandler cookieHandler;
+    // null when tokens are not cached, so tokens are not hashed
+    private final EvictableCache<String, SignedJwt> tokenCache;
 
     private OidcProvider(Builder builder, OidcOutboundConfig oidcOutboundConfig) {
         this.optional = builder.optional;
@@ -114,6 +117,7 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
         this.useJwtGroups = builder.useJwtGroups;
         this.outboundConfig = oidcOutboundConfig;
         this.cookieHandler = oidcConfig.tokenCookieHandler();
+        this.tokenCache = builder.tokenCache;
 
         attemptPattern = Pattern.compile(".*?" + oidcConfig.redirectAttemptParam() + "=(\\d+).*");
 
@@ -298,6 +302,15 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
         }
     }
 
+    /**
+     * Cache of validated tokens.
+     *
+     * @return token cache, empty if tokens are not cached
+     */
+    Optional<EvictableCache<String, SignedJwt>> tokenCache() {
+        return Optional.ofNullable(tokenCache);
+    }
+
     private Set<String> expectedScopes(ProviderRequest request) {
 
         Set<String> result = new HashSet<>();
@@ -464,6 +477,17 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
     }
 
     private Single<AuthenticationResponse> validateToken(ProviderRequest providerRequest, String token) {
+        String cacheKey = null;
+        if (tokenCache != null) {
+            cacheKey = JwtUtil.tokenHash(token);
+            Optional<SignedJwt> cached = tokenCache.get(cacheKey)
+                    .filter(it -> it.tokenContent().equals(token));
+            if (cached.isPresent()) {
+                // signature or introspection already validated, claims and scopes are validated for each request
+                return Single.just(processValidationResult(providerRequest, cached.get(), Errors.collector(), null));
+            }
+        }
+
         SignedJwt signedJwt;
         try {
             signedJwt = SignedJwt.parseToken(token);
@@ -473,10 +497,12 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
             return Single.just(AuthenticationResponse.failed("Invalid token", e));
         }
 
+        String validatedCacheKey = cacheKey;
         return jwtValidator.apply(signedJwt, Errors.collector())
                 .map(it -> processValidationResult(providerRequest,
                                                    signedJwt,
-                                                   it))
+                                                   it,
+                                                   validatedCacheKey))
                 .onErrorResume(t -> {
                     LOGGER.log(Level.FINEST, "Failed to validate request", t);
                     return AuthenticationResponse.failed("Failed to validate JWT", t);
@@ -485,12 +511,16 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
 
     private AuthenticationResponse processValidationResult(ProviderRequest providerRequest,
                                                            SignedJwt signedJwt,
-                                                           Errors.Collector collector) {
+                                                           Errors.Collector collector,
+                                                           String cacheKey) {
         Jwt jwt = signedJwt.getJwt();
         Errors errors = collector.collect();
         Errors validationErrors = jwt.validate(oidcConfig.issuer(), oidcConfig.audience());
 
         if (errors.isValid() && validationErrors.isValid()) {
+            if (cacheKey != null) {
+                tokenCache.computeValue(cacheKey, () -> Optional.of(signedJwt));
+            }
 
             errors.log(LOGGER);
             Subject subject = buildSubject(jwt, signedJwt);
@@ -635,6 +665,7 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
         // for outbound calls, unless it is the same audience
         private Boolean propagate;
         private boolean useJwtGroups = true;
+        private EvictableCache<String, SignedJwt> tokenCache;
         private OutboundConfig outboundConfig;
         private TokenHandler defaultOutboundHandler = TokenHandler.builder()
                 .tokenHeader("Authorization")
@@ -688,6 +719,13 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
          *     and {@code token} to configure outbound {@link io.helidon.security.util.TokenHandler} for an
          *     outbound target. Default token handler uses {@code Authorization} header with a {@code bearer } prefix</td>
          * </tr>
+         * <tr>
+         *     <td>token-cache</td>
+         *     <td>&nbsp;</td>
+         *     <td>Configuration of {@link io.helidon.security.providers.common.EvictableCache} of validated tokens,
+         *     see {@link #tokenCache(io.helidon.security.providers.common.EvictableCache)}. Tokens are not cached
+         *     unless configured.</td>
+         * </tr>
          * </table>
          *
          * @param config OIDC provider configuration
@@ -706,6 +744,10 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
                 config.get("outbound").ifExists(outbound -> outboundConfig(OutboundConfig.create(config)));
             }
             config.get("use-jwt-groups").asBoolean().ifPresent(this::useJwtGroups);
+            config.get("token-cache").ifExists(cache -> tokenCache(EvictableCache.<String, SignedJwt>builder()
+                                                                           .evictor((key, jwt) -> JwtUtil.isExpired(jwt))
+                                                                           .config(cache)
+                                                                           .build()));
 
             return this;
         }
@@ -774,6 +816,27 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
             this.useJwtGroups = useJwtGroups;
             return this;
         }
+
+        /**
+         * Cache of validated tokens, so repeated requests with the same token skip signature verification,
+         * or the call to the introspection endpoint when not validating with JWK.
+         * Claims (such as expiration) and scopes are still validated on each request.
+         * Tokens are cached by their hash, a cache configured through {@code token-cache} evicts expired tokens.
+         * <p>
+         * When using the introspection endpoint, a token revoked on the identity server is accepted until
+         * it is evicted, consider limiting the {@code cache-overall-timeout-millis} of the cache.
+         * <p>
+         * Caching is disabled by default, a disabled cache (with {@code cache-enabled} set to {@code false})
+         * is ignored, so tokens are not even hashed.
+         *
+         * @param tokenCache cache to use
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "token-cache", type = EvictableCache.class)
+        public Builder tokenCache(EvictableCache<String, SignedJwt> tokenCache) {
+            this.tokenCache = (tokenCache == EvictableCache.<String, SignedJwt>noCache()) ? null : tokenCache;
+            return this;
+        }
     }
 
     private static final class OidcOutboundConfig {
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.oidc;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.security.AuthenticationResponse;
+import io.helidon.security.EndpointConfig;
+import io.helidon.security.Principal;
+import io.helidon.security.ProviderRequest;
+import io.helidon.security.SecurityEnvironment;
+import io.helidon.security.SecurityResponse;
+import io.helidon.security.Subject;
+import io.helidon.security.jwt.Jwt;
+import io.helidon.security.jwt.SignedJwt;
+import io.helidon.security.jwt.jwk.Jwk;
+import io.helidon.security.jwt.jwk.JwkKeys;
+import io.helidon.security.jwt.jwk.JwkOctet;
+import io.helidon.security.providers.common.EvictableCache;
+import io.helidon.security.providers.oidc.common.OidcConfig;
+
+import jakarta.json.Json;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link OidcProvider}.
+ */
+class OidcProviderTest {
+    private static final String IDENTITY_URI = "http://localhost:7774/identity";
+    private static final Jwk SIGN_JWK = JwkOctet.create(Json.createObjectBuilder()
+                                                                .add("kty", "oct")
+                                                                .add("kid", "oct-key")
+                                                                .add("alg", JwkOctet.ALG_HS256)
+                                                                .add("k", Base64.getUrlEncoder()
+                                                                        .withoutPadding()
+                                                                        .encodeToString("oidc-provider-test-secret"
+                                                                                                .getBytes(StandardCharsets.UTF_8)))
+                                                                .build());
+
+    private final OidcConfig oidcConfig = OidcConfig.builder()
+            .clientId("id")
+            .clientSecret("secret")
+            .identityUri(URI.create(IDENTITY_URI))
+            .tokenEndpointUri(URI.create("http://localhost:7774/token"))
+            .authorizationEndpointUri(URI.create("http://localhost:7774/authorize"))
+            .signJwk(JwkKeys.builder().addKey(SIGN_JWK).build())
+            .oidcMetadataWellKnown(false)
+            .build();
+
+    @Test
+    void testTokenCacheDisabled() {
+        OidcProvider provider = OidcProvider.builder()
+                .oidcConfig(oidcConfig)
+                .config(Config.create(ConfigSources.create(Map.of("token-cache.cache-enabled", "false"))))
+                .build();
+
+        assertThat(provider.tokenCache().isPresent(), is(false));
+
+        provider = OidcProvider.builder()
+                .oidcConfig(oidcConfig)
+                .tokenCache(EvictableCache.noCache())
+                .build();
+
+        assertThat(provider.tokenCache().isPresent(), is(false));
+        // tokens are still validated without a cache
+        assertThat(authenticate(provider, signedToken("user1")).status(), is(SecurityResponse.SecurityStatus.SUCCESS));
+    }
+
+    @Test
+    void testTokenCache() {
+        EvictableCache<String, SignedJwt> cache = EvictableCache.create();
+        OidcProvider provider = OidcProvider.builder()
+                .oidcConfig(oidcConfig)
+                .tokenCache(cache)
+                .build();
+
+        assertThat(provider.tokenCache().isPresent(), is(true));
+
+        String token = signedToken("user1");
+        AuthenticationResponse first = authenticate(provider, token);
+        assertThat(first.status(), is(SecurityResponse.SecurityStatus.SUCCESS));
+        assertThat(cache.size(), is(1));
+
+        AuthenticationResponse second = authenticate(provider, token);
+        assertThat(second.status(), is(SecurityResponse.SecurityStatus.SUCCESS));
+        assertThat(second.user().map(Subject::principal).map(Principal::getName), is(Optional.of("user1")));
+        assertThat(cache.size(), is(1));
+
+        assertThat(authenticate(provider, signedToken("user2")).status(), is(SecurityResponse.SecurityStatus.SUCCESS));
+        assertThat(cache.size(), is(2));
+        cache.close();
+    }
+
+    private static AuthenticationResponse authenticate(OidcProvider provider, String token) {
+        ProviderRequest request = mock(ProviderRequest.class);
+        when(request.env()).thenReturn(SecurityEnvironment.builder()
+                                               .header("Authorization", "bearer " + token)
+                                               .build());
+        when(request.endpointConfig()).thenReturn(EndpointConfig.create());
+
+        return provider.authenticate(request).toCompletableFuture().join();
+    }
+
+    private static String signedToken(String subject) {
+        Jwt jwt = Jwt.builder()
+                .keyId("oct-key")
+                .algorithm(JwkOctet.ALG_HS256)
+                .subject(subject)
+                .addAudience(IDENTITY_URI)
+                .expirationTime(Instant.now().plus(1, ChronoUnit.HOURS))
+                .build();
+
+        return SignedJwt.sign(jwt, SIGN_JWK).tokenContent();
+    }
+}
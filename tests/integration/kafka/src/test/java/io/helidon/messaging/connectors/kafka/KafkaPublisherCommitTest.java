@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.messaging.connectors.kafka;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KafkaPublisherCommitTest {
+
+    private static final String TOPIC = "commit-test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final int RECORDS = 4;
+
+    private final List<KafkaMessage<String, String>> messages = new CopyOnWriteArrayList<>();
+    private final CountDownLatch received = new CountDownLatch(RECORDS);
+    private ScheduledExecutorService scheduler;
+    private MockConsumer<String, String> consumer;
+
+    @BeforeEach
+    void beforeEach() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        addRecords(consumer, PARTITION);
+    }
+
+    @AfterEach
+    void afterEach() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void asyncBatchedCommit() throws Exception {
+        KafkaPublisher<String, String> publisher = KafkaPublisher.<String, String>builder()
+                .scheduler(scheduler)
+                .consumerSupplier(() -> consumer)
+                .topics(List.of(TOPIC))
+                .pollTimeout(1L)
+                .periodExecutions(1L)
+                .autoCommit(false)
+                .commitAsync(true)
+                .commitBatchSize(3)
+                .commitInterval(Long.MAX_VALUE)
+                .build();
+        subscribe(publisher);
+
+        // acknowledged out of order, nothing can be committed before the first message is acknowledged
+        CompletableFuture<Void> ack1 = messages.get(1).ack().toCompletableFuture();
+        CompletableFuture<Void> ack2 = messages.get(2).ack().toCompletableFuture();
+        assertThat(committed(), nullValue());
+
+        messages.get(0).ack().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        ack1.get(10, TimeUnit.SECONDS);
+        ack2.get(10, TimeUnit.SECONDS);
+        assertThat(committed().offset(), is(3L));
+
+        // the batch is not complete, it is committed when the publisher stops
+        CompletableFuture<Void> ack3 = messages.get(3).ack().toCompletableFuture();
+        Thread.sleep(50);
+        assertThat(ack3.isDone(), is(false));
+        assertThat(committed().offset(), is(3L));
+
+        scheduler.shutdown();
+        assertThat(scheduler.awaitTermination(10, TimeUnit.SECONDS), is(true));
+        publisher.stop();
+        ack3.get(10, TimeUnit.SECONDS);
+        assertThat(consumer.closed(), is(true));
+    }
+
+    @Test
+    void syncCommit() throws Exception {
+        KafkaPublisher<String, String> publisher = KafkaPublisher.<String, String>builder()
+                .scheduler(scheduler)
+                .consumerSupplier(() -> consumer)
+                .topics(List.of(TOPIC))
+                .pollTimeout(1L)
+                .periodExecutions(1L)
+                .autoCommit(false)
+                .build();
+        subscribe(publisher);
+
+        messages.get(1).ack();
+        messages.get(0).ack().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertThat(committed().offset(), is(2L));
+
+        messages.get(3).ack();
+        messages.get(2).ack().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertThat(committed().offset(), is((long) RECORDS));
+    }
+
+    @Test
+    void concurrentPartitions() throws Exception {
+        TopicPartition second = new TopicPartition(TOPIC, 1);
+        MockConsumer<String, String> twoPartitions = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        addRecords(twoPartitions, PARTITION, second);
+        KafkaPublisher<String, String> publisher = KafkaPublisher.<String, String>builder()
+                .scheduler(scheduler)
+                .consumerSupplier(() -> twoPartitions)
+                .topics(List.of(TOPIC))
+                .pollTimeout(1L)
+                .periodExecutions(1L)
+                .autoCommit(false)
+                .concurrentPartitions(true)
+                .build();
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+
+        // the first message of each partition is emitted, the next ones wait for the acknowledgement
+        awaitMessages(2);
+        Thread.sleep(50);
+        assertThat(messages.size(), is(2));
+        assertThat(messages.stream().map(KafkaMessage::getPartition).map(Optional::get).collect(Collectors.toSet()),
+                   is(Set.of(0, 1)));
+
+        KafkaMessage<String, String> first = messages.stream()
+                .filter(message -> message.getPartition().get() == 0)
+                .findFirst()
+                .get();
+        first.ack();
+        awaitMessages(3);
+        Thread.sleep(50);
+        assertThat(messages.size(), is(3));
+        assertThat(messages.get(2).getPartition(), is(Optional.of(0)));
+        assertThat(messages.get(2).getOffset(), is(Optional.of(1L)));
+
+        // the rest is emitted as acknowledged, in the order of offsets of each partition
+        for (int i = 1; i < 2 * RECORDS; i++) {
+            awaitMessages(i + 1);
+            messages.get(i).ack();
+        }
+        awaitMessages(2 * RECORDS);
+        for (int partition = 0; partition < 2; partition++) {
+            int p = partition;
+            assertThat(messages.stream()
+                               .filter(message -> message.getPartition().get() == p)
+                               .map(message -> message.getOffset().get())
+                               .collect(Collectors.toList()),
+                       contains(0L, 1L, 2L, 3L));
+        }
+    }
+
+    @Test
+    void concurrentPartitionsRequireManualCommit() {
+        KafkaPublisher.Builder<String, String> builder = KafkaPublisher.<String, String>builder()
+                .scheduler(scheduler)
+                .consumerSupplier(() -> consumer)
+                .topics(List.of(TOPIC))
+                .autoCommit(true)
+                .concurrentPartitions(true);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void limitNoAckCountsInFlightCommits() throws Exception {
+        MockConsumer<String, String> notConfirming = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets,
+                                                 OffsetCommitCallback callback) {
+                // Kafka never confirms the commit
+            }
+        };
+        addRecords(notConfirming, PARTITION);
+        KafkaPublisher<String, String> publisher = KafkaPublisher.<String, String>builder()
+                .scheduler(scheduler)
+                .consumerSupplier(() -> notConfirming)
+                .topics(List.of(TOPIC))
+                .pollTimeout(1L)
+                .periodExecutions(1L)
+                .autoCommit(false)
+                .commitAsync(true)
+                .limitNoAck(RECORDS)
+                .build();
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.request(2);
+        awaitMessages(2);
+        messages.get(0).ack();
+        messages.get(1).ack();
+        // 2 messages are committed asynchronously, the next 2 reach the limit
+        subscriber.request(2);
+
+        assertThat(subscriber.error.get(10, TimeUnit.SECONDS), instanceOf(IllegalStateException.class));
+    }
+
+    private void awaitMessages(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (messages.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(messages.size() >= count, is(true));
+    }
+
+    private static void addRecords(MockConsumer<String, String> consumer, TopicPartition... partitions) {
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(partitions));
+            consumer.updateBeginningOffsets(Arrays.stream(partitions)
+                                                    .collect(Collectors.toMap(partition -> partition, partition -> 0L)));
+            for (int i = 0; i < RECORDS; i++) {
+                for (TopicPartition partition : partitions) {
+                    consumer.addRecord(new ConsumerRecord<>(TOPIC, partition.partition(), i, "key", "value-" + i));
+                }
+            }
+        });
+    }
+
+    private OffsetAndMetadata committed() {
+        return consumer.committed(Set.of(PARTITION)).get(PARTITION);
+    }
+
+    private void subscribe(KafkaPublisher<String, String> publisher) throws InterruptedException {
+        publisher.subscribe(new Subscriber<>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(KafkaMessage<String, String> message) {
+                messages.add(message);
+                received.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertThat(received.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    private class TestSubscriber implements Subscriber<KafkaMessage<String, String>> {
+        private final CompletableFuture<Subscription> subscription = new CompletableFuture<>();
+        private final CompletableFuture<Throwable> error = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription.complete(subscription);
+        }
+
+        @Override
+        public void onNext(KafkaMessage<String, String> message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.complete(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void request(long n) throws Exception {
+            subscription.get(10, TimeUnit.SECONDS).request(n);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.logging.Logger;
 import io.helidon.config.Config;
 import io.helidon.config.metadata.Configured;
 import io.helidon.config.metadata.ConfiguredOption;
+import io.helidon.tracing.SpanExportPipeline;
 import io.helidon.tracing.Tracer;
 import io.helidon.tracing.TracerBuilder;
 import io.helidon.tracing.opentelemetry.HelidonOpenTelemetry;
@@ -39,7 +40,6 @@ import io.opentelemetry.extension.trace.propagation.B3Propagator;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
-import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
@@ -136,6 +136,11 @@ import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
  *         <td>&nbsp;</td>
  *         <td>see {@link io.helidon.tracing.TracerBuilder}</td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code span-export}</td>
+ *         <td>&nbsp;</td>
+ *         <td>see {@link io.helidon.tracing.TracerBuilder}</td>
+ *     </tr>
  * </table>
  */
 @Configured(prefix = "tracing", root = true, description = "Jaeger tracer configuration.")
@@ -160,6 +165,7 @@ public class JaegerTracerBuilder implements TracerBuilder<JaegerTracerBuilder> {
     private byte[] certificate;
     private byte[] trustedCertificates;
     private String path;
+    private SpanExportPipeline.Builder spanExport = SpanExportPipeline.builder();
 
     /**
      * Default constructor, does not modify any state.
@@ -279,6 +285,7 @@ public class JaegerTracerBuilder implements TracerBuilder<JaegerTracerBuilder> {
                 });
 
         config.get("global").asBoolean().ifPresent(this::registerGlobal);
+        config.get("span-export").ifExists(spanExport::config);
 
         return this;
     }
@@ -343,6 +350,12 @@ public class JaegerTracerBuilder implements TracerBuilder<JaegerTracerBuilder> {
         return this;
     }
 
+    @Override
+    public JaegerTracerBuilder spanExport(SpanExportPipeline.Builder spanExport) {
+        this.spanExport = spanExport;
+        return this;
+    }
+
     @Override
     public <B> B unwrap(Class<B> builderClass) {
         if (builderClass.isAssignableFrom(getClass())) {
@@ -417,7 +430,10 @@ public class JaegerTracerBuilder implements TracerBuilder<JaegerTracerBuilder> {
             Resource serviceName = Resource.create(Attributes.of(ResourceAttributes.SERVICE_NAME, this.serviceName));
             OpenTelemetry ot = OpenTelemetrySdk.builder()
                     .setTracerProvider(SdkTracerProvider.builder()
-                                               .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                                               .addSpanProcessor(new PipelineSpanProcessor("jaeger-" + this.serviceName,
+                                                                                            spanExport,
+                                                                                            exporter,
+                                                                                            exporterTimeout))
                                                .setSampler(sampler)
                                                .setResource(serviceName)
                                                .build())
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing.jaeger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.tracing.SpanExportPipeline;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Span processor queueing sampled finished spans to a {@link io.helidon.tracing.SpanExportPipeline},
+ * instead of exporting each span from the thread that finished it.
+ */
+class PipelineSpanProcessor implements SpanProcessor {
+    private final SpanExporter exporter;
+    private final SpanExportPipeline<SpanData> pipeline;
+
+    PipelineSpanProcessor(String name, SpanExportPipeline.Builder builder, SpanExporter exporter, Duration timeout) {
+        this.exporter = exporter;
+        this.pipeline = builder.build(name, spans -> export(exporter, spans, timeout));
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (span.getSpanContext().isSampled()) {
+            pipeline.export(span.toSpanData());
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pipeline.close();
+        return exporter.shutdown();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        pipeline.flush();
+        return exporter.flush();
+    }
+
+    SpanExportPipeline<SpanData> pipeline() {
+        return pipeline;
+    }
+
+    private static void export(SpanExporter exporter, List<SpanData> spans, Duration timeout) {
+        CompletableResultCode result = exporter.export(spans)
+                .join(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (!result.isSuccess()) {
+            throw new IllegalStateException(result.isDone()
+                                                    ? "Exporter failed to export spans"
+                                                    : "Exporter timed out after " + timeout.toMillis() + " milliseconds");
+        }
+    }
+}
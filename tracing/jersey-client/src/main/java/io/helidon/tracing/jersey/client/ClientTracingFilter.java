@@ -28,6 +28,7 @@ import io.helidon.common.context.Contexts;
 import io.helidon.common.serviceloader.HelidonServiceLoader;
 import io.helidon.tracing.HeaderConsumer;
 import io.helidon.tracing.HeaderProvider;
+import io.helidon.tracing.SamplingDecision;
 import io.helidon.tracing.Scope;
 import io.helidon.tracing.Span;
 import io.helidon.tracing.SpanContext;
@@ -173,6 +174,15 @@ public class ClientTracingFilter implements ClientRequestFilter, ClientResponseF
             return;
         }
 
+        // the server request we are handling may not be sampled
+        boolean sampled = Contexts.context()
+                .flatMap(ctx -> ctx.get(SamplingDecision.class))
+                .map(SamplingDecision::sampled)
+                .orElse(true);
+        if (!sampled) {
+            return;
+        }
+
         Tracer tracer = findTracer(requestContext, tracingContext);
         Optional<SpanContext> parentSpan = findParentSpan(requestContext, tracingContext);
         Map<String, List<String>> inboundHeaders = findInboundHeaders(tracingContext);
@@ -22,6 +22,7 @@ import java.util.logging.Logger;
 
 import io.helidon.common.context.Context;
 import io.helidon.common.context.Contexts;
+import io.helidon.tracing.SamplingDecision;
 import io.helidon.tracing.Scope;
 import io.helidon.tracing.Span;
 import io.helidon.tracing.SpanContext;
@@ -66,7 +67,9 @@ public abstract class AbstractTracingFilter implements ContainerRequestFilter, C
                                                                     spanName,
                                                                     context);
 
-        if (spanConfig.enabled()) {
+        boolean sampled = context.get(SamplingDecision.class).map(SamplingDecision::sampled).orElse(true);
+
+        if (spanConfig.enabled() && sampled) {
             spanName = spanConfig.newName().orElse(spanName);
             Tracer tracer = context.get(Tracer.class).orElseGet(Tracer::global);
             SpanContext parentSpan = context.get(ServerRequest.class, SpanContext.class)
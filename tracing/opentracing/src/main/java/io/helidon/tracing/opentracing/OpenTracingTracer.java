@@ -25,6 +25,7 @@ import io.helidon.tracing.HeaderConsumer;
 import io.helidon.tracing.HeaderProvider;
 import io.helidon.tracing.Span;
 import io.helidon.tracing.SpanContext;
+import io.helidon.tracing.SpanExportPipeline;
 import io.helidon.tracing.Tracer;
 import io.helidon.tracing.TracerBuilder;
 
@@ -191,6 +192,12 @@ class OpenTracingTracer implements Tracer {
             return this;
         }
 
+        @Override
+        public Builder spanExport(SpanExportPipeline.Builder spanExport) {
+            delegate.spanExport(spanExport);
+            return this;
+        }
+
         @Override
         public <T> T unwrap(Class<T> builderClass) {
             if (OpenTracingTracer.class == builderClass) {
@@ -22,6 +22,7 @@ import io.helidon.common.Builder;
 import io.helidon.config.Config;
 import io.helidon.config.metadata.Configured;
 import io.helidon.config.metadata.ConfiguredOption;
+import io.helidon.tracing.SpanExportPipeline;
 
 import io.opentracing.Tracer;
 
@@ -267,6 +268,18 @@ public interface OpenTracingTracerBuilder<T extends OpenTracingTracerBuilder<T>>
     @ConfiguredOption(key = "global", value = "true")
     T registerGlobal(boolean global);
 
+    /**
+     * Configure the export of finished spans to the collector, in batches from a background thread
+     * with a bounded queue. Tracers that do not export spans themselves ignore this option.
+     *
+     * @param spanExport builder of the span export pipeline
+     * @return updated builder instance
+     */
+    @ConfiguredOption(key = "span-export")
+    default T spanExport(SpanExportPipeline.Builder spanExport) {
+        return identity();
+    }
+
     /**
      * Build a tracer instance from this builder.
      *
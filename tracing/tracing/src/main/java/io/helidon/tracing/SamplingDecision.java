@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+/**
+ * Decision whether a request is traced, registered in the request context
+ * by the component that received it. Components creating spans for outbound calls, such as clients,
+ * do not create spans for requests that are not sampled.
+ */
+public enum SamplingDecision {
+    /**
+     * The request is traced.
+     */
+    SAMPLED,
+    /**
+     * The request is not traced.
+     */
+    NOT_SAMPLED;
+
+    /**
+     * Whether spans should be created.
+     *
+     * @return {@code true} if the request is traced
+     */
+    public boolean sampled() {
+        return this == SAMPLED;
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.config.Config;
+import io.helidon.config.metadata.Configured;
+import io.helidon.config.metadata.ConfiguredOption;
+
+/**
+ * Exports finished spans in batches from a background thread.
+ * <p>
+ * Spans are put into a bounded lock-free queue when they finish, the thread finishing a span never blocks.
+ * When the queue is full, as spans cannot be exported fast enough, spans are dropped and their number is logged.
+ * A batch is exported once {@link Builder#maxBatchSize(int) enough spans} are queued, or once the
+ * {@link Builder#scheduleDelay(Duration) schedule delay} elapses.
+ * <p>
+ * The numbers of queued, exported and dropped spans of each pipeline are available from {@link #pipelines()}.
+ *
+ * @param <T> type of the span data exported
+ */
+public final class SpanExportPipeline<T> implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(SpanExportPipeline.class.getName());
+    private static final List<SpanExportPipeline<?>> PIPELINES = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final Exporter<T> exporter;
+    private final int maxQueueSize;
+    private final int maxBatchSize;
+    private final long scheduleDelayNanos;
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong exported = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Object exportLock = new Object();
+    private final Thread exportThread;
+
+    private SpanExportPipeline(Builder builder, String name, Exporter<T> exporter) {
+        this.name = name;
+        this.exporter = exporter;
+        this.maxQueueSize = builder.maxQueueSize;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.scheduleDelayNanos = builder.scheduleDelay.toNanos();
+        this.exportThread = new Thread(this::run, "helidon-span-export-" + name);
+        this.exportThread.setDaemon(true);
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new pipeline with default configuration.
+     *
+     * @param name name of the pipeline, such as the name of the tracer
+     * @param exporter exporter of batches of spans
+     * @param <T> type of the span data exported
+     * @return a new started pipeline
+     */
+    public static <T> SpanExportPipeline<T> create(String name, Exporter<T> exporter) {
+        return builder().build(name, exporter);
+    }
+
+    /**
+     * Pipelines that are not closed.
+     *
+     * @return started pipelines
+     */
+    public static List<SpanExportPipeline<?>> pipelines() {
+        return List.copyOf(PIPELINES);
+    }
+
+    /**
+     * Queue a finished span to be exported. Never blocks, the span is dropped if the queue is full.
+     *
+     * @param span finished span
+     * @return {@code true} if the span was queued, {@code false} if it was dropped
+     */
+    public boolean export(T span) {
+        if (closed.get()) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (queued.incrementAndGet() > maxQueueSize) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(span);
+        if (queued.get() >= maxBatchSize) {
+            LockSupport.unpark(exportThread);
+        }
+        return true;
+    }
+
+    /**
+     * Export all queued spans from the calling thread.
+     */
+    public void flush() {
+        exportQueued();
+    }
+
+    /**
+     * Export all queued spans and stop the pipeline. Spans queued afterwards are dropped.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            PIPELINES.remove(this);
+            LockSupport.unpark(exportThread);
+            flush();
+        }
+    }
+
+    /**
+     * Name of this pipeline.
+     *
+     * @return name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Number of spans currently queued.
+     *
+     * @return queued spans
+     */
+    public int queuedSpans() {
+        return queued.get();
+    }
+
+    /**
+     * Number of spans exported since this pipeline was created.
+     *
+     * @return exported spans
+     */
+    public long exportedSpans() {
+        return exported.get();
+    }
+
+    /**
+     * Number of spans dropped since this pipeline was created, as the queue was full.
+     *
+     * @return dropped spans
+     */
+    public long droppedSpans() {
+        return dropped.get();
+    }
+
+    /**
+     * Number of spans that failed to be exported since this pipeline was created.
+     *
+     * @return spans of failed batches
+     */
+    public long failedSpans() {
+        return failed.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SpanExportPipeline{"
+                + "name='" + name + '\''
+                + ", queued=" + queued.get()
+                + ", exported=" + exported.get()
+                + ", dropped=" + dropped.get()
+                + ", failed=" + failed.get()
+                + '}';
+    }
+
+    private SpanExportPipeline<T> start() {
+        PIPELINES.add(this);
+        exportThread.start();
+        return this;
+    }
+
+    private void run() {
+        long reportedDropped = 0;
+        long deadline = System.nanoTime() + scheduleDelayNanos;
+        while (!closed.get()) {
+            long remaining = deadline - System.nanoTime();
+            if (queued.get() < maxBatchSize && remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            exportQueued();
+            deadline = System.nanoTime() + scheduleDelayNanos;
+
+            long droppedNow = dropped.get();
+            if (droppedNow != reportedDropped) {
+                long count = droppedNow - reportedDropped;
+                LOGGER.warning(() -> "Dropped " + count + " spans of " + name + ", as the queue of " + maxQueueSize
+                        + " spans was full");
+                reportedDropped = droppedNow;
+            }
+        }
+    }
+
+    private void exportQueued() {
+        synchronized (exportLock) {
+            List<T> batch = new ArrayList<>(Math.min(maxBatchSize, Math.max(1, queued.get())));
+            T span;
+            while ((span = queue.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(span);
+                if (batch.size() == maxBatchSize) {
+                    exportBatch(batch);
+                    batch = new ArrayList<>(maxBatchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                exportBatch(batch);
+            }
+        }
+    }
+
+    private void exportBatch(List<T> batch) {
+        try {
+            exporter.export(batch);
+            exported.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            LOGGER.log(Level.WARNING, "Failed to export " + batch.size() + " spans of " + name, e);
+        }
+    }
+
+    /**
+     * Exporter of batches of spans, such as a client of a tracing collector.
+     *
+     * @param <T> type of the span data exported
+     */
+    @FunctionalInterface
+    public interface Exporter<T> {
+        /**
+         * Export a batch of spans. Called from a single thread at a time.
+         *
+         * @param spans spans to export
+         * @throws Exception in case the export failed, the spans are not exported again
+         */
+        void export(List<T> spans) throws Exception;
+    }
+
+    /**
+     * A fluent API builder for {@link io.helidon.tracing.SpanExportPipeline}.
+     * The same builder may be used to build pipelines of any span data type.
+     */
+    @Configured(description = "Export of finished spans in batches from a background thread.")
+    public static final class Builder {
+        private int maxQueueSize = 2048;
+        private int maxBatchSize = 512;
+        private Duration scheduleDelay = Duration.ofSeconds(5);
+
+        private Builder() {
+        }
+
+        /**
+         * Build and start a new pipeline.
+         *
+         * @param name name of the pipeline, such as the name of the tracer
+         * @param exporter exporter of batches of spans
+         * @param <T> type of the span data exported
+         * @return a new started pipeline
+         */
+        public <T> SpanExportPipeline<T> build(String name, Exporter<T> exporter) {
+            Objects.requireNonNull(name);
+            Objects.requireNonNull(exporter);
+            return new SpanExportPipeline<>(this, name, exporter).start();
+        }
+
+        /**
+         * Update this builder from configuration.
+         *
+         * @param config configuration of the pipeline
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("max-queue-size").asInt().ifPresent(this::maxQueueSize);
+            config.get("max-batch-size").asInt().ifPresent(this::maxBatchSize);
+            config.get("schedule-delay-millis").asLong().ifPresent(it -> scheduleDelay(Duration.ofMillis(it)));
+            return this;
+        }
+
+        /**
+         * Maximal number of queued spans, spans finished when the queue is full are dropped.
+         *
+         * @param maxQueueSize maximal number of queued spans
+         * @return updated builder instance
+         */
+        @ConfiguredOption("2048")
+        public Builder maxQueueSize(int maxQueueSize) {
+            if (maxQueueSize < 1) {
+                throw new IllegalArgumentException("Max queue size must be positive, but is " + maxQueueSize);
+            }
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        /**
+         * Maximal number of spans exported at once. A batch is exported as soon as this number of spans is queued.
+         *
+         * @param maxBatchSize maximal number of spans in a batch
+         * @return updated builder instance
+         */
+        @ConfiguredOption("512")
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("Max batch size must be positive, but is " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Maximal time queued spans wait to be exported, when less than a full batch is queued.
+         *
+         * @param scheduleDelay delay between exports
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "schedule-delay-millis", value = "5000", type = Long.class)
+        public Builder scheduleDelay(Duration scheduleDelay) {
+            this.scheduleDelay = Objects.requireNonNull(scheduleDelay);
+            return this;
+        }
+    }
+}
@@ -78,6 +78,11 @@ import io.helidon.config.metadata.ConfiguredOption;
  *         <td>An object config node containing key/value pairs with tag name and integer tag value for
  *         tags shared by all spans. See {@link #addTracerTag(String, Number)}</td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code span-export}</td>
+ *         <td>A config node with {@code max-queue-size}, {@code max-batch-size} and {@code schedule-delay-millis}
+ *         of the export of finished spans to the collector. See {@link #spanExport(SpanExportPipeline.Builder)}</td>
+ *     </tr>
  * </table>
  *
  * <p>
@@ -265,6 +270,18 @@ public interface TracerBuilder<T extends TracerBuilder<T>> extends Builder<T, Tr
     @ConfiguredOption(key = "global", value = "true")
     T registerGlobal(boolean global);
 
+    /**
+     * Configure the export of finished spans to the collector, in batches from a background thread
+     * with a bounded queue. Tracers that do not export spans themselves ignore this option.
+     *
+     * @param spanExport builder of the span export pipeline
+     * @return updated builder instance
+     */
+    @ConfiguredOption(key = "span-export")
+    default T spanExport(SpanExportPipeline.Builder spanExport) {
+        return identity();
+    }
+
     /**
      * Access the underlying builder by specific type.
      * This is a dangerous operation that will succeed only if the builder contains the expected type. This practically
@@ -23,6 +23,7 @@ module io.helidon.tracing {
     requires io.helidon.common;
     requires io.helidon.common.serviceloader;
     requires io.helidon.config;
+    requires java.logging;
 
     requires static io.helidon.config.metadata;
 
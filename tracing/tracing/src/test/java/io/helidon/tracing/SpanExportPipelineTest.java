@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link SpanExportPipeline}.
+ */
+class SpanExportPipelineTest {
+
+    @Test
+    void testExportFullBatch() throws InterruptedException {
+        BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+        SpanExportPipeline<Integer> pipeline = SpanExportPipeline.builder()
+                .maxBatchSize(4)
+                .scheduleDelay(Duration.ofMinutes(1))
+                .build("full-batch", batches::add);
+        try {
+            for (int i = 0; i < 4; i++) {
+                assertThat(pipeline.export(i), is(true));
+            }
+            assertThat(batches.poll(10, TimeUnit.SECONDS), is(List.of(0, 1, 2, 3)));
+            assertThat(pipeline.exportedSpans(), is(4L));
+            assertThat(pipeline.queuedSpans(), is(0));
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void testExportAfterDelay() throws InterruptedException {
+        BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+        SpanExportPipeline<Integer> pipeline = SpanExportPipeline.builder()
+                .scheduleDelay(Duration.ofMillis(50))
+                .build("delay", batches::add);
+        try {
+            pipeline.export(1);
+            assertThat(batches.poll(10, TimeUnit.SECONDS), is(List.of(1)));
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void testDropWhenQueueFull() throws Exception {
+        CountDownLatch exporting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SpanExportPipeline<Integer> pipeline = SpanExportPipeline.builder()
+                .maxQueueSize(2)
+                .maxBatchSize(1)
+                .build("drop", spans -> {
+                    exporting.countDown();
+                    release.await();
+                });
+        try {
+            // the first span is taken by the blocked exporter, two more fill the queue
+            pipeline.export(0);
+            assertThat(exporting.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(pipeline.export(1), is(true));
+            assertThat(pipeline.export(2), is(true));
+            assertThat(pipeline.export(3), is(false));
+            assertThat(pipeline.droppedSpans(), is(1L));
+            assertThat(pipeline.queuedSpans(), is(2));
+        } finally {
+            release.countDown();
+            pipeline.close();
+        }
+        assertThat(pipeline.exportedSpans(), is(3L));
+    }
+
+    @Test
+    void testFailedExport() {
+        SpanExportPipeline<Integer> pipeline = SpanExportPipeline.builder()
+                .scheduleDelay(Duration.ofMinutes(1))
+                .build("failed", spans -> {
+                    throw new IllegalStateException("Collector not available");
+                });
+        pipeline.export(1);
+        pipeline.export(2);
+        pipeline.close();
+
+        assertThat(pipeline.failedSpans(), is(2L));
+        assertThat(pipeline.exportedSpans(), is(0L));
+    }
+
+    @Test
+    void testCloseExportsQueued() {
+        BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+        SpanExportPipeline<Integer> pipeline = SpanExportPipeline.builder()
+                .maxBatchSize(2)
+                .scheduleDelay(Duration.ofMinutes(1))
+                .build("close", batches::add);
+        assertThat(SpanExportPipeline.pipelines(), hasItem(pipeline));
+
+        pipeline.export(1);
+        pipeline.close();
+        assertThat(pipeline.export(2), is(false));
+
+        assertThat(batches.poll(), is(List.of(1)));
+        assertThat(pipeline.exportedSpans(), is(1L));
+        assertThat(pipeline.droppedSpans(), is(1L));
+        assertThat(SpanExportPipeline.pipelines(), not(hasItem(pipeline)));
+    }
+
+    @Test
+    void testConfig() throws InterruptedException {
+        Config config = Config.builder()
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .sources(ConfigSources.create(Map.of("max-queue-size", "1",
+                                                     "max-batch-size", "1",
+                                                     "schedule-delay-millis", "60000")))
+                .build();
+        BlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<>();
+        SpanExportPipeline<Integer> pipeline = SpanExportPipeline.builder()
+                .config(config)
+                .build("config", batches::add);
+        try {
+            pipeline.export(1);
+            assertThat(batches.poll(10, TimeUnit.SECONDS), is(List.of(1)));
+        } finally {
+            pipeline.close();
+        }
+    }
+}
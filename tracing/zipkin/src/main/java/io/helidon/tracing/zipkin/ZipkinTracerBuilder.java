@@ -19,6 +19,7 @@ package io.helidon.tracing.zipkin;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import java.util.logging.Logger;
 import io.helidon.config.Config;
 import io.helidon.config.metadata.Configured;
 import io.helidon.config.metadata.ConfiguredOption;
+import io.helidon.tracing.SpanExportPipeline;
 import io.helidon.tracing.Tag;
 import io.helidon.tracing.TracerBuilder;
 import io.helidon.tracing.opentracing.OpenTracingTracerBuilder;
@@ -39,7 +41,6 @@ import io.opentracing.util.GlobalTracer;
 import zipkin2.Span;
 import zipkin2.codec.BytesEncoder;
 import zipkin2.codec.SpanBytesEncoder;
-import zipkin2.reporter.AsyncReporter;
 import zipkin2.reporter.Reporter;
 import zipkin2.reporter.Sender;
 import zipkin2.reporter.urlconnection.URLConnectionSender;
@@ -103,6 +104,11 @@ import zipkin2.reporter.urlconnection.URLConnectionSender;
  *         <td>&nbsp;</td>
  *         <td>see {@link TracerBuilder}</td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code span-export}</td>
+ *         <td>&nbsp;</td>
+ *         <td>see {@link TracerBuilder}</td>
+ *     </tr>
  * </table>
  *
  * @see <a href="http://zipkin.io/pages/instrumenting.html#core-data-structures">Zipkin Attributes</a>
@@ -128,6 +134,7 @@ public class ZipkinTracerBuilder implements OpenTracingTracerBuilder<ZipkinTrace
     private String userInfo;
     private boolean enabled = DEFAULT_ENABLED;
     private boolean global = true;
+    private SpanExportPipeline.Builder spanExport = SpanExportPipeline.builder();
 
     /**
      * Default constructor, does not modify state.
@@ -242,6 +249,12 @@ public class ZipkinTracerBuilder implements OpenTracingTracerBuilder<ZipkinTrace
         return this;
     }
 
+    @Override
+    public ZipkinTracerBuilder spanExport(SpanExportPipeline.Builder spanExport) {
+        this.spanExport = spanExport;
+        return this;
+    }
+
     @Override
     public boolean enabled() {
         return enabled;
@@ -287,6 +300,7 @@ public class ZipkinTracerBuilder implements OpenTracingTracerBuilder<ZipkinTrace
                 });
 
         config.get("global").asBoolean().ifPresent(this::registerGlobal);
+        config.get("span-export").ifExists(spanExport::config);
 
         return this;
     }
@@ -308,8 +322,10 @@ public class ZipkinTracerBuilder implements OpenTracingTracerBuilder<ZipkinTrace
 
             Sender buildSender = (this.sender == null) ? createSender() : this.sender;
 
-            Reporter<Span> reporter = AsyncReporter.builder(buildSender)
-                    .build(version.encoder());
+            BytesEncoder<Span> encoder = version.encoder();
+            SpanExportPipeline<Span> pipeline = spanExport.build("zipkin-" + serviceName,
+                                                                 spans -> send(buildSender, encoder, spans));
+            Reporter<Span> reporter = pipeline::export;
 
             // Now, create a Brave tracing component with the service name you want to see in Zipkin.
             //   (the dependency is io.zipkin.brave:brave)
@@ -366,6 +382,35 @@ public class ZipkinTracerBuilder implements OpenTracingTracerBuilder<ZipkinTrace
         return this;
     }
 
+    /**
+     * Send a batch of spans, split into messages that fit the maximal message size of the sender.
+     */
+    static void send(Sender sender, BytesEncoder<Span> encoder, List<Span> spans) throws Exception {
+        int maxBytes = sender.messageMaxBytes();
+        List<byte[]> message = new ArrayList<>(spans.size());
+        int messageBytes = 0;
+        for (Span span : spans) {
+            byte[] encoded = encoder.encode(span);
+            // size of a single element list over-estimates the size of the element within a longer list
+            int spanBytes = sender.encoding().listSizeInBytes(encoded.length);
+            if (spanBytes > maxBytes) {
+                LOGGER.warning(() -> "Dropping span " + span.id() + " of " + spanBytes + " bytes, as the maximal message size is "
+                        + maxBytes + " bytes");
+                continue;
+            }
+            if (messageBytes + spanBytes > maxBytes) {
+                sender.sendSpans(message).execute();
+                message = new ArrayList<>(spans.size());
+                messageBytes = 0;
+            }
+            message.add(encoded);
+            messageBytes += spanBytes;
+        }
+        if (!message.isEmpty()) {
+            sender.sendSpans(message).execute();
+        }
+    }
+
     private void configApiVersion(String version) {
         String workingVersion = version.trim().toLowerCase();
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing.zipkin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.tracing.SpanExportPipeline;
+
+import io.opentracing.Tracer;
+import org.junit.jupiter.api.Test;
+import zipkin2.Call;
+import zipkin2.Span;
+import zipkin2.codec.Encoding;
+import zipkin2.codec.SpanBytesDecoder;
+import zipkin2.codec.SpanBytesEncoder;
+import zipkin2.reporter.Sender;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test of the export of spans through {@link io.helidon.tracing.SpanExportPipeline} to a stand-in collector.
+ */
+class ZipkinSpanExportTest {
+
+    @Test
+    void testSplitMessages() throws Exception {
+        List<Span> spans = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            spans.add(Span.newBuilder().traceId(1, i).id(i).name("span-" + i).build());
+        }
+        int spanBytes = SpanBytesEncoder.JSON_V2.sizeInBytes(spans.get(0));
+        // room for three spans in a message
+        CollectingSender sender = new CollectingSender(3 * (spanBytes + 2));
+
+        ZipkinTracerBuilder.send(sender, SpanBytesEncoder.JSON_V2, spans);
+
+        assertThat(sender.messages.size(), is(4));
+        List<Span> received = new ArrayList<>();
+        for (List<byte[]> message : sender.messages) {
+            assertThat(sender.messageSizeInBytes(message) <= sender.messageMaxBytes(), is(true));
+            message.forEach(bytes -> received.add(SpanBytesDecoder.JSON_V2.decodeOne(bytes)));
+        }
+        assertThat(received, is(spans));
+    }
+
+    @Test
+    void testTracerExportsFinishedSpans() throws InterruptedException {
+        CollectingSender sender = new CollectingSender(500_000);
+        Tracer tracer = ZipkinTracerBuilder.forService("span-export")
+                .sender(sender)
+                .spanExport(SpanExportPipeline.builder().maxBatchSize(1))
+                .registerGlobal(false)
+                .build();
+
+        tracer.buildSpan("operation").start().finish();
+
+        List<byte[]> message = sender.messages.poll(10, TimeUnit.SECONDS);
+        assertThat(message, notNullValue());
+        assertThat(message.size(), is(1));
+        assertThat(SpanBytesDecoder.JSON_V2.decodeOne(message.get(0)).name(), is("operation"));
+    }
+
+    private static final class CollectingSender extends Sender {
+        private final BlockingQueue<List<byte[]>> messages = new LinkedBlockingQueue<>();
+        private final int messageMaxBytes;
+
+        private CollectingSender(int messageMaxBytes) {
+            this.messageMaxBytes = messageMaxBytes;
+        }
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.JSON;
+        }
+
+        @Override
+        public int messageMaxBytes() {
+            return messageMaxBytes;
+        }
+
+        @Override
+        public int messageSizeInBytes(List<byte[]> encodedSpans) {
+            return encoding().listSizeInBytes(encodedSpans);
+        }
+
+        @Override
+        public Call<Void> sendSpans(List<byte[]> encodedSpans) {
+            messages.add(encodedSpans);
+            return Call.create(null);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient.metrics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import io.helidon.metrics.RegistryFactory;
+import io.helidon.webclient.ConnectionPoolStatistics;
+
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+/**
+ * Gauges of the connection pools of all web clients, registered once client metrics are used.
+ */
+final class WebClientConnectionPoolMetrics {
+
+    private static final String METRIC_NAME_PREFIX = "webclient.connection.pool.";
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+
+    private WebClientConnectionPoolMetrics() {
+    }
+
+    static void register() {
+        if (REGISTERED.compareAndSet(false, true)) {
+            MetricRegistry registry = RegistryFactory.getInstance().getRegistry(MetricRegistry.Type.APPLICATION);
+            ConnectionPoolStatistics.addListener(pool -> register(registry, pool));
+            ConnectionPoolStatistics.addRemovalListener(pool -> unregister(registry, pool));
+        }
+    }
+
+    private static void register(MetricRegistry registry, ConnectionPoolStatistics pool) {
+        Tag[] tags = tags(pool);
+        gauge(registry, "open", "Open connections", pool, ConnectionPoolStatistics::openConnections, tags);
+        gauge(registry, "idle", "Idle connections", pool, ConnectionPoolStatistics::idleConnections, tags);
+        gauge(registry, "pending", "Requests waiting for a connection", pool,
+              ConnectionPoolStatistics::pendingAcquires, tags);
+        gauge(registry, "created", "Connections created", pool, ConnectionPoolStatistics::createdConnections, tags);
+        gauge(registry, "acquireTimeouts", "Requests failed waiting for a connection", pool,
+              ConnectionPoolStatistics::acquireTimeouts, tags);
+    }
+
+    private static void unregister(MetricRegistry registry, ConnectionPoolStatistics pool) {
+        Tag[] tags = tags(pool);
+        for (String name : List.of("open", "idle", "pending", "created", "acquireTimeouts")) {
+            registry.remove(new MetricID(METRIC_NAME_PREFIX + name, tags));
+        }
+    }
+
+    private static Tag[] tags(ConnectionPoolStatistics pool) {
+        return new Tag[] {
+                new Tag("endpoint", pool.endpoint().toString()),
+                new Tag("pool", Integer.toString(pool.id()))
+        };
+    }
+
+    private static <T extends Number> void gauge(MetricRegistry registry,
+                                                 String name,
+                                                 String description,
+                                                 ConnectionPoolStatistics pool,
+                                                 Function<ConnectionPoolStatistics, T> valueFunction,
+                                                 Tag[] tags) {
+        Metadata metadata = Metadata.builder()
+                .withName(METRIC_NAME_PREFIX + name)
+                .withDescription(description)
+                .withType(MetricType.GAUGE)
+                .withUnit(MetricUnits.NONE)
+                .build();
+        registry.register(metadata, (Gauge<T>) () -> valueFunction.apply(pool), tags);
+    }
+}
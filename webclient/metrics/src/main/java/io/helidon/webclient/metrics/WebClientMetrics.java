@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,7 @@ public class WebClientMetrics implements WebClientService {
 
     private WebClientMetrics(Builder builder) {
         metrics = builder.metrics;
+        WebClientConnectionPoolMetrics.register();
     }
 
     /**
@@ -23,6 +23,7 @@ import io.helidon.common.LazyValue;
 import io.helidon.common.reactive.Single;
 import io.helidon.tracing.HeaderConsumer;
 import io.helidon.tracing.HeaderProvider;
+import io.helidon.tracing.SamplingDecision;
 import io.helidon.tracing.Span;
 import io.helidon.tracing.SpanContext;
 import io.helidon.tracing.Tag;
@@ -33,6 +34,7 @@ import io.helidon.webclient.spi.WebClientService;
 
 /**
  * Client service for tracing propagation.
+ * No span is created for requests sent while handling a server request that is not sampled.
  */
 public final class WebClientTracing implements WebClientService {
     private static final int HTTP_STATUS_ERROR_THRESHOLD = 400;
@@ -52,6 +54,10 @@ public final class WebClientTracing implements WebClientService {
 
     @Override
     public Single<WebClientServiceRequest> request(WebClientServiceRequest request) {
+        if (!request.context().get(SamplingDecision.class).map(SamplingDecision::sampled).orElse(true)) {
+            return Single.just(request);
+        }
+
         String method = request.method().name().toUpperCase();
         Optional<Tracer> optionalTracer = request.context().get(Tracer.class);
         Tracer tracer = optionalTracer.orElseGet(Tracer::global);
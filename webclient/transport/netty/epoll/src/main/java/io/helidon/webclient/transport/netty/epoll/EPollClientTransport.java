@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient.transport.netty.epoll;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.context.Contexts;
+import io.helidon.config.Config;
+import io.helidon.webclient.spi.WebClientTransport;
+
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+
+/**
+ * A {@link WebClientTransport} implementation based upon Netty's <a
+ * href="https://netty.io/wiki/native-transports.html#using-the-linux-native-transport"
+ * target="_parent">epoll-based native transport</a>.
+ * <p>
+ * Discovered using the service loader, so clients without an explicit transport use it when it is on the module path
+ * and {@link Epoll#isAvailable()} returns {@code true}.
+ *
+ * <p>This {@link WebClientTransport} implementation is currently experimental
+ * and its API and implementation are subject to change.</p>
+ */
+public final class EPollClientTransport implements WebClientTransport {
+
+    /**
+     * Creates a new instance, used by the service loader.
+     */
+    public EPollClientTransport() {
+    }
+
+    /**
+     * Returns {@code true} when {@link Epoll#isAvailable()} returns
+     * {@code true} and {@code false} otherwise.
+     *
+     * @return {@code true} when {@link Epoll#isAvailable()} returns
+     * {@code true}; {@code false} otherwise
+     */
+    @Override
+    public boolean isAvailable() {
+        return Epoll.isAvailable();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> createTransportArtifact(Class<T> artifactType, String artifactName, Config config) {
+        if (EventLoopGroup.class.isAssignableFrom(artifactType) && "eventLoopGroup".equals(artifactName)) {
+            return Optional.of((T) eventLoopGroup(config));
+        } else if (ChannelFactory.class.isAssignableFrom(artifactType) && "channelFactory".equals(artifactName)) {
+            ChannelFactory<? extends SocketChannel> cf = EpollSocketChannel::new;
+            return Optional.of((T) cf);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return "EPollClientTransport";
+    }
+
+    private static EpollEventLoopGroup eventLoopGroup(Config eventLoopConfig) {
+        int numberOfThreads = eventLoopConfig.get("workers")
+                .asInt()
+                .orElse(1);
+        String threadNamePrefix = eventLoopConfig.get("name-prefix")
+                .asString()
+                .orElse("helidon-client-");
+        AtomicInteger threadCounter = new AtomicInteger();
+
+        ThreadFactory threadFactory =
+                r -> {
+                    Thread result = new Thread(r, threadNamePrefix + threadCounter.getAndIncrement());
+                    // we should exit the VM if client event loop is the only thread(s) running
+                    result.setDaemon(true);
+                    return result;
+                };
+
+        ExecutorService executorService = Executors.newCachedThreadPool(threadFactory);
+
+        return new EpollEventLoopGroup(numberOfThreads, Contexts.wrap(executorService));
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import io.helidon.common.LazyValue;
+import io.helidon.common.context.Contexts;
+import io.helidon.common.serviceloader.HelidonServiceLoader;
+import io.helidon.config.Config;
+import io.helidon.webclient.spi.WebClientTransport;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Event loop group and bootstrap template of a {@link WebClientTransport}, or of a web server.
+ * <p>
+ * One instance exists per transport, so all clients using the same transport share the event loops.
+ * A client without an explicit transport called while processing a request of a Helidon web server that shares
+ * its event loops with clients uses the bootstrap the server registered in its context, so its connections stay
+ * on the server event loops.
+ * Instances are discarded when their event loop group shuts down.
+ * Each client keeps a {@link #resolver(WebClientConfiguration) resolver} caching the bootstrap it last used.
+ * The template is configured once, each request only clones it.
+ */
+final class ClientBootstrap {
+
+    private static final Logger LOGGER = Logger.getLogger(ClientBootstrap.class.getName());
+    private static final Map<WebClientTransport, ClientBootstrap> TRANSPORT_BOOTSTRAPS = new ConcurrentHashMap<>();
+    // bootstraps registered by web servers, keyed by the server worker group
+    private static final Map<EventLoopGroup, ClientBootstrap> BOOTSTRAPS = new ConcurrentHashMap<>();
+    // shared by all client instances without an explicit transport
+    private static final LazyValue<WebClientTransport> DEFAULT_TRANSPORT = LazyValue.create(() -> {
+        WebClientTransport transport = HelidonServiceLoader.create(ServiceLoader.load(WebClientTransport.class))
+                .asList()
+                .stream()
+                .filter(WebClientTransport::isAvailable)
+                .findFirst()
+                .orElseGet(NioTransport::new);
+        LOGGER.fine(() -> "Using WebClientTransport " + transport);
+        return transport;
+    });
+
+    private final EventLoopGroup eventGroup;
+    private final Bootstrap template;
+
+    private ClientBootstrap(Bootstrap template) {
+        this.eventGroup = template.config().group();
+        this.template = template;
+    }
+
+    /**
+     * Resolver of the bootstrap of a client, caching the bootstrap of its transport.
+     * Only clients without an explicit transport check the current context for a bootstrap registered by a web server.
+     *
+     * @param configuration client configuration
+     * @return resolver to be kept for the life of the client
+     */
+    static Supplier<ClientBootstrap> resolver(WebClientConfiguration configuration) {
+        return new Resolver(configuration.transport());
+    }
+
+    /**
+     * Event loop group of the transport.
+     *
+     * @return event loop group
+     */
+    EventLoopGroup eventGroup() {
+        return eventGroup;
+    }
+
+    /**
+     * A new bootstrap with the group, channel factory and common options already configured.
+     *
+     * @return bootstrap to be completed with a handler and request specific options
+     */
+    Bootstrap bootstrap() {
+        return template.clone();
+    }
+
+    private static ClientBootstrap server(Bootstrap serverTemplate) {
+        EventLoopGroup group = serverTemplate.config().group();
+        ClientBootstrap bootstrap = BOOTSTRAPS.get(group);
+        if (bootstrap == null) {
+            bootstrap = BOOTSTRAPS.computeIfAbsent(group, it -> {
+                it.terminationFuture().addListener(future -> BOOTSTRAPS.remove(it));
+                return new ClientBootstrap(serverTemplate.clone());
+            });
+        }
+        return bootstrap;
+    }
+
+    private static ClientBootstrap transport(WebClientTransport transport) {
+        ClientBootstrap bootstrap = TRANSPORT_BOOTSTRAPS.get(transport);
+        if (bootstrap != null && bootstrap.eventGroup.isShuttingDown()) {
+            TRANSPORT_BOOTSTRAPS.remove(transport, bootstrap);
+            bootstrap = null;
+        }
+        if (bootstrap == null) {
+            bootstrap = TRANSPORT_BOOTSTRAPS.computeIfAbsent(transport, ClientBootstrap::create);
+        }
+        return bootstrap;
+    }
+
+    private static ClientBootstrap create(WebClientTransport transport) {
+        Config eventLoopConfig = eventLoopConfig();
+        EventLoopGroup group = transport.createTransportArtifact(EventLoopGroup.class, "eventLoopGroup", eventLoopConfig)
+                .orElseThrow(() -> noSuchTransportArtifact(transport, "eventLoopGroup"));
+        @SuppressWarnings("unchecked")
+        ChannelFactory<? extends Channel> channelFactory = transport
+                .createTransportArtifact(ChannelFactory.class, "channelFactory", eventLoopConfig)
+                .orElseThrow(() -> noSuchTransportArtifact(transport, "channelFactory"));
+        ClientBootstrap bootstrap = new ClientBootstrap(new Bootstrap()
+                                                                .group(group)
+                                                                .channelFactory(channelFactory));
+        group.terminationFuture().addListener(future -> TRANSPORT_BOOTSTRAPS.remove(transport, bootstrap));
+        return bootstrap;
+    }
+
+    private static Config eventLoopConfig() {
+        return Contexts.globalContext()
+                .get(Config.class)
+                .orElseGet(Config::empty)
+                .get("client.event-loop");
+    }
+
+    private static NoSuchElementException noSuchTransportArtifact(WebClientTransport transport, String name) {
+        return new NoSuchElementException("No transport artifact named " + name + " available from " + transport);
+    }
+
+    private static final class Resolver implements Supplier<ClientBootstrap> {
+        private final Optional<WebClientTransport> configured;
+        private volatile ClientBootstrap transportBootstrap;
+        private volatile ClientBootstrap serverBootstrap;
+
+        private Resolver(Optional<WebClientTransport> configured) {
+            this.configured = configured;
+        }
+
+        @Override
+        public ClientBootstrap get() {
+            if (configured.isEmpty()) {
+                Optional<Bootstrap> server = Contexts.context()
+                        .flatMap(context -> context.get(Bootstrap.class))
+                        .filter(it -> !it.config().group().isShuttingDown());
+                if (server.isPresent()) {
+                    return server(server.get());
+                }
+            }
+            ClientBootstrap bootstrap = transportBootstrap;
+            if (bootstrap == null || bootstrap.eventGroup.isShuttingDown()) {
+                bootstrap = transport(configured.orElseGet(DEFAULT_TRANSPORT));
+                transportBootstrap = bootstrap;
+            }
+            return bootstrap;
+        }
+
+        private ClientBootstrap server(Bootstrap serverTemplate) {
+            ClientBootstrap bootstrap = serverBootstrap;
+            if (bootstrap == null || bootstrap.eventGroup != serverTemplate.config().group()) {
+                // requests of another web server
+                bootstrap = ClientBootstrap.server(serverTemplate);
+                serverBootstrap = bootstrap;
+            }
+            return bootstrap;
+        }
+    }
+
+    private static final class NioTransport implements WebClientTransport {
+
+        private NioTransport() {
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Optional<T> createTransportArtifact(Class<T> artifactType, String artifactName, Config config) {
+            if (EventLoopGroup.class.isAssignableFrom(artifactType) && "eventLoopGroup".equals(artifactName)) {
+                return Optional.of((T) eventLoopGroup(config));
+            } else if (ChannelFactory.class.isAssignableFrom(artifactType) && "channelFactory".equals(artifactName)) {
+                ChannelFactory<NioSocketChannel> cf = NioSocketChannel::new;
+                return Optional.of((T) cf);
+            }
+            return Optional.empty();
+        }
+
+        private static NioEventLoopGroup eventLoopGroup(Config eventLoopConfig) {
+            int numberOfThreads = eventLoopConfig.get("workers")
+                    .asInt()
+                    .orElse(1);
+            String threadNamePrefix = eventLoopConfig.get("name-prefix")
+                    .asString()
+                    .orElse("helidon-client-");
+            AtomicInteger threadCounter = new AtomicInteger();
+
+            ThreadFactory threadFactory =
+                    r -> {
+                        Thread result = new Thread(r, threadNamePrefix + threadCounter.getAndIncrement());
+                        // we should exit the VM if client event loop is the only thread(s) running
+                        result.setDaemon(true);
+                        return result;
+                    };
+
+            ExecutorService executorService = Executors.newCachedThreadPool(threadFactory);
+
+            return new NioEventLoopGroup(numberOfThreads, Contexts.wrap(executorService));
+        }
+
+        @Override
+        public String toString() {
+            return "NioTransport";
+        }
+    }
+}
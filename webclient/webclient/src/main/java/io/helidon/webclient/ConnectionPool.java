@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import static io.helidon.webclient.WebClientRequestBuilderImpl.CONNECTION_IDENT;
+import static io.helidon.webclient.WebClientRequestBuilderImpl.IN_USE;
+import static io.helidon.webclient.WebClientRequestBuilderImpl.RETURN;
+
+/**
+ * Pool of kept alive connections to a single host.
+ * <p>
+ * Acquire and release do not lock. Idle connections are kept in a stack, so the most recently used connection
+ * is reused first and the others may reach the idle timeout. Requests over the maximal number of connections wait
+ * in a queue until a connection is released, or until the acquire timeout elapses.
+ * <p>
+ * A pool is discarded once its last connection is closed and no request waits for a connection, so pools of hosts
+ * that are no longer called do not accumulate. A discarded pool that is still referenced by a request in flight
+ * registers itself again when it is used, or hands the request to the pool registered for the endpoint in the meantime.
+ * Registration and removal are decided under the lock of the pool, while acquires in progress are counted, so a pool
+ * is never discarded while an acquire uses it and listeners always see a registration before its removal.
+ * Pools are keyed by the endpoint and by the event loop group of the client, so clients of different transports or
+ * event loops never share connections.
+ */
+final class ConnectionPool implements ConnectionPoolStatistics {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+    private static final Map<WebClientRequestBuilderImpl.ConnectionIdent, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+    private static final List<Consumer<ConnectionPoolStatistics>> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final List<Consumer<ConnectionPoolStatistics>> REMOVAL_LISTENERS = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+    private static final AttributeKey<ConnectionPool> POOL = AttributeKey.valueOf("connectionPool");
+    private static final AttributeKey<Long> CREATED = AttributeKey.valueOf("connectionCreated");
+    private static final int UNREGISTERED = -1;
+
+    private final ConcurrentLinkedDeque<Channel> idle = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger idleConnections = new AtomicInteger();
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final LongAdder createdConnections = new LongAdder();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    // number of acquires in progress, or UNREGISTERED once the pool was discarded
+    private final AtomicInteger state = new AtomicInteger();
+    private final WebClientRequestBuilderImpl.ConnectionIdent connectionIdent;
+    private final int id;
+    private final int maxConnections;
+    private final Duration acquireTimeout;
+    private final long maxLifetimeNanos;
+
+    private ConnectionPool(WebClientRequestBuilderImpl.ConnectionIdent connectionIdent, RequestConfiguration configuration) {
+        this.connectionIdent = connectionIdent;
+        this.id = POOL_ID.incrementAndGet();
+        this.maxConnections = configuration.maxConnectionsPerHost();
+        this.acquireTimeout = configuration.connectionAcquireTimeout();
+        this.maxLifetimeNanos = configuration.connectionMaxLifetime().toNanos();
+    }
+
+    /**
+     * Pool of connections for the request.
+     *
+     * @param configuration request configuration
+     * @param group         event loop group of the client
+     * @return connection pool
+     */
+    static ConnectionPool pool(RequestConfiguration configuration, EventLoopGroup group) {
+        WebClientRequestBuilderImpl.ConnectionIdent connectionIdent =
+                new WebClientRequestBuilderImpl.ConnectionIdent(configuration, group);
+        ConnectionPool pool = POOLS.get(connectionIdent);
+        if (pool != null) {
+            return pool;
+        }
+        ConnectionPool newPool = new ConnectionPool(connectionIdent, configuration);
+        // the pool cannot be discarded before the listeners know about it
+        synchronized (newPool) {
+            pool = POOLS.putIfAbsent(connectionIdent, newPool);
+            if (pool != null) {
+                return pool;
+            }
+            LISTENERS.forEach(listener -> listener.accept(newPool));
+        }
+        return newPool;
+    }
+
+    static void addListener(Consumer<ConnectionPoolStatistics> listener) {
+        LISTENERS.add(listener);
+        POOLS.values().forEach(listener);
+    }
+
+    static void addRemovalListener(Consumer<ConnectionPoolStatistics> listener) {
+        REMOVAL_LISTENERS.add(listener);
+    }
+
+    /**
+     * Releases a connection from the pool it was acquired from.
+     *
+     * @param channel channel to release
+     */
+    static void releaseChannel(Channel channel) {
+        ConnectionPool pool = channel.attr(POOL).get();
+        if (pool == null) {
+            channel.attr(IN_USE).get().set(false);
+        } else {
+            pool.release(channel);
+        }
+    }
+
+    /**
+     * Removes a closed connection from the pool it was created by.
+     *
+     * @param channel closed channel
+     */
+    static void removeChannel(Channel channel) {
+        ConnectionPool pool = channel.attr(POOL).getAndSet(null);
+        if (pool != null) {
+            pool.remove(channel);
+        }
+    }
+
+    /**
+     * Obtains an idle connection, a new connection, or waits for a connection to be released.
+     *
+     * @param bootstrap bootstrap to create a new connection
+     * @param group     event loop group to schedule the acquire timeout
+     * @return future completed with a connection marked as in use
+     */
+    Future<Channel> acquire(Bootstrap bootstrap, EventLoopGroup group) {
+        ConnectionPool pool = enter();
+        if (pool != this) {
+            return pool.acquire(bootstrap, group);
+        }
+        try {
+            return acquireEntered(bootstrap, group);
+        } finally {
+            exit();
+        }
+    }
+
+    private Future<Channel> acquireEntered(Bootstrap bootstrap, EventLoopGroup group) {
+        Channel channel = pollIdle();
+        if (channel != null) {
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.finest(() -> "Reusing -> " + channel.hashCode() + ", settting in use -> true");
+            }
+            return channel.eventLoop().<Channel>newPromise().setSuccess(channel);
+        }
+        if (reserve()) {
+            return connect(bootstrap);
+        }
+
+        Promise<Channel> promise = group.next().newPromise();
+        Waiter waiter = new Waiter(promise, bootstrap);
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest(() -> "Waiting for a connection to -> " + connectionIdent);
+        }
+        ScheduledFuture<?> timeout = group.next().schedule(() -> {
+            if (promise.tryFailure(new WebClientException("Timeout " + acquireTimeout + " elapsed while waiting for "
+                                                                  + "a connection to " + endpoint()))) {
+                acquireTimeouts.increment();
+            }
+        }, acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        promise.addListener(future -> {
+            timeout.cancel(false);
+            if (waiters.remove(waiter)) {
+                pendingAcquires.decrementAndGet();
+            }
+        });
+        pendingAcquires.incrementAndGet();
+        waiters.offer(waiter);
+        // a connection may have been released before the waiter was queued
+        dispatch();
+        return promise;
+    }
+
+    @Override
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public URI endpoint() {
+        return connectionIdent.base();
+    }
+
+    @Override
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    @Override
+    public int openConnections() {
+        return openConnections.get();
+    }
+
+    @Override
+    public int idleConnections() {
+        return idleConnections.get();
+    }
+
+    @Override
+    public int pendingAcquires() {
+        return pendingAcquires.get();
+    }
+
+    @Override
+    public long createdConnections() {
+        return createdConnections.sum();
+    }
+
+    @Override
+    public long acquireTimeouts() {
+        return acquireTimeouts.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{"
+                + "endpoint=" + endpoint()
+                + ", open=" + openConnections
+                + ", idle=" + idleConnections
+                + ", pending=" + pendingAcquires
+                + '}';
+    }
+
+    private void release(Channel channel) {
+        if (!channel.isOpen() || isExpired(channel)) {
+            // stays in use, so nobody acquires it before it is removed
+            channel.close();
+            return;
+        }
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            pendingAcquires.decrementAndGet();
+            if (waiter.promise.trySuccess(channel)) {
+                return;
+            }
+        }
+        returnIdle(channel);
+        dispatch();
+    }
+
+    private void remove(Channel channel) {
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest(() -> "Removing from connection pool. Connection ident ->  " + connectionIdent
+                    + ", channel -> " + channel.hashCode());
+        }
+        if (idle.removeFirstOccurrence(channel)) {
+            idleConnections.decrementAndGet();
+        }
+        openConnections.decrementAndGet();
+        dispatch();
+        if (isUnused()) {
+            unregister();
+        }
+    }
+
+    /**
+     * Marks an acquire in progress, registering the pool again if it was discarded.
+     *
+     * @return this pool, or the pool registered for the endpoint after this one was discarded
+     */
+    private ConnectionPool enter() {
+        int current = state.get();
+        if (current != UNREGISTERED && state.compareAndSet(current, current + 1)) {
+            return this;
+        }
+        return enterLocked();
+    }
+
+    private synchronized ConnectionPool enterLocked() {
+        while (true) {
+            int current = state.get();
+            if (current != UNREGISTERED) {
+                if (state.compareAndSet(current, current + 1)) {
+                    return this;
+                }
+                continue;
+            }
+            // discarded while a request still referenced it
+            ConnectionPool registered = POOLS.putIfAbsent(connectionIdent, this);
+            if (registered != null) {
+                return registered;
+            }
+            state.set(1);
+            LISTENERS.forEach(listener -> listener.accept(this));
+            return this;
+        }
+    }
+
+    private void exit() {
+        if (state.decrementAndGet() == 0 && isUnused()) {
+            unregister();
+        }
+    }
+
+    private boolean isUnused() {
+        return openConnections.get() == 0 && waiters.isEmpty();
+    }
+
+    private synchronized void unregister() {
+        // no acquire can start while unregistered, so the pool is checked again once no acquire is in progress
+        if (!state.compareAndSet(0, UNREGISTERED)) {
+            return;
+        }
+        if (!isUnused()) {
+            state.set(0);
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest(() -> "Removing unused connection pool -> " + connectionIdent);
+        }
+        if (POOLS.remove(connectionIdent, this)) {
+            REMOVAL_LISTENERS.forEach(listener -> listener.accept(this));
+        }
+    }
+
+    /**
+     * Hands idle connections to waiting requests, or creates new connections for them if the limit allows.
+     */
+    private void dispatch() {
+        while (!waiters.isEmpty()) {
+            Channel channel = pollIdle();
+            if (channel == null) {
+                if (!reserve()) {
+                    return;
+                }
+                Waiter waiter = pollWaiter();
+                if (waiter == null) {
+                    openConnections.decrementAndGet();
+                    return;
+                }
+                connect(waiter.bootstrap).addListener(future -> {
+                    if (future.isSuccess()) {
+                        Channel connected = (Channel) future.getNow();
+                        if (!waiter.promise.trySuccess(connected)) {
+                            release(connected);
+                        }
+                    } else {
+                        waiter.promise.tryFailure(future.cause());
+                    }
+                });
+            } else {
+                Waiter waiter = pollWaiter();
+                if (waiter == null) {
+                    returnIdle(channel);
+                    return;
+                }
+                if (!waiter.promise.trySuccess(channel)) {
+                    returnIdle(channel);
+                }
+            }
+        }
+    }
+
+    private Waiter pollWaiter() {
+        Waiter waiter = waiters.poll();
+        if (waiter != null) {
+            pendingAcquires.decrementAndGet();
+        }
+        return waiter;
+    }
+
+    private Channel pollIdle() {
+        Channel channel;
+        while ((channel = idle.pollFirst()) != null) {
+            idleConnections.decrementAndGet();
+            if (!channel.isOpen()) {
+                continue;
+            }
+            // idle handler may be closing the connection
+            if (channel.attr(IN_USE).get().compareAndSet(false, true)) {
+                if (isExpired(channel)) {
+                    channel.close();
+                    continue;
+                }
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    private void returnIdle(Channel channel) {
+        channel.attr(IN_USE).get().set(false);
+        idleConnections.incrementAndGet();
+        idle.offerFirst(channel);
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = openConnections.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+        } while (!openConnections.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean isExpired(Channel channel) {
+        if (maxLifetimeNanos <= 0) {
+            return false;
+        }
+        return System.nanoTime() - channel.attr(CREATED).get() > maxLifetimeNanos;
+    }
+
+    /**
+     * Creates a new connection, the connection is already reserved in {@link #openConnections}.
+     */
+    private Future<Channel> connect(Bootstrap bootstrap) {
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest(() -> "New connection to -> " + connectionIdent);
+        }
+        createdConnections.increment();
+        URI uri = connectionIdent.base();
+        ChannelFuture connect = bootstrap.connect(uri.getHost(), uri.getPort());
+        Channel channel = connect.channel();
+        channel.attr(IN_USE).set(new AtomicBoolean(true));
+        channel.attr(RETURN).set(new AtomicBoolean(false));
+        channel.attr(CONNECTION_IDENT).set(connectionIdent);
+        channel.attr(CREATED).set(System.nanoTime());
+        channel.attr(POOL).set(this);
+        Promise<Channel> promise = channel.eventLoop().newPromise();
+        connect.addListener(future -> {
+            if (future.isSuccess()) {
+                promise.trySuccess(channel);
+            } else {
+                // inactive event is not fired for connections that were never active
+                removeChannel(channel);
+                promise.tryFailure(future.cause());
+            }
+        });
+        return promise;
+    }
+
+    private static final class Waiter {
+        private final Promise<Channel> promise;
+        private final Bootstrap bootstrap;
+
+        private Waiter(Promise<Channel> promise, Bootstrap bootstrap) {
+            this.promise = promise;
+            this.bootstrap = bootstrap;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.net.URI;
+import java.util.function.Consumer;
+
+/**
+ * Statistics of a pool of kept alive connections to a single endpoint.
+ * Values are read without locking and may be slightly out of date.
+ */
+public interface ConnectionPoolStatistics {
+
+    /**
+     * Registers a listener notified about each connection pool created by any {@link WebClient}.
+     * The listener is immediately notified about the already existing pools.
+     *
+     * @param listener listener of created pools
+     */
+    static void addListener(Consumer<ConnectionPoolStatistics> listener) {
+        ConnectionPool.addListener(listener);
+    }
+
+    /**
+     * Registers a listener notified about each connection pool discarded because it has no open connections
+     * and no request is waiting for a connection.
+     *
+     * @param listener listener of discarded pools
+     */
+    static void addRemovalListener(Consumer<ConnectionPoolStatistics> listener) {
+        ConnectionPool.addRemovalListener(listener);
+    }
+
+    /**
+     * Unique identification of this pool, as there may be more pools for the same endpoint
+     * (e.g. with different TLS or proxy configuration).
+     *
+     * @return pool id
+     */
+    int id();
+
+    /**
+     * Endpoint the connections are opened to.
+     *
+     * @return scheme and authority of the endpoint
+     */
+    URI endpoint();
+
+    /**
+     * Maximal number of open connections.
+     *
+     * @return max connections
+     */
+    int maxConnections();
+
+    /**
+     * Number of currently open connections, including connections being opened.
+     *
+     * @return open connections
+     */
+    int openConnections();
+
+    /**
+     * Number of open connections not used by any request.
+     *
+     * @return idle connections
+     */
+    int idleConnections();
+
+    /**
+     * Number of requests waiting for a connection.
+     *
+     * @return pending requests
+     */
+    int pendingAcquires();
+
+    /**
+     * Total number of connections opened by this pool.
+     *
+     * @return created connections
+     */
+    long createdConnections();
+
+    /**
+     * Total number of requests failed because no connection was available within the acquire timeout.
+     *
+     * @return acquire timeouts
+     */
+    long acquireTimeouts();
+}
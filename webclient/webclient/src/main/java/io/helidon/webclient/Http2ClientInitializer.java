@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Initializer of an HTTP/2 connection, either with prior knowledge (h2c), or negotiated using ALPN over TLS.
+ * <p>
+ * Each request is sent over its own stream channel, which is initialized by {@link StreamInitializer} with
+ * a codec translating HTTP/2 frames to HTTP objects, so the stream is handled as any HTTP/1.1 connection.
+ * <p>
+ * Flow control follows the demand of the request and response content:
+ * <ul>
+ *     <li>the stream channel reads only when the response content is requested, and consumed bytes are returned
+ *     to the flow control window of the server by the stream channel, so a slow subscriber stops the server</li>
+ *     <li>the stream channel is not writable once the flow control window of the server is exhausted,
+ *     and {@link RequestContentSubscriber} does not request more request content until it is writable again</li>
+ * </ul>
+ * The connection window is larger than the stream window, so a single slow stream does not stop the others.
+ */
+class Http2ClientInitializer extends ChannelInitializer<SocketChannel> {
+
+    private static final int CONNECTION_WINDOW_SIZE = 16 * Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+
+    private final RequestConfiguration configuration;
+    private final Promise<Channel> ready;
+
+    /**
+     * Creates new instance.
+     *
+     * @param configuration request configuration
+     * @param ready         completed once the connection can open streams, failed with
+     *                      {@link Http2Connections.Http11Negotiated} if the server does not support HTTP/2
+     */
+    Http2ClientInitializer(RequestConfiguration configuration, Promise<Channel> ready) {
+        this.configuration = configuration;
+        this.ready = ready;
+    }
+
+    @Override
+    protected void initChannel(SocketChannel channel) {
+        ChannelPipeline pipeline = channel.pipeline();
+        boolean tls = configuration.requestURI().getScheme().equals("https");
+        if (tls) {
+            Optional<SslContext> sslContext = configuration.http2SslContext();
+            if (sslContext.isEmpty()) {
+                // ALPN would wait for a handshake that never happens
+                ready.tryFailure(new WebClientException("No SSL context available to negotiate HTTP/2 with "
+                                                                + configuration.requestURI()));
+                channel.close();
+                return;
+            }
+            pipeline.addLast("ssl", NettyClientInitializer.sslHandler(configuration, sslContext.get(), channel));
+            pipeline.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                @Override
+                protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                    if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                        addHttp2Handlers(ctx.pipeline());
+                    } else {
+                        ready.tryFailure(new Http2Connections.Http11Negotiated());
+                        ctx.close();
+                    }
+                }
+
+                @Override
+                protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) {
+                    ready.tryFailure(cause);
+                    ctx.close();
+                }
+            });
+        } else {
+            // prior knowledge
+            addHttp2Handlers(pipeline);
+        }
+    }
+
+    private void addHttp2Handlers(ChannelPipeline pipeline) {
+        Http2FrameCodec frameCodec = Http2FrameCodecBuilder.forClient()
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                // streams over the max concurrent streams of the server wait until another stream is closed
+                .encoderEnforceMaxConcurrentStreams(true)
+                .build();
+        pipeline.addLast("http2FrameCodec", frameCodec);
+        // server push is disabled, streams are only opened by the client
+        pipeline.addLast("http2Multiplex", new Http2MultiplexHandler(new ChannelInitializer<>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ch.close();
+            }
+        }));
+        long idleTimeout = configuration.connectionIdleTimeout().toMillis();
+        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, idleTimeout, TimeUnit.MILLISECONDS));
+        pipeline.addLast("idleConnectionHandler", new IdleConnectionHandler(frameCodec));
+        pipeline.addLast("http2Ready", new ReadyHandler(ready));
+    }
+
+    /**
+     * Streams can be opened once the settings of the server are received, so the max concurrent streams
+     * setting of the server is known before the first stream is opened.
+     */
+    private static final class ReadyHandler extends ChannelInboundHandlerAdapter {
+        private final Promise<Channel> ready;
+
+        private ReadyHandler(Promise<Channel> ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            super.channelActive(ctx);
+            // the frame codec writes the connection preface without flushing it, the server waits for it
+            ctx.flush();
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (msg instanceof Http2SettingsFrame) {
+                ctx.writeAndFlush(new DefaultHttp2WindowUpdateFrame(CONNECTION_WINDOW_SIZE
+                                                                            - Http2CodecUtil.DEFAULT_WINDOW_SIZE));
+                ready.trySuccess(ctx.channel());
+                ctx.pipeline().remove(this);
+            }
+            super.channelRead(ctx, msg);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            ready.tryFailure(new WebClientException("Connection closed before HTTP/2 settings were received"));
+            super.channelInactive(ctx);
+        }
+    }
+
+    /**
+     * Closes the connection once it is idle and has no active streams.
+     */
+    private static final class IdleConnectionHandler extends ChannelDuplexHandler {
+        private final Http2FrameCodec frameCodec;
+
+        private IdleConnectionHandler(Http2FrameCodec frameCodec) {
+            this.frameCodec = frameCodec;
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent && frameCodec.connection().numActiveStreams() == 0) {
+                ctx.close();
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+    }
+
+    /**
+     * Initializer of a stream channel used by a single request.
+     */
+    static final class StreamInitializer extends ChannelInitializer<Channel> {
+        private final RequestConfiguration configuration;
+
+        StreamInitializer(RequestConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        protected void initChannel(Channel channel) {
+            ChannelPipeline pipeline = channel.pipeline();
+            long readTimeout = configuration.readTimout().toMillis();
+            pipeline.addLast("readTimeout", new HelidonReadTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS));
+            pipeline.addLast("http2ToHttp", new Http2StreamFrameToHttpObjectCodec(false));
+            pipeline.addLast("httpDecompressor", new HttpContentDecompressor());
+            pipeline.addLast("idleConnectionHandler", new NettyClientInitializer.IdleConnectionHandler());
+            pipeline.addLast("helidonHandler", new NettyClientHandler());
+        }
+    }
+}
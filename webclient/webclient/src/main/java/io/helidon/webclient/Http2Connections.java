@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * HTTP/2 connection to a single host, shared by all requests using a stream per request.
+ * <p>
+ * Streams over the max concurrent streams setting of the server are queued until another stream completes.
+ * A connection is removed once it is closed. If the server negotiates HTTP/1.1 using ALPN, the connection is closed
+ * and further requests to the host use HTTP/1.1. Such hosts are remembered in a bounded map.
+ */
+final class Http2Connections {
+
+    private static final Logger LOGGER = Logger.getLogger(Http2Connections.class.getName());
+    private static final int MAX_HTTP11_HOSTS = 1000;
+    private static final Map<WebClientRequestBuilderImpl.ConnectionIdent, Http2Connections> CONNECTIONS =
+            new ConcurrentHashMap<>();
+    private static final Map<WebClientRequestBuilderImpl.ConnectionIdent, Boolean> HTTP11_HOSTS =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<WebClientRequestBuilderImpl.ConnectionIdent, Boolean> eldest) {
+                    return size() > MAX_HTTP11_HOSTS;
+                }
+            });
+
+    private final AtomicReference<Future<Channel>> connection = new AtomicReference<>();
+    private final WebClientRequestBuilderImpl.ConnectionIdent connectionIdent;
+
+    private Http2Connections(WebClientRequestBuilderImpl.ConnectionIdent connectionIdent) {
+        this.connectionIdent = connectionIdent;
+    }
+
+    /**
+     * HTTP/2 connection for the request.
+     *
+     * @param configuration request configuration
+     * @param group         event loop group of the client
+     * @return HTTP/2 connection
+     */
+    static Http2Connections get(RequestConfiguration configuration, EventLoopGroup group) {
+        return CONNECTIONS.computeIfAbsent(new WebClientRequestBuilderImpl.ConnectionIdent(configuration, group),
+                                           Http2Connections::new);
+    }
+
+    /**
+     * Opens a new stream for the request, connecting to the host if there is no open connection.
+     *
+     * @param bootstrap     bootstrap to create a new connection
+     * @param configuration request configuration
+     * @param http11        HTTP/1.1 connection to use if the host does not support HTTP/2
+     * @return future completed with the stream channel
+     */
+    Future<Channel> openStream(Bootstrap bootstrap, RequestConfiguration configuration, Supplier<Future<Channel>> http11) {
+        if (HTTP11_HOSTS.containsKey(connectionIdent)) {
+            return http11.get();
+        }
+        Promise<Channel> result = bootstrap.config().group().next().newPromise();
+        connection(bootstrap, configuration).addListener(future -> {
+            if (future.isSuccess()) {
+                Channel parent = (Channel) future.getNow();
+                new Http2StreamChannelBootstrap(parent)
+                        .handler(new Http2ClientInitializer.StreamInitializer(configuration))
+                        .open()
+                        .addListener(stream -> {
+                            if (stream.isSuccess()) {
+                                result.trySuccess((Http2StreamChannel) stream.getNow());
+                            } else {
+                                result.tryFailure(stream.cause());
+                            }
+                        });
+            } else if (future.cause() instanceof Http11Negotiated) {
+                cascade(http11.get(), result);
+            } else {
+                result.tryFailure(future.cause());
+            }
+        });
+        return result;
+    }
+
+    private Future<Channel> connection(Bootstrap bootstrap, RequestConfiguration configuration) {
+        while (true) {
+            Future<Channel> current = connection.get();
+            if (current != null && !isClosed(current)) {
+                return current;
+            }
+            Promise<Channel> ready = bootstrap.config().group().next().newPromise();
+            if (connection.compareAndSet(current, ready)) {
+                connect(bootstrap, configuration, ready);
+                return ready;
+            }
+        }
+    }
+
+    private void connect(Bootstrap bootstrap, RequestConfiguration configuration, Promise<Channel> ready) {
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest(() -> "New HTTP/2 connection to -> " + connectionIdent);
+        }
+        URI uri = connectionIdent.base();
+        // a request may have obtained this instance just before it was removed
+        CONNECTIONS.putIfAbsent(connectionIdent, this);
+        ChannelFuture connect = bootstrap.clone()
+                .handler(new Http2ClientInitializer(configuration, ready))
+                .connect(uri.getHost(), uri.getPort());
+        connect.addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                future.channel().closeFuture().addListener(closed -> remove(ready));
+            } else {
+                ready.tryFailure(future.cause());
+            }
+        });
+        ready.addListener(future -> {
+            if (future.cause() instanceof Http11Negotiated) {
+                LOGGER.fine(() -> "HTTP/1.1 negotiated with " + uri + ", HTTP/2 will not be used");
+                HTTP11_HOSTS.put(connectionIdent, Boolean.TRUE);
+                CONNECTIONS.remove(connectionIdent, this);
+            } else if (!future.isSuccess()) {
+                remove(ready);
+            }
+        });
+    }
+
+    /**
+     * Removes this instance once its connection is closed, unless another connection was opened in the meantime.
+     */
+    private void remove(Future<Channel> closed) {
+        if (connection.get() == closed) {
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.finest(() -> "HTTP/2 connection to -> " + connectionIdent + " closed");
+            }
+            CONNECTIONS.remove(connectionIdent, this);
+            if (connection.get() != closed) {
+                // reconnected while being removed
+                CONNECTIONS.putIfAbsent(connectionIdent, this);
+            }
+        }
+    }
+
+    private static boolean isClosed(Future<Channel> connection) {
+        if (!connection.isDone()) {
+            return false;
+        }
+        if (!connection.isSuccess()) {
+            return !(connection.cause() instanceof Http11Negotiated);
+        }
+        return !connection.getNow().isActive();
+    }
+
+    private static void cascade(Future<Channel> from, Promise<Channel> to) {
+        from.addListener(future -> {
+            if (future.isSuccess()) {
+                to.trySuccess(from.getNow());
+            } else {
+                to.tryFailure(future.cause());
+            }
+        });
+    }
+
+    /**
+     * Server selected HTTP/1.1 using ALPN.
+     */
+    static final class Http11Negotiated extends RuntimeException {
+        Http11Negotiated() {
+            super("HTTP/1.1 negotiated", null, false, false);
+        }
+    }
+}
@@ -16,10 +16,7 @@
 package io.helidon.webclient;
 
 import java.time.Duration;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import io.helidon.common.LazyValue;
 import io.helidon.common.Version;
@@ -28,8 +25,6 @@ import io.helidon.common.http.Http;
 import io.helidon.config.Config;
 import io.helidon.media.common.MediaContext;
 
-import io.netty.channel.nio.NioEventLoopGroup;
-
 /*
  * This class must be:
  *   - thread safe
@@ -75,32 +70,10 @@ final class NettyClient implements WebClient {
                 .build();
     }
 
-    // shared by all client instances
-    private static final LazyValue<NioEventLoopGroup> EVENT_GROUP = LazyValue.create(() -> {
-        Config eventLoopConfig = GLOBAL_CLIENT_CONFIG.get("event-loop");
-        int numberOfThreads = eventLoopConfig.get("workers")
-                .asInt()
-                .orElse(1);
-        String threadNamePrefix = eventLoopConfig.get("name-prefix")
-                .asString()
-                .orElse("helidon-client-");
-        AtomicInteger threadCounter = new AtomicInteger();
-
-        ThreadFactory threadFactory =
-                r -> {
-                    Thread result = new Thread(r, threadNamePrefix + threadCounter.getAndIncrement());
-                    // we should exit the VM if client event loop is the only thread(s) running
-                    result.setDaemon(true);
-                    return result;
-                };
-
-        ExecutorService executorService = Executors.newCachedThreadPool(threadFactory);
-
-        return new NioEventLoopGroup(numberOfThreads, Contexts.wrap(executorService));
-    });
-
     // this instance configuration
     private final WebClientConfiguration configuration;
+    // the client may be called from requests of different web servers, the resolver caches the transport bootstrap
+    private final Supplier<ClientBootstrap> bootstrap;
 
     /**
      * Creates new instance.
@@ -109,16 +82,13 @@ final class NettyClient implements WebClient {
      */
     NettyClient(Builder builder) {
         this.configuration = builder.configuration();
+        this.bootstrap = ClientBootstrap.resolver(configuration);
 
         // we need to configure these - if user wants to override, they must
         // do it before first usage
 //        configureDefaults(EMPTY_CONFIG);
     }
 
-    static NioEventLoopGroup eventGroup() {
-        return EVENT_GROUP.get();
-    }
-
     @Override
     public WebClientRequestBuilder put() {
         return method(Http.Method.PUT);
@@ -156,12 +126,12 @@ final class NettyClient implements WebClient {
 
     @Override
     public WebClientRequestBuilder method(String method) {
-        return WebClientRequestBuilderImpl.create(EVENT_GROUP.get(), configuration, Http.RequestMethod.create(method));
+        return method(Http.RequestMethod.create(method));
     }
 
     @Override
     public WebClientRequestBuilder method(Http.RequestMethod method) {
-        return WebClientRequestBuilderImpl.create(EVENT_GROUP.get(), configuration, method);
+        return WebClientRequestBuilderImpl.create(bootstrap.get(), configuration, method);
     }
 
 }
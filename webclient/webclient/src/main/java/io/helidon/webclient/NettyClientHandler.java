@@ -42,10 +42,10 @@ import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.util.AttributeKey;
 
 import static io.helidon.webclient.WebClientRequestBuilderImpl.COMPLETED;
-import static io.helidon.webclient.WebClientRequestBuilderImpl.IN_USE;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.RECEIVED;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST_ID;
@@ -96,12 +96,24 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
                 && channel.attr(RETURN).get().compareAndSet(true, false)) {
             LOGGER.finest(() -> "(client reqID: " + requestId + ") "
                     + "Returning channel " + channel.hashCode() + " to the cache");
-            channel.attr(IN_USE).get().set(false);
+            ConnectionPool.releaseChannel(channel);
             responseCloser.cf.complete(null);
             publisher.complete();
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        Channel channel = ctx.channel();
+        if (channel.isWritable()) {
+            Runnable demand = channel.attr(RequestContentSubscriber.WRITABLE).getAndSet(null);
+            if (demand != null) {
+                demand.run();
+            }
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws IOException {
         Channel channel = ctx.channel();
@@ -121,7 +133,9 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             responseBuilder.contentPublisher(publisher)
                     .readerContext(requestConfiguration.readerContext())
                     .status(helidonStatus(response.status()))
-                    .httpVersion(Http.Version.create(response.protocolVersion().toString()))
+                    .httpVersion(channel instanceof Http2StreamChannel
+                                         ? Http.Version.V2_0
+                                         : Http.Version.create(response.protocolVersion().toString()))
                     .responseCloser(responseCloser)
                     .lastEndpointURI(requestConfiguration.requestURI());
 
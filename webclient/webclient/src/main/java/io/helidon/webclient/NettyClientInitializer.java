@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,7 @@ import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.proxy.ProxyHandler;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -84,16 +85,7 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         // TLS configuration
         if (address.toString().startsWith("https")) {
             configuration.sslContext().ifPresent(ctx -> {
-                SslHandler sslHandler = ctx.newHandler(channel.alloc(), address.getHost(), address.getPort());
-
-                //This is how to enable hostname verification in netty
-                if (!configuration.tls().disableHostnameVerification()) {
-                    SSLEngine sslEngine = sslHandler.engine();
-                    SSLParameters sslParameters = sslEngine.getSSLParameters();
-                    sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
-                    sslEngine.setSSLParameters(sslParameters);
-                }
-
+                SslHandler sslHandler = sslHandler(configuration, ctx, channel);
                 pipeline.addLast("ssl", sslHandler);
                 sslHandler.handshakeFuture().addListener((FutureListener<Channel>) channelFuture -> {
                     //Check if ssl handshake has been successful. Without this check will this exception be replaced by
@@ -109,12 +101,35 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         pipeline.addLast("logger", new LoggingHandler(ClientNettyLog.class, LogLevel.TRACE));
         pipeline.addLast("httpCodec", new HttpClientCodec());
         pipeline.addLast("httpDecompressor", new HttpContentDecompressor());
-        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, 50));
+        long idleTimeout = configuration.connectionIdleTimeout().toMillis();
+        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, idleTimeout, TimeUnit.MILLISECONDS));
         pipeline.addLast("idleConnectionHandler", new IdleConnectionHandler());
         pipeline.addLast("helidonHandler", new NettyClientHandler());
     }
 
-    private static class IdleConnectionHandler extends ChannelDuplexHandler {
+    /**
+     * Creates a TLS handler for the request address.
+     *
+     * @param configuration request configuration
+     * @param sslContext    SSL context
+     * @param channel       channel to create the handler for
+     * @return TLS handler
+     */
+    static SslHandler sslHandler(RequestConfiguration configuration, SslContext sslContext, Channel channel) {
+        URI address = configuration.requestURI();
+        SslHandler sslHandler = sslContext.newHandler(channel.alloc(), address.getHost(), address.getPort());
+
+        //This is how to enable hostname verification in netty
+        if (!configuration.tls().disableHostnameVerification()) {
+            SSLEngine sslEngine = sslHandler.engine();
+            SSLParameters sslParameters = sslEngine.getSSLParameters();
+            sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+            sslEngine.setSSLParameters(sslParameters);
+        }
+        return sslHandler;
+    }
+
+    static class IdleConnectionHandler extends ChannelDuplexHandler {
 
         private static final Logger LOGGER = Logger.getLogger(IdleConnectionHandler.class.getName());
 
@@ -133,11 +148,8 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         public void channelInactive(ChannelHandlerContext ctx) throws Exception {
             Channel channel = ctx.channel();
             if (ctx.channel().hasAttr(CONNECTION_IDENT)) {
-                WebClientRequestBuilderImpl.ConnectionIdent key = channel.attr(CONNECTION_IDENT).get();
                 LOGGER.finest(() -> "Channel closed -> " + channel.hashCode());
-                if (key != null) {
-                    WebClientRequestBuilderImpl.removeChannelFromCache(key, channel);
-                }
+                ConnectionPool.removeChannel(channel);
             }
             if (!channel.attr(RESPONSE_RECEIVED).get()) {
                 CompletableFuture<WebClientServiceResponse> responseReceived = channel.attr(RECEIVED).get();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 
@@ -41,9 +42,17 @@ import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST_ID;
 
 /**
  * Subscriber which handles entity sending.
+ * <p>
+ * The next data chunk is requested once the previous one is written, and only if the channel is writable.
+ * For HTTP/2 the stream channel is not writable while the flow control window of the stream is exhausted.
  */
 class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
 
+    /**
+     * Demand of the request content waiting for the channel to become writable.
+     */
+    static final AttributeKey<Runnable> WRITABLE = AttributeKey.valueOf("requestContentWritable");
+
     private static final Logger LOGGER = Logger.getLogger(RequestContentSubscriber.class.getName());
     private static final LastHttpContent LAST_HTTP_CONTENT = new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER);
     private static final Set<HttpMethod> EMPTY_CONTENT_LENGTH = Set.of(HttpMethod.PUT, HttpMethod.POST);
@@ -52,6 +61,7 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
     private final CompletableFuture<WebClientServiceRequest> sent;
     private final DefaultHttpRequest request;
     private final NettyChannel channel;
+    private final Channel nettyChannel;
     private final long requestId;
     private final boolean allowChunkedEncoding;
 
@@ -66,6 +76,7 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
                              boolean allowChunkedEncoding) {
         this.request = request;
         this.channel = new NettyChannel(channel);
+        this.nettyChannel = channel;
         this.responseFuture = responseFuture;
         this.sent = sent;
         this.requestId = channel.attr(REQUEST_ID).get();
@@ -121,6 +132,7 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
 
     @Override
     public void onError(Throwable throwable) {
+        nettyChannel.attr(WRITABLE).set(null);
         responseFuture.completeExceptionally(throwable);
     }
 
@@ -164,13 +176,26 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
         channel.write(true, httpContent, f -> f
                 .addListener(future -> {
                     data.release();
-                    subscription.request(1);
+                    requestNext();
                     LOGGER.finest(() -> "(client reqID: " + requestId + ") Data chunk sent with result: " + future.isSuccess());
                 })
                 .addListener(completeOnFailureListener("(client reqID: " + requestId + ") Failure when sending a content!"))
                 .addListener(ChannelFutureListener.CLOSE_ON_FAILURE));
     }
 
+    /**
+     * Requests the next data chunk, or waits until the channel is writable.
+     * Invoked from the event loop, as is {@link NettyClientHandler#channelWritabilityChanged}.
+     */
+    private void requestNext() {
+        if (nettyChannel.isWritable()) {
+            subscription.request(1);
+        } else {
+            LOGGER.finest(() -> "(client reqID: " + requestId + ") Channel is not writable, waiting for more data");
+            nettyChannel.attr(WRITABLE).set(() -> subscription.request(1));
+        }
+    }
+
     private GenericFutureListener<Future<? super Void>> completeOnFailureListener(String message) {
         return future -> {
             if (!future.isSuccess()) {
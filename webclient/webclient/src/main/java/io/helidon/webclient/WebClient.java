@@ -22,6 +22,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -40,6 +41,7 @@ import io.helidon.media.common.MessageBodyWriter;
 import io.helidon.media.common.ParentingMediaContextBuilder;
 import io.helidon.webclient.spi.WebClientService;
 import io.helidon.webclient.spi.WebClientServiceProvider;
+import io.helidon.webclient.spi.WebClientTransport;
 
 /**
  * Base client which is used to perform requests.
@@ -193,6 +195,38 @@ public interface WebClient {
             return this;
         }
 
+        /**
+         * Default HTTP version of the requests, may be overridden for each request.
+         * <p>
+         * HTTP/2 multiplexes all requests to a host over a single connection. Over TLS, HTTP/2 is negotiated using ALPN
+         * and HTTP/1.1 is used if the server does not support it. Without TLS, the client assumes the server
+         * supports HTTP/2 (prior knowledge). HTTP/2 is not used for requests through a proxy.
+         * Defaults to HTTP/1.1.
+         *
+         * @param httpVersion HTTP version
+         * @return updated builder instance
+         */
+        public Builder httpVersion(Http.Version httpVersion) {
+            configuration.httpVersion(httpVersion);
+            return this;
+        }
+
+        /**
+         * Sets the transport used to open connections, such as a native transport.
+         * If not set, the first available {@link WebClientTransport} found by the Java service loader is used,
+         * or the NIO transport if there is none.
+         * <p>
+         * Clients using the same transport instance share its event loops. A transport that also
+         * serves a web server may share the event loops of the server, to avoid thread hand-offs on colocated calls.
+         *
+         * @param transport transport to use
+         * @return updated builder instance
+         */
+        public Builder transport(WebClientTransport transport) {
+            configuration.transport(Objects.requireNonNull(transport, "transport is null"));
+            return this;
+        }
+
         /**
          * Sets new proxy which will used for the requests.
          *
@@ -391,6 +425,57 @@ public interface WebClient {
             return this;
         }
 
+        /**
+         * Maximal number of kept alive connections to a single host. Requests beyond this limit wait
+         * for a connection to be released.
+         * Defaults to no limit.
+         *
+         * @param maxConnectionsPerHost maximal number of connections
+         * @return updated builder instance
+         * @see #connectionAcquireTimeout(java.time.Duration)
+         */
+        public Builder maxConnectionsPerHost(int maxConnectionsPerHost) {
+            configuration.maxConnectionsPerHost(maxConnectionsPerHost);
+            return this;
+        }
+
+        /**
+         * How long a request waits for a connection when {@link #maxConnectionsPerHost(int)} connections to the host
+         * are in use. The request fails with {@link io.helidon.webclient.WebClientException} once this timeout elapses.
+         * Defaults to one minute.
+         *
+         * @param connectionAcquireTimeout connection acquire timeout
+         * @return updated builder instance
+         */
+        public Builder connectionAcquireTimeout(Duration connectionAcquireTimeout) {
+            configuration.connectionAcquireTimeout(connectionAcquireTimeout);
+            return this;
+        }
+
+        /**
+         * How long a kept alive connection may stay unused before it is closed.
+         * Defaults to 50 seconds.
+         *
+         * @param connectionIdleTimeout connection idle timeout
+         * @return updated builder instance
+         */
+        public Builder connectionIdleTimeout(Duration connectionIdleTimeout) {
+            configuration.connectionIdleTimeout(connectionIdleTimeout);
+            return this;
+        }
+
+        /**
+         * How long a kept alive connection may be used. Older connections are closed once they are released.
+         * Defaults to {@link Duration#ZERO}, which means connections are used until closed by either side.
+         *
+         * @param connectionMaxLifetime connection max lifetime
+         * @return updated builder instance
+         */
+        public Builder connectionMaxLifetime(Duration connectionMaxLifetime) {
+            configuration.connectionMaxLifetime(connectionMaxLifetime);
+            return this;
+        }
+
         /**
          * Whether to validate header names.
          * Defaults to {@code true}.
@@ -34,6 +34,7 @@ import javax.net.ssl.SSLException;
 
 import io.helidon.common.LazyValue;
 import io.helidon.common.context.Context;
+import io.helidon.common.http.Http;
 import io.helidon.config.Config;
 import io.helidon.config.DeprecatedConfig;
 import io.helidon.config.metadata.Configured;
@@ -49,7 +50,10 @@ import io.helidon.media.common.MessageBodyWriter;
 import io.helidon.media.common.MessageBodyWriterContext;
 import io.helidon.media.common.ParentingMediaContextBuilder;
 import io.helidon.webclient.spi.WebClientService;
+import io.helidon.webclient.spi.WebClientTransport;
 
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty.handler.ssl.JdkSslContext;
@@ -63,6 +67,13 @@ import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
  */
 class WebClientConfiguration {
 
+    private static final ApplicationProtocolConfig ALPN_CONFIG = new ApplicationProtocolConfig(
+            ApplicationProtocolConfig.Protocol.ALPN,
+            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+            ApplicationProtocolNames.HTTP_2,
+            ApplicationProtocolNames.HTTP_1_1);
+
     private final WebClientRequestHeaders clientHeaders;
     private final WebClientCookieManager cookieManager;
     private final CookiePolicy cookiePolicy;
@@ -76,6 +87,12 @@ class WebClientConfiguration {
     private final Proxy proxy;
     private final boolean followRedirects;
     private final boolean keepAlive;
+    private final WebClientTransport transport;
+    private final Http.Version httpVersion;
+    private final int maxConnectionsPerHost;
+    private final Duration connectionAcquireTimeout;
+    private final Duration connectionIdleTimeout;
+    private final Duration connectionMaxLifetime;
     private final int maxRedirects;
     private final MessageBodyReaderContext readerContext;
     private final MessageBodyWriterContext writerContext;
@@ -111,6 +128,12 @@ class WebClientConfiguration {
         this.clientServices = List.copyOf(builder.clientServices);
         this.uri = builder.uri;
         this.keepAlive = builder.keepAlive;
+        this.transport = builder.transport;
+        this.httpVersion = builder.httpVersion;
+        this.maxConnectionsPerHost = builder.maxConnectionsPerHost;
+        this.connectionAcquireTimeout = builder.connectionAcquireTimeout;
+        this.connectionIdleTimeout = builder.connectionIdleTimeout;
+        this.connectionMaxLifetime = builder.connectionMaxLifetime;
         this.validateHeaders = builder.validateHeaders;
         this.relativeUris = builder.relativeUris;
     }
@@ -134,14 +157,28 @@ class WebClientConfiguration {
     }
 
     Optional<SslContext> sslContext() {
+        return sslContext(null);
+    }
+
+    /**
+     * SSL context negotiating HTTP/2 using ALPN, with a fallback to HTTP/1.1.
+     *
+     * @return SSL context
+     */
+    Optional<SslContext> http2SslContext() {
+        return sslContext(ALPN_CONFIG);
+    }
+
+    private Optional<SslContext> sslContext(ApplicationProtocolConfig applicationProtocolConfig) {
         SslContext sslContext;
         try {
             if (webClientTls.sslContext().isPresent()) {
-                sslContext = nettySslFromJavaNet(webClientTls.sslContext().get());
+                sslContext = nettySslFromJavaNet(webClientTls.sslContext().get(), applicationProtocolConfig);
             } else {
                 SslContextBuilder sslContextBuilder = SslContextBuilder
                         .forClient()
-                        .sslProvider(SslProvider.JDK);
+                        .sslProvider(SslProvider.JDK)
+                        .applicationProtocolConfig(applicationProtocolConfig);
                 if (webClientTls.certificates().size() > 0) {
                     sslContextBuilder.trustManager(webClientTls.certificates().toArray(new X509Certificate[0]));
                 }
@@ -165,11 +202,11 @@ class WebClientConfiguration {
         return Optional.of(sslContext);
     }
 
-    private SslContext nettySslFromJavaNet(SSLContext javaNetContext) {
+    private SslContext nettySslFromJavaNet(SSLContext javaNetContext, ApplicationProtocolConfig applicationProtocolConfig) {
         Set<String> allowedCipherSuite = webClientTls.allowedCipherSuite();
         return new JdkSslContext(
                 javaNetContext, true, allowedCipherSuite.isEmpty() ? null : allowedCipherSuite,
-                IdentityCipherSuiteFilter.INSTANCE, null,
+                IdentityCipherSuiteFilter.INSTANCE, applicationProtocolConfig,
                 ClientAuth.OPTIONAL, null, false);
     }
 
@@ -191,6 +228,42 @@ class WebClientConfiguration {
         return readTimeout;
     }
 
+    /**
+     * Maximal number of kept alive connections to a single host.
+     *
+     * @return maximal number of connections
+     */
+    int maxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    /**
+     * How long to wait for a connection when all connections to the host are in use.
+     *
+     * @return connection acquire timeout
+     */
+    Duration connectionAcquireTimeout() {
+        return connectionAcquireTimeout;
+    }
+
+    /**
+     * How long a kept alive connection may stay unused before it is closed.
+     *
+     * @return connection idle timeout
+     */
+    Duration connectionIdleTimeout() {
+        return connectionIdleTimeout;
+    }
+
+    /**
+     * How long a kept alive connection may be used, {@link Duration#ZERO} if not limited.
+     *
+     * @return connection max lifetime
+     */
+    Duration connectionMaxLifetime() {
+        return connectionMaxLifetime;
+    }
+
     /**
      * Configured proxy.
      *
@@ -277,6 +350,14 @@ class WebClientConfiguration {
         return keepAlive;
     }
 
+    Optional<WebClientTransport> transport() {
+        return Optional.ofNullable(transport);
+    }
+
+    Http.Version httpVersion() {
+        return httpVersion;
+    }
+
     boolean validateHeaders() {
         return validateHeaders;
     }
@@ -310,6 +391,12 @@ class WebClientConfiguration {
         private Proxy proxy;
         private boolean enableAutomaticCookieStore;
         private boolean keepAlive;
+        private WebClientTransport transport;
+        private Http.Version httpVersion = Http.Version.V1_1;
+        private int maxConnectionsPerHost = Integer.MAX_VALUE;
+        private Duration connectionAcquireTimeout = Duration.ofMinutes(1);
+        private Duration connectionIdleTimeout = Duration.ofSeconds(50);
+        private Duration connectionMaxLifetime = Duration.ZERO;
         private WebClientTls webClientTls;
         private URI uri;
         private MessageBodyReaderContext readerContext;
@@ -358,6 +445,60 @@ class WebClientConfiguration {
             return me;
         }
 
+        /**
+         * Maximal number of kept alive connections to a single host. Requests beyond this limit wait
+         * for a connection to be released, at most for {@link #connectionAcquireTimeout(Duration)}.
+         *
+         * @param maxConnectionsPerHost maximal number of connections
+         * @return updated builder instance
+         */
+        @ConfiguredOption("2147483647")
+        public B maxConnectionsPerHost(int maxConnectionsPerHost) {
+            if (maxConnectionsPerHost < 1) {
+                throw new IllegalArgumentException("Max connections per host must be positive: " + maxConnectionsPerHost);
+            }
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return me;
+        }
+
+        /**
+         * How long to wait for a connection when {@link #maxConnectionsPerHost(int)} connections to the host
+         * are in use.
+         *
+         * @param connectionAcquireTimeout connection acquire timeout
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "connection-acquire-timeout-millis", type = Long.class, value = "60000")
+        public B connectionAcquireTimeout(Duration connectionAcquireTimeout) {
+            this.connectionAcquireTimeout = connectionAcquireTimeout;
+            return me;
+        }
+
+        /**
+         * How long a kept alive connection may stay unused before it is closed.
+         *
+         * @param connectionIdleTimeout connection idle timeout
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "connection-idle-timeout-millis", type = Long.class, value = "50000")
+        public B connectionIdleTimeout(Duration connectionIdleTimeout) {
+            this.connectionIdleTimeout = connectionIdleTimeout;
+            return me;
+        }
+
+        /**
+         * How long a kept alive connection may be used. Older connections are closed once they are released.
+         * Defaults to {@link Duration#ZERO}, which means connections are used until closed by either side.
+         *
+         * @param connectionMaxLifetime connection max lifetime
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "connection-max-lifetime-millis", type = Long.class, value = "0")
+        public B connectionMaxLifetime(Duration connectionMaxLifetime) {
+            this.connectionMaxLifetime = connectionMaxLifetime;
+            return me;
+        }
+
         /**
          * Whether to follow any response redirections or not.
          *
@@ -621,6 +762,25 @@ class WebClientConfiguration {
             return me;
         }
 
+        B transport(WebClientTransport transport) {
+            this.transport = transport;
+            return me;
+        }
+
+        /**
+         * Default HTTP version of the requests.
+         * HTTP/2 is negotiated using ALPN over TLS and used with prior knowledge (h2c) without TLS.
+         * Default value is HTTP/1.1.
+         *
+         * @param httpVersion HTTP version
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "http-version", value = "HTTP/1.1")
+        public B httpVersion(Http.Version httpVersion) {
+            this.httpVersion = Objects.requireNonNull(httpVersion, "httpVersion is null");
+            return me;
+        }
+
         /**
          * Configures this {@link WebClientConfiguration.Builder} from the supplied {@link Config}.
          * <table class="config">
@@ -658,6 +818,26 @@ class WebClientConfiguration {
          *     <td>Whether connection should be kept alive</td>
          * </tr>
          * <tr>
+         *     <td>http-version</td>
+         *     <td>Default HTTP version of the requests, {@code HTTP/1.1} or {@code HTTP/2.0}</td>
+         * </tr>
+         * <tr>
+         *     <td>max-connections-per-host</td>
+         *     <td>Maximal number of kept alive connections to a single host</td>
+         * </tr>
+         * <tr>
+         *     <td>connection-acquire-timeout-millis</td>
+         *     <td>How long to wait for a connection when all connections to the host are in use</td>
+         * </tr>
+         * <tr>
+         *     <td>connection-idle-timeout-millis</td>
+         *     <td>How long a kept alive connection may stay unused before it is closed</td>
+         * </tr>
+         * <tr>
+         *     <td>connection-max-lifetime-millis</td>
+         *     <td>How long a kept alive connection may be used</td>
+         * </tr>
+         * <tr>
          *     <td>cookies</td>
          *     <td>Default cookies which should be used</td>
          * </tr>
@@ -688,6 +868,14 @@ class WebClientConfiguration {
             config.get("max-redirects").asInt().ifPresent(this::maxRedirects);
             config.get("user-agent").asString().ifPresent(this::userAgent);
             config.get("keep-alive").asBoolean().ifPresent(this::keepAlive);
+            config.get("http-version").asString().map(Http.Version::create).ifPresent(this::httpVersion);
+            config.get("max-connections-per-host").asInt().ifPresent(this::maxConnectionsPerHost);
+            config.get("connection-acquire-timeout-millis").asLong()
+                    .ifPresent(timeout -> connectionAcquireTimeout(Duration.ofMillis(timeout)));
+            config.get("connection-idle-timeout-millis").asLong()
+                    .ifPresent(timeout -> connectionIdleTimeout(Duration.ofMillis(timeout)));
+            config.get("connection-max-lifetime-millis").asLong()
+                    .ifPresent(lifetime -> connectionMaxLifetime(Duration.ofMillis(lifetime)));
             config.get("cookies").asNode().ifPresent(this::cookies);
             config.get("headers").asNode().ifPresent(this::headers);
             DeprecatedConfig.get(config, "tls", "ssl")
@@ -726,6 +914,12 @@ class WebClientConfiguration {
             writerContextParent(configuration.writerContext);
             context(configuration.context);
             keepAlive(configuration.keepAlive);
+            transport(configuration.transport);
+            httpVersion(configuration.httpVersion);
+            maxConnectionsPerHost(configuration.maxConnectionsPerHost);
+            connectionAcquireTimeout(configuration.connectionAcquireTimeout);
+            connectionIdleTimeout(configuration.connectionIdleTimeout);
+            connectionMaxLifetime(configuration.connectionMaxLifetime);
             validateHeaders(configuration.validateHeaders);
             configuration.cookieManager.defaultCookies().forEach(this::defaultCookie);
             config = configuration.config;
@@ -24,22 +24,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
-import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,8 +63,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.EventLoopGroup;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -75,8 +72,12 @@ import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
 
 /**
  * Implementation of {@link WebClientRequestBuilder}.
@@ -85,7 +86,6 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
 
     private static final Logger LOGGER = Logger.getLogger(WebClientRequestBuilderImpl.class.getName());
 
-    private static final Map<ConnectionIdent, Set<ChannelRecord>> CHANNEL_CACHE = new ConcurrentHashMap<>();
     private static final List<DataPropagationProvider> PROPAGATION_PROVIDERS = HelidonServiceLoader
             .builder(ServiceLoader.load(DataPropagationProvider.class)).build().asList();
 
@@ -115,7 +115,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     }
 
     private final Map<String, String> properties;
-    private final NioEventLoopGroup eventGroup;
+    private final ClientBootstrap bootstrap;
     private final WebClientConfiguration configuration;
     private final Http.RequestMethod method;
     private final WebClientRequestHeaders headers;
@@ -141,11 +141,11 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     private Long requestId;
     private boolean allowChunkedEncoding;
 
-    private WebClientRequestBuilderImpl(NioEventLoopGroup eventGroup,
+    private WebClientRequestBuilderImpl(ClientBootstrap bootstrap,
                                         WebClientConfiguration configuration,
                                         Http.RequestMethod method) {
         this.properties = new HashMap<>();
-        this.eventGroup = eventGroup;
+        this.bootstrap = bootstrap;
         this.configuration = configuration;
         this.method = method;
         this.uri = configuration.uri();
@@ -155,7 +155,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         //Default headers added to the current headers of the request
         this.headers = new WebClientRequestHeadersImpl(this.configuration.headers());
         this.queryParams = new WebClientQueryParams();
-        this.httpVersion = Http.Version.V1_1;
+        this.httpVersion = configuration.httpVersion();
         this.redirectionCount = 0;
         this.services = configuration.clientServices();
         this.readerContext = MessageBodyReaderContext.create(configuration.readerContext());
@@ -172,10 +172,10 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         this.keepAlive = configuration.keepAlive();
     }
 
-    static WebClientRequestBuilder create(NioEventLoopGroup eventGroup,
+    static WebClientRequestBuilder create(ClientBootstrap bootstrap,
                                           WebClientConfiguration configuration,
                                           Http.RequestMethod method) {
-        return new WebClientRequestBuilderImpl(eventGroup, configuration, method);
+        return new WebClientRequestBuilderImpl(bootstrap, configuration, method);
     }
 
     /**
@@ -185,8 +185,9 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
      * @return client request builder
      */
     static WebClientRequestBuilder create(WebClientRequestImpl clientRequest) {
-        WebClientRequestBuilderImpl builder = new WebClientRequestBuilderImpl(NettyClient.eventGroup(),
-                                                                              clientRequest.configuration(),
+        RequestConfiguration configuration = clientRequest.configuration();
+        WebClientRequestBuilderImpl builder = new WebClientRequestBuilderImpl(clientRequest.bootstrap(),
+                                                                              configuration,
                                                                               Http.Method.GET);
         builder.headers(clientRequest.headers());
         builder.queryParams(clientRequest.queryParams());
@@ -202,45 +203,17 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         return builder;
     }
 
-    private static ChannelFuture obtainChannelFuture(RequestConfiguration configuration,
-                                                     Bootstrap bootstrap) {
-        ConnectionIdent connectionIdent = new ConnectionIdent(configuration);
-        Set<ChannelRecord> channels = CHANNEL_CACHE.computeIfAbsent(connectionIdent,
-                                                                    s -> Collections.synchronizedSet(new HashSet<>()));
-        synchronized (channels) {
-            for (ChannelRecord channelRecord : channels) {
-                Channel channel = channelRecord.channel;
-                if (channel.isOpen() && channel.attr(IN_USE).get().compareAndSet(false, true)) {
-                    if (LOGGER.isLoggable(Level.FINEST)) {
-                        LOGGER.finest(() -> "Reusing -> " + channel.hashCode() + ", settting in use -> true");
-                    }
-                    return channelRecord.channelFuture;
-                }
-                if (LOGGER.isLoggable(Level.FINEST)) {
-                    LOGGER.finest(() -> "Not accepted -> " + channel.hashCode() + ", open -> "
-                            + channel.isOpen() + ", in use -> " + channel.attr(IN_USE).get());
-                }
-            }
-            if (LOGGER.isLoggable(Level.FINEST)) {
-                LOGGER.finest(() -> "New connection to -> " + connectionIdent);
+    private static Future<Channel> connect(Bootstrap bootstrap, URI uri) {
+        ChannelFuture connect = bootstrap.connect(uri.getHost(), uri.getPort());
+        Promise<Channel> promise = connect.channel().eventLoop().newPromise();
+        connect.addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                promise.trySuccess(future.channel());
+            } else {
+                promise.tryFailure(future.cause());
             }
-            URI uri = connectionIdent.base;
-            ChannelFuture connect = bootstrap.connect(uri.getHost(), uri.getPort());
-            Channel channel = connect.channel();
-            channel.attr(IN_USE).set(new AtomicBoolean(true));
-            channel.attr(RETURN).set(new AtomicBoolean(false));
-            channel.attr(CONNECTION_IDENT).set(connectionIdent);
-            channels.add(new ChannelRecord(connect));
-            return connect;
-        }
-    }
-
-    static void removeChannelFromCache(ConnectionIdent key, Channel channel) {
-        if (LOGGER.isLoggable(Level.FINEST)) {
-            LOGGER.finest(() -> "Removing from channel cache. Connection ident ->  " + key
-                    + ", channel -> " + channel.hashCode());
-        }
-        CHANNEL_CACHE.get(key).remove(new ChannelRecord(channel));
+        });
+        return promise;
     }
 
     @Override
@@ -524,6 +497,10 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         return context;
     }
 
+    ClientBootstrap clientBootstrap() {
+        return bootstrap;
+    }
+
     private <T> Single<T> invokeWithEntity(Flow.Publisher<DataChunk> requestEntity, GenericType<T> responseType) {
         return invoke(requestEntity)
                 .map(this::getContentFromClientResponse)
@@ -554,7 +531,9 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
             URI requestUri = relativizeNoProxy(finalUri, proxy, configuration.relativeUris());
             requestId = serviceRequest.requestId();
             HttpHeaders headers = toNettyHttpHeaders();
-            DefaultHttpRequest request = new DefaultHttpRequest(toNettyHttpVersion(httpVersion),
+            // HTTP/2 streams use HTTP/1.1 objects translated to frames
+            boolean http2 = httpVersion == Http.Version.V2_0 && proxy.handler(finalUri).isEmpty();
+            DefaultHttpRequest request = new DefaultHttpRequest(http2 ? HttpVersion.HTTP_1_1 : toNettyHttpVersion(httpVersion),
                                                                 toNettyMethod(method),
                                                                 requestUri.toASCIIString(),
                                                                 headers);
@@ -578,33 +557,38 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
 
             CompletableFuture<WebClientResponse> result = new CompletableFuture<>();
 
-            Bootstrap bootstrap = new Bootstrap();
-            bootstrap.group(eventGroup)
-                    .channel(NioSocketChannel.class)
+            Bootstrap bootstrap = this.bootstrap.bootstrap()
                     .handler(new NettyClientInitializer(requestConfiguration))
                     .option(ChannelOption.SO_KEEPALIVE, keepAlive)
                     .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
 
-            ChannelFuture channelFuture = keepAlive
-                    ? obtainChannelFuture(requestConfiguration, bootstrap)
-                    : bootstrap.connect(finalUri.getHost(), finalUri.getPort());
+            Supplier<Future<Channel>> http11Channel = () -> keepAlive
+                    ? ConnectionPool.pool(requestConfiguration, this.bootstrap.eventGroup())
+                            .acquire(bootstrap, this.bootstrap.eventGroup())
+                    : connect(bootstrap, finalUri);
+            Future<Channel> channelFuture = http2
+                    ? Http2Connections.get(requestConfiguration, this.bootstrap.eventGroup())
+                            .openStream(bootstrap, requestConfiguration, http11Channel)
+                    : http11Channel.get();
 
-            channelFuture.addListener((ChannelFutureListener) future -> {
-                if (LOGGER.isLoggable(Level.FINEST)) {
-                    LOGGER.finest(() -> "(client reqID: " + requestId + ") "
-                            + "Channel hashcode -> " + channelFuture.channel().hashCode());
-                }
-                channelFuture.channel().attr(REQUEST).set(clientRequest);
-                channelFuture.channel().attr(RESPONSE_RECEIVED).set(false);
-                channelFuture.channel().attr(RECEIVED).set(responseReceived);
-                channelFuture.channel().attr(COMPLETED).set(complete);
-                channelFuture.channel().attr(WILL_CLOSE).set(!keepAlive);
-                channelFuture.channel().attr(RESULT).set(result);
-                channelFuture.channel().attr(REQUEST_ID).set(requestId);
+            channelFuture.addListener((FutureListener<Channel>) future -> {
                 Throwable cause = future.cause();
                 if (null == cause) {
+                    Channel channel = future.getNow();
+                    if (LOGGER.isLoggable(Level.FINEST)) {
+                        LOGGER.finest(() -> "(client reqID: " + requestId + ") "
+                                + "Channel hashcode -> " + channel.hashCode());
+                    }
+                    channel.attr(REQUEST).set(clientRequest);
+                    channel.attr(RESPONSE_RECEIVED).set(false);
+                    channel.attr(RECEIVED).set(responseReceived);
+                    channel.attr(COMPLETED).set(complete);
+                    // each HTTP/2 stream is used by a single request
+                    channel.attr(WILL_CLOSE).set(!keepAlive || channel instanceof Http2StreamChannel);
+                    channel.attr(RESULT).set(result);
+                    channel.attr(REQUEST_ID).set(requestId);
                     RequestContentSubscriber requestContentSubscriber = new RequestContentSubscriber(request,
-                                                                                                     channelFuture.channel(),
+                                                                                                     channel,
                                                                                                      result,
                                                                                                      sent,
                                                                                                      allowChunkedEncoding);
@@ -944,53 +928,34 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         }
     }
 
-    private static class ChannelRecord {
-
-        private final ChannelFuture channelFuture;
-        private final Channel channel;
-
-        private ChannelRecord(ChannelFuture channelFuture) {
-            this.channelFuture = channelFuture;
-            this.channel = channelFuture.channel();
-        }
-
-        private ChannelRecord(Channel channel) {
-            this.channelFuture = null;
-            this.channel = channel;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            ChannelRecord that = (ChannelRecord) o;
-            //Intentional comparison without equals
-            return channel == that.channel;
-        }
-
-        @Override
-        public int hashCode() {
-            return channel.hashCode();
-        }
-    }
-
     static class ConnectionIdent {
 
+        // connections of clients with different event loops (and transports) are never shared
+        private final EventLoopGroup group;
         private final URI base;
         private final Duration readTimeout;
         private final Proxy proxy;
         private final WebClientTls tls;
+        private final int maxConnections;
+        private final Duration acquireTimeout;
+        private final Duration idleTimeout;
+        private final Duration maxLifetime;
 
-        private ConnectionIdent(RequestConfiguration requestConfiguration) {
+        ConnectionIdent(RequestConfiguration requestConfiguration, EventLoopGroup group) {
+            this.group = group;
             URI uri = requestConfiguration.requestURI();
             this.base = URI.create(uri.getScheme() + "://" + uri.getAuthority());
             this.readTimeout = requestConfiguration.readTimout();
             this.proxy = requestConfiguration.proxy().orElse(null);
             this.tls = requestConfiguration.tls();
+            this.maxConnections = requestConfiguration.maxConnectionsPerHost();
+            this.acquireTimeout = requestConfiguration.connectionAcquireTimeout();
+            this.idleTimeout = requestConfiguration.connectionIdleTimeout();
+            this.maxLifetime = requestConfiguration.connectionMaxLifetime();
+        }
+
+        URI base() {
+            return base;
         }
 
         @Override
@@ -1002,15 +967,20 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
                 return false;
             }
             ConnectionIdent that = (ConnectionIdent) o;
-            return Objects.equals(base, that.base)
+            return group == that.group
+                    && Objects.equals(base, that.base)
                     && Objects.equals(readTimeout, that.readTimeout)
                     && Objects.equals(proxy, that.proxy)
-                    && Objects.equals(tls, that.tls);
+                    && Objects.equals(tls, that.tls)
+                    && maxConnections == that.maxConnections
+                    && Objects.equals(acquireTimeout, that.acquireTimeout)
+                    && Objects.equals(idleTimeout, that.idleTimeout)
+                    && Objects.equals(maxLifetime, that.maxLifetime);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(base, readTimeout, proxy, tls);
+            return Objects.hash(group, base, readTimeout, proxy, tls, maxConnections, acquireTimeout, idleTimeout, maxLifetime);
         }
 
         @Override
@@ -39,6 +39,7 @@ class WebClientRequestImpl implements WebClientRequestBuilder.ClientRequest {
     private final String fragment;
     private final int redirectionCount;
     private final Map<String, String> properties;
+    private final ClientBootstrap bootstrap;
 
     WebClientRequestImpl(WebClientRequestBuilderImpl builder) {
         clientRequestHeaders = new WebClientRequestHeadersImpl(builder.headers());
@@ -53,6 +54,7 @@ class WebClientRequestImpl implements WebClientRequestBuilder.ClientRequest {
         proxy = builder.proxy();
         redirectionCount = builder.redirectionCount();
         properties = Map.copyOf(builder.properties());
+        bootstrap = builder.clientBootstrap();
     }
 
     /**
@@ -64,6 +66,15 @@ class WebClientRequestImpl implements WebClientRequestBuilder.ClientRequest {
         return requestConfiguration;
     }
 
+    /**
+     * Bootstrap the request was sent with, redirects are sent on the same event loops.
+     *
+     * @return client bootstrap
+     */
+    ClientBootstrap bootstrap() {
+        return bootstrap;
+    }
+
     @Override
     public WebClientRequestHeaders headers() {
         return clientRequestHeaders;
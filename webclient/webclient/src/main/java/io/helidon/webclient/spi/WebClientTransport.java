@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient.spi;
+
+import java.util.Optional;
+
+import io.helidon.config.Config;
+
+/**
+ * Transport used by the {@link io.helidon.webclient.WebClient} to open connections, such as a native transport.
+ * <p>
+ * Transports are discovered using the Java service loader, the first available transport is used by clients
+ * that do not have a transport configured explicitly using
+ * {@link io.helidon.webclient.WebClient.Builder#transport(WebClientTransport)}. If no transport is available,
+ * the NIO transport is used.
+ * <p>
+ * Clients without an explicit transport called while processing a request of a Helidon web server do not use
+ * the discovered transport if the server shares its event loops with clients, they open connections
+ * on the server event loops instead.
+ * <p>
+ * The web client requests the following artifacts, each of them once per transport instance:
+ * <ul>
+ *     <li>{@code eventLoopGroup} of type {@code io.netty.channel.EventLoopGroup}, the configuration
+ *     is the {@code client.event-loop} node with the {@code workers} and {@code name-prefix} keys</li>
+ *     <li>{@code channelFactory} of type {@code io.netty.channel.ChannelFactory} creating
+ *     {@code io.netty.channel.socket.SocketChannel} instances</li>
+ * </ul>
+ */
+public interface WebClientTransport {
+
+    /**
+     * Whether this transport can be used on the current platform.
+     *
+     * @return {@code true} if available
+     */
+    boolean isAvailable();
+
+    /**
+     * Creates a transport artifact of the provided type and name, empty if not supported.
+     *
+     * @param artifactType type of the artifact
+     * @param artifactName name of the artifact
+     * @param config       configuration of the artifact
+     * @param <T>          type of the artifact
+     * @return the artifact
+     */
+    <T> Optional<T> createTransportArtifact(Class<T> artifactType, String artifactName, Config config);
+}
@@ -33,6 +33,7 @@ module io.helidon.webclient {
     requires io.netty.buffer;
     requires io.netty.codec;
     requires io.netty.codec.http;
+    requires io.netty.codec.http2;
     requires io.netty.common;
     requires io.netty.handler;
     requires io.netty.handler.proxy;
@@ -44,6 +45,7 @@ module io.helidon.webclient {
     exports io.helidon.webclient.spi;
 
     uses io.helidon.webclient.spi.WebClientServiceProvider;
+    uses io.helidon.webclient.spi.WebClientTransport;
     uses io.helidon.common.context.spi.DataPropagationProvider;
 
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.reactive.Single;
+import io.helidon.config.Config;
+import io.helidon.webclient.spi.WebClientTransport;
+
+import com.sun.net.httpserver.HttpServer;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConnectionPoolTest {
+    private static final Duration TIME_OUT = Duration.ofSeconds(10);
+    private static final List<ConnectionPoolStatistics> POOLS = new CopyOnWriteArrayList<>();
+    private static final List<ConnectionPoolStatistics> REMOVED_POOLS = new CopyOnWriteArrayList<>();
+
+    private ExecutorService exec;
+    private HttpServer server;
+    private volatile CountDownLatch blocked;
+
+    @BeforeAll
+    static void registerListener() {
+        ConnectionPoolStatistics.addListener(POOLS::add);
+        ConnectionPoolStatistics.addRemovalListener(REMOVED_POOLS::add);
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        blocked = new CountDownLatch(0);
+        exec = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                blocked.await(TIME_OUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] entity = "ok".getBytes(StandardCharsets.UTF_8);
+            // client closes connections without this header
+            exchange.getResponseHeaders().add("Connection", "keep-alive");
+            exchange.sendResponseHeaders(200, entity.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(entity);
+            }
+        });
+        server.createContext("/close", exchange -> {
+            byte[] entity = "closed".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Connection", "close");
+            exchange.sendResponseHeaders(200, entity.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(entity);
+            }
+        });
+        server.setExecutor(exec);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        blocked.countDown();
+        server.stop(0);
+        exec.shutdownNow();
+    }
+
+    @Test
+    void reuseConnection() {
+        WebClient webClient = client(WebClient.builder());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(get(webClient).await(TIME_OUT), is("ok"));
+        }
+
+        ConnectionPoolStatistics pool = pool();
+        assertThat(pool.createdConnections(), is(1L));
+        assertThat(pool.openConnections(), is(1));
+        assertThat(pool.idleConnections(), is(1));
+    }
+
+    @Test
+    void maxConnectionsPerHost() {
+        blocked = new CountDownLatch(1);
+        WebClient webClient = client(WebClient.builder()
+                                             .maxConnectionsPerHost(1));
+
+        Single<String> first = get(webClient);
+        Single<String> second = get(webClient);
+        blocked.countDown();
+
+        assertThat(first.await(TIME_OUT), is("ok"));
+        assertThat(second.await(TIME_OUT), is("ok"));
+        ConnectionPoolStatistics pool = pool();
+        assertThat(pool.createdConnections(), is(1L));
+        assertThat(pool.pendingAcquires(), is(0));
+    }
+
+    @Test
+    void acquireTimeout() {
+        blocked = new CountDownLatch(1);
+        WebClient webClient = client(WebClient.builder()
+                                             .maxConnectionsPerHost(1)
+                                             .connectionAcquireTimeout(Duration.ofMillis(100)));
+
+        Single<String> first = get(webClient);
+        CompletionException e = assertThrows(CompletionException.class, () -> get(webClient).await(TIME_OUT));
+        assertThat(e.getCause(), instanceOf(WebClientException.class));
+
+        blocked.countDown();
+        assertThat(first.await(TIME_OUT), is("ok"));
+        ConnectionPoolStatistics pool = pool();
+        assertThat(pool.acquireTimeouts(), is(1L));
+        assertThat(pool.pendingAcquires(), is(0));
+    }
+
+    @Test
+    void discardUnusedPool() throws InterruptedException {
+        WebClient webClient = client(WebClient.builder());
+
+        assertThat(webClient.get().path("/close").request(String.class).await(TIME_OUT), is("closed"));
+        ConnectionPoolStatistics pool = pool();
+        long deadline = System.nanoTime() + TIME_OUT.toNanos();
+        while (!REMOVED_POOLS.contains(pool) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(REMOVED_POOLS.contains(pool), is(true));
+        assertThat(pool.openConnections(), is(0));
+
+        // a new pool is created for the next request
+        assertThat(get(webClient).await(TIME_OUT), is("ok"));
+        assertThat(POOLS.stream().filter(it -> it.endpoint().equals(pool.endpoint())).count(), is(2L));
+    }
+
+    @Test
+    void separatePoolsPerEventLoopGroup() {
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            WebClient defaultClient = client(WebClient.builder());
+            WebClient transportClient = client(WebClient.builder()
+                                                       .transport(new TestTransport(group)));
+
+            assertThat(get(defaultClient).await(TIME_OUT), is("ok"));
+            assertThat(get(transportClient).await(TIME_OUT), is("ok"));
+            int port = server.getAddress().getPort();
+            assertThat(POOLS.stream().filter(pool -> pool.endpoint().getPort() == port).count(), is(2L));
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private WebClient client(WebClient.Builder builder) {
+        return builder.baseUri("http://localhost:" + server.getAddress().getPort())
+                .connectTimeout(TIME_OUT.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static Single<String> get(WebClient webClient) {
+        return webClient.get()
+                .request(String.class);
+    }
+
+    private ConnectionPoolStatistics pool() {
+        int port = server.getAddress().getPort();
+        return POOLS.stream()
+                .filter(pool -> pool.endpoint().getPort() == port)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static final class TestTransport implements WebClientTransport {
+        private final NioEventLoopGroup group;
+
+        private TestTransport(NioEventLoopGroup group) {
+            this.group = group;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Optional<T> createTransportArtifact(Class<T> artifactType, String artifactName, Config config) {
+            if ("eventLoopGroup".equals(artifactName)) {
+                return Optional.of((T) group);
+            } else if ("channelFactory".equals(artifactName)) {
+                ChannelFactory<NioSocketChannel> cf = NioSocketChannel::new;
+                return Optional.of((T) cf);
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.KeyManagerFactory;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrame;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class Http2ClientTest {
+    private static final Duration TIME_OUT = Duration.ofSeconds(10);
+    private static final int LARGE = 1024 * 1024;
+    private static final int FRAME = 16 * 1024;
+    private static final Set<Channel> CONNECTIONS = ConcurrentHashMap.newKeySet();
+    private static final Set<Channel> LIMITED_CONNECTIONS = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger ACTIVE_STREAMS = new AtomicInteger();
+    private static final AtomicInteger MAX_ACTIVE_STREAMS = new AtomicInteger();
+    private static final AtomicLong LARGE_WRITTEN = new AtomicLong();
+
+    private static NioEventLoopGroup group;
+    private static Channel server;
+    private static Channel limitedServer;
+    private static Channel tlsServer;
+
+    @BeforeAll
+    static void startServers() throws Exception {
+        group = new NioEventLoopGroup(1);
+        server = startServer(null, Http2Settings.defaultSettings(), CONNECTIONS);
+        limitedServer = startServer(null, Http2Settings.defaultSettings().maxConcurrentStreams(1), LIMITED_CONNECTIONS);
+        tlsServer = startServer(sslContext(), Http2Settings.defaultSettings(), ConcurrentHashMap.newKeySet());
+    }
+
+    @AfterAll
+    static void stopServers() throws InterruptedException {
+        server.close().sync();
+        limitedServer.close().sync();
+        tlsServer.close().sync();
+        group.shutdownGracefully();
+    }
+
+    @Test
+    void priorKnowledgeMultiplexing() {
+        WebClient webClient = client(server, "http");
+
+        List<Single<WebClientResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responses.add(webClient.get().path("/" + i).request());
+        }
+        for (int i = 0; i < responses.size(); i++) {
+            WebClientResponse response = responses.get(i).await(TIME_OUT);
+            assertThat(response.version(), is(Http.Version.V2_0));
+            assertThat(response.content().as(String.class).await(TIME_OUT), is("/" + i));
+        }
+
+        // all requests share a single connection
+        assertThat(CONNECTIONS.size(), is(1));
+    }
+
+    @Test
+    void alpn() {
+        WebClient webClient = client(tlsServer, "https");
+
+        WebClientResponse response = webClient.get().path("/tls").request().await(TIME_OUT);
+        assertThat(response.version(), is(Http.Version.V2_0));
+        assertThat(response.content().as(String.class).await(TIME_OUT), is("/tls"));
+    }
+
+    @Test
+    void tlsWithoutSslContext() throws InterruptedException {
+        RequestConfiguration configuration = mock(RequestConfiguration.class);
+        when(configuration.requestURI()).thenReturn(URI.create("https://localhost:8443/"));
+        when(configuration.http2SslContext()).thenReturn(Optional.empty());
+        Promise<Channel> ready = ImmediateEventExecutor.INSTANCE.newPromise();
+        NioSocketChannel channel = new NioSocketChannel();
+        group.register(channel).sync();
+
+        new Http2ClientInitializer(configuration, ready).initChannel(channel);
+
+        // fails at once rather than waiting for a TLS handshake that never starts
+        assertThat(ready.cause(), instanceOf(WebClientException.class));
+        assertThat(channel.pipeline().get(ApplicationProtocolNegotiationHandler.class), nullValue());
+        assertThat(channel.closeFuture().await(TIME_OUT.toMillis()), is(true));
+    }
+
+    @Test
+    void requestBody() {
+        WebClient webClient = client(server, "http");
+
+        // larger than the flow control window of the stream
+        Multi<DataChunk> entity = Multi.range(0, LARGE / FRAME)
+                .map(i -> DataChunk.create(new byte[FRAME]));
+        WebClientResponse response = webClient.post().path("/echo").submit(entity).await(TIME_OUT);
+        assertThat(response.version(), is(Http.Version.V2_0));
+        assertThat(response.content().as(String.class).await(TIME_OUT), is(String.valueOf(LARGE)));
+    }
+
+    @Test
+    void maxConcurrentStreams() {
+        WebClient webClient = client(limitedServer, "http");
+
+        // more streams than the server allows are queued rather than failed
+        List<Single<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responses.add(webClient.get().path("/" + i).request(String.class));
+        }
+        for (int i = 0; i < responses.size(); i++) {
+            assertThat(responses.get(i).await(TIME_OUT), is("/" + i));
+        }
+        assertThat(MAX_ACTIVE_STREAMS.get(), is(1));
+        assertThat(LIMITED_CONNECTIONS.size(), is(1));
+    }
+
+    @Test
+    void responseFlowControl() throws InterruptedException {
+        WebClient webClient = client(server, "http");
+
+        WebClientResponse response = webClient.get().path("/large").request().await(TIME_OUT);
+        // the content is not requested yet, the server is stopped by the flow control window
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertThat(LARGE_WRITTEN.get(), lessThan((long) LARGE / 4));
+
+        byte[] content = response.content().as(byte[].class).await(TIME_OUT);
+        assertThat(content.length, is(LARGE));
+        assertThat(LARGE_WRITTEN.get(), lessThanOrEqualTo((long) LARGE));
+    }
+
+    private static WebClient client(Channel server, String scheme) {
+        return WebClient.builder()
+                .baseUri(scheme + "://localhost:" + ((InetSocketAddress) server.localAddress()).getPort())
+                .httpVersion(Http.Version.V2_0)
+                .tls(WebClientTls.builder()
+                             .trustAll(true)
+                             .disableHostnameVerification(true)
+                             .build())
+                .build();
+    }
+
+    private static Channel startServer(SslContext sslContext, Http2Settings settings, Set<Channel> connections)
+            throws InterruptedException {
+        return new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        connections.add(ch);
+                        if (sslContext != null) {
+                            ch.pipeline().addLast(sslContext.newHandler(ch.alloc()));
+                        }
+                        ch.pipeline().addLast(Http2FrameCodecBuilder.forServer().initialSettings(settings).build(),
+                                              new Http2MultiplexHandler(new ChannelInitializer<>() {
+                                                  @Override
+                                                  protected void initChannel(Channel stream) {
+                                                      stream.pipeline().addLast(new StreamHandler());
+                                                  }
+                                              }));
+                    }
+                })
+                .bind(0)
+                .sync()
+                .channel();
+    }
+
+    private static SslContext sslContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Http2ClientTest.class.getResourceAsStream("/client.p12")) {
+            keyStore.load(in, "badssl.com".toCharArray());
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, "badssl.com".toCharArray());
+        return SslContextBuilder.forServer(kmf)
+                .sslProvider(SslProvider.JDK)
+                .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                .applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2,
+                        ApplicationProtocolNames.HTTP_1_1))
+                .build();
+    }
+
+    private static final class StreamHandler extends SimpleChannelInboundHandler<Http2StreamFrame> {
+        private String path;
+        private long received;
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) {
+            if (!LIMITED_CONNECTIONS.contains(ctx.channel().parent())) {
+                return;
+            }
+            MAX_ACTIVE_STREAMS.accumulateAndGet(ACTIVE_STREAMS.incrementAndGet(), Math::max);
+            ctx.channel().closeFuture().addListener(future -> ACTIVE_STREAMS.decrementAndGet());
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, Http2StreamFrame frame) {
+            boolean endStream = false;
+            if (frame instanceof Http2HeadersFrame headersFrame) {
+                path = headersFrame.headers().path().toString();
+                endStream = headersFrame.isEndStream();
+            } else if (frame instanceof Http2DataFrame dataFrame) {
+                received += dataFrame.content().readableBytes();
+                endStream = dataFrame.isEndStream();
+            }
+            if (!endStream) {
+                return;
+            }
+            ctx.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+            switch (path) {
+            case "/echo":
+                ctx.writeAndFlush(new DefaultHttp2DataFrame(Unpooled.copiedBuffer(String.valueOf(received),
+                                                                                  StandardCharsets.UTF_8), true));
+                break;
+            case "/large":
+                for (int i = 0; i < LARGE / FRAME; i++) {
+                    ctx.write(new DefaultHttp2DataFrame(Unpooled.wrappedBuffer(new byte[FRAME]), i == LARGE / FRAME - 1))
+                            .addListener(future -> LARGE_WRITTEN.addAndGet(FRAME));
+                }
+                ctx.flush();
+                break;
+            default:
+                // keeps the stream open for a while, so concurrent streams overlap
+                ctx.executor().schedule(() -> ctx.writeAndFlush(new DefaultHttp2DataFrame(
+                        Unpooled.copiedBuffer(path, StandardCharsets.UTF_8), true)), 50, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
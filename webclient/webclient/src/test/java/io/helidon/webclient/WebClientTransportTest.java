@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.context.Context;
+import io.helidon.common.context.Contexts;
+import io.helidon.config.Config;
+import io.helidon.webclient.spi.WebClientTransport;
+
+import com.sun.net.httpserver.HttpServer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WebClientTransportTest {
+    private static final Duration TIME_OUT = Duration.ofSeconds(10);
+
+    private static HttpServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/", exchange -> {
+            byte[] entity = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, entity.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(entity);
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void customTransport() {
+        TestTransport transport = new TestTransport();
+        for (int i = 0; i < 2; i++) {
+            WebClient webClient = WebClient.builder()
+                    .baseUri("http://localhost:" + server.getAddress().getPort())
+                    .transport(transport)
+                    .keepAlive(false)
+                    .build();
+            assertThat(webClient.get().request(String.class).await(TIME_OUT), is("ok"));
+        }
+
+        // event loops and bootstrap template are shared by clients of the same transport
+        assertThat(transport.eventLoopGroups.get(), is(1));
+        assertThat(transport.channels.get(), is(2));
+        transport.eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    void serverBootstrap() {
+        AtomicInteger channels = new AtomicInteger();
+        NioEventLoopGroup serverGroup = new NioEventLoopGroup(1);
+        // what a web server registers in its context
+        Context serverContext = Context.create();
+        serverContext.register(new Bootstrap()
+                                       .group(serverGroup)
+                                       .channelFactory(() -> {
+                                           channels.incrementAndGet();
+                                           return new NioSocketChannel();
+                                       }));
+        WebClient webClient = WebClient.builder()
+                .baseUri("http://localhost:" + server.getAddress().getPort())
+                .keepAlive(false)
+                .build();
+
+        Contexts.runInContext(Context.create(serverContext),
+                              () -> assertThat(webClient.get().request(String.class).await(TIME_OUT), is("ok")));
+        assertThat(channels.get(), is(1));
+
+        // not used outside of the server requests, nor once the server event loops shut down
+        assertThat(webClient.get().request(String.class).await(TIME_OUT), is("ok"));
+        serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).awaitUninterruptibly();
+        Contexts.runInContext(Context.create(serverContext),
+                              () -> assertThat(webClient.get().request(String.class).await(TIME_OUT), is("ok")));
+        assertThat(channels.get(), is(1));
+    }
+
+    private static final class TestTransport implements WebClientTransport {
+        private final AtomicInteger eventLoopGroups = new AtomicInteger();
+        private final AtomicInteger channels = new AtomicInteger();
+        private final NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Optional<T> createTransportArtifact(Class<T> artifactType, String artifactName, Config config) {
+            if (EventLoopGroup.class.isAssignableFrom(artifactType) && "eventLoopGroup".equals(artifactName)) {
+                eventLoopGroups.incrementAndGet();
+                return Optional.of((T) eventLoopGroup);
+            } else if (ChannelFactory.class.isAssignableFrom(artifactType) && "channelFactory".equals(artifactName)) {
+                ChannelFactory<NioSocketChannel> cf = () -> {
+                    channels.incrementAndGet();
+                    return new NioSocketChannel();
+                };
+                return Optional.of((T) cf);
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,4 +49,18 @@ public interface AccessLogEntry extends Handler {
      * @return string representation of a log entry (such as a formatted date time, response time etc.)
      */
     String apply(AccessLogContext context);
+
+    /**
+     * This method is called once the response is fully processed, to append the log entry to the record
+     * being created. The builder is reused for other records, implementations must not keep a reference to it.
+     * <p>
+     * The default implementation appends the result of {@link #apply(AccessLogContext)}, implementations may
+     * override it to append without creating an intermediate string.
+     *
+     * @param context context with access to information useful for access log entries
+     * @param builder builder of the access log record to append to
+     */
+    default void append(AccessLogContext context, StringBuilder builder) {
+        builder.append(apply(context));
+    }
 }
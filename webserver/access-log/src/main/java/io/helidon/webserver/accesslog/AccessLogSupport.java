@@ -47,16 +47,25 @@ public final class AccessLogSupport implements Service {
      */
     public static final String DEFAULT_LOGGER_NAME = "io.helidon.webserver.AccessLog";
     private static final Pattern HEADER_ENTRY_PATTERN = Pattern.compile("%\\{(.*?)}i");
+    private static final int MAX_CACHED_BUILDER_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> RECORD_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
 
     private final List<AccessLogEntry> logFormat;
     private final Logger logger;
     private final boolean enabled;
     private final Clock clock;
     private final List<PathMatcher> excludePaths;
+    private final AsyncAccessLogWriter writer;
+    private final boolean closeWriter;
+
+    // guarded by this
+    private int webServerCounter;
 
     private AccessLogSupport(Builder builder) {
         this.enabled = builder.enabled;
-        this.logFormat = builder.entries;
+        this.logFormat = List.copyOf(builder.entries);
+        this.writer = builder.writer;
+        this.closeWriter = builder.closeWriter;
         this.clock = builder.clock;
         this.logger = Logger.getLogger(builder.loggerName);
 
@@ -102,10 +111,38 @@ public final class AccessLogSupport implements Service {
     @Override
     public void update(Routing.Rules rules) {
         if (enabled) {
+            if (closeWriter) {
+                rules.onNewWebServer(ws -> {
+                    webServerStarted();
+                    ws.whenShutdown().thenRun(this::webServerStopped);
+                });
+            }
             rules.any(this::handle);
         }
     }
 
+    private synchronized void webServerStarted() {
+        webServerCounter++;
+    }
+
+    private synchronized void webServerStopped() {
+        webServerCounter--;
+        if (webServerCounter <= 0) {
+            webServerCounter = 0;
+            // created from configuration, nobody else can close it
+            writer.close();
+        }
+    }
+
+    /**
+     * Asynchronous writer of the records.
+     *
+     * @return writer, or {@code null} if records are logged with the logger
+     */
+    AsyncAccessLogWriter writer() {
+        return writer;
+    }
+
     private void handle(ServerRequest req, ServerResponse res) {
         // Check if this path should be excluded from access log
         if (excludePaths.size() > 0) {
@@ -134,7 +171,11 @@ public final class AccessLogSupport implements Service {
     }
 
     private void log(ServerRequest req, ServerResponse res, ZonedDateTime timeStart, long nanoStart) {
-        logger.log(Level.INFO, createLogRecord(req, res, timeStart, nanoStart, ZonedDateTime.now(clock), System.nanoTime()));
+        if (writer != null) {
+            writer.offer(createLogRecord(req, res, timeStart, nanoStart, ZonedDateTime.now(clock), System.nanoTime()));
+        } else if (logger.isLoggable(Level.INFO)) {
+            logger.log(Level.INFO, createLogRecord(req, res, timeStart, nanoStart, ZonedDateTime.now(clock), System.nanoTime()));
+        }
     }
 
     String createLogRecord(ServerRequest req,
@@ -175,18 +216,23 @@ public final class AccessLogSupport implements Service {
                 return res;
             }
         };
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = RECORD_BUILDER.get();
+        sb.setLength(0);
 
         for (AccessLogEntry entry : logFormat) {
-            sb.append(entry.apply(ctx));
-            sb.append(" ");
+            entry.append(ctx, sb);
+            sb.append(' ');
         }
 
         if (sb.length() > 1) {
             sb.setLength(sb.length() - 1);
         }
 
-        return sb.toString();
+        String record = sb.toString();
+        if (sb.capacity() > MAX_CACHED_BUILDER_CAPACITY) {
+            RECORD_BUILDER.remove();
+        }
+        return record;
     }
 
     List<PathMatcher> excludePaths() {
@@ -222,6 +268,8 @@ public final class AccessLogSupport implements Service {
         private String loggerName = DEFAULT_LOGGER_NAME;
         private boolean enabled = true;
         private List<String> excludePaths;
+        private AsyncAccessLogWriter writer;
+        private boolean closeWriter;
 
         private Builder() {
         }
@@ -427,6 +475,30 @@ public final class AccessLogSupport implements Service {
             config.get("logger-name").asString().ifPresent(this::loggerName);
             config.get("format").asString().ifPresent(this::configLogFormat);
             config.get("exclude-paths").asList(String.class).ifPresent(this::excludePaths);
+            if (enabled) {
+                config.get("async-file").ifExists(it -> {
+                    writer(AsyncAccessLogWriter.create(it));
+                    closeWriter = true;
+                });
+            }
+            return this;
+        }
+
+        /**
+         * Write the access log records to a file from a background thread instead of logging them
+         * with the {@link #loggerName(String) logger}. Records are not written synchronously
+         * on the request completion path.
+         * <p>
+         * The writer is not closed by this support, a writer configured with {@code async-file}
+         * is closed once all web servers using this support are stopped.
+         *
+         * @param writer asynchronous writer to a rolling file
+         * @return updated builder instance
+         * @see io.helidon.webserver.accesslog.AsyncAccessLogWriter
+         */
+        public Builder writer(AsyncAccessLogWriter writer) {
+            this.writer = writer;
+            this.closeWriter = false;
             return this;
         }
 
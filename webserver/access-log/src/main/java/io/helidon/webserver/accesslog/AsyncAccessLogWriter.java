@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.config.Config;
+
+/**
+ * Writes access log records to a rolling file from a background thread.
+ * <p>
+ * Records are put into a bounded lock-free ring buffer on the request completion path and written to the file
+ * in batches. When the buffer is full, as the file cannot be written fast enough, records are dropped
+ * and their number is logged. When the file reaches its maximal size, it is renamed with an index suffix
+ * ({@code access.log.1}, {@code access.log.2} etc.) and a new file is started.
+ * <p>
+ * The writer thread is a daemon thread. Records buffered on shutdown are written by a shutdown hook,
+ * or by {@link #close()}.
+ */
+public final class AsyncAccessLogWriter implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(AsyncAccessLogWriter.class.getName());
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int BATCH_SIZE = 64 * 1024;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final RingBuffer buffer;
+    private final Path path;
+    private final long maxFileSize;
+    private final int fileCount;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private final Object writeLock = new Object();
+    private final ByteBuffer batch = ByteBuffer.allocate(BATCH_SIZE);
+
+    private volatile boolean closed;
+    // guarded by writeLock
+    private FileChannel channel;
+    private long fileSize;
+    // guarded by writeLock, once set the file is never opened again
+    private boolean fileClosed;
+
+    private AsyncAccessLogWriter(Builder builder) {
+        this.buffer = new RingBuffer(builder.queueCapacity);
+        this.path = builder.path;
+        this.maxFileSize = builder.maxFileSize;
+        this.fileCount = builder.fileCount;
+        this.writerThread = new Thread(this::run, "helidon-access-log-writer");
+        this.writerThread.setDaemon(true);
+        this.shutdownHook = new Thread(this::writeBuffered, "helidon-access-log-shutdown");
+    }
+
+    /**
+     * Create a new writer to a file with default configuration.
+     *
+     * @param path path of the access log file
+     * @return a new started writer
+     */
+    public static AsyncAccessLogWriter create(Path path) {
+        return builder().path(path).build();
+    }
+
+    /**
+     * Create a new writer configured from {@link Config}.
+     *
+     * @param config configuration of the writer
+     * @return a new started writer
+     */
+    public static AsyncAccessLogWriter create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Submit a record to be written. Never blocks, the record is dropped if the buffer is full.
+     *
+     * @param record access log record, without line separator
+     * @return {@code true} if the record was buffered, {@code false} if it was dropped
+     */
+    public boolean offer(String record) {
+        if (!closed && buffer.offer(record)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Write the buffered records and close the file. Records submitted afterwards are dropped.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writerThread);
+        synchronized (writeLock) {
+            writeBuffered();
+            closeFile();
+            // records offered concurrently with close must not reopen the file
+            fileClosed = true;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // shutdown in progress
+        }
+    }
+
+    /**
+     * Number of records dropped since this writer was created, as the buffer was full.
+     *
+     * @return dropped records
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    private AsyncAccessLogWriter start() {
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        return this;
+    }
+
+    private void run() {
+        long reportedDropped = 0;
+        while (!closed) {
+            if (!writeBuffered()) {
+                long droppedNow = dropped.get();
+                if (droppedNow != reportedDropped) {
+                    long count = droppedNow - reportedDropped;
+                    LOGGER.warning(() -> "Dropped " + count + " access log records, as the buffer of " + buffer.capacity()
+                            + " records was full");
+                    reportedDropped = droppedNow;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Write the buffered records in batches.
+     *
+     * @return {@code true} if any record was written
+     */
+    private boolean writeBuffered() {
+        boolean written = false;
+        synchronized (writeLock) {
+            if (fileClosed) {
+                return false;
+            }
+            String record;
+            while ((record = buffer.poll()) != null) {
+                byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+                int length = bytes.length + LINE_SEPARATOR.length;
+                if (batch.position() > 0
+                        && (batch.remaining() < length || fileSize + batch.position() + length > maxFileSize)) {
+                    flush();
+                }
+                if (fileSize > 0 && fileSize + length > maxFileSize) {
+                    roll();
+                }
+                if (batch.remaining() < length) {
+                    // larger than the batch buffer
+                    write(ByteBuffer.wrap(bytes));
+                    write(ByteBuffer.wrap(LINE_SEPARATOR));
+                } else {
+                    batch.put(bytes).put(LINE_SEPARATOR);
+                }
+                written = true;
+            }
+            flush();
+        }
+        return written;
+    }
+
+    private void flush() {
+        if (batch.position() > 0) {
+            batch.flip();
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(ByteBuffer bytes) {
+        try {
+            if (channel == null) {
+                openFile();
+            }
+            fileSize += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write access log records to " + path, e);
+            closeFile();
+        }
+    }
+
+    private void roll() {
+        closeFile();
+        try {
+            rollFiles();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to roll over access log file " + path, e);
+        }
+        fileSize = 0;
+    }
+
+    private void openFile() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void closeFile() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to close access log file " + path, e);
+            }
+            channel = null;
+        }
+    }
+
+    private void rollFiles() throws IOException {
+        if (fileCount <= 1) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        Files.deleteIfExists(rolled(fileCount - 1));
+        for (int i = fileCount - 2; i > 0; i--) {
+            Path rolled = rolled(i);
+            if (Files.exists(rolled)) {
+                Files.move(rolled, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rolled(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    /**
+     * Bounded multi-producer single-consumer queue of records. Each slot has a sequence number, a producer claims
+     * a slot by moving the tail if the slot is free for its sequence, the consumer frees the slot for the next round.
+     */
+    static final class RingBuffer {
+        private final AtomicReferenceArray<String> records;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final int mask;
+        // only accessed by the consumer
+        private long head;
+
+        RingBuffer(int capacity) {
+            int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+            this.records = new AtomicReferenceArray<>(size);
+            this.sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+            this.mask = size - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        boolean offer(String record) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) position & mask;
+                long sequence = sequences.get(index);
+                if (sequence == position) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        records.lazySet(index, record);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                } else if (sequence < position) {
+                    // slot not consumed yet, buffer is full
+                    return false;
+                }
+                // another producer claimed the slot, retry
+            }
+        }
+
+        String poll() {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+            String record = records.get(index);
+            records.lazySet(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            return record;
+        }
+    }
+
+    /**
+     * A fluent API builder for {@link io.helidon.webserver.accesslog.AsyncAccessLogWriter}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Builder, AsyncAccessLogWriter> {
+        private Path path = Paths.get("access.log");
+        private long maxFileSize = 10 * 1024 * 1024;
+        private int fileCount = 10;
+        private int queueCapacity = 8192;
+
+        private Builder() {
+        }
+
+        /**
+         * Build and start the writer.
+         *
+         * @return a new started writer
+         */
+        @Override
+        public AsyncAccessLogWriter build() {
+            return new AsyncAccessLogWriter(this).start();
+        }
+
+        /**
+         * Update this builder from configuration.
+         *
+         * @param config configuration with writer options
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("path").as(Path.class).ifPresent(this::path);
+            config.get("max-file-size").asLong().ifPresent(this::maxFileSize);
+            config.get("file-count").asInt().ifPresent(this::fileCount);
+            config.get("queue-capacity").asInt().ifPresent(this::queueCapacity);
+            return this;
+        }
+
+        /**
+         * Path of the access log file.
+         * Defaults to {@code access.log}.
+         *
+         * @param path path of the file
+         * @return updated builder instance
+         */
+        public Builder path(Path path) {
+            this.path = Objects.requireNonNull(path);
+            return this;
+        }
+
+        /**
+         * Size of the file in bytes at which it is rolled over.
+         * Defaults to 10 MiB.
+         *
+         * @param maxFileSize maximal file size
+         * @return updated builder instance
+         */
+        public Builder maxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+        /**
+         * Number of files to keep, including the current one.
+         * Defaults to {@code 10}.
+         *
+         * @param fileCount number of files
+         * @return updated builder instance
+         */
+        public Builder fileCount(int fileCount) {
+            this.fileCount = fileCount;
+            return this;
+        }
+
+        /**
+         * Number of records buffered before new records are dropped, rounded up to a power of two.
+         * Defaults to {@code 8192}.
+         *
+         * @param queueCapacity capacity of the buffer
+         * @return updated builder instance
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+    }
+}
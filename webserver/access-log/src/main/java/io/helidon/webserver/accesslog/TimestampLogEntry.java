@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,20 +15,27 @@
  */
 package io.helidon.webserver.accesslog;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Access log entry for timestamp.
  * Default time format is {@value DEFAULT_FORMAT}.
+ * With the default format, the formatted timestamp is reused for requests started within the same second.
  */
 public final class TimestampLogEntry extends AbstractLogEntry {
     private static final String DEFAULT_FORMAT = "'['dd/MMM/YYYY:HH:mm:ss ZZZ']'";
     private static final DateTimeFormatter DEFAULT_FORMATTER = DateTimeFormatter.ofPattern(DEFAULT_FORMAT);
     private final DateTimeFormatter formatter;
+    private final boolean cacheable;
+    private volatile CachedTimestamp cached;
 
     private TimestampLogEntry(Builder builder) {
         super(builder);
         this.formatter = builder.formatter;
+        // custom formats may contain fractions of a second
+        this.cacheable = builder.formatter == DEFAULT_FORMATTER;
     }
 
     /**
@@ -52,7 +59,20 @@ public final class TimestampLogEntry extends AbstractLogEntry {
 
     @Override
     public String doApply(AccessLogContext context) {
-        return formatter.format(context.requestDateTime());
+        ZonedDateTime dateTime = context.requestDateTime();
+        if (!cacheable) {
+            return formatter.format(dateTime);
+        }
+        long second = dateTime.toEpochSecond();
+        CachedTimestamp timestamp = cached;
+        if (timestamp == null || timestamp.second() != second || !timestamp.zone().equals(dateTime.getZone())) {
+            timestamp = new CachedTimestamp(second, dateTime.getZone(), formatter.format(dateTime));
+            cached = timestamp;
+        }
+        return timestamp.formatted();
+    }
+
+    private record CachedTimestamp(long second, ZoneId zone, String formatted) {
     }
 
     /**
@@ -16,23 +16,35 @@
 
 package io.helidon.webserver.accesslog;
 
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import io.helidon.common.context.Context;
 import io.helidon.common.http.Http;
 import io.helidon.common.http.HttpRequest;
+import io.helidon.common.reactive.Single;
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
 import io.helidon.webserver.PathMatcher;
 import io.helidon.webserver.RequestHeaders;
+import io.helidon.webserver.Routing;
 import io.helidon.webserver.ServerRequest;
 import io.helidon.webserver.ServerResponse;
+import io.helidon.webserver.WebServer;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -172,4 +184,26 @@ class AccessLogSupportTest {
         assertThat(pathMatcher2.match("/health").matches(), is(true));
         assertThat(pathMatcher2.match("/healthy").matches(), is(true));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConfiguredWriterClosedOnShutdown(@TempDir Path dir) {
+        AccessLogSupport accessLog = AccessLogSupport.create(Config.create(ConfigSources.create(Map.of(
+                "async-file.path", dir.resolve("access.log").toString()))));
+        AsyncAccessLogWriter writer = accessLog.writer();
+
+        Routing.Rules rules = mock(Routing.Rules.class);
+        accessLog.update(rules);
+        ArgumentCaptor<Consumer<WebServer>> onNewWebServer = ArgumentCaptor.forClass(Consumer.class);
+        verify(rules).onNewWebServer(onNewWebServer.capture());
+
+        CompletableFuture<WebServer> shutdown = new CompletableFuture<>();
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.whenShutdown()).thenReturn(Single.create(shutdown));
+        onNewWebServer.getValue().accept(webServer);
+
+        assertThat(writer.offer("record"), is(true));
+        shutdown.complete(webServer);
+        assertThat(writer.offer("record"), is(false));
+    }
 }
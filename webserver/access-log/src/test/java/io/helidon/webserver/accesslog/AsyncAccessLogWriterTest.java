@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.accesslog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link AsyncAccessLogWriter}.
+ */
+class AsyncAccessLogWriterTest {
+
+    @Test
+    void testWrite(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("access.log");
+        try (AsyncAccessLogWriter writer = AsyncAccessLogWriter.create(file)) {
+            for (int i = 0; i < 1000; i++) {
+                assertThat(writer.offer("record " + i), is(true));
+            }
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.size(), is(1000));
+        for (int i = 0; i < 1000; i++) {
+            assertThat(lines.get(i), is("record " + i));
+        }
+    }
+
+    @Test
+    void testRollOverFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("access.log");
+        int recordLength = 100 - System.lineSeparator().length();
+        AsyncAccessLogWriter writer = AsyncAccessLogWriter.builder()
+                .path(file)
+                .maxFileSize(1000)
+                .fileCount(3)
+                .queueCapacity(64)
+                .build();
+        for (int i = 0; i < 35; i++) {
+            writer.offer(String.format("%0" + recordLength + "d", i));
+        }
+        writer.close();
+
+        // 10 records of 100 bytes per file, the last 2 files are kept besides the current one
+        assertThat(Files.exists(dir.resolve("access.log.3")), is(false));
+        assertThat(record(Files.readAllLines(dir.resolve("access.log.2")), 0), is(10));
+        assertThat(record(Files.readAllLines(dir.resolve("access.log.1")), 9), is(29));
+        List<String> current = Files.readAllLines(file);
+        assertThat(current.size(), is(5));
+        assertThat(record(current, 4), is(34));
+    }
+
+    @Test
+    void testFullBuffer() {
+        AsyncAccessLogWriter.RingBuffer buffer = new AsyncAccessLogWriter.RingBuffer(4);
+        assertThat(buffer.capacity(), is(4));
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer("record " + i), is(true));
+        }
+        assertThat(buffer.offer("dropped"), is(false));
+        assertThat(buffer.poll(), is("record 0"));
+        assertThat(buffer.offer("record 4"), is(true));
+        for (int i = 1; i < 5; i++) {
+            assertThat(buffer.poll(), is("record " + i));
+        }
+        assertThat(buffer.poll(), is(nullValue()));
+    }
+
+    private static int record(List<String> lines, int index) {
+        return Integer.parseInt(lines.get(index));
+    }
+}
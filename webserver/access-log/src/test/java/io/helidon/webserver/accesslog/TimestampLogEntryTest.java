@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,8 @@ import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -66,4 +68,20 @@ class TimestampLogEntryTest {
 
         assertThat(value, is(dateTimeFormatter.format(TEST_TIME)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCachedWithinSecond() {
+        TimestampLogEntry entry = TimestampLogEntry.create();
+        ZonedDateTime start = TEST_TIME.withNano(0);
+
+        AccessLogContext context = mock(AccessLogContext.class);
+        when(context.requestDateTime()).thenReturn(start, start.plusNanos(999_000_000), start.plusSeconds(1));
+
+        String first = entry.doApply(context);
+        assertThat(entry.doApply(context), sameInstance(first));
+        String next = entry.doApply(context);
+        assertThat(next, is(not(first)));
+        assertThat(next.substring(1, next.length() - 1),
+                   is(DateTimeFormatter.ofPattern("dd/MMM/YYYY:HH:mm:ss ZZZ").format(start.plusSeconds(1))));
+    }
+}
@@ -36,6 +36,7 @@ import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandler;
 import io.netty.handler.codec.http2.InboundHttp2ToHttpAdapter;
 import io.netty.handler.logging.LogLevel;
+import io.netty.handler.stream.ChunkedWriteHandler;
 
 /**
  * Class HelidonConnectionHandler.
@@ -55,6 +56,10 @@ class HelidonConnectionHandler extends HttpToHttp2ConnectionHandler implements H
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
         ctx.pipeline().addLast(new ResetStreamChannelAdapter());
+        // HTTP/2 frames cannot carry file regions, files are streamed in chunks read from the file instead
+        if (ctx.pipeline().get(ChunkedWriteHandler.class) == null) {
+            ctx.pipeline().addLast(new ChunkedWriteHandler());
+        }
         super.handlerAdded(ctx);
     }
 
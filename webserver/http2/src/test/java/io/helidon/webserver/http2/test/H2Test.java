@@ -22,7 +22,10 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Random;
 
 import io.helidon.common.LogConfig;
 import io.helidon.common.http.Http;
@@ -36,6 +39,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static io.helidon.common.http.Http.Method.GET;
 
@@ -44,10 +48,18 @@ class H2Test {
     private static WebServer webServer;
     private static HttpClient httpClient;
     private static WebClient webClient;
+    private static byte[] fileContent;
+
+    @TempDir
+    static Path tempDir;
 
     @BeforeAll
     public static void startServer() throws Exception {
         LogConfig.configureRuntime();
+        // more than one file region
+        fileContent = new byte[5 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(fileContent);
+        Path file = Files.write(tempDir.resolve("file.bin"), fileContent);
         webServer = WebServer.builder()
                 .defaultSocket(s -> s
                         .bindAddress("localhost")
@@ -55,6 +67,7 @@ class H2Test {
                 )
                 .routing(r -> r
                         .get("/", (req, res) -> res.send("HTTP Version " + req.version()))
+                        .get("/file", (req, res) -> res.send(file))
                         .route(Http1Route.route(GET, "/versionspecific", (req, res) -> res.send("HTTP/1.1 route")))
                         .route(Http2Route.route(GET, "/versionspecific", (req, res) -> res.send("HTTP/2 route")))
 
@@ -82,6 +95,17 @@ class H2Test {
         Assertions.assertEquals("HTTP Version V2_0", webClientGet("/", Http.Version.V2_0).content().as(String.class).await());
     }
 
+    @Test
+    void fileHttp20() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .uri(URI.create("http://localhost:" + webServer.port() + "/file"))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        Assertions.assertEquals(HttpClient.Version.HTTP_2, response.version());
+        Assertions.assertArrayEquals(fileContent, response.body());
+    }
+
     @Test
     void genericHttp11() throws IOException, InterruptedException {
         Assertions.assertEquals("HTTP Version V1_1", httpClientGet("/", HttpClient.Version.HTTP_1_1).body());
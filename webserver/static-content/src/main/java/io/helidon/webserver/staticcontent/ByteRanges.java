@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileRegionDataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Multi;
+import io.helidon.webserver.HttpException;
+import io.helidon.webserver.RequestHeaders;
+import io.helidon.webserver.ResponseHeaders;
+import io.helidon.webserver.ServerResponse;
+
+/**
+ * Support for range requests as specified by
+ * <a href="https://tools.ietf.org/html/rfc7233">RFC 7233 Range Requests</a>.
+ * <p>
+ * A single range is sent as the content of the response, multiple ranges as a {@code multipart/byteranges} entity.
+ * Overlapping and adjacent ranges are coalesced, so a request cannot make the response larger than the content.
+ * Only the requested bytes of the content are ever read.
+ */
+final class ByteRanges {
+    /**
+     * Requests with more ranges are served with the full content, as they are either invalid or abusive.
+     */
+    static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes";
+    // size of the parts of a file read into memory when filters need the bytes
+    private static final int FILTERED_REGION_SIZE = 64 * 1024;
+
+    private final List<long[]> ranges;
+    private final long length;
+
+    private ByteRanges(List<long[]> ranges, long length) {
+        this.ranges = ranges;
+        this.length = length;
+    }
+
+    /**
+     * Parses the {@code Range} header of the request.
+     *
+     * @param requestHeaders  request headers
+     * @param responseHeaders response headers, to add {@code Content-Range} of a not satisfiable request
+     * @param etag            entity tag of the content (without quotes), may be {@code null}
+     * @param lastModified    last modification of the content, may be {@code null}
+     * @param length          length of the content
+     * @return ranges to send, empty if the full content should be sent
+     * @throws io.helidon.webserver.HttpException with status {@code 416} if none of the ranges can be satisfied
+     */
+    static Optional<ByteRanges> create(RequestHeaders requestHeaders,
+                                       ResponseHeaders responseHeaders,
+                                       String etag,
+                                       Instant lastModified,
+                                       long length) {
+        Optional<String> rangeHeader = requestHeaders.first(Http.Header.RANGE);
+        if (rangeHeader.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<String> ifRange = requestHeaders.first(Http.Header.IF_RANGE);
+        if (ifRange.isPresent() && !ifRangeMatches(ifRange.get().trim(), etag, lastModified)) {
+            return Optional.empty();
+        }
+
+        String value = rangeHeader.get().trim();
+        int eq = value.indexOf('=');
+        if (eq < 0 || !value.substring(0, eq).trim().equalsIgnoreCase(BYTES_UNIT)) {
+            return Optional.empty();
+        }
+        String[] specs = value.substring(eq + 1).split(",");
+        if (specs.length > MAX_RANGES) {
+            return Optional.empty();
+        }
+
+        List<long[]> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            long[] range;
+            try {
+                range = parseRange(spec.trim(), length);
+            } catch (NumberFormatException e) {
+                // syntactically invalid, ignore the header
+                return Optional.empty();
+            }
+            if (range != null) {
+                ranges.add(range);
+            }
+        }
+        if (ranges.isEmpty()) {
+            responseHeaders.put(Http.Header.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+            throw new HttpException("Requested range not satisfiable", Http.Status.REQUESTED_RANGE_NOT_SATISFIABLE_416);
+        }
+        return Optional.of(new ByteRanges(coalesce(ranges), length));
+    }
+
+    /**
+     * Sends the ranges of a file.
+     *
+     * @param response    response to send
+     * @param contentType content type of the file
+     * @param path        the file
+     */
+    void send(ServerResponse response, MediaType contentType, Path path) {
+        // filters need the bytes, the file is then read in small parts as they are requested
+        boolean filtered = response.writerContext().hasFilters();
+        int maxRegionSize = filtered ? FILTERED_REGION_SIZE : FileRegionDataChunk.MAX_REGION_SIZE;
+        send(response, contentType, filtered, (position, count, chunks) -> {
+            long end = position + count;
+            for (long regionStart = position; regionStart < end; regionStart += maxRegionSize) {
+                int regionSize = (int) Math.min(maxRegionSize, end - regionStart);
+                chunks.add(FileRegionDataChunk.create(path, regionStart, regionSize));
+            }
+        });
+    }
+
+    /**
+     * Sends the ranges of content held in memory.
+     *
+     * @param response    response to send
+     * @param contentType content type of the content
+     * @param buffer      the content
+     */
+    void send(ServerResponse response, MediaType contentType, ByteBuffer buffer) {
+        send(response, contentType, false, (position, count, chunks) -> {
+            ByteBuffer slice = buffer.duplicate()
+                    .position((int) position)
+                    .limit((int) (position + count));
+            chunks.add(DataChunk.create(false, true, slice));
+        });
+    }
+
+    private void send(ServerResponse response, MediaType contentType, boolean materialize, Content content) {
+        response.status(Http.Status.PARTIAL_CONTENT_206);
+        List<DataChunk> chunks = new ArrayList<>();
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            long count = range[1] - range[0] + 1;
+            response.headers().put(Http.Header.CONTENT_RANGE, contentRange(range));
+            response.headers().contentType(contentType);
+            response.headers().contentLength(count);
+            content.addChunks(range[0], count, chunks);
+        } else {
+            String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            long contentLength = 0;
+            for (long[] range : ranges) {
+                byte[] partHeaders = ("\r\n--" + boundary + "\r\n"
+                        + Http.Header.CONTENT_TYPE + ": " + contentType + "\r\n"
+                        + Http.Header.CONTENT_RANGE + ": " + contentRange(range) + "\r\n"
+                        + "\r\n").getBytes(StandardCharsets.US_ASCII);
+                long count = range[1] - range[0] + 1;
+                chunks.add(DataChunk.create(partHeaders));
+                content.addChunks(range[0], count, chunks);
+                contentLength += partHeaders.length + count;
+            }
+            byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+            chunks.add(DataChunk.create(end));
+            contentLength += end.length;
+
+            response.headers().contentType(MediaType.builder()
+                                                   .type("multipart")
+                                                   .subtype("byteranges")
+                                                   .addParameter("boundary", boundary)
+                                                   .build());
+            response.headers().contentLength(contentLength);
+        }
+        Multi<DataChunk> publisher = Multi.create(chunks);
+        if (materialize) {
+            publisher = publisher.map(ByteRanges::materialize);
+        }
+        response.send(publisher);
+    }
+
+    private static DataChunk materialize(DataChunk chunk) {
+        if (chunk instanceof FileRegionDataChunk region) {
+            return DataChunk.create(false, true, region.data());
+        }
+        return chunk;
+    }
+
+    /**
+     * Merges overlapping and adjacent ranges, as recommended by RFC 7233.
+     *
+     * @param ranges satisfiable ranges in the requested order
+     * @return ranges ordered by position, none of them overlapping or adjacent
+     */
+    private static List<long[]> coalesce(List<long[]> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+        List<long[]> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> result = new ArrayList<>(sorted.size());
+        long[] current = sorted.get(0);
+        for (int i = 1; i < sorted.size(); i++) {
+            long[] next = sorted.get(i);
+            if (next[0] <= current[1] + 1) {
+                current = new long[] {current[0], Math.max(current[1], next[1])};
+            } else {
+                result.add(current);
+                current = next;
+            }
+        }
+        result.add(current);
+        return result;
+    }
+
+    private String contentRange(long[] range) {
+        return BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + length;
+    }
+
+    /**
+     * Parses a single range specification.
+     *
+     * @return first and last position of the range, {@code null} if not satisfiable
+     */
+    private static long[] parseRange(String spec, long length) {
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            throw new NumberFormatException("Missing '-' in range " + spec);
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        if (first.isEmpty()) {
+            // suffix range - last N bytes
+            long suffixLength = parseNonNegative(last);
+            if (suffixLength == 0 || length == 0) {
+                return null;
+            }
+            return new long[] {Math.max(0, length - suffixLength), length - 1};
+        }
+        long firstPos = parseNonNegative(first);
+        long lastPos = length - 1;
+        if (!last.isEmpty()) {
+            lastPos = parseNonNegative(last);
+            if (lastPos < firstPos) {
+                throw new NumberFormatException("Invalid range " + spec);
+            }
+        }
+        if (firstPos >= length) {
+            return null;
+        }
+        return new long[] {firstPos, Math.min(lastPos, length - 1)};
+    }
+
+    private static long parseNonNegative(String number) {
+        long result = Long.parseLong(number);
+        if (result < 0 || number.charAt(0) == '+') {
+            throw new NumberFormatException("Invalid range position " + number);
+        }
+        return result;
+    }
+
+    private static boolean ifRangeMatches(String ifRange, String etag, Instant lastModified) {
+        if (ifRange.startsWith("\"")) {
+            // only a strong comparison is allowed
+            return etag != null && ifRange.equals('"' + etag + '"');
+        }
+        if (ifRange.startsWith("W/") || ifRange.startsWith("w/")) {
+            return false;
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            return Http.DateTime.parse(ifRange).toEpochSecond() == lastModified.getEpochSecond();
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Content {
+        void addChunks(long position, long count, List<DataChunk> chunks);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,9 +101,15 @@ class ClassPathContentHandler extends FileBasedContentHandler {
             return false;
         }
 
+        if (sendCached(method, requestedResource, request, response)) {
+            return true;
+        }
+
         // try to find the resource on classpath (cannot use root URL and then resolve, as root and sub-resource
         // may be from different jar files/directories
         URL url = classLoader.getResource(resource);
+        // content of a welcome file cannot be cached for the directory, as requests without trailing slash redirect
+        String cacheKey = requestedResource;
 
         String welcomeFileName = welcomePageName();
         if (null != welcomeFileName) {
@@ -115,6 +121,7 @@ class ClassPathContentHandler extends FileBasedContentHandler {
                 if (rawFullPath.endsWith("/")) {
                     // this is OK, as the path ends with a forward slash
                     url = welcomeUrl;
+                    cacheKey = null;
                 } else {
                     // must redirect
                     redirect(request, response, rawFullPath + "/");
@@ -134,10 +141,10 @@ class ClassPathContentHandler extends FileBasedContentHandler {
         // now read the URL - we have direct support for files and jar files, others are handled by stream only
         switch (url.getProtocol()) {
         case "file":
-            sendFile(method, Paths.get(url.toURI()), request, response, welcomePageName());
+            sendFile(method, Paths.get(url.toURI()), request, response, welcomePageName(), cacheKey);
             break;
         case "jar":
-            return sendJar(method, requestedResource, url, request, response);
+            return sendJar(method, requestedResource, url, request, response, cacheKey);
         default:
             sendUrlStream(method, url, request, response);
             break;
@@ -150,7 +157,8 @@ class ClassPathContentHandler extends FileBasedContentHandler {
                     String requestedResource,
                     URL url,
                     ServerRequest request,
-                    ServerResponse response) {
+                    ServerResponse response,
+                    String cacheKey) throws IOException {
 
         LOGGER.fine(() -> "Sending static content from classpath: " + url);
 
@@ -159,22 +167,26 @@ class ClassPathContentHandler extends FileBasedContentHandler {
         if (extrEntry.tempFile == null) {
             return false;
         }
+
+        String entryName = (extrEntry.entryName == null) ? fileName(url) : extrEntry.entryName;
+
+        if (cacheKey != null && cacheContent(cacheKey, extrEntry.tempFile, extrEntry.lastModified, entryName)
+                && sendCached(method, cacheKey, request, response)) {
+            return true;
+        }
+
+        String etag = null;
         if (extrEntry.lastModified != null) {
-            processEtag(String.valueOf(extrEntry.lastModified.toEpochMilli()), request.headers(), response.headers());
+            etag = String.valueOf(extrEntry.lastModified.toEpochMilli());
+            processEtag(etag, request.headers(), response.headers());
             processModifyHeaders(extrEntry.lastModified, request.headers(), response.headers());
         }
 
-        String entryName = (extrEntry.entryName == null) ? fileName(url) : extrEntry.entryName;
-
         processContentType(entryName,
                            request.headers(),
                            response.headers());
 
-        if (method == Http.Method.HEAD) {
-            response.send();
-        } else {
-            send(response, extrEntry.tempFile);
-        }
+        send(method, request, response, extrEntry.tempFile, etag, extrEntry.lastModified);
 
         return true;
     }
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Single;
+import io.helidon.webserver.RequestHeaders;
+import io.helidon.webserver.ResponseHeaders;
+import io.helidon.webserver.ServerResponse;
+
+/**
+ * In memory cache of small static content files, evicting the least recently used files once the configured
+ * number of bytes is exceeded.
+ * <p>
+ * Content of a file is kept in a direct buffer together with the values of the caching headers, so a cached file is
+ * served without copying it to user space. The buffers are not pooled: an entry is allocated once and lives until it
+ * is evicted or replaced, while responses writing it may still be in progress, so a pooled buffer could not be
+ * returned on eviction. Memory of evicted entries is bounded by the cache size and reclaimed once their buffers are
+ * garbage collected.
+ * <p>
+ * If precompressed variants are enabled, {@code brotli} and {@code gzip} variants are loaded from {@code .br} and
+ * {@code .gz} files next to the cached file. If there is no {@code .gz} file, a {@code gzip} variant is compressed in
+ * the background and added to the entry once done, until then the content is served without it.
+ * <p>
+ * Callers validate an entry against the file before using it and {@link #remove(String, CachedContent) remove}
+ * entries of modified or deleted files.
+ * <p>
+ * Files that are too large to be cached are remembered together with their last modification time, so they are not
+ * checked again until they are modified.
+ */
+class ContentCache {
+    private static final String BROTLI = "br";
+    private static final String GZIP = "gzip";
+    private static final int MAX_TOO_LARGE_ENTRIES = 1000;
+
+    private final long maxSize;
+    private final int maxEntrySize;
+    private final boolean precompressed;
+    private final LinkedHashMap<String, CachedContent> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Instant> tooLarge = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+            return size() > MAX_TOO_LARGE_ENTRIES;
+        }
+    };
+    private long size;
+
+    ContentCache(long maxSize, int maxEntrySize, boolean precompressed) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+        this.precompressed = precompressed;
+    }
+
+    /**
+     * Cached content for the key.
+     *
+     * @param key resolved path of the resource
+     * @return cached content or {@code null} if not cached
+     */
+    synchronized CachedContent get(String key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Reads the file into the cache, if it is small enough.
+     *
+     * @param key          resolved path of the resource
+     * @param path         file to read
+     * @param lastModified last modification time of the file, may be {@code null}
+     * @param mediaType    media type detected from the file name, if any
+     */
+    void put(String key, Path path, Instant lastModified, Optional<MediaType> mediaType) {
+        if (isTooLarge(key, lastModified)) {
+            return;
+        }
+        try {
+            if (Files.size(path) > maxEntrySize) {
+                tooLarge(key, lastModified);
+                return;
+            }
+            byte[] bytes = Files.readAllBytes(path);
+            if (bytes.length > maxEntrySize) {
+                tooLarge(key, lastModified);
+                return;
+            }
+            String etag = (lastModified == null) ? null : String.valueOf(lastModified.toEpochMilli());
+            Variant identity = new Variant(null, etag, bytes);
+            Variant brotli = null;
+            Variant gzip = null;
+            if (precompressed) {
+                brotli = sibling(path, ".br", BROTLI, etag);
+                gzip = sibling(path, ".gz", GZIP, etag);
+            }
+            CachedContent content = new CachedContent(identity, brotli, gzip, lastModified, mediaType);
+            if (add(key, content) && precompressed && gzip == null) {
+                // compression is not done on the request thread
+                CompletableFuture.supplyAsync(() -> gzip(bytes, etag))
+                        .thenAccept(compressed -> {
+                            if (compressed != null) {
+                                addGzip(key, content, compressed);
+                            }
+                        });
+            }
+        } catch (IOException e) {
+            // content will not be cached, the file will be served from the file system
+        }
+    }
+
+    /**
+     * Removes the entry, if it was not replaced in the meantime.
+     *
+     * @param key     resolved path of the resource
+     * @param content the entry to remove
+     */
+    synchronized void remove(String key, CachedContent content) {
+        if (cache.remove(key, content)) {
+            size -= content.size;
+        }
+    }
+
+    synchronized void clear() {
+        cache.clear();
+        tooLarge.clear();
+        size = 0;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Keys of cached entries with their sizes, from the least recently used.
+     *
+     * @return cached entries
+     */
+    synchronized Map<String, Long> entries() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        cache.forEach((key, value) -> result.put(key, value.size));
+        return result;
+    }
+
+    private synchronized boolean isTooLarge(String key, Instant lastModified) {
+        return lastModified != null && lastModified.equals(tooLarge.get(key));
+    }
+
+    private synchronized void tooLarge(String key, Instant lastModified) {
+        if (lastModified != null) {
+            tooLarge.put(key, lastModified);
+        }
+    }
+
+    private synchronized boolean add(String key, CachedContent content) {
+        if (content.size > maxSize) {
+            tooLarge(key, content.lastModified);
+            return false;
+        }
+        CachedContent previous = cache.put(key, content);
+        if (previous != null) {
+            size -= previous.size;
+        }
+        size += content.size;
+        Iterator<CachedContent> iterator = cache.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            CachedContent eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.size;
+        }
+        return true;
+    }
+
+    private synchronized void addGzip(String key, CachedContent content, Variant gzip) {
+        // the entry may have been evicted or replaced while compressing
+        if (cache.get(key) == content && content.size + gzip.size() <= maxSize) {
+            add(key, new CachedContent(content.identity, content.brotli, gzip, content.lastModified, content.mediaType));
+        }
+    }
+
+    private Variant sibling(Path path, String suffix, String encoding, String etag) throws IOException {
+        Path sibling = path.resolveSibling(path.getFileName() + suffix);
+        if (!Files.isRegularFile(sibling) || Files.size(sibling) > maxEntrySize) {
+            return null;
+        }
+        return new Variant(encoding, variantEtag(etag, encoding), Files.readAllBytes(sibling));
+    }
+
+    private static Variant gzip(byte[] bytes, String etag) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            // cannot happen when writing to memory, served without the variant
+            return null;
+        }
+        byte[] compressed = baos.toByteArray();
+        if (compressed.length >= bytes.length) {
+            // not worth it, such as already compressed images
+            return null;
+        }
+        return new Variant(GZIP, variantEtag(etag, GZIP), compressed);
+    }
+
+    private static String variantEtag(String etag, String encoding) {
+        return (etag == null) ? null : etag + "-" + encoding;
+    }
+
+    /**
+     * Content of a single file with its precompressed variants.
+     */
+    static final class CachedContent {
+        private final Variant identity;
+        private final Variant brotli;
+        private final Variant gzip;
+        private final Instant lastModified;
+        private final Optional<MediaType> mediaType;
+        private final long size;
+
+        private CachedContent(Variant identity,
+                              Variant brotli,
+                              Variant gzip,
+                              Instant lastModified,
+                              Optional<MediaType> mediaType) {
+            this.identity = identity;
+            this.brotli = brotli;
+            this.gzip = gzip;
+            this.lastModified = lastModified;
+            this.mediaType = mediaType;
+            this.size = identity.size() + ((brotli == null) ? 0 : brotli.size()) + ((gzip == null) ? 0 : gzip.size());
+        }
+
+        Instant lastModified() {
+            return lastModified;
+        }
+
+        Optional<MediaType> mediaType() {
+            return mediaType;
+        }
+
+        Variant identity() {
+            return identity;
+        }
+
+        boolean hasVariants() {
+            return brotli != null || gzip != null;
+        }
+
+        /**
+         * Selects the variant to send based on the {@code Accept-Encoding} request header.
+         *
+         * @param requestHeaders request headers
+         * @return the best accepted variant
+         */
+        Variant variant(RequestHeaders requestHeaders) {
+            if (!hasVariants()) {
+                return identity;
+            }
+            List<String> acceptEncodings = requestHeaders.values(Http.Header.ACCEPT_ENCODING);
+            if (acceptEncodings.isEmpty()) {
+                return identity;
+            }
+            if (brotli != null && accepts(acceptEncodings, BROTLI)) {
+                return brotli;
+            }
+            if (gzip != null && accepts(acceptEncodings, GZIP)) {
+                return gzip;
+            }
+            return identity;
+        }
+
+        private static boolean accepts(List<String> acceptEncodings, String encoding) {
+            // an explicitly listed coding takes precedence over "*", wherever it is listed
+            boolean wildcard = false;
+            for (String value : acceptEncodings) {
+                for (String coding : value.split(",")) {
+                    int index = coding.indexOf(';');
+                    String name = ((index < 0) ? coding : coding.substring(0, index)).trim();
+                    boolean accepted = index < 0 || !isZeroQuality(coding.substring(index + 1));
+                    if (name.equalsIgnoreCase(encoding)) {
+                        return accepted;
+                    }
+                    if (name.equals("*")) {
+                        wildcard = accepted;
+                    }
+                }
+            }
+            return wildcard;
+        }
+
+        private static boolean isZeroQuality(String parameters) {
+            String param = parameters.trim();
+            if (!param.startsWith("q=")) {
+                return false;
+            }
+            try {
+                return Double.parseDouble(param.substring(2).trim()) == 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Bytes of the content in a single encoding.
+     */
+    static final class Variant {
+        private final String encoding;
+        private final String etag;
+        private final ByteBuffer buffer;
+
+        private Variant(String encoding, String etag, byte[] bytes) {
+            this.encoding = encoding;
+            this.etag = etag;
+            this.buffer = ByteBuffer.allocateDirect(bytes.length)
+                    .put(bytes)
+                    .flip()
+                    .asReadOnlyBuffer();
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        int size() {
+            return buffer.capacity();
+        }
+
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * Sets the content encoding header of this variant.
+         *
+         * @param responseHeaders response headers
+         */
+        void headers(ResponseHeaders responseHeaders) {
+            if (encoding != null) {
+                responseHeaders.put(Http.Header.CONTENT_ENCODING, encoding);
+            }
+        }
+
+        /**
+         * Sends the bytes of this variant.
+         *
+         * @param response response to send
+         * @param head     whether to only send the headers, for a {@code HEAD} request
+         */
+        void send(ServerResponse response, boolean head) {
+            response.headers().contentLength(buffer.capacity());
+            if (head) {
+                response.send();
+                return;
+            }
+            // each response reads its own view of the shared buffer
+            response.send(Single.just(DataChunk.create(false, true, buffer.duplicate())));
+        }
+    }
+}
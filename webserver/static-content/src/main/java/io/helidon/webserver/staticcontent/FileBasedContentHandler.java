@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,11 +42,26 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
     private static final MessageBodyWriter<Path> PATH_WRITER = DefaultMediaSupport.pathWriter();
 
     private final Map<String, MediaType> customMediaTypes;
+    private final ContentCache contentCache;
 
     FileBasedContentHandler(StaticContentSupport.FileBasedBuilder<?> builder) {
         super(builder);
 
         this.customMediaTypes = builder.specificContentTypes();
+        if (builder.contentCacheSize() > 0) {
+            this.contentCache = new ContentCache(builder.contentCacheSize(),
+                                                 builder.contentCacheMaxFileSize(),
+                                                 builder.precompressedContent());
+        } else {
+            this.contentCache = null;
+        }
+    }
+
+    @Override
+    void releaseCache() {
+        if (contentCache != null) {
+            contentCache.clear();
+        }
     }
 
     static String fileName(Path path) {
@@ -92,12 +107,26 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
         Objects.requireNonNull(fileName);
         Objects.requireNonNull(requestHeaders);
 
+        return acceptedType(detectedType(fileName), requestHeaders);
+    }
+
+    /**
+     * Media type of a file based on its name.
+     *
+     * @param fileName a filename
+     * @return the custom media type if defined, otherwise the detected media type
+     */
+    private Optional<MediaType> detectedType(String fileName) {
         // first try to see if we have an override
         // then find if we have a detected type
-        // then check the type is accepted by the request
         return findCustomMediaType(fileName)
                 .or(() -> MediaTypes.detectType(fileName)
-                        .map(MediaType::parse))
+                        .map(MediaType::parse));
+    }
+
+    private static MediaType acceptedType(Optional<MediaType> detectedType, RequestHeaders requestHeaders) {
+        // check the type is accepted by the request
+        return detectedType
                 .map(it -> {
                     if (requestHeaders.isAccepted(it)) {
                         return it;
@@ -131,7 +160,8 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
                   Path pathParam,
                   ServerRequest request,
                   ServerResponse response,
-                  String welcomePage)
+                  String welcomePage,
+                  String cacheKey)
             throws IOException {
 
         LOGGER.fine(() -> "Sending static content from file: " + pathParam);
@@ -144,6 +174,8 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
             if (rawFullPath.endsWith("/")) {
                 // Try to found welcome file
                 path = resolveWelcomeFile(path, welcomePage);
+                // the same key is used for requests that must be redirected
+                cacheKey = null;
             } else {
                 // Or redirect to slash ended
                 redirect(request, response, rawFullPath + "/");
@@ -156,23 +188,186 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
             throw new HttpException("File is not accessible", Http.Status.FORBIDDEN_403);
         }
 
-        // Caching headers support
+        Instant lastMod;
         try {
-            Instant lastMod = Files.getLastModifiedTime(path).toInstant();
-            processEtag(String.valueOf(lastMod.toEpochMilli()), request.headers(), response.headers());
-            processModifyHeaders(lastMod, request.headers(), response.headers());
+            lastMod = Files.getLastModifiedTime(path).toInstant();
         } catch (IOException | SecurityException e) {
             // Cannot get mod time or size - well, we cannot tell if it was modified or not. Don't support cache headers
+            lastMod = null;
+        }
+
+        if (cacheKey != null && cacheContent(cacheKey, path, lastMod, fileName(path))
+                && sendCached(method, cacheKey, request, response)) {
+            return;
+        }
+
+        // Caching headers support
+        String etag = null;
+        if (lastMod != null) {
+            etag = String.valueOf(lastMod.toEpochMilli());
+            processEtag(etag, request.headers(), response.headers());
+            processModifyHeaders(lastMod, request.headers(), response.headers());
         }
 
         processContentType(fileName(path), request.headers(), response.headers());
+        send(method, request, response, path, etag, lastMod);
+    }
+
+    /**
+     * Sends the file, or only the ranges of it requested by the {@code Range} header.
+     *
+     * @param method       GET or HEAD HTTP method
+     * @param request      an HTTP request
+     * @param response     an HTTP response with content type already set
+     * @param path         file to send
+     * @param etag         entity tag of the file, may be {@code null}
+     * @param lastModified last modification of the file, may be {@code null}
+     * @throws IOException if the size of the file cannot be determined
+     */
+    void send(Http.RequestMethod method,
+              ServerRequest request,
+              ServerResponse response,
+              Path path,
+              String etag,
+              Instant lastModified) throws IOException {
+        response.headers().put(Http.Header.ACCEPT_RANGES, "bytes");
         if (method == Http.Method.HEAD) {
             response.send();
+            return;
+        }
+        Optional<ByteRanges> ranges = ByteRanges.create(request.headers(),
+                                                        response.headers(),
+                                                        etag,
+                                                        lastModified,
+                                                        Files.size(path));
+        if (ranges.isPresent()) {
+            ranges.get().send(response, contentType(response), path);
         } else {
             send(response, path);
         }
     }
 
+    /**
+     * Reads the file into the in memory cache, if the cache is enabled.
+     *
+     * @param cacheKey     resolved path of the requested resource
+     * @param path         file to cache
+     * @param lastModified last modification time of the file, may be {@code null}
+     * @param fileName     name used to detect the media type
+     * @return {@code true} if the cache is enabled
+     */
+    boolean cacheContent(String cacheKey, Path path, Instant lastModified, String fileName) {
+        if (contentCache == null) {
+            return false;
+        }
+        contentCache.put(cacheKey, path, lastModified, detectedType(fileName));
+        return true;
+    }
+
+    /**
+     * Sends the content from the in memory cache, choosing a precompressed variant if accepted by the request.
+     *
+     * @param method   GET or HEAD HTTP method
+     * @param cacheKey resolved path of the requested resource
+     * @param request  an HTTP request
+     * @param response an HTTP response
+     * @return {@code true} only if the content was cached and sent
+     */
+    boolean sendCached(Http.RequestMethod method, String cacheKey, ServerRequest request, ServerResponse response) {
+        if (contentCache == null) {
+            return false;
+        }
+        ContentCache.CachedContent content = contentCache.get(cacheKey);
+        if (content == null) {
+            return false;
+        }
+        return sendCached(method, cacheKey, content, request, response);
+    }
+
+    /**
+     * Sends the content of a file from the in memory cache, if the file was not modified since it was cached.
+     * The cached content of a modified or deleted file is removed from the cache.
+     *
+     * @param method   GET or HEAD HTTP method
+     * @param cacheKey resolved path of the requested resource
+     * @param path     the cached file
+     * @param request  an HTTP request
+     * @param response an HTTP response
+     * @return {@code true} only if the content was cached, is up-to-date and was sent
+     */
+    boolean sendCached(Http.RequestMethod method,
+                       String cacheKey,
+                       Path path,
+                       ServerRequest request,
+                       ServerResponse response) {
+        if (contentCache == null) {
+            return false;
+        }
+        ContentCache.CachedContent content = contentCache.get(cacheKey);
+        if (content == null) {
+            return false;
+        }
+        Instant lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException | SecurityException e) {
+            // deleted or no longer accessible
+            LOGGER.finest(() -> "Removing static content of an inaccessible file from cache: " + cacheKey);
+            contentCache.remove(cacheKey, content);
+            return false;
+        }
+        if (!lastModified.equals(content.lastModified())) {
+            LOGGER.finest(() -> "Removing static content of a modified file from cache: " + cacheKey);
+            contentCache.remove(cacheKey, content);
+            return false;
+        }
+        return sendCached(method, cacheKey, content, request, response);
+    }
+
+    private boolean sendCached(Http.RequestMethod method,
+                               String cacheKey,
+                               ContentCache.CachedContent content,
+                               ServerRequest request,
+                               ServerResponse response) {
+        LOGGER.finest(() -> "Sending cached static content: " + cacheKey);
+
+        // ranges are always served from the content without encoding
+        boolean rangeRequest = method == Http.Method.GET && request.headers().first(Http.Header.RANGE).isPresent();
+        ContentCache.Variant variant = rangeRequest ? content.identity() : content.variant(request.headers());
+        if (content.hasVariants()) {
+            response.headers().add(Http.Header.VARY, Http.Header.ACCEPT_ENCODING);
+        }
+        if (content.lastModified() != null) {
+            processEtag(variant.etag(), request.headers(), response.headers());
+            processModifyHeaders(content.lastModified(), request.headers(), response.headers());
+        }
+        response.headers().contentType(acceptedType(content.mediaType(), request.headers()));
+        response.headers().put(Http.Header.ACCEPT_RANGES, "bytes");
+        variant.headers(response.headers());
+        if (method == Http.Method.HEAD) {
+            variant.send(response, true);
+            return true;
+        }
+        Optional<ByteRanges> ranges = Optional.empty();
+        if (rangeRequest) {
+            ranges = ByteRanges.create(request.headers(),
+                                       response.headers(),
+                                       variant.etag(),
+                                       content.lastModified(),
+                                       variant.size());
+        }
+        if (ranges.isPresent()) {
+            ranges.get().send(response, contentType(response), variant.buffer());
+        } else {
+            variant.send(response, false);
+        }
+        return true;
+    }
+
+    private static MediaType contentType(ServerResponse response) {
+        return response.headers().contentType().orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
     void send(ServerResponse response, Path path) {
         response.send(PATH_WRITER.marshall(path));
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -57,12 +57,17 @@ class FileSystemContentHandler extends FileBasedContentHandler {
     }
 
     boolean doHandle(Http.RequestMethod method, Path path, ServerRequest request, ServerResponse response) throws IOException {
+        String cacheKey = path.toString();
+        if (sendCached(method, cacheKey, path, request, response)) {
+            return true;
+        }
+
         // Check existence
         if (!Files.exists(path)) {
             return false;
         }
 
-        sendFile(method, path, request, response, welcomePageName());
+        sendFile(method, path, request, response, welcomePageName(), cacheKey);
 
         return true;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -187,7 +187,15 @@ public interface StaticContentSupport extends Service {
      */
     @SuppressWarnings("unchecked")
     abstract class FileBasedBuilder<T extends FileBasedBuilder<T>> extends StaticContentSupport.Builder<FileBasedBuilder<T>> {
+        /**
+         * Default maximal size of a file cached in memory.
+         */
+        public static final int DEFAULT_CONTENT_CACHE_MAX_FILE_SIZE = 64 * 1024;
+
         private final Map<String, MediaType> specificContentTypes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private long contentCacheSize;
+        private int contentCacheMaxFileSize = DEFAULT_CONTENT_CACHE_MAX_FILE_SIZE;
+        private boolean precompressedContent;
 
         /**
          * Maps a filename extension to the response content type.
@@ -217,9 +225,75 @@ public interface StaticContentSupport extends Service {
             return (T) this;
         }
 
+        /**
+         * Maximal number of bytes of static content kept in memory. Small files are read into memory on first
+         * request and served from memory afterwards, evicting the least recently used files once this size is
+         * exceeded. Files served from the file system are checked for modification on each request, and the cached
+         * content of modified or deleted files is dropped. Changes of cached classpath resources are not detected
+         * until the web server is restarted.
+         * Defaults to {@code 0}, which disables the cache.
+         *
+         * @param contentCacheSize maximal size of the cache in bytes
+         * @return updated builder
+         * @throws IllegalArgumentException if {@code contentCacheSize} is negative
+         */
+        public T contentCacheSize(long contentCacheSize) {
+            if (contentCacheSize < 0) {
+                throw new IllegalArgumentException("Parameter 'contentCacheSize' cannot be negative!");
+            }
+            this.contentCacheSize = contentCacheSize;
+            return (T) this;
+        }
+
+        /**
+         * Maximal size of a single file to be cached in memory.
+         * The limit applies to the file and to each of its precompressed variants separately.
+         * Defaults to {@value #DEFAULT_CONTENT_CACHE_MAX_FILE_SIZE} bytes.
+         *
+         * @param contentCacheMaxFileSize maximal size of a cached file in bytes
+         * @return updated builder
+         * @throws IllegalArgumentException if {@code contentCacheMaxFileSize} is negative
+         * @see #contentCacheSize(long)
+         */
+        public T contentCacheMaxFileSize(int contentCacheMaxFileSize) {
+            if (contentCacheMaxFileSize < 0) {
+                throw new IllegalArgumentException("Parameter 'contentCacheMaxFileSize' cannot be negative!");
+            }
+            this.contentCacheMaxFileSize = contentCacheMaxFileSize;
+            return (T) this;
+        }
+
+        /**
+         * Whether to keep precompressed variants of cached files. When enabled, a {@code foo.js.br} or
+         * {@code foo.js.gz} file next to {@code foo.js} is cached with it and sent to clients that accept
+         * {@code br} or {@code gzip} content encoding. If there is no {@code .gz} file, the content is compressed
+         * using {@code gzip} when it is cached.
+         * Has no effect unless the cache is enabled. Defaults to {@code false}.
+         *
+         * @param precompressedContent whether to cache compressed variants of files
+         * @return updated builder
+         * @see #contentCacheSize(long)
+         */
+        public T precompressedContent(boolean precompressedContent) {
+            this.precompressedContent = precompressedContent;
+            return (T) this;
+        }
+
         Map<String, MediaType> specificContentTypes() {
             return specificContentTypes;
         }
+
+        long contentCacheSize() {
+            return contentCacheSize;
+        }
+
+        int contentCacheMaxFileSize() {
+            return contentCacheMaxFileSize;
+        }
+
+        boolean precompressedContent() {
+            return precompressedContent;
+        }
     }
 
     /**
@@ -188,4 +188,22 @@ public class ClassPathContentHandlerTest {
                 .get();
         assertThat(response.status(), is(Http.Status.NOT_FOUND_404));
     }
+
+    @Test
+    public void serveRangeFromJar() throws Exception {
+        Routing routing = Routing.builder()
+                .register("/some", StaticContentSupport.create("s-internal"))
+                .build();
+        String content = FileSystemContentHandlerTest.responseToString(TestClient.create(routing)
+                                                                               .path("/some/example-a.txt")
+                                                                               .get());
+        TestResponse response = TestClient.create(routing)
+                .path("/some/example-a.txt")
+                .header(Http.Header.RANGE, "bytes=-10")
+                .get();
+        assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+        assertThat(FileSystemContentHandlerTest.responseToString(response), is(content.substring(content.length() - 10)));
+        assertThat(response.headers().first(Http.Header.CONTENT_RANGE),
+                   is(Optional.of("bytes " + (content.length() - 10) + "-" + (content.length() - 1) + "/" + content.length())));
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import io.helidon.common.http.Http;
+import io.helidon.webserver.RequestHeaders;
+import io.helidon.webserver.testsupport.TemporaryFolder;
+import io.helidon.webserver.testsupport.TemporaryFolderExtension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link io.helidon.webserver.staticcontent.ContentCache}.
+ */
+@ExtendWith(TemporaryFolderExtension.class)
+public class ContentCacheTest {
+
+    private TemporaryFolder folder;
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws IOException {
+        Path root = folder.root().toPath();
+        ContentCache cache = new ContentCache(250, 100, false);
+        for (String name : List.of("a", "b", "c")) {
+            cache.put(name, Files.write(root.resolve(name), new byte[100]), null, Optional.empty());
+        }
+        assertThat(List.copyOf(cache.entries().keySet()), is(List.of("b", "c")));
+        assertThat(cache.size(), is(200L));
+
+        cache.get("b");
+        cache.put("d", Files.write(root.resolve("d"), new byte[50]), null, Optional.empty());
+        assertThat(List.copyOf(cache.entries().keySet()), is(List.of("c", "b", "d")));
+        assertThat(cache.size(), is(250L));
+
+        cache.put("e", Files.write(root.resolve("e"), new byte[101]), null, Optional.empty());
+        assertThat(cache.get("e") == null, is(true));
+
+        cache.clear();
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void createsGzipVariant() throws IOException, InterruptedException {
+        Path root = folder.root().toPath();
+        ContentCache cache = new ContentCache(10_000, 1_000, true);
+        byte[] bytes = "Hello Helidon ".repeat(50).getBytes();
+        cache.put("hello.txt", Files.write(root.resolve("hello.txt"), bytes), null, Optional.empty());
+
+        // compressed in the background
+        ContentCache.CachedContent content = cache.get("hello.txt");
+        for (int i = 0; i < 100 && !content.hasVariants(); i++) {
+            Thread.sleep(50);
+            content = cache.get("hello.txt");
+        }
+        assertThat(content.hasVariants(), is(true));
+        assertThat(cache.size() > bytes.length, is(true));
+        RequestHeaders req = mock(RequestHeaders.class);
+        when(req.values(Http.Header.ACCEPT_ENCODING)).thenReturn(List.of("gzip"));
+        assertThat(content.variant(req).size() < bytes.length, is(true));
+
+        when(req.values(Http.Header.ACCEPT_ENCODING)).thenReturn(List.of("deflate"));
+        assertThat(content.variant(req).size(), is(bytes.length));
+    }
+
+    @Test
+    public void removesEntry() throws IOException {
+        Path root = folder.root().toPath();
+        ContentCache cache = new ContentCache(1_000, 100, false);
+        cache.put("a", Files.write(root.resolve("a"), new byte[10]), null, Optional.empty());
+        ContentCache.CachedContent content = cache.get("a");
+        cache.put("a", Files.write(root.resolve("a"), new byte[20]), null, Optional.empty());
+
+        // replaced entry is not removed
+        cache.remove("a", content);
+        assertThat(cache.size(), is(20L));
+
+        cache.remove("a", cache.get("a"));
+        assertThat(cache.get("a") == null, is(true));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void remembersTooLargeFiles() throws IOException {
+        Path root = folder.root().toPath();
+        ContentCache cache = new ContentCache(1_000, 100, false);
+        Instant modified = Instant.ofEpochMilli(1_000_000);
+        Path file = Files.write(root.resolve("large"), new byte[101]);
+        cache.put("large", file, modified, Optional.empty());
+        assertThat(cache.get("large") == null, is(true));
+
+        // same modification time, the file is not checked again
+        Files.write(file, new byte[10]);
+        cache.put("large", file, modified, Optional.empty());
+        assertThat(cache.get("large") == null, is(true));
+
+        Instant changed = modified.plusSeconds(1);
+        Files.setLastModifiedTime(file, FileTime.from(changed));
+        cache.put("large", file, changed, Optional.empty());
+        assertThat(cache.get("large") == null, is(false));
+        assertThat(cache.size(), is(10L));
+    }
+}
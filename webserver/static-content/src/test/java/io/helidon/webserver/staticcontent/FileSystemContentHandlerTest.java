@@ -20,12 +20,15 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.Http;
 import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Multi;
 import io.helidon.webserver.Routing;
 import io.helidon.webserver.testsupport.TemporaryFolder;
 import io.helidon.webserver.testsupport.TemporaryFolderExtension;
@@ -151,4 +154,270 @@ public class FileSystemContentHandlerTest {
         assertThat(responseToString(response), is("A CSS"));
         assertThat(response.headers().first(Http.Header.CONTENT_TYPE).orElse(null), is(MediaType.TEXT_PLAIN.toString()));
     }
+
+    @Test
+    public void serveCached() throws Exception {
+        Path root = folder.root().toPath();
+        Routing routing = Routing.builder()
+                .register(StaticContentSupport.builder(root)
+                                  .welcomeFileName("index.html")
+                                  .contentCacheSize(1024)
+                                  .build())
+                .build();
+        TestResponse response = TestClient.create(routing)
+                .path("/foo.txt")
+                .get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(responseToString(response), is("Foo TXT"));
+        String etag = response.headers().first(Http.Header.ETAG).orElse(null);
+
+        // served from memory while the modification time is the same
+        Path file = root.resolve("foo.txt");
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.write(file, "Changed".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        response = TestClient.create(routing)
+                .path("/foo.txt")
+                .get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(responseToString(response), is("Foo TXT"));
+        assertThat(response.headers().first(Http.Header.CONTENT_TYPE).orElse(null), is(MediaType.TEXT_PLAIN.toString()));
+        assertThat(response.headers().first(Http.Header.CONTENT_LENGTH).orElse(null), is("7"));
+        assertThat(response.headers().first(Http.Header.ETAG).orElse(null), is(etag));
+
+        response = TestClient.create(routing)
+                .path("/foo.txt")
+                .header(Http.Header.IF_NONE_MATCH, etag)
+                .get();
+        assertThat(response.status(), is(Http.Status.NOT_MODIFIED_304));
+
+        // modified file is read again
+        Files.setLastModifiedTime(file, FileTime.from(modified.toInstant().plusSeconds(1)));
+        response = TestClient.create(routing)
+                .path("/foo.txt")
+                .get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(responseToString(response), is("Changed"));
+
+        // deleted file is not served
+        Files.delete(file);
+        response = TestClient.create(routing)
+                .path("/foo.txt")
+                .get();
+        assertThat(response.status(), is(Http.Status.NOT_FOUND_404));
+
+        // welcome file is not cached for the directory
+        response = TestClient.create(routing)
+                .path("/other/")
+                .get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(responseToString(response), is("Index HTML"));
+        response = TestClient.create(routing)
+                .path("/other")
+                .get();
+        assertThat(response.status(), is(Http.Status.MOVED_PERMANENTLY_301));
+    }
+
+    @Test
+    public void headCached() throws Exception {
+        Path root = folder.root().toPath();
+        Routing routing = Routing.builder()
+                .register(StaticContentSupport.builder(root)
+                                  .contentCacheSize(1024)
+                                  .build())
+                .build();
+        // the first request caches the content, the second one is served from memory
+        for (int i = 0; i < 2; i++) {
+            TestResponse response = TestClient.create(routing)
+                    .path("/foo.txt")
+                    .head();
+            assertThat(response.status(), is(Http.Status.OK_200));
+            assertThat(response.headers().first(Http.Header.CONTENT_LENGTH).orElse(null), is("7"));
+        }
+    }
+
+    @Test
+    public void servePrecompressed() throws Exception {
+        Path root = folder.root().toPath();
+        Files.write(root.resolve("foo.txt.gz"), "Foo GZ".getBytes(StandardCharsets.UTF_8));
+        Files.write(root.resolve("foo.txt.br"), "Foo BR".getBytes(StandardCharsets.UTF_8));
+        Routing routing = Routing.builder()
+                .register(StaticContentSupport.builder(root)
+                                  .contentCacheSize(1024)
+                                  .precompressedContent(true)
+                                  .build())
+                .build();
+
+        TestResponse response = TestClient.create(routing)
+                .path("/foo.txt")
+                .get();
+        assertThat(responseToString(response), is("Foo TXT"));
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).isPresent(), is(false));
+        assertThat(response.headers().first(Http.Header.VARY).orElse(null), is(Http.Header.ACCEPT_ENCODING));
+
+        response = TestClient.create(routing)
+                .path("/foo.txt")
+                .header(Http.Header.ACCEPT_ENCODING, "gzip, deflate, br")
+                .get();
+        assertThat(responseToString(response), is("Foo BR"));
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("br"));
+        assertThat(response.headers().first(Http.Header.CONTENT_TYPE).orElse(null), is(MediaType.TEXT_PLAIN.toString()));
+
+        response = TestClient.create(routing)
+                .path("/foo.txt")
+                .header(Http.Header.ACCEPT_ENCODING, "gzip, br;q=0")
+                .get();
+        assertThat(responseToString(response), is("Foo GZ"));
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("gzip"));
+
+        // explicit coding takes precedence over the wildcard
+        response = TestClient.create(routing)
+                .path("/foo.txt")
+                .header(Http.Header.ACCEPT_ENCODING, "*, br;q=0")
+                .get();
+        assertThat(responseToString(response), is("Foo GZ"));
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("gzip"));
+    }
+
+    @Test
+    public void serveRanges() throws Exception {
+        Path root = folder.root().toPath();
+        Files.write(root.resolve("digits.txt"), "0123456789".getBytes(StandardCharsets.UTF_8));
+        Routing routing = Routing.builder()
+                .register(StaticContentSupport.create(root))
+                .build();
+        assertRanges(routing);
+    }
+
+    @Test
+    public void serveFilteredRanges() throws Exception {
+        Path root = folder.root().toPath();
+        Files.write(root.resolve("digits.txt"), "0123456789".getBytes(StandardCharsets.UTF_8));
+        Routing routing = Routing.builder()
+                .any((req, res) -> {
+                    res.registerFilter(publisher -> Multi.create(publisher)
+                            .map(chunk -> DataChunk.create(chunk.bytes())));
+                    req.next();
+                })
+                .register(StaticContentSupport.create(root))
+                .build();
+        assertRanges(routing);
+    }
+
+    @Test
+    public void serveCachedRanges() throws Exception {
+        Path root = folder.root().toPath();
+        Files.write(root.resolve("digits.txt"), "0123456789".getBytes(StandardCharsets.UTF_8));
+        Routing routing = Routing.builder()
+                .register(StaticContentSupport.builder(root)
+                                  .contentCacheSize(1024)
+                                  .precompressedContent(true)
+                                  .build())
+                .build();
+        // the first request caches the content
+        assertRanges(routing);
+        assertRanges(routing);
+    }
+
+    private static void assertRanges(Routing routing) throws Exception {
+        TestResponse response = TestClient.create(routing)
+                .path("/digits.txt")
+                .get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(response.headers().first(Http.Header.ACCEPT_RANGES).orElse(null), is("bytes"));
+        String etag = response.headers().first(Http.Header.ETAG).orElse(null);
+
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=2-4")
+                .get();
+        assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+        assertThat(responseToString(response), is("234"));
+        assertThat(response.headers().first(Http.Header.CONTENT_RANGE).orElse(null), is("bytes 2-4/10"));
+        assertThat(response.headers().first(Http.Header.CONTENT_LENGTH).orElse(null), is("3"));
+        assertThat(response.headers().first(Http.Header.CONTENT_TYPE).orElse(null), is(MediaType.TEXT_PLAIN.toString()));
+
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=-3")
+                .header(Http.Header.IF_RANGE, etag)
+                .get();
+        assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+        assertThat(responseToString(response), is("789"));
+        assertThat(response.headers().first(Http.Header.CONTENT_RANGE).orElse(null), is("bytes 7-9/10"));
+
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=8-")
+                .header(Http.Header.IF_RANGE, "\"other\"")
+                .get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(responseToString(response), is("0123456789"));
+
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=0-0,8-20")
+                .get();
+        assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+        MediaType contentType = MediaType.parse(response.headers().first(Http.Header.CONTENT_TYPE).orElse(""));
+        assertThat(contentType.type() + "/" + contentType.subtype(), is("multipart/byteranges"));
+        String boundary = contentType.parameters().get("boundary");
+        String body = responseToString(response);
+        assertThat(body, is("\r\n--" + boundary + "\r\n"
+                                    + "Content-Type: text/plain\r\n"
+                                    + "Content-Range: bytes 0-0/10\r\n"
+                                    + "\r\n"
+                                    + "0"
+                                    + "\r\n--" + boundary + "\r\n"
+                                    + "Content-Type: text/plain\r\n"
+                                    + "Content-Range: bytes 8-9/10\r\n"
+                                    + "\r\n"
+                                    + "89"
+                                    + "\r\n--" + boundary + "--\r\n"));
+        assertThat(response.headers().first(Http.Header.CONTENT_LENGTH).orElse(null),
+                   is(String.valueOf(body.length())));
+
+        // overlapping and adjacent ranges are coalesced
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=7-8,0-2,1-4,6-6")
+                .get();
+        assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+        contentType = MediaType.parse(response.headers().first(Http.Header.CONTENT_TYPE).orElse(""));
+        boundary = contentType.parameters().get("boundary");
+        assertThat(responseToString(response), is("\r\n--" + boundary + "\r\n"
+                                    + "Content-Type: text/plain\r\n"
+                                    + "Content-Range: bytes 0-4/10\r\n"
+                                    + "\r\n"
+                                    + "01234"
+                                    + "\r\n--" + boundary + "\r\n"
+                                    + "Content-Type: text/plain\r\n"
+                                    + "Content-Range: bytes 6-8/10\r\n"
+                                    + "\r\n"
+                                    + "678"
+                                    + "\r\n--" + boundary + "--\r\n"));
+
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=0-3,2-")
+                .get();
+        assertThat(response.status(), is(Http.Status.PARTIAL_CONTENT_206));
+        assertThat(responseToString(response), is("0123456789"));
+        assertThat(response.headers().first(Http.Header.CONTENT_RANGE).orElse(null), is("bytes 0-9/10"));
+
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=10-")
+                .get();
+        assertThat(response.status(), is(Http.Status.REQUESTED_RANGE_NOT_SATISFIABLE_416));
+        assertThat(response.headers().first(Http.Header.CONTENT_RANGE).orElse(null), is("bytes */10"));
+
+        // invalid ranges are ignored
+        response = TestClient.create(routing)
+                .path("/digits.txt")
+                .header(Http.Header.RANGE, "bytes=5-2")
+                .get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(responseToString(response), is("0123456789"));
+    }
 }
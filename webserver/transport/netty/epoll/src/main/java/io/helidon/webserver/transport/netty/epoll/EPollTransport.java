@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,10 @@
 package io.helidon.webserver.transport.netty.epoll;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import io.helidon.common.context.Contexts;
 import io.helidon.webserver.ServerConfiguration;
 import io.helidon.webserver.Transport;
 import io.helidon.webserver.WebServer;
@@ -28,6 +31,9 @@ import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
 /**
  * A {@link Transport} implementation based upon Netty's <a
@@ -68,7 +74,13 @@ public final class EPollTransport implements Transport {
      *
      * <li>{@code artifactType} is a subtype of {@link ChannelFactory}
      * and {@code artifactName} is exactly {@linkplain
-     * String#equals(Object) equal} to {@code serverChannelFactory}</li>
+     * String#equals(Object) equal} to either {@code serverChannelFactory}
+     * or {@code clientChannelFactory}</li>
+     *
+     * <li>{@code artifactType} is {@link Boolean} and {@code
+     * artifactName} is exactly {@linkplain String#equals(Object)
+     * equal} to {@code fileRegions}; the epoll transport supports
+     * zero-copy file regions</li>
      *
      * </ul>
      *
@@ -106,7 +118,9 @@ public final class EPollTransport implements Transport {
             case "bossGroup":
                 return Optional.of((T) new EpollEventLoopGroup(config.sockets().size()));
             case "workerGroup":
-                return Optional.of((T) new EpollEventLoopGroup(Math.max(0, config.workersCount())));
+                // shared with web clients called from requests, context is propagated as for client event loops
+                ExecutorService executor = Executors.newCachedThreadPool(new DefaultThreadFactory(EpollEventLoopGroup.class));
+                return Optional.of((T) new EpollEventLoopGroup(Math.max(0, config.workersCount()), Contexts.wrap(executor)));
             default:
                 return Optional.empty();
             }
@@ -115,9 +129,14 @@ public final class EPollTransport implements Transport {
             case "serverChannelFactory":
                 ChannelFactory<? extends ServerChannel> cf = EpollServerSocketChannel::new;
                 return Optional.of((T) cf);
+            case "clientChannelFactory":
+                ChannelFactory<? extends SocketChannel> clientCf = EpollSocketChannel::new;
+                return Optional.of((T) clientCf);
             default:
                 return Optional.empty();
             }
+        } else if (Boolean.class.equals(artifactType) && "fileRegions".equals(artifactName)) {
+            return Optional.of((T) Boolean.TRUE);
         } else {
             return Optional.empty();
         }
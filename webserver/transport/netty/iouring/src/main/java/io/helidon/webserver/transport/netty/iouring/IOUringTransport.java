@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,10 @@
 package io.helidon.webserver.transport.netty.iouring;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import io.helidon.common.context.Contexts;
 import io.helidon.webserver.ServerConfiguration;
 import io.helidon.webserver.Transport;
 import io.helidon.webserver.WebServer;
@@ -25,9 +28,12 @@ import io.helidon.webserver.WebServer;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.incubator.channel.uring.IOUring;
 import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
 import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
 
 /**
@@ -69,7 +75,8 @@ public final class IOUringTransport implements Transport {
      *
      * <li>{@code artifactType} is a subtype of {@link ChannelFactory}
      * and {@code artifactName} is exactly {@linkplain
-     * String#equals(Object) equal} to {@code serverChannelFactory}</li>
+     * String#equals(Object) equal} to either {@code serverChannelFactory}
+     * or {@code clientChannelFactory}</li>
      *
      * </ul>
      *
@@ -107,7 +114,9 @@ public final class IOUringTransport implements Transport {
             case "bossGroup":
                 return Optional.of((T) new IOUringEventLoopGroup(config.sockets().size()));
             case "workerGroup":
-                return Optional.of((T) new IOUringEventLoopGroup(Math.max(0, config.workersCount())));
+                // shared with web clients called from requests, context is propagated as for client event loops
+                ExecutorService executor = Executors.newCachedThreadPool(new DefaultThreadFactory(IOUringEventLoopGroup.class));
+                return Optional.of((T) new IOUringEventLoopGroup(Math.max(0, config.workersCount()), Contexts.wrap(executor)));
             default:
                 return Optional.empty();
             }
@@ -116,6 +125,9 @@ public final class IOUringTransport implements Transport {
             case "serverChannelFactory":
                 ChannelFactory<? extends ServerChannel> cf = IOUringServerSocketChannel::new;
                 return Optional.of((T) cf);
+            case "clientChannelFactory":
+                ChannelFactory<? extends SocketChannel> clientCf = IOUringSocketChannel::new;
+                return Optional.of((T) clientCf);
             default:
                 return Optional.empty();
             }
@@ -33,6 +33,7 @@ import io.helidon.common.http.Http;
 import io.helidon.common.reactive.Single;
 
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpVersion;
 
@@ -131,6 +132,15 @@ class BareRequestImpl implements BareRequest {
         return map;
     }
 
+    /**
+     * Headers of the Netty request.
+     *
+     * @return the headers
+     */
+    HttpHeaders nettyHeaders() {
+        return nettyRequest.headers();
+    }
+
     @Override
     public Flow.Publisher<DataChunk> bodyPublisher() {
         return publisher;
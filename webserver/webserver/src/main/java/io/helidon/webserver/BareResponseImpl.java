@@ -16,6 +16,7 @@
 
 package io.helidon.webserver;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -24,10 +25,12 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileRegionDataChunk;
 import io.helidon.common.http.Http;
 import io.helidon.common.reactive.Single;
 
@@ -36,6 +39,8 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
@@ -46,6 +51,7 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 
@@ -65,6 +71,7 @@ class BareResponseImpl implements BareResponse {
 
     private final boolean keepAlive;
     private final NettyChannel channel;
+    private final ChannelPipeline pipeline;
     private final AtomicBoolean statusHeadersSent = new AtomicBoolean(false);
     private final AtomicBoolean internallyClosed = new AtomicBoolean(false);
     private final CompletableFuture<BareResponse> responseFuture;
@@ -76,6 +83,10 @@ class BareResponseImpl implements BareResponse {
     private final ChannelFuture channelClosedFuture;
     private final GenericFutureListener<? extends Future<? super Void>> channelClosedListener;
     private final CompletableFuture<ChannelFutureListener> originalEntityAnalyzed;
+    private final int batchSize;
+    private final int replenishThreshold;
+    // Number of written chunks not requested again yet
+    private final AtomicInteger retired = new AtomicInteger();
 
     // Accessed by Subscriber method threads
     private Flow.Subscription subscription;
@@ -94,24 +105,29 @@ class BareResponseImpl implements BareResponse {
      * @param prevRequestChunk Future that represents previous request completion for HTTP pipelining
      * @param requestEntityAnalyzed connection closing listener after entity analysis
      * @param requestId the correlation ID that is added to the log statements
+     * @param batchSize number of data chunks requested at once
      */
     BareResponseImpl(ChannelHandlerContext ctx,
                      HttpRequest request,
                      RequestContext requestContext,
                      CompletableFuture<?> prevRequestChunk,
                      CompletableFuture<ChannelFutureListener> requestEntityAnalyzed,
-                     long requestId) {
+                     long requestId,
+                     int batchSize) {
         this.requestContext = requestContext;
         this.originalEntityAnalyzed = requestEntityAnalyzed;
         this.requestEntityAnalyzed = requestEntityAnalyzed;
         this.responseFuture = new CompletableFuture<>();
         this.headersFuture = new CompletableFuture<>();
         this.channel = new NettyChannel(ctx.channel());
+        this.pipeline = ctx.pipeline();
         this.requestId = requestId;
         this.keepAlive = HttpUtil.isKeepAlive(request);
         this.requestHeaders = request.headers();
         this.prevRequestChunk = prevRequestChunk;
         this.http2StreamId = requestHeaders.get(HTTP_2_STREAM_ID);
+        this.batchSize = batchSize;
+        this.replenishThreshold = Math.max(1, batchSize / 2);
 
         // We need to keep this listener so we can remove it when this response completes. If we don't, we leak
         // while the channel remains open since each response adds a new listener that references 'this'.
@@ -167,7 +183,7 @@ class BareResponseImpl implements BareResponse {
         }
         response = new DefaultHttpResponse(HTTP_1_1, nettyStatus);
         for (Map.Entry<String, List<String>> headerEntry : headers.entrySet()) {
-            response.headers().add(headerEntry.getKey(), headerEntry.getValue());
+            response.headers().add(HeaderNames.nettyName(headerEntry.getKey()), headerEntry.getValue());
         }
 
         // Copy HTTP/2 headers to response for correlation (streamId)
@@ -372,7 +388,21 @@ class BareResponseImpl implements BareResponse {
             return;
         }
         this.subscription = Objects.requireNonNull(subscription, "subscription is null");
-        subscription.request(1);
+        subscription.request(batchSize);
+    }
+
+    /**
+     * Marks a requested data chunk as done with. Once enough chunks are done with, the same number
+     * of chunks is requested again, as soon as the channel is writable.
+     */
+    private void retire() {
+        if (retired.incrementAndGet() < replenishThreshold) {
+            return;
+        }
+        int n = retired.getAndSet(0);
+        if (n > 0) {
+            channel.whenWritable(() -> subscription.request(n));
+        }
     }
 
     @Override
@@ -386,13 +416,19 @@ class BareResponseImpl implements BareResponse {
                     } else {
                         prevRequestChunk = prevRequestChunk.thenRun(channel::flush);
                     }
-                    subscription.request(1);
+                    retire();
                     return;
                 }
 
                 if (lengthOptimization && firstChunk == null) {
-                    firstChunk = data.isReadOnly() ? data : data.duplicate();      // cache first chunk
-                    subscription.request(1);
+                    // cache first chunk, a chunk whose buffers may be reused is copied and released at once
+                    if (data.isReadOnly()) {
+                        firstChunk = data;
+                    } else {
+                        firstChunk = data.duplicate();
+                        data.release();
+                    }
+                    retire();
                     return;
                 }
 
@@ -440,11 +476,18 @@ class BareResponseImpl implements BareResponse {
      *
      * @param data the chunk.
      */
-    private void sendData(DataChunk data, boolean requestOneMore) {
+    private void sendData(DataChunk data, boolean retire) {
         LOGGER.finest(() -> log("Sending data chunk"));
 
-        DefaultHttpContent httpContent;
-        if (data.isBackedBy(ByteBuf.class)) {
+        Object httpContent;
+        if (data instanceof FileRegionDataChunk region && !region.isMaterialized()) {
+            try {
+                httpContent = fileContent(region);
+            } catch (IOException e) {
+                fileContentFailed(data, e);
+                return;
+            }
+        } else if (data.isBackedBy(ByteBuf.class)) {
             // DefaultHttpContent will call release, we retain to also call ours
             ByteBuf[] byteBufs = data.data(ByteBuf.class);
             if (byteBufs.length == 1) {
@@ -463,9 +506,9 @@ class BareResponseImpl implements BareResponse {
 
         channel.write(data.flush(), httpContent, f -> {
             // After request for write is made on event loop thread
-            if (!data.flush() && requestOneMore) {
-                // No flush, request another chunk immediately, this one needs to wait in the cache
-                subscription.request(1);
+            if (!data.flush() && retire) {
+                // No flush, done with this chunk immediately, it needs to wait in the cache
+                retire();
             }
             // Add listeners to execute when actual write is done
             return f.addListener(future -> {
@@ -474,9 +517,9 @@ class BareResponseImpl implements BareResponse {
                                 .ifPresent(writeFuture -> NettyChannel.completeFuture(future, writeFuture, data));
                         boolean flush = data.flush();
                         data.release();
-                        if (flush && requestOneMore) {
-                            // Previous chunk sent, request another one
-                            subscription.request(1);
+                        if (flush && retire) {
+                            // Chunk sent, done with it
+                            retire();
                         }
                         LOGGER.finest(() -> log("Data chunk sent with result: %s", future.isSuccess()));
                     })
@@ -485,6 +528,45 @@ class BareResponseImpl implements BareResponse {
         });
     }
 
+    /**
+     * Creates a message to write a region of a file without reading it to a data chunk.
+     * On plain HTTP/1 connections the region is transferred directly from the file (zero-copy), when a
+     * {@link ChunkedWriteHandler} is present (TLS, compression, transport without file region support, HTTP/2)
+     * the region is streamed in chunks read from the file as the channel accepts them.
+     * HTTP/2 frames cannot carry file regions, so HTTP/2 responses are never zero-copy. Only if an HTTP/2 pipeline
+     * has no {@link ChunkedWriteHandler} the region is read from the file into pooled I/O buffers of the channel.
+     *
+     * @param region region of a file
+     * @return message to write
+     * @throws IOException in case the file cannot be opened or read
+     */
+    private Object fileContent(FileRegionDataChunk region) throws IOException {
+        boolean chunkedWrite = pipeline.get(ChunkedWriteHandler.class) != null;
+        if (http2StreamId != null && !chunkedWrite) {
+            return new DefaultHttpContent(ChunkedFileContent.read(region, pipeline.channel().alloc()));
+        }
+        if (!chunkedWrite) {
+            LOGGER.finest(() -> log("Sending file region %s", region));
+            return new DefaultFileRegion(region.path().toFile(), region.position(), region.count());
+        }
+        LOGGER.finest(() -> log("Sending chunked file region %s", region));
+        return ChunkedFileContent.create(region);
+    }
+
+    /**
+     * Fails a data chunk that could not be written, as a failed write of the channel would.
+     * This method must be called inside an {@link #orderedWrite(Runnable)} runnable.
+     *
+     * @param data  the chunk
+     * @param cause reason of the failure
+     */
+    private void fileContentFailed(DataChunk data, IOException cause) {
+        LOGGER.finest(() -> log("Failed to read file content: %s", cause));
+        data.writeFuture().ifPresent(writeFuture -> writeFuture.completeExceptionally(cause));
+        data.release();
+        completeResponseFuture(new IllegalStateException("Failure when sending a content!", cause));
+        pipeline.channel().close();
+    }
 
     @Override
     public void onError(Throwable thr) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,10 @@ package io.helidon.webserver;
 
 import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.logging.Logger;
 
 import io.helidon.common.http.DataChunk;
@@ -29,26 +31,56 @@ import io.netty.buffer.ByteBuf;
 /**
  * A {@link DataChunk} implementation that wraps {@link ByteBuf} and invokes
  * {@link ByteBuf#release()} during {@link DataChunk#release()}.
+ * <p>
+ * Chunks tracked for leaks, as configured by {@link LeakDetectionLevel}, are
+ * instances of {@link TrackedRequestChunk}.
  */
 class ByteBufRequestChunk implements DataChunk {
     private static final boolean IS_GRAAL_VM = Boolean.getBoolean("com.oracle.graalvm.isaot");
     private static final Logger LOGGER = Logger.getLogger(ByteBufRequestChunk.class.getName());
     private static final AtomicLong ID_INCREMENTER = new AtomicLong(1);
+    private static final AtomicReferenceFieldUpdater<ByteBufRequestChunk, ByteBuf> BYTE_BUF =
+            AtomicReferenceFieldUpdater.newUpdater(ByteBufRequestChunk.class, ByteBuf.class, "byteBuf");
 
     private final long id = ID_INCREMENTER.getAndIncrement();
     private final ByteBuffer[] byteBuffers;
-    private final ReferenceHoldingQueue.ReleasableReference<DataChunk> ref;
+    private volatile ByteBuf byteBuf;
 
-    ByteBufRequestChunk(ByteBuf byteBuf, ReferenceHoldingQueue<DataChunk> referenceHoldingQueue) {
+    ByteBufRequestChunk(ByteBuf byteBuf) {
         Objects.requireNonNull(byteBuf, "The ByteBuf must not be null!");
-        byteBuffers = new ByteBuffer[] {byteBuf.nioBuffer().asReadOnlyBuffer()};
-        ref = new ReferenceHoldingQueue.ReleasableReference<>(this, referenceHoldingQueue, byteBuf::release);
+        this.byteBuffers = new ByteBuffer[] {byteBuf.nioBuffer().asReadOnlyBuffer()};
+        this.byteBuf = byteBuf;
         byteBuf.retain();
     }
 
+    /**
+     * Create a chunk, tracked by the reference holding queue depending on the leak detection level.
+     *
+     * @param byteBuf the buffer to wrap
+     * @param referenceHoldingQueue the queue tracking chunks of the request
+     * @param leakDetectionLevel the leak detection level
+     * @return a new chunk
+     */
+    static ByteBufRequestChunk create(ByteBuf byteBuf,
+                                      ReferenceHoldingQueue<DataChunk> referenceHoldingQueue,
+                                      LeakDetectionLevel leakDetectionLevel) {
+        switch (leakDetectionLevel) {
+        case DISABLED:
+            return new ByteBufRequestChunk(byteBuf);
+        case SAMPLED:
+            if (ThreadLocalRandom.current().nextInt(LeakDetectionLevel.SAMPLING_INTERVAL) != 0) {
+                return new ByteBufRequestChunk(byteBuf);
+            }
+            return new TrackedRequestChunk(byteBuf, referenceHoldingQueue);
+        case PARANOID:
+        default:
+            return new TrackedRequestChunk(byteBuf, referenceHoldingQueue);
+        }
+    }
+
     @Override
     public boolean isReleased() {
-        return ref.isReleased();
+        return byteBuf == null;
     }
 
     @Override
@@ -61,7 +93,10 @@ class ByteBufRequestChunk implements DataChunk {
 
     @Override
     public void release() {
-        ref.release();
+        ByteBuf released = BYTE_BUF.getAndSet(this, null);
+        if (released != null) {
+            released.release();
+        }
     }
 
     @Override
@@ -70,18 +105,42 @@ class ByteBufRequestChunk implements DataChunk {
     }
 
     /**
-     * If possible, release this chunk as part of the finalization rather than
-     * through the reference queue (see {@link ReferenceHoldingQueue#release()}
-     * and from where it is called). Releasing the underlying {@link ByteBuf} as
-     * part of the finalization has a lower memory demand and performs slightly
-     * better under a heavy load.
+     * A chunk linked to a reference queue, so that its {@link ByteBuf} is released
+     * even if the chunk is garbage collected without being released.
      */
-    @SuppressWarnings("checkstyle:NoFinalizer")
-    @Override
-    protected void finalize() {
-        if (!isReleased()) {
-            OneTimeLoggerHolder.logOnce();
-            release();
+    static final class TrackedRequestChunk extends ByteBufRequestChunk {
+        private final ReferenceHoldingQueue.ReleasableReference<DataChunk> ref;
+
+        TrackedRequestChunk(ByteBuf byteBuf, ReferenceHoldingQueue<DataChunk> referenceHoldingQueue) {
+            super(byteBuf);
+            // the release callback must not reference this chunk
+            ref = new ReferenceHoldingQueue.ReleasableReference<>(this, referenceHoldingQueue, byteBuf::release);
+        }
+
+        @Override
+        public boolean isReleased() {
+            return ref.isReleased();
+        }
+
+        @Override
+        public void release() {
+            ref.release();
+        }
+
+        /**
+         * If possible, release this chunk as part of the finalization rather than
+         * through the reference queue (see {@link ReferenceHoldingQueue#release()}
+         * and from where it is called). Releasing the underlying {@link ByteBuf} as
+         * part of the finalization has a lower memory demand and performs slightly
+         * better under a heavy load.
+         */
+        @SuppressWarnings("checkstyle:NoFinalizer")
+        @Override
+        protected void finalize() {
+            if (!isReleased()) {
+                OneTimeLoggerHolder.logOnce();
+                release();
+            }
         }
     }
 
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import io.helidon.common.http.FileRegionDataChunk;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.stream.ChunkedInput;
+import io.netty.handler.stream.ChunkedNioFile;
+
+/**
+ * Region of a file written as HTTP content by {@link io.netty.handler.stream.ChunkedWriteHandler}.
+ * Unlike {@link io.netty.handler.codec.http.HttpChunkedInput} this never produces the last HTTP content,
+ * as the response may continue with other data chunks.
+ */
+class ChunkedFileContent implements ChunkedInput<HttpContent> {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ChunkedNioFile file;
+
+    private ChunkedFileContent(ChunkedNioFile file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the file of the region.
+     *
+     * @param region region to write
+     * @return chunked input for the region
+     * @throws IOException in case the file cannot be opened
+     */
+    static ChunkedFileContent create(FileRegionDataChunk region) throws IOException {
+        FileChannel channel = FileChannel.open(region.path(), StandardOpenOption.READ);
+        try {
+            return new ChunkedFileContent(new ChunkedNioFile(channel, region.position(), region.count(), CHUNK_SIZE));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the region from the file into buffers of the allocator, used where a region cannot be written
+     * as a file region nor as chunked input.
+     *
+     * @param region    region to read
+     * @param allocator allocator of the buffers
+     * @return buffer with the content of the region
+     * @throws IOException in case the file cannot be read
+     */
+    static ByteBuf read(FileRegionDataChunk region, ByteBufAllocator allocator) throws IOException {
+        int count = region.count();
+        CompositeByteBuf content = allocator.compositeBuffer(Math.max(1, (count + READ_BUFFER_SIZE - 1) / READ_BUFFER_SIZE));
+        try (FileChannel channel = FileChannel.open(region.path(), StandardOpenOption.READ)) {
+            long position = region.position();
+            int remaining = count;
+            while (remaining > 0) {
+                int size = Math.min(remaining, READ_BUFFER_SIZE);
+                ByteBuf buffer = allocator.ioBuffer(size);
+                try {
+                    while (buffer.writerIndex() < size) {
+                        int read = buffer.writeBytes(channel, position, size - buffer.writerIndex());
+                        if (read < 0) {
+                            throw new EOFException("File " + region.path() + " is shorter than expected, missing "
+                                                           + (remaining - buffer.writerIndex()) + " bytes");
+                        }
+                        position += read;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    buffer.release();
+                    throw e;
+                }
+                content.addComponent(true, buffer);
+                remaining -= size;
+            }
+            return content;
+        } catch (IOException | RuntimeException e) {
+            content.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isEndOfInput() throws Exception {
+        return file.isEndOfInput();
+    }
+
+    @Override
+    public void close() throws Exception {
+        file.close();
+    }
+
+    @Deprecated
+    @Override
+    public HttpContent readChunk(ChannelHandlerContext ctx) throws Exception {
+        return readChunk(ctx.alloc());
+    }
+
+    @Override
+    public HttpContent readChunk(ByteBufAllocator allocator) throws Exception {
+        ByteBuf buf = file.readChunk(allocator);
+        return buf == null ? null : new DefaultHttpContent(buf);
+    }
+
+    @Override
+    public long length() {
+        return file.length();
+    }
+
+    @Override
+    public long progress() {
+        return file.progress();
+    }
+}
@@ -79,6 +79,7 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
     private final SSLEngine sslEngine;
     private final ReferenceQueue<Object> queues;
     private final long maxPayloadSize;
+    private final LeakDetectionLevel leakDetectionLevel;
     private final Runnable clearQueues;
     private final DirectHandlers directHandlers;
 
@@ -99,12 +100,14 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
                       ReferenceQueue<Object> queues,
                       Runnable clearQueues,
                       long maxPayloadSize,
+                      LeakDetectionLevel leakDetectionLevel,
                       DirectHandlers directHandlers) {
         this.routing = routing;
         this.webServer = webServer;
         this.sslEngine = sslEngine;
         this.queues = queues;
         this.maxPayloadSize = maxPayloadSize;
+        this.leakDetectionLevel = leakDetectionLevel;
         this.clearQueues = clearQueues;
         this.directHandlers = directHandlers;
     }
@@ -243,8 +246,15 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        NettyChannel.writabilityChanged(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        NettyChannel.writabilityChanged(ctx.channel());
         super.channelInactive(ctx);
         // Watch for prematurely closed channel
         if (requestContext != null) {
@@ -301,7 +311,7 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
 
         // Context, publisher and DataChunk queue for this request/response
         DataChunkHoldingQueue queue = new DataChunkHoldingQueue();
-        HttpRequestScopedPublisher publisher = new HttpRequestScopedPublisher(queue);
+        HttpRequestScopedPublisher publisher = new HttpRequestScopedPublisher(queue, leakDetectionLevel);
         requestContext = new RequestContext(publisher, request, requestScope);
 
         // Closure local variables that cache mutable instance variables
@@ -403,7 +413,8 @@ public class ForwardingHandler extends SimpleChannelInboundHandler<Object> {
                                      requestContext,
                                      prevRequestFuture,
                                      requestEntityAnalyzed,
-                                     requestId);
+                                     requestId,
+                                     webServer.configuration().responseBatchSize());
         prevRequestFuture = new CompletableFuture<>();
         CompletableFuture<?> thisResp = prevRequestFuture;
         bareResponse.whenCompleted()
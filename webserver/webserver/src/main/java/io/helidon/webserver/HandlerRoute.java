@@ -135,6 +135,15 @@ class HandlerRoute implements HttpRoute {
         return handler;
     }
 
+    /**
+     * Returns the effective path matcher of this route.
+     *
+     * @return path matcher, never {@code null}
+     */
+    PathMatcher pathMatcher() {
+        return pathMatcher;
+    }
+
     public Map<String, String> diagnosticEvent() {
         return diagnosticEvent;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -59,6 +59,7 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
     private final Object internalLock = new Object();
     private volatile Parameters cookies;
     private List<MediaType> acceptedtypesCache;
+    private OptionalLong contentLengthCache;
 
     /**
      * Creates a new instance.
@@ -84,12 +85,17 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
 
     @Override
     public OptionalLong contentLength() {
-        Optional<String> v = first(Http.Header.CONTENT_LENGTH);
-        if (v.isPresent()) {
-            return OptionalLong.of(Long.parseLong(v.get()));
-        } else {
-            return OptionalLong.empty();
+        OptionalLong result = this.contentLengthCache;
+        if (result == null) {
+            Optional<String> v = first(Http.Header.CONTENT_LENGTH);
+            if (v.isPresent()) {
+                result = OptionalLong.of(Long.parseLong(v.get()));
+            } else {
+                result = OptionalLong.empty();
+            }
+            this.contentLengthCache = result;
         }
+        return result;
     }
 
     @Override
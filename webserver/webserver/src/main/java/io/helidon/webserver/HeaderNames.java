@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+
+import io.netty.util.AsciiString;
+
+/**
+ * Pre-interned Netty names of the well-known headers of {@link Http.Header}.
+ * <p>
+ * Netty header lookups hash and compare names case-insensitively, an {@link AsciiString} caches its hash
+ * and is compared byte by byte, where a {@link String} is hashed on each lookup. The names keep the case
+ * they are given in, as they are also written to responses.
+ */
+final class HeaderNames {
+
+    private static final Map<String, AsciiString> NAMES = new HashMap<>();
+
+    static {
+        for (Field field : Http.Header.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    String name = (String) field.get(null);
+                    String lowerCaseName = name.toLowerCase(Locale.ROOT);
+                    NAMES.put(name, AsciiString.cached(name));
+                    NAMES.put(lowerCaseName, AsciiString.cached(lowerCaseName));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot read header name " + field.getName(), e);
+                }
+            }
+        }
+    }
+
+    private HeaderNames() {
+    }
+
+    /**
+     * Returns the Netty name of the given header name.
+     *
+     * @param name header name
+     * @return the pre-interned name of a well-known header in the same case, or the given name
+     */
+    static CharSequence nettyName(String name) {
+        AsciiString asciiName = NAMES.get(name);
+        return asciiName == null ? name : asciiName;
+    }
+}
@@ -42,6 +42,7 @@ import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Future;
 
@@ -181,6 +182,12 @@ class HttpInitializer extends ChannelInitializer<SocketChannel> {
             p.addLast(new HttpContentCompressor());
         }
 
+        // Files are written as file regions (zero-copy) only on plain connections of transports supporting it,
+        // otherwise they are streamed in chunks read directly from the file
+        if (context != null || serverConfig.enableCompression() || !webServer.supportsFileRegions()) {
+            p.addLast(new ChunkedWriteHandler());
+        }
+
         RequestRouting requestRouting = router.routing(RequestRouting.class, null);
         if (requestRouting != null) {
             // Helidon's forwarding handler
@@ -190,6 +197,7 @@ class HttpInitializer extends ChannelInitializer<SocketChannel> {
                     queues,
                     this::clearQueues,
                     soConfig.maxPayloadSize(),
+                    serverConfig.leakDetectionLevel(),
                     directHandlers));
         }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,22 +23,24 @@ import io.helidon.webserver.ByteBufRequestChunk.DataChunkHoldingQueue;
 import io.netty.buffer.ByteBuf;
 
 /**
- * This publisher is always associated with a single http request. All data
+ * This publisher is always associated with a single http request. Data
  * chunks emitted by this publisher are linked to a reference queue for
- * proper cleanup.
+ * proper cleanup, depending on the {@link LeakDetectionLevel}.
  */
 class HttpRequestScopedPublisher extends BufferedEmittingPublisher<DataChunk> {
 
     private final DataChunkHoldingQueue holdingQueue;
+    private final LeakDetectionLevel leakDetectionLevel;
 
-    HttpRequestScopedPublisher(DataChunkHoldingQueue holdingQueue) {
+    HttpRequestScopedPublisher(DataChunkHoldingQueue holdingQueue, LeakDetectionLevel leakDetectionLevel) {
         super();
         this.holdingQueue = holdingQueue;
+        this.leakDetectionLevel = leakDetectionLevel;
     }
 
     public void emit(ByteBuf data) {
         try {
-            super.emit(new ByteBufRequestChunk(data, holdingQueue));
+            super.emit(ByteBufRequestChunk.create(data, holdingQueue, leakDetectionLevel));
         } finally {
             holdingQueue.release();
         }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+/**
+ * Level of detection of request {@link io.helidon.common.http.DataChunk data chunks} that are garbage collected
+ * without being released. A detected chunk is released by the server, and a warning is logged.
+ * <p>
+ * Tracking a chunk costs a phantom reference and a finalizer, which is noticeable when reading large request entities.
+ */
+public enum LeakDetectionLevel {
+
+    /**
+     * No chunk is tracked. A chunk that is not released leaks its buffer.
+     */
+    DISABLED,
+
+    /**
+     * About one chunk in {@value #SAMPLING_INTERVAL} is tracked, so leaks are still reported with little overhead.
+     */
+    SAMPLED,
+
+    /**
+     * Every chunk is tracked and released if garbage collected (the default).
+     */
+    PARANOID;
+
+    /**
+     * Average number of chunks per tracked chunk when {@link #SAMPLED}.
+     */
+    static final int SAMPLING_INTERVAL = 128;
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,13 +17,23 @@
 
 package io.helidon.webserver;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelId;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Future;
 
 /**
@@ -36,13 +46,28 @@ import io.netty.util.concurrent.Future;
  *      <li>You are doing no writes from the EventLoop thread (i.e. all writes are being done in other thread(s)).</li>
  *  </ul>
  * </ul>
+ * Writes are queued and drained by a single task on the event loop thread. Small consecutive
+ * {@link DefaultHttpContent contents} waiting in the queue are coalesced into a single write, flushed once
+ * if any of them is to be flushed.
  *
  * @see <a href="https://github.com/netty/netty/issues/3887#issuecomment-112540327"
  * >https://github.com/netty/netty/issues/3887#issuecomment-112540327</a>
  */
 class NettyChannel {
+    private static final Logger LOGGER = Logger.getLogger(NettyChannel.class.getName());
+
+    /**
+     * Contents of at most this size are coalesced, up to this size in total.
+     */
+    static final int COALESCE_LIMIT = 8192;
+
+    private static final AttributeKey<Queue<Runnable>> WRITABILITY_WAITERS =
+            AttributeKey.valueOf(NettyChannel.class, "writabilityWaiters");
+    private static final PendingWrite FLUSH = new PendingWrite(true, null, null);
+
     private final Channel channel;
-    private CompletionStage<ChannelFuture> writeFuture = CompletableFuture.completedFuture(null);
+    private final Queue<PendingWrite> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
 
     NettyChannel(Channel channel) {
         this.channel = channel;
@@ -69,18 +94,67 @@ class NettyChannel {
         channel.read();
     }
 
+    /**
+     * Whether the channel can accept writes without queueing them above its high water mark.
+     *
+     * @return whether the channel is writable
+     */
+    boolean isWritable() {
+        return channel.isWritable();
+    }
+
+    /**
+     * Run the action on the event loop thread once the channel is writable, or is closed.
+     * Pending writes are flushed if the channel is not writable, so it becomes writable again
+     * once they are written below the low water mark.
+     *
+     * @param action action to run
+     */
+    void whenWritable(Runnable action) {
+        if (channel.eventLoop().inEventLoop()) {
+            whenWritableInt(action);
+        } else {
+            channel.eventLoop().execute(() -> whenWritableInt(action));
+        }
+    }
+
+    private void whenWritableInt(Runnable action) {
+        if (channel.isWritable() || !channel.isActive()) {
+            action.run();
+            return;
+        }
+        Queue<Runnable> waiters = channel.attr(WRITABILITY_WAITERS).get();
+        if (waiters == null) {
+            waiters = new ConcurrentLinkedQueue<>();
+            channel.attr(WRITABILITY_WAITERS).set(waiters);
+        }
+        waiters.add(action);
+        channel.flush();
+    }
+
+    /**
+     * Runs the actions waiting for the channel to be writable, if it is writable or closed.
+     * Must be called on the event loop thread when writability of the channel changes, and when it is closed.
+     *
+     * @param channel channel
+     */
+    static void writabilityChanged(Channel channel) {
+        if (channel.isWritable() || !channel.isActive()) {
+            Queue<Runnable> waiters = channel.attr(WRITABILITY_WAITERS).get();
+            if (waiters != null) {
+                for (Runnable waiter = waiters.poll(); waiter != null; waiter = waiters.poll()) {
+                    waiter.run();
+                }
+            }
+        }
+    }
+
     /**
      * Request to flush all pending messages via this ChannelOutboundInvoker from Netty's event loop thread.
      */
     void flush() {
-        writeFuture = writeFuture.thenApply(f -> {
-            if (channel.eventLoop().inEventLoop()) {
-                channel.flush();
-            } else {
-                channel.eventLoop().execute(channel::flush);
-            }
-            return f;
-        });
+        pending.add(FLUSH);
+        drain();
     }
 
     /**
@@ -92,32 +166,104 @@ class NettyChannel {
      */
     void write(boolean flush, Object msg, Function<ChannelFuture, ChannelFuture> listeners) {
         // Ordered writes
-        writeFuture = writeFuture.thenCompose(f -> writeInt(flush, msg, listeners));
+        pending.add(new PendingWrite(flush, msg, listeners));
+        drain();
     }
 
-    private CompletionStage<ChannelFuture> writeInt(boolean flush,
-                                                    Object msg,
-                                                    Function<ChannelFuture, ChannelFuture> listeners) {
-        CompletableFuture<ChannelFuture> channelFuture = new CompletableFuture<>();
-
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
         if (channel.eventLoop().inEventLoop()) {
             // Fast path for items emitted by event loop thread
-            if (flush) {
-                channelFuture.complete(listeners.apply(channel.writeAndFlush(msg)));
-            } else {
-                channelFuture.complete(listeners.apply(channel.write(msg)));
-            }
+            drainLoop();
         } else {
-            if (flush) {
-                channel.eventLoop().execute(() -> channelFuture.complete(listeners.apply(channel.writeAndFlush(msg))));
-            } else {
-                channel.eventLoop().execute(() -> channelFuture.complete(listeners.apply(channel.write(msg))));
+            channel.eventLoop().execute(this::drainLoop);
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            for (PendingWrite write = pending.poll(); write != null; write = pending.poll()) {
+                try {
+                    if (write == FLUSH) {
+                        channel.flush();
+                    } else if (isCoalescable(write.msg) && isCoalescable(pending.peek())) {
+                        writeCoalesced(write);
+                    } else {
+                        writeInt(write.flush, write.msg, List.of(write.listeners));
+                    }
+                } catch (RuntimeException e) {
+                    failed(e);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void writeCoalesced(PendingWrite first) {
+        List<Function<ChannelFuture, ChannelFuture>> listeners = new ArrayList<>();
+        List<ByteBuf> contents = new ArrayList<>();
+        boolean flush = false;
+        int size = 0;
+        PendingWrite write = first;
+        while (true) {
+            ByteBuf content = ((DefaultHttpContent) write.msg).content();
+            contents.add(content);
+            listeners.add(write.listeners);
+            flush |= write.flush;
+            size += content.readableBytes();
+            PendingWrite next = pending.peek();
+            if (!isCoalescable(next) || size + ((DefaultHttpContent) next.msg).content().readableBytes() > COALESCE_LIMIT) {
+                break;
             }
+            write = pending.poll();
+        }
+        DefaultHttpContent msg;
+        try {
+            CompositeByteBuf composite = channel.alloc().compositeBuffer(contents.size());
+            composite.addComponents(true, contents);
+            msg = new DefaultHttpContent(composite);
+        } catch (RuntimeException e) {
+            complete(failed(e), listeners);
+            return;
         }
+        writeInt(flush, msg, listeners);
+    }
 
-        return channelFuture;
+    private static boolean isCoalescable(Object msg) {
+        if (msg instanceof PendingWrite write) {
+            msg = write.msg;
+        }
+        // exact type, subtypes such as LastHttpContent must be written on their own
+        return msg != null
+                && msg.getClass() == DefaultHttpContent.class
+                && ((DefaultHttpContent) msg).content().readableBytes() < COALESCE_LIMIT;
     }
 
+    private void writeInt(boolean flush, Object msg, List<Function<ChannelFuture, ChannelFuture>> listeners) {
+        ChannelFuture future;
+        try {
+            future = flush ? channel.writeAndFlush(msg) : channel.write(msg);
+        } catch (RuntimeException e) {
+            future = failed(e);
+        }
+        complete(future, listeners);
+    }
+
+    private static void complete(ChannelFuture future, List<Function<ChannelFuture, ChannelFuture>> listeners) {
+        for (Function<ChannelFuture, ChannelFuture> listener : listeners) {
+            listener.apply(future);
+        }
+    }
+
+    // the channel is in an unknown state, close it so pending and later writes fail as well
+    private ChannelFuture failed(RuntimeException e) {
+        LOGGER.log(Level.WARNING, "Failed to write to channel " + channel + ", closing it", e);
+        channel.close();
+        return channel.newFailedFuture(e);
+    }
 
     /**
      * Map Netty's future completing with void to CompletableFuture completing with supplied item.
@@ -141,4 +287,16 @@ class NettyChannel {
                 + "channel=" + channel.toString()
                 + '}';
     }
+
+    private static final class PendingWrite {
+        private final boolean flush;
+        private final Object msg;
+        private final Function<ChannelFuture, ChannelFuture> listeners;
+
+        private PendingWrite(boolean flush, Object msg, Function<ChannelFuture, ChannelFuture> listeners) {
+            this.flush = flush;
+            this.msg = msg;
+            this.listeners = listeners;
+        }
+    }
 }
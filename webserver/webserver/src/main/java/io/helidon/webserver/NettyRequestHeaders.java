@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+/**
+ * A {@link RequestHeaders} implementation reading the headers parsed by Netty, without copying them.
+ * Typed values are parsed on first access, as by {@link HashRequestHeaders}.
+ */
+class NettyRequestHeaders extends HashRequestHeaders {
+
+    private final HttpHeaders headers;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param headers headers of the Netty request, must not be modified afterwards
+     */
+    NettyRequestHeaders(HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public Optional<String> first(String name) {
+        Objects.requireNonNull(name, "Parameter 'name' is null!");
+        return Optional.ofNullable(headers.get(HeaderNames.nettyName(name)));
+    }
+
+    @Override
+    public List<String> all(String name) {
+        Objects.requireNonNull(name, "Parameter 'name' is null!");
+        List<String> values = headers.getAll(HeaderNames.nettyName(name));
+        return values.isEmpty() ? List.of() : Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public Map<String, List<String>> toMap() {
+        Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, String> entry : headers) {
+            map.computeIfAbsent(entry.getKey(), k -> new ArrayList<>(1)).add(entry.getValue());
+        }
+        return map;
+    }
+}
@@ -49,6 +49,7 @@ import io.helidon.common.reactive.Single;
 import io.helidon.media.common.MessageBodyReaderContext;
 import io.helidon.media.common.MessageBodyWriterContext;
 
+import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
@@ -56,8 +57,11 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
@@ -77,6 +81,7 @@ class NettyWebServer implements WebServer {
     private static final boolean EXIT_ON_STARTED = "!".equals(System.getProperty(EXIT_ON_STARTED_KEY));
 
     private final Transport transport;
+    private final boolean fileRegions;
     private final EventLoopGroup bossGroup;
     private final EventLoopGroup workerGroup;
     private final Map<String, ServerBootstrap> bootstraps = new HashMap<>();
@@ -118,8 +123,12 @@ class NettyWebServer implements WebServer {
         this.contextualRegistry = config.context();
         this.configuration = config;
         this.transport = acquireTransport();
+        this.fileRegions = acquireFileRegions();
         this.bossGroup = bossGroup();
         this.workerGroup = workerGroup();
+        if (config.shareEventLoopsWithClients()) {
+            registerClientBootstrap();
+        }
         this.readerContext = MessageBodyReaderContext.create(readerContext);
         this.writerContext = MessageBodyWriterContext.create(writerContext);
         this.routers = routers;
@@ -148,6 +157,9 @@ class NettyWebServer implements WebServer {
             if (soConfig.receiveBufferSize() > 0) {
                 bootstrap.option(ChannelOption.SO_RCVBUF, soConfig.receiveBufferSize());
             }
+            bootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                                  new WriteBufferWaterMark(configuration.writeBufferLowWaterMark(),
+                                                           configuration.writeBufferHighWaterMark()));
 
             Router router = routers.getOrDefault(name, routers.get(WebServer.DEFAULT_SOCKET_NAME));
 
@@ -499,6 +511,20 @@ class NettyWebServer implements WebServer {
             .orElseThrow(() -> noSuchTransportArtifact("workerGroup"));
     }
 
+    /**
+     * Registers a bootstrap of client connections on the worker event loops in the server context, so web clients
+     * called while processing requests of this server do not need event loops of their own.
+     * Only done if enabled by {@link ServerConfiguration#shareEventLoopsWithClients()} and the transport provides
+     * the {@code clientChannelFactory} artifact.
+     */
+    @SuppressWarnings("unchecked")
+    private void registerClientBootstrap() {
+        transport()
+            .createTransportArtifact(ChannelFactory.class, "clientChannelFactory", configuration)
+            .map(cf -> new Bootstrap().group(workerGroup).channelFactory((ChannelFactory<? extends Channel>) cf))
+            .ifPresent(contextualRegistry::register);
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends ServerChannel> ChannelFactory<T> serverChannelFactory() {
         return transport()
@@ -506,6 +532,22 @@ class NettyWebServer implements WebServer {
             .orElseThrow(() -> noSuchTransportArtifact("serverChannelFactory"));
     }
 
+    /**
+     * Whether the channels of the current transport can write {@link io.netty.channel.FileRegion file regions}
+     * (zero-copy transfer of files).
+     *
+     * @return {@code true} if file regions are supported
+     */
+    boolean supportsFileRegions() {
+        return fileRegions;
+    }
+
+    private boolean acquireFileRegions() {
+        return transport()
+            .createTransportArtifact(Boolean.class, "fileRegions", configuration)
+            .orElse(false);
+    }
+
     private NoSuchElementException noSuchTransportArtifact(String name) {
         return new NoSuchElementException("The current webserver transport, "
                                           + transport() + ", could not supply "
@@ -547,9 +589,14 @@ class NettyWebServer implements WebServer {
                 case "serverChannelFactory":
                     ChannelFactory<? extends ServerChannel> cf = NioServerSocketChannel::new;
                     return Optional.of((T) cf);
+                case "clientChannelFactory":
+                    ChannelFactory<? extends SocketChannel> clientCf = NioSocketChannel::new;
+                    return Optional.of((T) clientCf);
                 default:
                     return Optional.empty();
                 }
+            } else if (Boolean.class.equals(artifactType) && "fileRegions".equals(artifactName)) {
+                return Optional.of((T) Boolean.TRUE);
             } else {
                 return Optional.empty();
             }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -148,7 +148,7 @@ final class PathPattern {
         }
         try {
             if (isRegexp) {
-                return new RegexpPathMatcher(regexp.toString(), paramToGroupName);
+                return new RegexpPathMatcher(regexp.toString(), paramToGroupName, pattern.toString());
             } else {
                 return new CanonicalPathMatcher(canonical.toString());
             }
@@ -306,6 +306,15 @@ final class PathPattern {
             this.pattern = pattern;
         }
 
+        /**
+         * The exact pattern.
+         *
+         * @return pattern
+         */
+        String pattern() {
+            return pattern;
+        }
+
         @Override
         public Result match(CharSequence path) {
             Objects.requireNonNull(path, "Parameter 'path' is null!");
@@ -353,6 +362,7 @@ final class PathPattern {
         private final Map<String, String> paramToGroupName;
         private final Pattern pattern;
         private final Pattern leftPattern;
+        private final String source;
 
         /**
          * Creates new instance.
@@ -363,7 +373,21 @@ final class PathPattern {
          * @throws PatternSyntaxException If the expression's syntax is invalid.
          */
         RegexpPathMatcher(String regexp, Map<String, String> paramToGroupName) {
+            this(regexp, paramToGroupName, null);
+        }
+
+        /**
+         * Creates new instance.
+         *
+         * @param regexp an regular expression.
+         * @param paramToGroupName a map of pattern parameter names and it's regexp matching group names.
+         * @param source the Web Server path pattern the regular expression was compiled from, may be {@code null}
+         * @throws NullPointerException  In case of {@code null} regexp parameter.
+         * @throws PatternSyntaxException If the expression's syntax is invalid.
+         */
+        RegexpPathMatcher(String regexp, Map<String, String> paramToGroupName, String source) {
             Objects.requireNonNull(regexp, "Parameter 'pattern' is null!");
+            this.source = source;
             this.pattern = Pattern.compile(regexp);
             this.leftPattern = Pattern.compile(regexp + "(?<" + RIGHT_PART_PARAM_NAME + ">/.+)?");
             if (paramToGroupName == null) {
@@ -373,6 +397,15 @@ final class PathPattern {
             }
         }
 
+        /**
+         * The Web Server path pattern this matcher was compiled from.
+         *
+         * @return source pattern or {@code null} if not known
+         */
+        String source() {
+            return source;
+        }
+
         @Override
         public Result match(CharSequence path) {
             Matcher matcher = pattern.matcher(path);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package io.helidon.webserver;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 
 import io.helidon.config.Config;
 import io.helidon.tracing.config.TracingConfig;
@@ -65,6 +66,15 @@ public interface PathTracingConfig {
      */
     TracingConfig tracedConfig();
 
+    /**
+     * Sampler of requests valid for the configured path and (possibly) methods.
+     *
+     * @return sampler of this path, empty to use the sampler of {@link WebTracingConfig}
+     */
+    default Optional<TraceSampler> sampler() {
+        return Optional.empty();
+    }
+
     /**
      * Fluent API builder for {@link PathTracingConfig}.
      */
@@ -72,6 +82,7 @@ public interface PathTracingConfig {
         private final List<String> methods = new LinkedList<>();
         private String path;
         private TracingConfig tracedConfig;
+        private TraceSampler sampler;
 
         private Builder() {
         }
@@ -82,6 +93,7 @@ public interface PathTracingConfig {
             final String finalPath = path;
             final List<String> finalMethods = new LinkedList<>(methods);
             final TracingConfig finalTracingConfig = tracedConfig;
+            final Optional<TraceSampler> finalSampler = Optional.ofNullable(sampler);
 
             return new PathTracingConfig() {
                 @Override
@@ -99,6 +111,11 @@ public interface PathTracingConfig {
                     return finalTracingConfig;
                 }
 
+                @Override
+                public Optional<TraceSampler> sampler() {
+                    return finalSampler;
+                }
+
                 @Override
                 public String toString() {
                     return path + "(" + finalMethods + "): " + finalTracingConfig;
@@ -119,6 +136,7 @@ public interface PathTracingConfig {
                 methods(methods);
             }
             tracingConfig(TracingConfig.create(config));
+            config.get("sampling").ifExists(it -> sampler(TraceSampler.create(it)));
 
             return this;
         }
@@ -166,5 +184,17 @@ public interface PathTracingConfig {
             this.tracedConfig = tracedConfig;
             return this;
         }
+
+        /**
+         * Sampler of requests to use on this path and possibly method(s).
+         * Each path has its own rate limit.
+         *
+         * @param sampler sampler of requests
+         * @return updated builder instance
+         */
+        public Builder sampler(TraceSampler sampler) {
+            this.sampler = sampler;
+            return this;
+        }
     }
 }
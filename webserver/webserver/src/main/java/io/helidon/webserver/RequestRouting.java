@@ -71,7 +71,9 @@ class RequestRouting implements Routing {
 
         try {
             WebServer webServer = bareRequest.webServer();
-            HashRequestHeaders requestHeaders = new HashRequestHeaders(bareRequest.headers());
+            HashRequestHeaders requestHeaders = bareRequest instanceof BareRequestImpl nettyRequest
+                    ? new NettyRequestHeaders(nettyRequest.nettyHeaders())
+                    : new HashRequestHeaders(bareRequest.headers());
             RoutedResponse response = new RoutedResponse(
                     webServer,
                     bareResponse,
@@ -120,10 +122,11 @@ class RequestRouting implements Routing {
 
     /**
      * A deep 'iterator' without a {@code hasNext()} method for a tree of {@link Route routes} based on the routing criteria.
+     * Route candidates of each level are resolved using the compiled {@link RouteTrie}.
      */
     private static class Crawler {
 
-        private final List<Route> routes;
+        private final RouteTrie.Candidate[] candidates;
         private final Request.Path contextPath;
         private final String path;
         private final String rawPath;
@@ -143,9 +146,9 @@ class RequestRouting implements Routing {
          * @param method      an HTTP method to route.
          * @param version     HTTP protocol version
          */
-        private Crawler(List<Route> routes, Request.Path contextPath, String path, String rawPath,
+        private Crawler(RouteList routes, Request.Path contextPath, String path, String rawPath,
                         Http.RequestMethod method, Http.Version version) {
-            this.routes = routes;
+            this.candidates = routes.trie().candidates(path, method);
             this.path = path;
             this.rawPath = rawPath;
             this.contextPath = contextPath;
@@ -162,7 +165,7 @@ class RequestRouting implements Routing {
          * @param method an HTTP method to route.
          * @param version HTTP protocol version
          */
-        Crawler(List<Route> routes, String path, String rawPath, Http.RequestMethod method, Http.Version version) {
+        Crawler(RouteList routes, String path, String rawPath, Http.RequestMethod method, Http.Version version) {
             this(routes, null, path, rawPath, method, version);
         }
 
@@ -173,7 +176,7 @@ class RequestRouting implements Routing {
          * @return a next item.
          */
         public Item next() {
-            while ((subCrawler != null) || (++index < routes.size())) {
+            while ((subCrawler != null) || (++index < candidates.length)) {
                 if (subCrawler != null) {
                     Item result = subCrawler.next();
                     if (result != null) {
@@ -182,32 +185,35 @@ class RequestRouting implements Routing {
                         subCrawler = null;
                     }
                 } else {
-                    Route route = routes.get(index);
-                    if (route.accepts(method)) {
-                        if (route instanceof HandlerRoute hr) {
-                            PathMatcher.Result match = hr.match(path);
-                            if (match.matches() && hr.matchVersion(version)) {
-                                return new Item(hr, Request.Path.create(contextPath, path, rawPath, match.params()));
+                    RouteTrie.Candidate candidate = candidates[index];
+                    Route route = candidate.route();
+                    if (route instanceof HandlerRoute hr) {
+                        if (hr.matchVersion(version)) {
+                            Map<String, String> params = candidate.params();
+                            if (params == null) {
+                                PathMatcher.Result match = hr.match(path);
+                                params = match.matches() ? match.params() : null;
                             }
-                        } else if (route instanceof RouteList rl) {
-                            PathMatcher.PrefixResult prefixMatch = rl.prefixMatch(path);
-                            PathMatcher.PrefixResult rawPrefixMatch = rl.prefixMatch(rawPath);
-                            if (prefixMatch.matches()) {
-                                subCrawler = new Crawler(rl,
-                                                         Request.Path.create(contextPath, path, rawPath, prefixMatch.params()),
-                                                         prefixMatch.remainingPart(),
-                                                         rawPrefixMatch.remainingPart(),
-                                                         method,
-                                                         version);
-                                // do "continue" in order to not log the failure message bellow
-                                continue;
+                            if (params != null) {
+                                return new Item(hr, Request.Path.create(contextPath, path, rawPath, params));
                             }
                         }
-
-                        LOGGER.finest(() -> "Route candidate '" + route + "' doesn't match path: " + path);
-                    } else {
-                        LOGGER.finest(() -> "Route candidate '" + route + "' doesn't match method: " + method);
+                    } else if (route instanceof RouteList rl) {
+                        PathMatcher.PrefixResult prefixMatch = rl.prefixMatch(path);
+                        PathMatcher.PrefixResult rawPrefixMatch = rl.prefixMatch(rawPath);
+                        if (prefixMatch.matches()) {
+                            subCrawler = new Crawler(rl,
+                                                     Request.Path.create(contextPath, path, rawPath, prefixMatch.params()),
+                                                     prefixMatch.remainingPart(),
+                                                     rawPrefixMatch.remainingPart(),
+                                                     method,
+                                                     version);
+                            // do "continue" in order to not log the failure message bellow
+                            continue;
+                        }
                     }
+
+                    LOGGER.finest(() -> "Route candidate '" + route + "' doesn't match path: " + path);
                 }
             }
             return null;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,7 @@ class RouteList extends ArrayList<Route> implements Route {
     // must declare transient, as ArrayList is Serializable (and we are not)
     private final transient PathMatcher pathContext;
     private final transient HttpMethodPredicate methodPredicate;
+    private final transient RouteTrie trie;
 
     /**
      * Creates new instance.
@@ -66,6 +67,7 @@ class RouteList extends ArrayList<Route> implements Route {
             this.methodPredicate = null;
         }
         this.pathContext = pathContext;
+        this.trie = RouteTrie.create(this);
     }
 
     /**
@@ -81,6 +83,15 @@ class RouteList extends ArrayList<Route> implements Route {
         return pathContext;
     }
 
+    /**
+     * Compiled routes of this list used to find route candidates without testing each route.
+     *
+     * @return compiled trie
+     */
+    RouteTrie trie() {
+        return trie;
+    }
+
     @Override
     public Set<Http.RequestMethod> acceptedMethods() {
         return methodPredicate == null ? null : methodPredicate.acceptedMethods();
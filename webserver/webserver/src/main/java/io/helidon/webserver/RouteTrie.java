@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+
+/**
+ * Segment based radix trie compiled from a single level of a {@link RouteList}.
+ * <p>
+ * Path patterns that can be expressed as a sequence of path segments (literal segments, unconstrained parameters
+ * such as {@code {id}} and a trailing {@code *} or {@code {+name}} wildcard) are placed into the trie and are matched
+ * without regular expressions. Nested {@link RouteList route lists} with a canonical path context are placed into
+ * the trie as prefix routes. Any other route (custom {@link PathMatcher}, optional sections, parameters with custom
+ * regular expressions, ...) is always returned as a candidate and matched by its own matcher.
+ * <p>
+ * Candidates are always returned in the order of registration, so routing semantics (including
+ * {@link ServerRequest#next()}) are the same as when walking the route list one by one.
+ */
+final class RouteTrie {
+
+    private static final Candidate[] NO_CANDIDATES = new Candidate[0];
+    private static final Comparator<Candidate> ORDER = Comparator.comparingInt(Candidate::index);
+    private static final Http.Method[] METHODS = Http.Method.values();
+
+    private final List<Route> routes;
+    private final Node root;
+    private final MethodTable always;
+    private final MethodTable all;
+
+    private RouteTrie(List<Route> routes, Node root, MethodTable always, MethodTable all) {
+        this.routes = routes;
+        this.root = root;
+        this.always = always;
+        this.all = all;
+    }
+
+    /**
+     * Compiles routes of a single level of the routing tree.
+     *
+     * @param routes routes in order of registration
+     * @return compiled trie
+     */
+    static RouteTrie create(List<Route> routes) {
+        Node root = new Node();
+        List<Entry> always = new ArrayList<>();
+        List<Entry> all = new ArrayList<>(routes.size());
+
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            if (route instanceof HandlerRoute hr) {
+                Segment[] segments = segments(hr.pathMatcher(), false);
+                if (segments == null) {
+                    Entry entry = new Entry(i, route, null);
+                    always.add(entry);
+                    all.add(entry);
+                } else {
+                    Entry entry = insert(root, i, route, segments);
+                    all.add(entry);
+                }
+            } else if (route instanceof RouteList rl) {
+                Segment[] segments = segments(rl.pathContext(), true);
+                Entry entry = new Entry(i, route, null);
+                all.add(entry);
+                if (segments == null) {
+                    always.add(entry);
+                } else {
+                    Node node = root;
+                    for (Segment segment : segments) {
+                        node = node.literal(segment.value);
+                    }
+                    node.prefix.add(entry);
+                }
+            }
+            // other route types are never routed to
+        }
+
+        root.compile();
+        return new RouteTrie(routes, root, MethodTable.create(always), MethodTable.create(all));
+    }
+
+    /**
+     * Returns route candidates for the provided path and method in order of registration.
+     * Candidate {@link Candidate#params() params} are {@code null} if the route must still be matched using its own
+     * matcher.
+     *
+     * @param path   resolved and normalized URI path
+     * @param method HTTP method
+     * @return candidates, never {@code null}
+     */
+    Candidate[] candidates(String path, Http.RequestMethod method) {
+        if (routes.isEmpty()) {
+            return NO_CANDIDATES;
+        }
+        if (path.isEmpty() || path.charAt(0) != '/' || path.indexOf(';') >= 0) {
+            // path parameters are stripped differently by route lists and handler routes, do not try to be smart
+            return unmatched(all.entries(method));
+        }
+
+        List<Candidate> result = new ArrayList<>();
+        for (Entry entry : always.entries(method)) {
+            result.add(new Candidate(entry.index, entry.route, null));
+        }
+
+        int[] starts = segmentStarts(path);
+        root.collect(path, starts, 0, new String[starts.length], 0, method, result);
+
+        if (result.isEmpty()) {
+            return NO_CANDIDATES;
+        }
+        Candidate[] candidates = result.toArray(NO_CANDIDATES);
+        if (candidates.length > 1) {
+            Arrays.sort(candidates, ORDER);
+        }
+        return candidates;
+    }
+
+    private static Candidate[] unmatched(Entry[] entries) {
+        Candidate[] result = new Candidate[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            result[i] = new Candidate(entries[i].index, entries[i].route, null);
+        }
+        return result;
+    }
+
+    /**
+     * Start index (the index of the character following a {@code '/'}) of each path segment.
+     * The last element is an artificial start of a segment past the end of the path.
+     */
+    private static int[] segmentStarts(String path) {
+        int count = 1;
+        for (int i = 1; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                count++;
+            }
+        }
+        int[] starts = new int[count + 1];
+        int segment = 0;
+        starts[segment++] = 1;
+        for (int i = 1; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                starts[segment++] = i + 1;
+            }
+        }
+        starts[segment] = path.length() + 1;
+        return starts;
+    }
+
+    private static Entry insert(Node root, int index, Route route, Segment[] segments) {
+        Node node = root;
+        List<String> paramNames = new ArrayList<>();
+        Segment last = segments[segments.length - 1];
+        int trieSegments = last.kind == SegmentKind.WILDCARD || last.kind == SegmentKind.GREEDY
+                ? segments.length - 1
+                : segments.length;
+
+        for (int i = 0; i < trieSegments; i++) {
+            Segment segment = segments[i];
+            if (segment.kind == SegmentKind.PARAM) {
+                paramNames.add(segment.value);
+                if (node.param == null) {
+                    node.param = new Node();
+                }
+                node = node.param;
+            } else {
+                node = node.literal(segment.value);
+            }
+        }
+
+        Entry entry;
+        if (trieSegments == segments.length) {
+            entry = new Entry(index, route, paramNames.toArray(new String[0]));
+            node.exact.add(entry);
+        } else {
+            entry = new TailEntry(index, route, paramNames.toArray(new String[0]), last);
+            node.tail.add(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Decomposes a path matcher created from a Web Server path pattern into path segments.
+     *
+     * @param matcher  matcher to decompose
+     * @param context  whether the matcher is used as a path context (prefix match) of a route list
+     * @return segments or {@code null} if the matcher cannot be expressed as a sequence of supported segments
+     */
+    private static Segment[] segments(PathMatcher matcher, boolean context) {
+        if (matcher instanceof PathPattern.CanonicalPathMatcher canonical) {
+            String pattern = canonical.pattern();
+            // "/" as a context matches anything, and patterns must start with a slash to be ever matched
+            if (pattern.isEmpty() || pattern.charAt(0) != '/' || (context && pattern.length() == 1)) {
+                return null;
+            }
+            String[] parts = pattern.substring(1).split("/", -1);
+            Segment[] result = new Segment[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                result[i] = new Segment(SegmentKind.LITERAL, parts[i]);
+            }
+            return result;
+        }
+        if (context || !(matcher instanceof PathPattern.RegexpPathMatcher regexp) || regexp.source() == null) {
+            return null;
+        }
+        String pattern = regexp.source();
+        if (pattern.isEmpty() || pattern.charAt(0) != '/') {
+            return null;
+        }
+        String[] parts = pattern.substring(1).split("/", -1);
+        Segment[] result = new Segment[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            Segment segment = segment(parts[i], i == parts.length - 1);
+            if (segment == null) {
+                return null;
+            }
+            result[i] = segment;
+        }
+        return result;
+    }
+
+    private static Segment segment(String part, boolean last) {
+        if (part.equals("*")) {
+            return last ? new Segment(SegmentKind.WILDCARD, null) : null;
+        }
+        if (part.length() >= 2 && part.charAt(0) == '{' && part.charAt(part.length() - 1) == '}') {
+            String name = part.substring(1, part.length() - 1);
+            SegmentKind kind = SegmentKind.PARAM;
+            if (name.startsWith("+")) {
+                if (!last) {
+                    return null;
+                }
+                kind = SegmentKind.GREEDY;
+                name = name.substring(1);
+            }
+            if (!isPlain(name)) {
+                return null;
+            }
+            name = name.trim();
+            return new Segment(kind, name.isEmpty() ? null : name);
+        }
+        return isPlain(part) ? new Segment(SegmentKind.LITERAL, part) : null;
+    }
+
+    private static boolean isPlain(String part) {
+        for (int i = 0; i < part.length(); i++) {
+            switch (part.charAt(i)) {
+            case '\\':
+            case '[':
+            case ']':
+            case '{':
+            case '}':
+            case '*':
+            case ':':
+            case '+':
+                return false;
+            default:
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalent of regular expression {@code .} not matching line terminators.
+     */
+    private static boolean hasLineTerminator(String path, int from) {
+        for (int i = from; i < path.length(); i++) {
+            switch (path.charAt(i)) {
+            case '\n':
+            case '\r':
+            case '\u0085':
+            case '\u2028':
+            case '\u2029':
+                return true;
+            default:
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> params(String[] names, String[] values) {
+        if (names.length == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> result = new HashMap<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) {
+                result.put(names[i], values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A route that may match a path.
+     */
+    static final class Candidate {
+        private final int index;
+        private final Route route;
+        private final Map<String, String> params;
+
+        private Candidate(int index, Route route, Map<String, String> params) {
+            this.index = index;
+            this.route = route;
+            this.params = params;
+        }
+
+        int index() {
+            return index;
+        }
+
+        Route route() {
+            return route;
+        }
+
+        /**
+         * Resolved path parameters if the path was fully matched by the trie.
+         *
+         * @return path parameters, or {@code null} if the route must be matched by its own matcher
+         */
+        Map<String, String> params() {
+            return params;
+        }
+    }
+
+    private enum SegmentKind {
+        LITERAL,
+        PARAM,
+        GREEDY,
+        WILDCARD
+    }
+
+    private static final class Segment {
+        private final SegmentKind kind;
+        private final String value;
+
+        private Segment(SegmentKind kind, String value) {
+            this.kind = kind;
+            this.value = value;
+        }
+    }
+
+    private static class Entry {
+        private final int index;
+        private final Route route;
+        private final String[] paramNames;
+
+        private Entry(int index, Route route, String[] paramNames) {
+            this.index = index;
+            this.route = route;
+            this.paramNames = paramNames;
+        }
+    }
+
+    private static final class TailEntry extends Entry {
+        private final SegmentKind kind;
+        private final String name;
+
+        private TailEntry(int index, Route route, String[] paramNames, Segment tail) {
+            super(index, route, paramNames);
+            this.kind = tail.kind;
+            this.name = tail.value;
+        }
+
+        private Map<String, String> match(String path, int from, String[] values) {
+            if (kind == SegmentKind.GREEDY && from >= path.length()) {
+                // {+} requires at least one character
+                return null;
+            }
+            if (hasLineTerminator(path, from)) {
+                return null;
+            }
+            Map<String, String> result = params(super.paramNames, values);
+            if (name != null) {
+                result = new HashMap<>(result);
+                result.put(name, path.substring(from));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Entries accepted by each HTTP method, computed at build time for standard methods.
+     */
+    private static final class MethodTable {
+        private final Entry[] entries;
+        private final Entry[][] byMethod;
+
+        private static final MethodTable EMPTY = new MethodTable(List.of());
+
+        private static MethodTable create(List<Entry> entries) {
+            return entries.isEmpty() ? EMPTY : new MethodTable(entries);
+        }
+
+        private MethodTable(List<Entry> entries) {
+            this.entries = entries.toArray(new Entry[0]);
+            this.byMethod = new Entry[METHODS.length][];
+            for (Http.Method method : METHODS) {
+                List<Entry> accepted = new ArrayList<>(entries.size());
+                for (Entry entry : entries) {
+                    if (entry.route.accepts(method)) {
+                        accepted.add(entry);
+                    }
+                }
+                byMethod[method.ordinal()] = accepted.toArray(new Entry[0]);
+            }
+        }
+
+        private Entry[] entries(Http.RequestMethod method) {
+            if (method instanceof Http.Method standard) {
+                return byMethod[standard.ordinal()];
+            }
+            List<Entry> accepted = new ArrayList<>(entries.length);
+            for (Entry entry : entries) {
+                if (entry.route.accepts(method)) {
+                    accepted.add(entry);
+                }
+            }
+            return accepted.toArray(new Entry[0]);
+        }
+
+        private boolean isEmpty() {
+            return entries.length == 0;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node param;
+
+        // collected during build
+        private List<Entry> exact = new ArrayList<>();
+        private List<Entry> tail = new ArrayList<>();
+        private List<Entry> prefix = new ArrayList<>();
+
+        // compiled
+        private MethodTable exactTable;
+        private MethodTable tailTable;
+        private MethodTable prefixTable;
+
+        private Node literal(String segment) {
+            return literals.computeIfAbsent(segment, it -> new Node());
+        }
+
+        private void compile() {
+            exactTable = MethodTable.create(exact);
+            tailTable = MethodTable.create(tail);
+            prefixTable = MethodTable.create(prefix);
+            exact = null;
+            tail = null;
+            prefix = null;
+            for (Node child : literals.values()) {
+                child.compile();
+            }
+            if (param != null) {
+                param.compile();
+            }
+        }
+
+        private void collect(String path,
+                             int[] starts,
+                             int segment,
+                             String[] values,
+                             int paramCount,
+                             Http.RequestMethod method,
+                             List<Candidate> result) {
+
+            if (!prefixTable.isEmpty()) {
+                for (Entry entry : prefixTable.entries(method)) {
+                    result.add(new Candidate(entry.index, entry.route, null));
+                }
+            }
+
+            // the last element of starts is past the end of the path
+            if (segment == starts.length - 1) {
+                if (!exactTable.isEmpty()) {
+                    for (Entry entry : exactTable.entries(method)) {
+                        result.add(new Candidate(entry.index, entry.route, params(entry.paramNames, values)));
+                    }
+                }
+                return;
+            }
+
+            int start = starts[segment];
+            if (!tailTable.isEmpty()) {
+                for (Entry entry : tailTable.entries(method)) {
+                    Map<String, String> params = ((TailEntry) entry).match(path, start, values);
+                    if (params != null) {
+                        result.add(new Candidate(entry.index, entry.route, params));
+                    }
+                }
+            }
+
+            int end = starts[segment + 1] - 1;
+            if (!literals.isEmpty()) {
+                Node child = literals.get(path.substring(start, end));
+                if (child != null) {
+                    child.collect(path, starts, segment + 1, values, paramCount, method, result);
+                }
+            }
+            if (param != null && end > start) {
+                values[paramCount] = path.substring(start, end);
+                param.collect(path, starts, segment + 1, values, paramCount + 1, method, result);
+                values[paramCount] = null;
+            }
+        }
+    }
+}
@@ -42,6 +42,11 @@ class ServerBasicConfig implements ServerConfiguration {
     private final Optional<Transport> transport;
     private final Context context;
     private final boolean printFeatureDetails;
+    private final boolean shareEventLoopsWithClients;
+    private final LeakDetectionLevel leakDetectionLevel;
+    private final int responseBatchSize;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
 
     /**
      * Creates new instance.
@@ -57,6 +62,11 @@ class ServerBasicConfig implements ServerConfiguration {
         this.transport = builder.transport();
         this.context = builder.context();
         this.printFeatureDetails = builder.printFeatureDetails();
+        this.shareEventLoopsWithClients = builder.shareEventLoopsWithClients();
+        this.leakDetectionLevel = builder.leakDetectionLevel();
+        this.responseBatchSize = builder.responseBatchSize();
+        this.writeBufferLowWaterMark = builder.writeBufferLowWaterMark();
+        this.writeBufferHighWaterMark = builder.writeBufferHighWaterMark();
 
         HashMap<String, SocketConfiguration> map = new HashMap<>(builder.sockets());
         map.put(WebServer.DEFAULT_SOCKET_NAME, this.socketConfig);
@@ -178,6 +188,31 @@ class ServerBasicConfig implements ServerConfiguration {
         return printFeatureDetails;
     }
 
+    @Override
+    public boolean shareEventLoopsWithClients() {
+        return shareEventLoopsWithClients;
+    }
+
+    @Override
+    public LeakDetectionLevel leakDetectionLevel() {
+        return leakDetectionLevel;
+    }
+
+    @Override
+    public int responseBatchSize() {
+        return responseBatchSize;
+    }
+
+    @Override
+    public int writeBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    @Override
+    public int writeBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
     @Override
     public boolean enableCompression() {
         return socketConfig.enableCompression();
@@ -21,6 +21,7 @@ import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -217,6 +218,57 @@ public interface ServerConfiguration extends SocketConfiguration {
      */
     boolean printFeatureDetails();
 
+    /**
+     * Whether web clients called while processing requests of this server open their connections on the server
+     * worker event loops, instead of event loops of their own.
+     * Clients that block on a response, for example using {@code await()}, must not be called on the server event
+     * loops when enabled, as they would block the loop the response is expected on.
+     *
+     * @return whether the event loops are shared with clients, {@code false} by default
+     */
+    default boolean shareEventLoopsWithClients() {
+        return false;
+    }
+
+    /**
+     * Level of detection of request data chunks garbage collected without being released.
+     *
+     * @return the leak detection level, {@link LeakDetectionLevel#PARANOID} by default
+     */
+    default LeakDetectionLevel leakDetectionLevel() {
+        return LeakDetectionLevel.PARANOID;
+    }
+
+    /**
+     * Number of response data chunks requested at once from the response publisher.
+     * More chunks are requested once half of them are written, if the channel is writable.
+     *
+     * @return the number of chunks, {@value Builder#DEFAULT_RESPONSE_BATCH_SIZE} by default
+     */
+    default int responseBatchSize() {
+        return Builder.DEFAULT_RESPONSE_BATCH_SIZE;
+    }
+
+    /**
+     * Number of bytes queued for writing to a connection under which the connection is writable again,
+     * once it was not writable.
+     *
+     * @return the low water mark, {@value Builder#DEFAULT_WRITE_BUFFER_LOW_WATER_MARK} by default
+     */
+    default int writeBufferLowWaterMark() {
+        return Builder.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+    }
+
+    /**
+     * Number of bytes queued for writing to a connection above which the connection is not writable,
+     * and no more response data chunks are requested until it is writable again.
+     *
+     * @return the high water mark, {@value Builder#DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK} by default
+     */
+    default int writeBufferHighWaterMark() {
+        return Builder.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
+    }
+
     /**
      * Creates new instance with defaults from external configuration source.
      *
@@ -262,6 +314,9 @@ public interface ServerConfiguration extends SocketConfiguration {
     final class Builder implements SocketConfiguration.SocketConfigurationBuilder<Builder>,
                                    io.helidon.common.Builder<Builder, ServerConfiguration> {
 
+        static final int DEFAULT_RESPONSE_BATCH_SIZE = 16;
+        static final int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+        static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
         private static final AtomicInteger WEBSERVER_COUNTER = new AtomicInteger(1);
         private final Map<String, SocketConfiguration.Builder> socketBuilders = new HashMap<>();
         private final Map<String, SocketConfiguration> socketsConfigs = new HashMap<>();
@@ -272,6 +327,11 @@ public interface ServerConfiguration extends SocketConfiguration {
         private Optional<Transport> transport;
         private Context context;
         private boolean printFeatureDetails;
+        private boolean shareEventLoopsWithClients;
+        private LeakDetectionLevel leakDetectionLevel = LeakDetectionLevel.PARANOID;
+        private int responseBatchSize = DEFAULT_RESPONSE_BATCH_SIZE;
+        private int writeBufferLowWaterMark = DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+        private int writeBufferHighWaterMark = DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
 
         private Builder() {
             transport = Optional.ofNullable(null);
@@ -582,6 +642,64 @@ public interface ServerConfiguration extends SocketConfiguration {
             return this;
         }
 
+        /**
+         * Set to {@code true} to open connections of web clients called while processing requests
+         * on the worker event loops of this server.
+         *
+         * @param share whether to share the event loops with clients
+         * @return updated builder instance
+         * @see ServerConfiguration#shareEventLoopsWithClients()
+         */
+        public Builder shareEventLoopsWithClients(boolean share) {
+            this.shareEventLoopsWithClients = share;
+            return this;
+        }
+
+        /**
+         * Configure the level of detection of request data chunks garbage collected without being released.
+         *
+         * @param level leak detection level
+         * @return updated builder instance
+         */
+        public Builder leakDetectionLevel(LeakDetectionLevel level) {
+            this.leakDetectionLevel = Objects.requireNonNull(level);
+            return this;
+        }
+
+        /**
+         * Configure the number of response data chunks requested at once from the response publisher.
+         * Use {@code 1} to request each chunk once the previous one is written.
+         *
+         * @param size number of chunks
+         * @return updated builder instance
+         */
+        public Builder responseBatchSize(int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("Response batch size must be positive, but is " + size);
+            }
+            this.responseBatchSize = size;
+            return this;
+        }
+
+        /**
+         * Configure the water marks of the number of bytes queued for writing to a connection. A connection
+         * is not writable above the high water mark, and is writable again once under the low water mark.
+         * No response data chunks are requested while the connection is not writable.
+         *
+         * @param low low water mark in bytes
+         * @param high high water mark in bytes
+         * @return updated builder instance
+         */
+        public Builder writeBufferWaterMark(int low, int high) {
+            if (low < 0 || high < low) {
+                throw new IllegalArgumentException("Write buffer water marks must satisfy 0 <= low <= high, but are "
+                                                           + low + " and " + high);
+            }
+            this.writeBufferLowWaterMark = low;
+            this.writeBufferHighWaterMark = high;
+            return this;
+        }
+
         /**
          * Configure the application scoped context to be used as a parent for webserver request contexts.
          * @param context top level context
@@ -626,6 +744,14 @@ public interface ServerConfiguration extends SocketConfiguration {
                     .ifPresent(this::workersCount);
 
             config.get("features.print-details").asBoolean().ifPresent(this::printFeatureDetails);
+            config.get("share-event-loops-with-clients").asBoolean().ifPresent(this::shareEventLoopsWithClients);
+            config.get("leak-detection-level").asString()
+                    .map(it -> LeakDetectionLevel.valueOf(it.toUpperCase(Locale.ROOT)))
+                    .ifPresent(this::leakDetectionLevel);
+            config.get("response-batch-size").asInt().ifPresent(this::responseBatchSize);
+            int low = config.get("write-buffer-low-water-mark").asInt().orElse(writeBufferLowWaterMark);
+            int high = config.get("write-buffer-high-water-mark").asInt().orElse(writeBufferHighWaterMark);
+            writeBufferWaterMark(low, high);
 
             // shutdown timeouts
             config.get("max-shutdown-timeout-seconds").asLong().ifPresent(it -> maxShutdownTimeout(Duration.ofSeconds(it)));
@@ -755,6 +881,26 @@ public interface ServerConfiguration extends SocketConfiguration {
             return printFeatureDetails;
         }
 
+        boolean shareEventLoopsWithClients() {
+            return shareEventLoopsWithClients;
+        }
+
+        LeakDetectionLevel leakDetectionLevel() {
+            return leakDetectionLevel;
+        }
+
+        int responseBatchSize() {
+            return responseBatchSize;
+        }
+
+        int writeBufferLowWaterMark() {
+            return writeBufferLowWaterMark;
+        }
+
+        int writeBufferHighWaterMark() {
+            return writeBufferHighWaterMark;
+        }
+
         @Override
         public Builder timeout(long amount, TimeUnit unit) {
             defaultSocketBuilder().timeout(amount, unit);
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.helidon.config.Config;
+
+/**
+ * Decides which requests are traced by the web server.
+ * <p>
+ * Head sampling decides when a request is received: a request is traced with the configured
+ * {@link Builder#probability(double) probability}, up to the configured {@link Builder#rateLimit(int) number of traces
+ * per second}. A sampler configured for a path in {@link PathTracingConfig} has its own rate limit, so each route
+ * is limited separately. Requests that continue a trace of an upstream service are always traced, so traces are not
+ * broken.
+ * <p>
+ * Tail sampling decides when the response is sent: a request that was not traced is still reported with its request span
+ * if it turned out {@link Builder#slowThreshold(Duration) slow} or {@link Builder#retainErrors(boolean) failed}.
+ * Only the data of the request span is kept until then, spans of the handlers and of outbound calls are not created
+ * for requests that were not traced.
+ * <p>
+ * The default sampler traces all requests.
+ */
+public final class TraceSampler {
+    /**
+     * Sampler that traces all requests.
+     */
+    static final TraceSampler ALWAYS = builder().build();
+
+    private final double probability;
+    private final int rateLimit;
+    private final long slowThresholdNanos;
+    private final boolean retainErrors;
+    private final RateLimiter rateLimiter;
+
+    private TraceSampler(Builder builder) {
+        this.probability = builder.probability;
+        this.rateLimit = builder.rateLimit;
+        this.slowThresholdNanos = builder.slowThreshold == null ? -1 : builder.slowThreshold.toNanos();
+        this.retainErrors = builder.retainErrors;
+        this.rateLimiter = builder.rateLimit > 0 ? new RateLimiter(builder.rateLimit) : null;
+    }
+
+    /**
+     * Create a new sampler from configuration.
+     *
+     * @param config configuration of the sampler
+     * @return a new sampler
+     */
+    public static TraceSampler create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Probability a request is traced.
+     *
+     * @return probability between {@code 0} and {@code 1}
+     */
+    public double probability() {
+        return probability;
+    }
+
+    /**
+     * Maximal number of requests traced per second.
+     *
+     * @return rate limit, {@code 0} if not limited
+     */
+    public int rateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Duration of a request that was not traced, above which its request span is reported.
+     *
+     * @return slow threshold, empty if slow requests are not retained
+     */
+    public Optional<Duration> slowThreshold() {
+        return slowThresholdNanos < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(slowThresholdNanos));
+    }
+
+    /**
+     * Whether the request span of a request that was not traced is reported if the request failed.
+     *
+     * @return whether failed requests are retained
+     */
+    public boolean retainErrors() {
+        return retainErrors;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceSampler{"
+                + "probability=" + probability
+                + ", rateLimit=" + rateLimit
+                + ", slowThreshold=" + slowThreshold().map(Duration::toString).orElse("none")
+                + ", retainErrors=" + retainErrors
+                + '}';
+    }
+
+    /**
+     * Head sampling decision, made when a request is received.
+     *
+     * @return whether to trace the request
+     */
+    boolean sample() {
+        if (probability < 1 && ThreadLocalRandom.current().nextDouble() >= probability) {
+            return false;
+        }
+        return rateLimiter == null || rateLimiter.tryAcquire();
+    }
+
+    /**
+     * Whether requests that are not traced need to be timed, to be retained when sent.
+     *
+     * @return whether tail sampling is enabled
+     */
+    boolean tailSampling() {
+        return retainErrors || slowThresholdNanos >= 0;
+    }
+
+    /**
+     * Tail sampling decision, made when the response of a request that was not traced is sent.
+     *
+     * @param durationNanos duration of the request
+     * @param failed whether the request failed
+     * @return whether to report the request span
+     */
+    boolean retain(long durationNanos, boolean failed) {
+        return (failed && retainErrors) || (slowThresholdNanos >= 0 && durationNanos >= slowThresholdNanos);
+    }
+
+    /**
+     * Lock-free rate limiter allowing a burst of up to one second of permits, using the generic cell rate algorithm.
+     * Instead of a number of tokens, it keeps the time at which the next permit is available at the configured rate.
+     */
+    static final class RateLimiter {
+        private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final long intervalNanos;
+        private final AtomicLong nextPermit;
+
+        RateLimiter(int permitsPerSecond) {
+            this.intervalNanos = BURST_NANOS / permitsPerSecond;
+            this.nextPermit = new AtomicLong(System.nanoTime() - BURST_NANOS);
+        }
+
+        boolean tryAcquire() {
+            return tryAcquire(System.nanoTime());
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long next = nextPermit.get();
+                long updated = Math.max(next, now - BURST_NANOS) + intervalNanos;
+                if (updated - now > 0) {
+                    return false;
+                }
+                if (nextPermit.compareAndSet(next, updated)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * A fluent API builder for {@link io.helidon.webserver.TraceSampler}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Builder, TraceSampler> {
+        private double probability = 1;
+        private int rateLimit;
+        private Duration slowThreshold;
+        private boolean retainErrors;
+
+        private Builder() {
+        }
+
+        @Override
+        public TraceSampler build() {
+            return new TraceSampler(this);
+        }
+
+        /**
+         * Update this builder from configuration.
+         *
+         * @param config configuration of the sampler
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("probability").asDouble().ifPresent(this::probability);
+            config.get("rate-limit").asInt().ifPresent(this::rateLimit);
+            config.get("slow-threshold-millis").asLong().ifPresent(it -> slowThreshold(Duration.ofMillis(it)));
+            config.get("retain-errors").asBoolean().ifPresent(this::retainErrors);
+            return this;
+        }
+
+        /**
+         * Probability a request is traced.
+         * Defaults to {@code 1}, all requests are traced.
+         *
+         * @param probability probability between {@code 0} and {@code 1}
+         * @return updated builder instance
+         */
+        public Builder probability(double probability) {
+            if (probability < 0 || probability > 1) {
+                throw new IllegalArgumentException("Probability must be between 0 and 1, but is " + probability);
+            }
+            this.probability = probability;
+            return this;
+        }
+
+        /**
+         * Maximal number of requests traced per second.
+         * Defaults to {@code 0}, the number of traced requests is not limited.
+         *
+         * @param rateLimit traced requests per second
+         * @return updated builder instance
+         */
+        public Builder rateLimit(int rateLimit) {
+            if (rateLimit < 0) {
+                throw new IllegalArgumentException("Rate limit must not be negative, but is " + rateLimit);
+            }
+            this.rateLimit = rateLimit;
+            return this;
+        }
+
+        /**
+         * Report the request span of a request that was not traced, if it took at least this long.
+         * Not set by default.
+         *
+         * @param slowThreshold duration of slow requests
+         * @return updated builder instance
+         */
+        public Builder slowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+            return this;
+        }
+
+        /**
+         * Report the request span of a request that was not traced, if it failed or its response status is a server error.
+         * Defaults to {@code false}.
+         *
+         * @param retainErrors whether to retain failed requests
+         * @return updated builder instance
+         */
+        public Builder retainErrors(boolean retainErrors) {
+            this.retainErrors = retainErrors;
+            return this;
+        }
+    }
+}
@@ -774,6 +774,68 @@ public interface WebServer {
             return this;
         }
 
+        /**
+         * Set to {@code true} to open connections of web clients called while processing requests on the worker
+         * event loops of this server, instead of event loops of the client transport.
+         * Only enable if the clients never block waiting for a response, as a blocked server event loop
+         * cannot complete the response.
+         *
+         * @param share whether to share the event loops with clients
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "share-event-loops-with-clients", value = "false")
+        public Builder shareEventLoopsWithClients(boolean share) {
+            configurationBuilder.shareEventLoopsWithClients(share);
+            return this;
+        }
+
+        /**
+         * Configure the level of detection of request data chunks garbage collected without being released.
+         * Tracking every chunk, as done by default, lets the server release the buffers of leaked chunks, at the cost
+         * of a phantom reference and a finalizer per chunk. Sampling keeps reporting leaks with little overhead.
+         *
+         * @param level leak detection level
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "leak-detection-level", value = "PARANOID")
+        public Builder leakDetectionLevel(LeakDetectionLevel level) {
+            configurationBuilder.leakDetectionLevel(level);
+            return this;
+        }
+
+        /**
+         * Configure the number of response data chunks requested at once from the response publisher.
+         * More chunks are requested once half of them are written, if the connection is writable.
+         * Use {@code 1} to request each chunk once the previous one is written.
+         *
+         * @param size number of chunks
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "response-batch-size", value = "16")
+        public Builder responseBatchSize(int size) {
+            configurationBuilder.responseBatchSize(size);
+            return this;
+        }
+
+        /**
+         * Configure the water marks of the number of bytes queued for writing to a connection. A connection
+         * is not writable above the high water mark, and is writable again once under the low water mark.
+         * No response data chunks are requested while the connection is not writable, so slow clients
+         * do not make responses accumulate in memory.
+         *
+         * @param low low water mark in bytes
+         * @param high high water mark in bytes
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "write-buffer-low-water-mark", value = "32768", type = Integer.class,
+                          description = "Number of bytes queued for writing under which a connection is writable again")
+        @ConfiguredOption(key = "write-buffer-high-water-mark", value = "65536", type = Integer.class,
+                          description = "Number of bytes queued for writing above which a connection is not writable")
+        public Builder writeBufferWaterMark(int low, int high) {
+            configurationBuilder.writeBufferWaterMark(low, high);
+            return this;
+        }
+
         /**
          * Provide a custom handler for events that bypass routing.
          * The handler can customize status, headers and message.
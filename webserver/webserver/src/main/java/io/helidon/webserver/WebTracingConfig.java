@@ -15,6 +15,7 @@
  */
 package io.helidon.webserver;
 
+import java.time.Instant;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import io.helidon.common.context.Contexts;
 import io.helidon.common.http.Http;
 import io.helidon.config.Config;
 import io.helidon.tracing.HeaderProvider;
+import io.helidon.tracing.SamplingDecision;
 import io.helidon.tracing.Span;
 import io.helidon.tracing.SpanContext;
 import io.helidon.tracing.Tag;
@@ -39,6 +41,7 @@ import io.helidon.tracing.config.TracingConfigUtil;
  * Tracing configuration for webserver.
  * Tracing configuration has two components - an overall (application wide) {@link io.helidon.tracing.config.TracingConfig}
  *  and a path specific {@link PathTracingConfig}.
+ * Requests to trace are chosen by a {@link TraceSampler}, that may also be path specific.
  */
 public abstract class WebTracingConfig {
     /**
@@ -57,6 +60,14 @@ public abstract class WebTracingConfig {
      */
     abstract Iterable<PathTracingConfig> pathConfigs();
 
+    /**
+     * Sampler of requests.
+     * This is the sampler for the whole server, a path specific sampler may be available through {@link #pathConfigs()}.
+     *
+     * @return sampler of requests for all paths
+     */
+    abstract TraceSampler sampler();
+
     /**
      * Create a tracing configuration that is enabled for all paths and spans (that are enabled by default).
      *
@@ -117,14 +128,15 @@ public abstract class WebTracingConfig {
                         .collect(Collectors.toList());
 
                 TracingConfig wrappedPath = path.tracedConfig();
+                TraceSampler pathSampler = path.sampler().orElse(null);
                 if (methods.isEmpty()) {
-                    rules.any(path.path(), new TracingConfigHandler(wrappedPath));
+                    rules.any(path.path(), new TracingConfigHandler(wrappedPath, pathSampler));
                 } else {
-                    rules.anyOf(methods, path.path(), new TracingConfigHandler(wrappedPath));
+                    rules.anyOf(methods, path.path(), new TracingConfigHandler(wrappedPath, pathSampler));
                 }
             });
             // and now register the tracing of requests
-            rules.any(new RequestSpanHandler());
+            rules.any(new RequestSpanHandler(sampler()));
         };
     }
 
@@ -134,6 +146,7 @@ public abstract class WebTracingConfig {
     public static class Builder implements io.helidon.common.Builder<Builder, WebTracingConfig> {
         private final List<PathTracingConfig> pathTracingConfigs = new LinkedList<>();
         private TracingConfig tracedConfig = TracingConfig.ENABLED;
+        private TraceSampler sampler = TraceSampler.ALWAYS;
 
         /**
          * OpenTracing spec states that certain MP paths need to be disabled by default.
@@ -172,6 +185,7 @@ public abstract class WebTracingConfig {
         public WebTracingConfig build() {
             final TracingConfig envConfig = this.tracedConfig;
             final List<PathTracingConfig> pathConfigs = new LinkedList<>(this.pathTracingConfigs);
+            final TraceSampler sampler = this.sampler;
 
             return new WebTracingConfig() {
                 @Override
@@ -183,6 +197,11 @@ public abstract class WebTracingConfig {
                 public Iterable<PathTracingConfig> pathConfigs() {
                     return pathConfigs;
                 }
+
+                @Override
+                TraceSampler sampler() {
+                    return sampler;
+                }
             };
         }
 
@@ -208,6 +227,18 @@ public abstract class WebTracingConfig {
             return this;
         }
 
+        /**
+         * Sampler of requests to use for any request, unless a path specific sampler is configured.
+         * Defaults to a sampler that traces all requests.
+         *
+         * @param sampler sampler of requests
+         * @return updated builder instance
+         */
+        public Builder sampler(TraceSampler sampler) {
+            this.sampler = sampler;
+            return this;
+        }
+
         /**
          * Update builder from {@link io.helidon.config.Config}.
          *
@@ -217,6 +248,7 @@ public abstract class WebTracingConfig {
         public Builder config(Config config) {
             // read the overall configuration
             envConfig(TracingConfig.create(config));
+            config.get("sampling").ifExists(it -> sampler(TraceSampler.create(it)));
 
             // and then the paths
             Config allPaths = config.get("paths");
@@ -234,9 +266,11 @@ public abstract class WebTracingConfig {
     // this class exists so tracing of handler in webserver shows nice class name and not a lambda
     private static final class TracingConfigHandler implements Handler {
         private final TracingConfig pathSpecific;
+        private final TraceSampler pathSampler;
 
-        private TracingConfigHandler(TracingConfig pathSpecific) {
+        private TracingConfigHandler(TracingConfig pathSpecific, TraceSampler pathSampler) {
             this.pathSpecific = pathSpecific;
+            this.pathSampler = pathSampler;
         }
 
         @Override
@@ -247,6 +281,9 @@ public abstract class WebTracingConfig {
             } else {
                 req.context().register(pathSpecific);
             }
+            if (pathSampler != null) {
+                req.context().register(pathSampler);
+            }
             req.next();
         }
     }
@@ -254,9 +291,15 @@ public abstract class WebTracingConfig {
     static final class RequestSpanHandler implements Handler {
         private static final String TRACING_SPAN_HTTP_REQUEST = "HTTP Request";
         private final AtomicBoolean checkedIfShouldTrace = new AtomicBoolean();
+        private final TraceSampler sampler;
         private volatile boolean shouldTrace = true;
 
         RequestSpanHandler() {
+            this(TraceSampler.ALWAYS);
+        }
+
+        RequestSpanHandler(TraceSampler sampler) {
+            this.sampler = sampler;
         }
 
         @Override
@@ -299,7 +342,29 @@ public abstract class WebTracingConfig {
             if (spanName.indexOf('%') > -1) {
                 spanName = String.format(spanName, req.method().name(), req.path(), req.query());
             }
+
+            // a trace continued from an upstream service is always sampled
+            TraceSampler requestSampler = context.get(TraceSampler.class).orElse(sampler);
+            if (inboundSpanContext == null && !requestSampler.sample()) {
+                context.register(SamplingDecision.NOT_SAMPLED);
+                if (requestSampler.tailSampling()) {
+                    retainIfSlowOrFailed(req, res, tracer, spanName, requestSampler);
+                }
+                return;
+            }
+            context.register(SamplingDecision.SAMPLED);
+
             // tracing is enabled, so we replace the parent span with web server parent span
+            // cannot use startActive, as it conflicts with the thread model we use
+            Span span = spanBuilder(req, tracer, spanName, inboundSpanContext).start();
+
+            context.register(span.context());
+            context.register(ServerRequest.class, span.context());
+
+            endWhenSent(res, span);
+        }
+
+        private static Span.Builder<?> spanBuilder(ServerRequest req, Tracer tracer, String spanName, SpanContext parent) {
             Span.Builder<?> spanBuilder = tracer.spanBuilder(spanName)
                     .kind(Span.Kind.SERVER)
                     .tag(Tag.COMPONENT.create("helidon-webserver"))
@@ -307,16 +372,41 @@ public abstract class WebTracingConfig {
                     .tag(Tag.HTTP_URL.create(req.uri().toString()))
                     .tag(Tag.HTTP_VERSION.create(req.version().value()));
 
-            if (inboundSpanContext != null) {
-                spanBuilder.parent(inboundSpanContext);
+            if (parent != null) {
+                spanBuilder.parent(parent);
             }
+            return spanBuilder;
+        }
 
-            // cannot use startActive, as it conflicts with the thread model we use
-            Span span = spanBuilder.start();
+        /**
+         * Report the request span of a request that was not sampled when the response is sent, if the request turns out
+         * slow or failed. The span is started with the time the request was received.
+         */
+        private static void retainIfSlowOrFailed(ServerRequest req,
+                                                 ServerResponse res,
+                                                 Tracer tracer,
+                                                 String spanName,
+                                                 TraceSampler sampler) {
+            Instant started = Instant.now();
+            long startedNanos = System.nanoTime();
 
-            context.register(span.context());
-            context.register(ServerRequest.class, span.context());
+            res.whenSent()
+                    .thenRun(() -> {
+                        Http.ResponseStatus httpStatus = res.status();
+                        boolean failed = httpStatus != null && httpStatus.code() >= 500;
+                        if (sampler.retain(System.nanoTime() - startedNanos, failed)) {
+                            endWhenSent(res, spanBuilder(req, tracer, spanName, null).start(started));
+                        }
+                    })
+                    .exceptionally(t -> {
+                        if (sampler.retain(System.nanoTime() - startedNanos, true)) {
+                            spanBuilder(req, tracer, spanName, null).start(started).end(t);
+                        }
+                        return null;
+                    });
+        }
 
+        private static void endWhenSent(ServerResponse res, Span span) {
             res.whenSent()
                     .thenRun(() -> {
                         Http.ResponseStatus httpStatus = res.status();
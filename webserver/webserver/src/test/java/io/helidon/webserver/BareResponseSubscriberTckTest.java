@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,7 +56,8 @@ public class BareResponseSubscriberTckTest extends FlowSubscriberWhiteboxVerific
                 requestContext,
                 CompletableFuture.completedFuture(null),
                 CompletableFuture.completedFuture(null),
-                0L) {
+                0L,
+                1) {
             @Override
             public void onSubscribe(Flow.Subscription subscription) {
                 super.onSubscribe(subscription);
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Map;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.webserver.ByteBufRequestChunk.DataChunkHoldingQueue;
+import io.helidon.webserver.ByteBufRequestChunk.TrackedRequestChunk;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ByteBufRequestChunkTest {
+
+    @Test
+    void testDisabled() {
+        ByteBuf byteBuf = Unpooled.buffer(16).writerIndex(16);
+        ByteBufRequestChunk chunk = ByteBufRequestChunk.create(byteBuf, new DataChunkHoldingQueue(),
+                                                               LeakDetectionLevel.DISABLED);
+        assertThat(chunk, not(instanceOf(TrackedRequestChunk.class)));
+        assertThat(byteBuf.refCnt(), is(2));
+
+        chunk.release();
+        chunk.release();
+        assertThat(chunk.isReleased(), is(true));
+        assertThat(byteBuf.refCnt(), is(1));
+        assertThrows(IllegalStateException.class, chunk::data);
+    }
+
+    @Test
+    void testParanoid() {
+        ByteBuf byteBuf = Unpooled.buffer(16).writerIndex(16);
+        ByteBufRequestChunk chunk = ByteBufRequestChunk.create(byteBuf, new DataChunkHoldingQueue(),
+                                                               LeakDetectionLevel.PARANOID);
+        assertThat(chunk, instanceOf(TrackedRequestChunk.class));
+        assertThat(chunk.data()[0].remaining(), is(16));
+
+        chunk.release();
+        chunk.release();
+        assertThat(chunk.isReleased(), is(true));
+        assertThat(byteBuf.refCnt(), is(1));
+    }
+
+    @Test
+    void testSampled() {
+        DataChunkHoldingQueue queue = new DataChunkHoldingQueue();
+        int tracked = 0;
+        for (int i = 0; i < 100 * LeakDetectionLevel.SAMPLING_INTERVAL; i++) {
+            ByteBufRequestChunk chunk = ByteBufRequestChunk.create(Unpooled.buffer(1), queue, LeakDetectionLevel.SAMPLED);
+            if (chunk instanceof TrackedRequestChunk) {
+                tracked++;
+            }
+            chunk.release();
+        }
+        // 100 tracked chunks on average
+        assertThat(tracked > 0 && tracked < 1000, is(true));
+    }
+
+    @Test
+    void testConfig() {
+        Config config = Config.builder(ConfigSources.create(Map.of("leak-detection-level", "sampled")))
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .build();
+        assertThat(WebServer.builder().config(config).build().configuration().leakDetectionLevel(),
+                   is(LeakDetectionLevel.SAMPLED));
+        assertThat(WebServer.builder().build().configuration().leakDetectionLevel(), is(LeakDetectionLevel.PARANOID));
+    }
+}
@@ -16,14 +16,21 @@
 
 package io.helidon.webserver;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
+import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.media.common.DataChunkOutputStream;
 import io.helidon.media.common.DefaultMediaSupport;
 import io.helidon.webserver.utils.SocketHttpClient;
 
@@ -36,6 +43,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -151,6 +159,52 @@ public class DataChunkReleaseTest {
         assertFalse(leakIntercepted, "Chunk was not released!");
     }
 
+    @Test
+    void responseChunksReleaseTest() throws Exception {
+        byte[] content = new byte[2048];
+        Arrays.fill(content, (byte) 'a');
+        List<DataChunk> sent = new CopyOnWriteArrayList<>();
+        WebServer server = null;
+        try {
+            server = WebServer.builder()
+                    .routing(r -> r
+                            .get("/pooled", (req, res) -> {
+                                // backed by pooled arrays, returned once the chunk is released
+                                DataChunkOutputStream out = new DataChunkOutputStream();
+                                out.write(content, 0, content.length);
+                                DataChunk chunk = out.toChunk(false);
+                                sent.add(chunk);
+                                res.send(Single.just(chunk));
+                            })
+                            .get("/reused", (req, res) -> {
+                                // buffers may be reused by the publisher, the server copies the chunk
+                                DataChunk chunk = DataChunk.create(false, false, ByteBuffer.wrap(content));
+                                sent.add(chunk);
+                                res.send(Single.just(chunk));
+                            }))
+                    .build()
+                    .start()
+                    .await(2, TimeUnit.SECONDS);
+
+            assertThat(SocketHttpClient.sendAndReceive("/pooled", Http.Method.GET, null, server),
+                       containsString("content-length: 2048"));
+            assertThat(SocketHttpClient.sendAndReceive("/reused", Http.Method.GET, null, server),
+                       containsString("content-length: 2048"));
+        } finally {
+            if (server != null) {
+                server.shutdown();
+            }
+        }
+        assertThat(sent.size(), is(2));
+        for (DataChunk chunk : sent) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!chunk.isReleased() && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertTrue(chunk.isReleased(), "Response chunk was not released!");
+        }
+    }
+
     private String get(String content, WebServer server) {
         try {
             return SocketHttpClient.sendAndReceive("/", Http.Method.GET, content, server);
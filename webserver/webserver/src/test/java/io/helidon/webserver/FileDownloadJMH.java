@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+import io.helidon.common.reactive.Multi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures the throughput of downloads of a 64 MiB file sent as file regions ({@code /file}), compared to the bytes
+ * read from the file as done when a response filter is registered ({@code /filtered}).
+ * With {@code compression} the regions are streamed as chunked file content.
+ */
+@State(Scope.Benchmark)
+public class FileDownloadJMH {
+
+    private static final Duration TIME_OUT = Duration.ofSeconds(30);
+    private static final int FILE_SIZE = 64 * 1024 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(FileDownloadJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"/file", "/filtered"})
+    String path;
+
+    @Param({"false", "true"})
+    boolean compression;
+
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private Path file;
+    private WebServer webServer;
+    private URL url;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        byte[] content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        file = Files.write(Files.createTempFile("file-download", ".bin"), content);
+
+        webServer = WebServer.builder()
+                .defaultSocket(s -> s
+                        .host("localhost")
+                        .enableCompression(compression))
+                .routing(Routing.builder()
+                                 .get("/file", (req, res) -> res.send(file))
+                                 .get("/filtered", (req, res) -> {
+                                     res.registerFilter(Multi::from);
+                                     res.send(file);
+                                 }))
+                .build()
+                .start()
+                .await(TIME_OUT);
+
+        // no Accept-Encoding, the content is streamed, but not compressed
+        url = new URL("http://localhost:" + webServer.port() + path);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        webServer.shutdown().await(TIME_OUT);
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long download() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            try (InputStream in = connection.getInputStream()) {
+                long total = 0;
+                int read;
+                while ((read = in.read(readBuffer)) > 0) {
+                    total += read;
+                }
+                return total;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+
+import io.helidon.common.http.FileRegionDataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientRequestBuilder;
+import io.helidon.webclient.WebClientResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests that files are sent correctly as file regions, as chunked file content and as bytes.
+ */
+public class FileRegionTest {
+    private static final Duration TIME_OUT = Duration.of(30, ChronoUnit.SECONDS);
+    // more than one region of PathBodyWriter
+    private static final int FILE_SIZE = 9 * 1024 * 1024 + 17;
+
+    @TempDir
+    static Path tempDir;
+
+    private static byte[] content;
+    private static Path file;
+    private static WebServer plainServer;
+    private static WebServer compressionServer;
+
+    @BeforeAll
+    public static void startServers() throws Exception {
+        content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        file = Files.write(tempDir.resolve("file.bin"), content);
+
+        Routing.Builder routing = Routing.builder()
+                .get("/file", (req, res) -> res.send(file))
+                .get("/filtered", (req, res) -> {
+                    res.registerFilter(Multi::from);
+                    res.send(file);
+                });
+
+        plainServer = WebServer.builder()
+                .host("localhost")
+                .routing(routing.build())
+                .build()
+                .start()
+                .await(TIME_OUT);
+
+        compressionServer = WebServer.builder()
+                .defaultSocket(s -> s
+                        .host("localhost")
+                        .enableCompression(true))
+                .routing(routing.build())
+                .build()
+                .start()
+                .await(TIME_OUT);
+    }
+
+    @AfterAll
+    public static void close() {
+        if (plainServer != null) {
+            plainServer.shutdown().await(TIME_OUT);
+        }
+        if (compressionServer != null) {
+            compressionServer.shutdown().await(TIME_OUT);
+        }
+    }
+
+    @Test
+    public void testFileRegion() {
+        assertThat(get(plainServer, "/file", false), is(content));
+    }
+
+    @Test
+    public void testFiltered() {
+        assertThat(get(plainServer, "/filtered", false), is(content));
+    }
+
+    @Test
+    public void testChunkedFileContent() {
+        assertThat(get(compressionServer, "/file", true), is(content));
+    }
+
+    @Test
+    public void testRegionData() {
+        int count = FileRegionDataChunk.MAX_REGION_SIZE;
+        FileRegionDataChunk region = FileRegionDataChunk.create(file, 17, count);
+        assertThat(region.bytes(), is(Arrays.copyOfRange(content, 17, 17 + count)));
+        // read in 64 KiB buffers, not a single array of the region
+        assertThat(region.data().length, is(count / (64 * 1024)));
+    }
+
+    private static byte[] get(WebServer webServer, String path, boolean gzip) {
+        WebClient webClient = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .build();
+        WebClientRequestBuilder builder = webClient.get();
+        if (gzip) {
+            builder.headers().add("Accept-Encoding", "gzip");
+        }
+        WebClientResponse response = builder.path(path)
+                .request()
+                .await(TIME_OUT);
+        assertThat(response.headers().contentLength().orElse(-1L), is(gzip ? -1L : (long) FILE_SIZE));
+        return response.content().as(byte[].class).await(TIME_OUT);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Unit test for {@link NettyChannel}.
+ */
+class NettyChannelTest {
+
+    @Test
+    void testFailedWriteCompletesListeners() {
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel();
+        Channel channel = spy(embeddedChannel);
+        IllegalStateException failure = new IllegalStateException("Test write failure");
+        doThrow(failure).when(channel).writeAndFlush(any());
+
+        CompletableFuture<Throwable> written = new CompletableFuture<>();
+        new NettyChannel(channel).write(true, new DefaultLastHttpContent(), f -> f
+                .addListener(future -> written.complete(future.cause())));
+
+        assertThat(written.isDone(), is(true));
+        assertThat(written.join(), sameInstance(failure));
+        assertThat(embeddedChannel.isOpen(), is(false));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link NettyRequestHeaders}.
+ */
+class NettyRequestHeadersTest {
+
+    private static NettyRequestHeaders headers() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders()
+                .add("content-length", "1024")
+                .add("Content-Type", "application/json")
+                .add("Accept", "text/plain;q=0.5, application/json")
+                .add("Cookie", "foo=bar; aaa=bbb")
+                .add("X-Custom", "a")
+                .add("x-custom", "b");
+        return new NettyRequestHeaders(nettyHeaders);
+    }
+
+    @Test
+    void testLookup() {
+        NettyRequestHeaders hs = headers();
+        assertThat(hs.first(Http.Header.CONTENT_LENGTH).orElse(null), is("1024"));
+        assertThat(hs.first("CONTENT-TYPE").orElse(null), is("application/json"));
+        assertThat(hs.all("X-CUSTOM"), contains("a", "b"));
+        assertThat(hs.all("X-Missing"), is(List.of()));
+        assertThat(hs.first("X-Missing").isPresent(), is(false));
+        assertThrows(UnsupportedOperationException.class, () -> hs.all("X-Custom").add("c"));
+        assertThrows(UnsupportedOperationException.class, () -> hs.add("X-Custom", "c"));
+    }
+
+    @Test
+    void testTypedValues() {
+        NettyRequestHeaders hs = headers();
+        assertThat(hs.contentLength().getAsLong(), is(1024L));
+        assertThat(hs.contentType().orElse(null), is(MediaType.APPLICATION_JSON));
+        assertThat(hs.acceptedTypes().size(), is(2));
+        assertThat(hs.bestAccepted(MediaType.TEXT_PLAIN, MediaType.APPLICATION_JSON).orElse(null),
+                   is(MediaType.APPLICATION_JSON));
+        assertThat(hs.cookies().all("aaa"), contains("bbb"));
+    }
+
+    @Test
+    void testToMap() {
+        Map<String, List<String>> map = headers().toMap();
+        assertThat(map.size(), is(5));
+        assertThat(map.get("x-custom"), contains("a", "b"));
+        assertThat(map.get("Content-Length"), contains("1024"));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.webserver.ByteBufRequestChunk.DataChunkHoldingQueue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures the throughput of request entity uploads of 1 MiB, read as the server does, in chunks of the default
+ * maximal chunk size, that are released by the consumer, for each {@link LeakDetectionLevel}.
+ */
+@State(Scope.Thread)
+public class RequestChunkJMH {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int CHUNKS = 128;
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(RequestChunkJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"DISABLED", "SAMPLED", "PARANOID"})
+    LeakDetectionLevel level;
+
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+
+    @Benchmark
+    public void upload() {
+        DataChunkHoldingQueue queue = new DataChunkHoldingQueue();
+        HttpRequestScopedPublisher publisher = new HttpRequestScopedPublisher(queue, level);
+        Multi.create(publisher).forEach(DataChunk::release);
+        for (int i = 0; i < CHUNKS; i++) {
+            ByteBuf byteBuf = allocator.buffer(CHUNK_SIZE);
+            byteBuf.writerIndex(CHUNK_SIZE);
+            publisher.emit(byteBuf);
+            // as done by the inbound handler once the content is read
+            byteBuf.release();
+        }
+        publisher.complete();
+    }
+}
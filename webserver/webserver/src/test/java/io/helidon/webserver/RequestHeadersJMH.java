@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures the creation of the request headers from the headers of a typical browser request parsed by Netty,
+ * and the lookups done when routing the request, copying the headers as before and reading the Netty headers.
+ */
+@State(Scope.Benchmark)
+public class RequestHeadersJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(RequestHeadersJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"copy", "netty"})
+    String headers;
+
+    HttpHeaders nettyHeaders;
+
+    @Setup
+    public void setup() {
+        nettyHeaders = new DefaultHttpHeaders()
+                .add("host", "localhost:8080")
+                .add("user-agent", "Mozilla/5.0 (X11; Linux x86_64; rv:105.0) Gecko/20100101 Firefox/105.0")
+                .add("accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,*/*;q=0.8")
+                .add("accept-language", "en-US,en;q=0.5")
+                .add("accept-encoding", "gzip, deflate, br")
+                .add("connection", "keep-alive")
+                .add("cookie", "session=2b1e5a6f; theme=dark")
+                .add("upgrade-insecure-requests", "1")
+                .add("sec-fetch-dest", "document")
+                .add("sec-fetch-mode", "navigate")
+                .add("sec-fetch-site", "none")
+                .add("cache-control", "max-age=0");
+    }
+
+    @Benchmark
+    public void route(Blackhole blackhole) {
+        HashRequestHeaders requestHeaders;
+        if ("netty".equals(headers)) {
+            requestHeaders = new NettyRequestHeaders(nettyHeaders);
+        } else {
+            // as done by BareRequestImpl.headers() and HashRequestHeaders before
+            Map<String, List<String>> map = new HashMap<>();
+            for (Map.Entry<String, String> entry : nettyHeaders.entries()) {
+                map.computeIfAbsent(entry.getKey(), s -> new ArrayList<>()).add(entry.getValue());
+            }
+            requestHeaders = new HashRequestHeaders(map);
+        }
+        blackhole.consume(requestHeaders.acceptedTypes());
+        blackhole.consume(requestHeaders.contentLength());
+        blackhole.consume(requestHeaders.contentType());
+        blackhole.consume(requestHeaders.first(Http.Header.HOST));
+        blackhole.consume(requestHeaders.first(Http.Header.ACCEPT_ENCODING));
+        blackhole.consume(requestHeaders.first(Http.Header.IF_NONE_MATCH));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures the throughput of responses streaming 4096 chunks of 64 bytes, read over a keep-alive connection,
+ * requesting one chunk at a time from the response publisher and in batches.
+ */
+@State(Scope.Thread)
+public class ResponseStreamingJMH {
+
+    private static final int CHUNKS = 4096;
+    private static final byte[] CHUNK = new byte[64];
+    private static final byte[] REQUEST = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TERMINATOR = "\r\n0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(ResponseStreamingJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"1", "16"})
+    int batchSize;
+
+    private WebServer webServer;
+    private Socket socket;
+    private final byte[] buffer = new byte[65536];
+
+    @Setup
+    public void setup() throws IOException {
+        webServer = WebServer.builder()
+                .host("localhost")
+                .responseBatchSize(batchSize)
+                .routing(r -> r.get("/", (req, res) -> res.send(
+                        Multi.range(0, CHUNKS).map(i -> DataChunk.create(ByteBuffer.wrap(CHUNK))))))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+        socket = new Socket("localhost", webServer.port());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        socket.close();
+        webServer.shutdown().await(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public int stream() throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(REQUEST);
+        out.flush();
+        InputStream in = socket.getInputStream();
+        int total = 0;
+        int length = 0;
+        // read until the last chunk of the chunked transfer encoding
+        while (!endsWithTerminator(length)) {
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                throw new IOException("Connection closed after " + total + " bytes");
+            }
+            length += read;
+            total += read;
+            if (length > buffer.length - 1024) {
+                int keep = TERMINATOR.length;
+                System.arraycopy(buffer, length - keep, buffer, 0, keep);
+                length = keep;
+            }
+        }
+        return total;
+    }
+
+    private boolean endsWithTerminator(int length) {
+        if (length < TERMINATOR.length) {
+            return false;
+        }
+        for (int i = 0; i < TERMINATOR.length; i++) {
+            if (buffer[length - TERMINATOR.length + i] != TERMINATOR[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.webclient.WebClient;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResponseStreamingTest {
+
+    private static final long TIMEOUT_SEC = 20;
+    private static final int CHUNKS = 10_000;
+
+    @Test
+    void testSmallChunks() {
+        testStreaming(16, false);
+    }
+
+    @Test
+    void testSmallFlushedChunks() {
+        testStreaming(16, true);
+    }
+
+    @Test
+    void testSingleChunkBatch() {
+        testStreaming(1, false);
+    }
+
+    @Test
+    void testConfig() {
+        Config config = Config.builder(ConfigSources.create(Map.of("response-batch-size", "4",
+                                                                   "write-buffer-low-water-mark", "1024",
+                                                                   "write-buffer-high-water-mark", "2048")))
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .build();
+        ServerConfiguration configuration = WebServer.builder().config(config).build().configuration();
+        assertThat(configuration.responseBatchSize(), is(4));
+        assertThat(configuration.writeBufferLowWaterMark(), is(1024));
+        assertThat(configuration.writeBufferHighWaterMark(), is(2048));
+
+        configuration = WebServer.builder().build().configuration();
+        assertThat(configuration.responseBatchSize(), is(16));
+        assertThat(configuration.writeBufferLowWaterMark(), is(32 * 1024));
+        assertThat(configuration.writeBufferHighWaterMark(), is(64 * 1024));
+
+        assertThrows(IllegalArgumentException.class, () -> WebServer.builder().responseBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> WebServer.builder().writeBufferWaterMark(2048, 1024));
+    }
+
+    private void testStreaming(int batchSize, boolean flush) {
+        AtomicInteger emitted = new AtomicInteger();
+        WebServer webServer = WebServer.builder()
+                .host("localhost")
+                .responseBatchSize(batchSize)
+                // low water marks make the connection not writable often
+                .writeBufferWaterMark(512, 1024)
+                .routing(r -> r.get("/", (req, res) -> res.send(
+                        Multi.range(0, CHUNKS)
+                                .peek(i -> emitted.incrementAndGet())
+                                .map(i -> DataChunk.create(flush, ByteBuffer.wrap(line(i)))))))
+                .build()
+                .start()
+                .await(TIMEOUT_SEC, TimeUnit.SECONDS);
+        try {
+            String content = WebClient.builder()
+                    .baseUri("http://localhost:" + webServer.port())
+                    .build()
+                    .get()
+                    .request(String.class)
+                    .await(TIMEOUT_SEC, TimeUnit.SECONDS);
+
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < CHUNKS; i++) {
+                expected.append(new String(line(i), StandardCharsets.UTF_8));
+            }
+            assertThat(content, is(expected.toString()));
+            assertThat(emitted.get(), is(CHUNKS));
+        } finally {
+            webServer.shutdown().await(TIMEOUT_SEC, TimeUnit.SECONDS);
+        }
+    }
+
+    private static byte[] line(int i) {
+        return ("line " + i + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.common.http.Http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares route resolution using {@link RouteTrie} with testing {@link PathMatcher}s of all routes one by one.
+ */
+@State(Scope.Thread)
+public class RouteTrieJMH {
+
+    private static final Handler VOID_HANDLER = (req, res) -> {};
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(RouteTrieJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"10", "100", "500"})
+    int count;
+
+    List<HandlerRoute> routes;
+    RouteList routeList;
+    String[] paths;
+    int pathIndex;
+
+    @Setup
+    public void setup() {
+        routes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+            case 0:
+                routes.add(new HandlerRoute(null, PathMatcher.create("/service" + i + "/items"), VOID_HANDLER,
+                                            Http.Method.GET));
+                break;
+            case 1:
+                routes.add(new HandlerRoute(null, PathMatcher.create("/service" + i + "/items/{id}"), VOID_HANDLER,
+                                            Http.Method.GET));
+                break;
+            default:
+                routes.add(new HandlerRoute(null, PathMatcher.create("/service" + i + "/items/{id}/parts/{part}"),
+                                            VOID_HANDLER, Http.Method.GET, Http.Method.POST));
+            }
+        }
+        routeList = new RouteList(new ArrayList<>(routes));
+        paths = new String[] {
+                "/service0/items",
+                "/service" + (count - 2) + "/items/42",
+                "/service" + (count - 1) + "/items/42/parts/7",
+                "/not/found"
+        };
+    }
+
+    @Benchmark
+    public void linear(Blackhole bh) {
+        String path = nextPath();
+        for (HandlerRoute route : routes) {
+            if (route.accepts(Http.Method.GET)) {
+                PathMatcher.Result result = route.match(path);
+                if (result.matches()) {
+                    bh.consume(result.params());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void trie(Blackhole bh) {
+        String path = nextPath();
+        for (RouteTrie.Candidate candidate : routeList.trie().candidates(path, Http.Method.GET)) {
+            bh.consume(candidate.params());
+        }
+    }
+
+    private String nextPath() {
+        String path = paths[pathIndex];
+        pathIndex = (pathIndex + 1) % paths.length;
+        return path;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link RouteTrie}.
+ */
+public class RouteTrieTest {
+
+    private static final Handler VOID_HANDLER = (req, res) -> {};
+
+    private static final String[] PATTERNS = {
+            "/",
+            "/*",
+            "/foo",
+            "/foo/bar",
+            "/foo/{id}",
+            "/foo/{}",
+            "/foo/{id}/bar",
+            "/foo/{id}/{name}",
+            "/foo/{id}/*",
+            "/foo/{+rest}",
+            "/foo/{+}",
+            "/foo/*",
+            "/{a}/{b}",
+            "/{+all}",
+            "/foo/{id:\\d+}",
+            "/foo[/bar]",
+            "/foo*",
+            "/foo.json",
+            "/foo/{ id }",
+            "foo",
+            "/foo/",
+    };
+
+    private static final String[] PATHS = {
+            "/",
+            "/foo",
+            "/foo/bar",
+            "/foo/123",
+            "/foo/123/bar",
+            "/foo/123/baz",
+            "/foo/123/bar/baz",
+            "/foobar",
+            "/foo.json",
+            "/fooxjson",
+            "/bar/baz",
+            "/foo//bar",
+            "/foo/a\nb",
+            "/foo;x=y/bar",
+            "//",
+    };
+
+    @Test
+    public void testSameMatchesAsPathMatchers() {
+        List<Route> routes = new ArrayList<>();
+        for (String pattern : PATTERNS) {
+            routes.add(new HandlerRoute(null, PathMatcher.create(pattern), VOID_HANDLER));
+        }
+        RouteList routeList = new RouteList(routes);
+
+        for (String path : PATHS) {
+            List<Integer> expected = new ArrayList<>();
+            List<Map<String, String>> expectedParams = new ArrayList<>();
+            for (int i = 0; i < routes.size(); i++) {
+                PathMatcher.Result result = ((HandlerRoute) routes.get(i)).match(path);
+                if (result.matches()) {
+                    expected.add(i);
+                    expectedParams.add(result.params());
+                }
+            }
+
+            List<Integer> actual = new ArrayList<>();
+            List<Map<String, String>> actualParams = new ArrayList<>();
+            for (RouteTrie.Candidate candidate : routeList.trie().candidates(path, Http.Method.GET)) {
+                Map<String, String> params = candidate.params();
+                if (params == null) {
+                    PathMatcher.Result result = ((HandlerRoute) candidate.route()).match(path);
+                    params = result.matches() ? result.params() : null;
+                }
+                if (params != null) {
+                    actual.add(candidate.index());
+                    actualParams.add(params);
+                }
+            }
+
+            assertThat("Matched routes for path '" + path + "'", actual, is(expected));
+            assertThat("Matched params for path '" + path + "'", actualParams, is(expectedParams));
+        }
+    }
+
+    @Test
+    public void testMethodTable() {
+        List<Route> routes = List.of(
+                new HandlerRoute(null, PathMatcher.create("/foo"), VOID_HANDLER, Http.Method.POST),
+                new HandlerRoute(null, PathMatcher.create("/foo"), VOID_HANDLER, Http.Method.GET),
+                new HandlerRoute(null, PathMatcher.create("/foo"), VOID_HANDLER, Http.RequestMethod.create("FOO")),
+                new HandlerRoute(null, PathMatcher.create("/foo"), VOID_HANDLER));
+        RouteTrie trie = new RouteList(routes).trie();
+
+        assertThat(indexes(trie.candidates("/foo", Http.Method.GET)), is(List.of(1, 3)));
+        assertThat(indexes(trie.candidates("/foo", Http.Method.POST)), is(List.of(0, 3)));
+        assertThat(indexes(trie.candidates("/foo", Http.RequestMethod.create("FOO"))), is(List.of(2, 3)));
+        assertThat(indexes(trie.candidates("/bar", Http.Method.GET)), is(List.of()));
+    }
+
+    @Test
+    public void testNestedRouteListsKeepOrder() {
+        RouteList nested = new RouteList(PathMatcher.create("/foo"),
+                                         List.of(new HandlerRoute(null, PathMatcher.create("/bar"), VOID_HANDLER)));
+        RouteList nestedRegexp = new RouteList(PathMatcher.create("/{name}"),
+                                               List.of(new HandlerRoute(null, VOID_HANDLER)));
+        List<Route> routes = List.of(
+                new HandlerRoute(null, PathMatcher.create("/foo/bar"), VOID_HANDLER),
+                nested,
+                new HandlerRoute(null, VOID_HANDLER),
+                nestedRegexp,
+                new HandlerRoute(null, PathMatcher.create("/foo/{id}"), VOID_HANDLER));
+        RouteTrie trie = new RouteList(routes).trie();
+
+        RouteTrie.Candidate[] candidates = trie.candidates("/foo/bar", Http.Method.GET);
+        assertThat(indexes(candidates), is(List.of(0, 1, 2, 3, 4)));
+        // route lists are always matched by their own path context
+        assertThat(candidates[1].params(), nullValue());
+        assertThat(candidates[4].params(), is(Map.of("id", "bar")));
+
+        assertThat(indexes(trie.candidates("/baz", Http.Method.GET)), is(List.of(2, 3)));
+    }
+
+    private static List<Integer> indexes(RouteTrie.Candidate[] candidates) {
+        List<Integer> result = new ArrayList<>(candidates.length);
+        for (RouteTrie.Candidate candidate : candidates) {
+            result.add(candidate.index());
+        }
+        return result;
+    }
+}
@@ -60,6 +60,7 @@ public class ServerConfigurationTest {
         assertThat(config.workersCount() > 0, is(true));
         assertThat(config.tracer().enabled(), is(false));
         assertThat(config.bindAddress(), nullValue());
+        assertThat(config.shareEventLoopsWithClients(), is(false));
     }
 
     @Test
@@ -71,6 +72,7 @@ public class ServerConfigurationTest {
                 .timeout(40)
                 .workersCount(50)
                 .bindAddress(InetAddress.getLocalHost())
+                .shareEventLoopsWithClients(true)
                 .build();
         assertThat(config.port(), is(10));
         assertThat(config.backlog(), is(20));
@@ -78,6 +80,7 @@ public class ServerConfigurationTest {
         assertThat(config.timeoutMillis(), is(40));
         assertThat(config.workersCount(), is(50));
         assertThat(config.bindAddress(), is(InetAddress.getLocalHost()));
+        assertThat(config.shareEventLoopsWithClients(), is(true));
     }
 
     @Test
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link TraceSampler}.
+ */
+class TraceSamplerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testDefaultSamplesAll() {
+        TraceSampler sampler = TraceSampler.builder().build();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.sample(), is(true));
+        }
+        assertThat(sampler.tailSampling(), is(false));
+    }
+
+    @Test
+    void testProbability() {
+        assertThat(TraceSampler.builder().probability(0).build().sample(), is(false));
+        assertThrows(IllegalArgumentException.class, () -> TraceSampler.builder().probability(1.5));
+    }
+
+    @Test
+    void testRateLimiter() {
+        TraceSampler.RateLimiter limiter = new TraceSampler.RateLimiter(10);
+        long now = System.nanoTime();
+        // a burst of one second of permits
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(now), is(true));
+        }
+        assertThat(limiter.tryAcquire(now), is(false));
+        // one more permit every 100 milliseconds
+        assertThat(limiter.tryAcquire(now + SECOND / 20), is(false));
+        assertThat(limiter.tryAcquire(now + SECOND / 10), is(true));
+        assertThat(limiter.tryAcquire(now + SECOND / 10), is(false));
+        // idle time does not accumulate more than the burst
+        long later = now + 10 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(later), is(true));
+        }
+        assertThat(limiter.tryAcquire(later), is(false));
+    }
+
+    @Test
+    void testRetain() {
+        TraceSampler sampler = TraceSampler.builder()
+                .probability(0)
+                .slowThreshold(Duration.ofMillis(100))
+                .retainErrors(true)
+                .build();
+        long slow = TimeUnit.MILLISECONDS.toNanos(100);
+
+        assertThat(sampler.tailSampling(), is(true));
+        assertThat(sampler.retain(slow - 1, false), is(false));
+        assertThat(sampler.retain(slow, false), is(true));
+        assertThat(sampler.retain(0, true), is(true));
+
+        TraceSampler slowOnly = TraceSampler.builder()
+                .slowThreshold(Duration.ofMillis(100))
+                .build();
+        assertThat(slowOnly.retain(0, true), is(false));
+    }
+
+    @Test
+    void testConfig() {
+        Config config = Config.builder()
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .sources(ConfigSources.create(Map.of("sampling.probability", "0.25",
+                                                     "sampling.rate-limit", "50",
+                                                     "sampling.slow-threshold-millis", "500",
+                                                     "sampling.retain-errors", "true",
+                                                     "paths.0.path", "/greet",
+                                                     "paths.0.sampling.rate-limit", "5")))
+                .build();
+
+        WebTracingConfig tracingConfig = WebTracingConfig.create(config);
+        TraceSampler sampler = tracingConfig.sampler();
+        assertThat(sampler.probability(), is(0.25));
+        assertThat(sampler.rateLimit(), is(50));
+        assertThat(sampler.slowThreshold(), is(Optional.of(Duration.ofMillis(500))));
+        assertThat(sampler.retainErrors(), is(true));
+
+        PathTracingConfig greet = null;
+        for (PathTracingConfig pathConfig : tracingConfig.pathConfigs()) {
+            if ("/greet".equals(pathConfig.path())) {
+                greet = pathConfig;
+            }
+        }
+        assertThat(greet.sampler().map(TraceSampler::rateLimit), is(Optional.of(5)));
+        assertThat(greet.sampler().map(TraceSampler::probability), is(Optional.of(1.0)));
+    }
+}
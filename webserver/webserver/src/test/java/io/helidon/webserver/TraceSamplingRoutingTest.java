@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.helidon.common.http.Http;
+import io.helidon.tracing.HeaderConsumer;
+import io.helidon.tracing.HeaderProvider;
+import io.helidon.tracing.SamplingDecision;
+import io.helidon.tracing.Scope;
+import io.helidon.tracing.Span;
+import io.helidon.tracing.SpanContext;
+import io.helidon.tracing.Tracer;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+import io.helidon.webclient.tracing.WebClientTracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Tests sampling of requests traced by {@link WebTracingConfig} with a {@link TraceSampler}.
+ */
+class TraceSamplingRoutingTest {
+    private static final Duration SLOW = Duration.ofMillis(200);
+
+    private final RecordingTracer tracer = new RecordingTracer();
+    private WebServer webServer;
+
+    @AfterEach
+    void stopServer() {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testNotSampled() {
+        CompletableFuture<Optional<SamplingDecision>> decision = new CompletableFuture<>();
+        CompletableFuture<Optional<SpanContext>> spanContext = new CompletableFuture<>();
+        startServer(routing(TraceSampler.builder().probability(0).build())
+                .get("/greet", (req, res) -> {
+                    decision.complete(req.context().get(SamplingDecision.class));
+                    spanContext.complete(req.spanContext());
+                    res.send("Hello");
+                }));
+
+        assertThat(get("/greet"), is(200));
+
+        assertThat(decision.join(), is(Optional.of(SamplingDecision.NOT_SAMPLED)));
+        assertThat(spanContext.join(), is(Optional.empty()));
+        assertThat(tracer.started, is(empty()));
+    }
+
+    @Test
+    void testSampled() throws InterruptedException {
+        CompletableFuture<Optional<SamplingDecision>> decision = new CompletableFuture<>();
+        startServer(routing(TraceSampler.builder().build())
+                .get("/greet", (req, res) -> {
+                    decision.complete(req.context().get(SamplingDecision.class));
+                    res.send("Hello");
+                }));
+
+        assertThat(get("/greet"), is(200));
+
+        assertThat(decision.join(), is(Optional.of(SamplingDecision.SAMPLED)));
+        RecordedSpan span = tracer.requestSpan();
+        assertThat(span, notNullValue());
+        assertThat(span.tags.get("http.status_code"), is(200));
+    }
+
+    @Test
+    void testRetainSlow() throws InterruptedException {
+        CompletableFuture<Instant> handled = new CompletableFuture<>();
+        startServer(routing(TraceSampler.builder().probability(0).slowThreshold(SLOW).build())
+                .get("/fast", (req, res) -> res.send("Hello"))
+                .get("/slow", (req, res) -> {
+                    handled.complete(Instant.now());
+                    CompletableFuture.delayedExecutor(SLOW.toMillis(), TimeUnit.MILLISECONDS)
+                            .execute(() -> res.send("Hello"));
+                }));
+
+        assertThat(get("/fast"), is(200));
+        assertThat(get("/slow"), is(200));
+
+        // only the slow request is reported, with the request span started when the request was received
+        RecordedSpan span = tracer.requestSpan();
+        assertThat(span, notNullValue());
+        assertThat(span.tags.get("http.url").toString().endsWith("/slow"), is(true));
+        assertThat(span.parent, nullValue());
+        assertThat(span.start.isAfter(handled.join()), is(false));
+        assertThat(Duration.between(span.start, span.end), greaterThanOrEqualTo(SLOW));
+        assertThat(tracer.started, hasSize(1));
+    }
+
+    @Test
+    void testRetainError() throws InterruptedException {
+        CompletableFuture<Instant> handled = new CompletableFuture<>();
+        startServer(routing(TraceSampler.builder().probability(0).retainErrors(true).build())
+                .get("/missing", (req, res) -> res.status(Http.Status.NOT_FOUND_404).send())
+                .get("/fail", (req, res) -> {
+                    handled.complete(Instant.now());
+                    res.status(Http.Status.INTERNAL_SERVER_ERROR_500).send();
+                }));
+
+        assertThat(get("/missing"), is(404));
+        assertThat(get("/fail"), is(500));
+
+        // client errors are not retained
+        RecordedSpan span = tracer.requestSpan();
+        assertThat(span, notNullValue());
+        assertThat(span.tags.get("http.status_code"), is(500));
+        assertThat(span.status, is(Span.Status.ERROR));
+        assertThat(span.start.isAfter(handled.join()), is(false));
+        assertThat(tracer.started, hasSize(1));
+    }
+
+    @Test
+    void testClientNotSampled() {
+        startServer(outboundRouting(TraceSampler.builder().probability(0).build()));
+
+        assertThat(get("/outbound"), is(200));
+
+        // neither the server nor the client created spans for the outbound call
+        assertThat(tracer.started, is(empty()));
+    }
+
+    @Test
+    void testClientSampled() {
+        startServer(outboundRouting(TraceSampler.builder().build()));
+
+        assertThat(get("/outbound"), is(200));
+
+        List<RecordedSpan> clientSpans = tracer.started.stream()
+                .filter(it -> it.kind == Span.Kind.CLIENT)
+                .collect(Collectors.toList());
+        assertThat(clientSpans, hasSize(1));
+    }
+
+    // the client request runs in the context of the server request, that holds the sampling decision
+    private static Routing.Builder outboundRouting(TraceSampler sampler) {
+        return routing(sampler)
+                .get("/outbound", (req, res) -> WebClient.builder()
+                        .baseUri("http://localhost:" + req.localPort())
+                        .addService(WebClientTracing.create())
+                        .build()
+                        .get()
+                        .path("/target")
+                        .request(String.class)
+                        .thenAccept(it -> res.send(it))
+                        .exceptionallyAccept(t -> res.send(t)))
+                .get("/target", (req, res) -> res.send("Hello"));
+    }
+
+    private static Routing.Builder routing(TraceSampler sampler) {
+        return Routing.builder()
+                .register(WebTracingConfig.builder()
+                                  .sampler(sampler)
+                                  .build());
+    }
+
+    private void startServer(Routing.Builder routing) {
+        webServer = WebServer.builder(routing)
+                .tracer(tracer)
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+    }
+
+    private int get(String path) {
+        return WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .build()
+                .get()
+                .path(path)
+                .request()
+                .map(WebClientResponse::status)
+                .await(10, TimeUnit.SECONDS)
+                .code();
+    }
+
+    private static final class RecordingTracer implements Tracer {
+        private final BlockingQueue<RecordedSpan> started = new LinkedBlockingQueue<>();
+        private final BlockingQueue<RecordedSpan> ended = new LinkedBlockingQueue<>();
+
+        // request spans end when the response is sent, which may be after the client received it
+        private RecordedSpan requestSpan() throws InterruptedException {
+            while (true) {
+                RecordedSpan span = ended.poll(10, TimeUnit.SECONDS);
+                if (span == null || span.kind == Span.Kind.SERVER) {
+                    return span;
+                }
+            }
+        }
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public Span.Builder<?> spanBuilder(String name) {
+            return new RecordedSpanBuilder(this, name);
+        }
+
+        @Override
+        public Optional<SpanContext> extract(HeaderProvider headersProvider) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void inject(SpanContext spanContext,
+                           HeaderProvider inboundHeadersProvider,
+                           HeaderConsumer outboundHeadersConsumer) {
+        }
+    }
+
+    private static final class RecordedSpanBuilder implements Span.Builder<RecordedSpanBuilder> {
+        private final RecordingTracer tracer;
+        private final String name;
+        private final Map<String, Object> tags = new ConcurrentHashMap<>();
+        private SpanContext parent;
+        private Span.Kind kind = Span.Kind.INTERNAL;
+
+        private RecordedSpanBuilder(RecordingTracer tracer, String name) {
+            this.tracer = tracer;
+            this.name = name;
+        }
+
+        @Override
+        public Span build() {
+            return start();
+        }
+
+        @Override
+        public RecordedSpanBuilder parent(SpanContext spanContext) {
+            this.parent = spanContext;
+            return this;
+        }
+
+        @Override
+        public RecordedSpanBuilder kind(Span.Kind kind) {
+            this.kind = kind;
+            return this;
+        }
+
+        @Override
+        public RecordedSpanBuilder tag(String key, String value) {
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public RecordedSpanBuilder tag(String key, Boolean value) {
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public RecordedSpanBuilder tag(String key, Number value) {
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Span start(Instant instant) {
+            RecordedSpan span = new RecordedSpan(tracer, name, kind, parent, tags, instant);
+            tracer.started.add(span);
+            return span;
+        }
+    }
+
+    private static final class RecordedSpan implements Span, SpanContext {
+        private final RecordingTracer tracer;
+        private final String name;
+        private final Span.Kind kind;
+        private final SpanContext parent;
+        private final Map<String, Object> tags;
+        private final Instant start;
+        private volatile Span.Status status = Span.Status.UNSET;
+        private volatile Instant end;
+
+        private RecordedSpan(RecordingTracer tracer,
+                             String name,
+                             Span.Kind kind,
+                             SpanContext parent,
+                             Map<String, Object> tags,
+                             Instant start) {
+            this.tracer = tracer;
+            this.name = name;
+            this.kind = kind;
+            this.parent = parent;
+            this.tags = tags;
+            this.start = start;
+        }
+
+        @Override
+        public void tag(String key, String value) {
+            tags.put(key, value);
+        }
+
+        @Override
+        public void tag(String key, Boolean value) {
+            tags.put(key, value);
+        }
+
+        @Override
+        public void tag(String key, Number value) {
+            tags.put(key, value);
+        }
+
+        @Override
+        public void status(Span.Status status) {
+            this.status = status;
+        }
+
+        @Override
+        public SpanContext context() {
+            return this;
+        }
+
+        @Override
+        public void addEvent(String name, Map<String, ?> attributes) {
+        }
+
+        @Override
+        public void end() {
+            end = Instant.now();
+            tracer.ended.add(this);
+        }
+
+        @Override
+        public void end(Throwable t) {
+            status(Span.Status.ERROR);
+            end();
+        }
+
+        @Override
+        public Scope activate() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String traceId() {
+            return name;
+        }
+
+        @Override
+        public String spanId() {
+            return name;
+        }
+
+        @Override
+        public void asParent(Span.Builder<?> spanBuilder) {
+            spanBuilder.parent(this);
+        }
+    }
+}